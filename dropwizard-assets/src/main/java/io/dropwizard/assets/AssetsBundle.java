@@ -1,14 +1,20 @@
 package io.dropwizard.assets;
 
+import com.codahale.metrics.MetricRegistry;
 import io.dropwizard.Configuration;
 import io.dropwizard.ConfiguredBundle;
+import io.dropwizard.servlets.assets.AssetCache;
 import io.dropwizard.servlets.assets.AssetServlet;
 import io.dropwizard.setup.Environment;
+import io.dropwizard.util.Duration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import java.nio.charset.StandardCharsets;
 
+import static com.codahale.metrics.MetricRegistry.name;
+
 /**
  * A bundle for serving static asset files from the classpath.
  */
@@ -19,12 +25,18 @@ public class AssetsBundle implements ConfiguredBundle<Configuration> {
     private static final String DEFAULT_INDEX_FILE = "index.htm";
     private static final String DEFAULT_PATH = "/assets";
     private static final String DEFAULT_MEDIA_TYPE = "text/html";
+    private static final int MINIMUM_COMPRESS_SIZE = 256;
 
     private final String resourcePath;
     private final String uriPath;
     private final String indexFile;
     private final String assetsName;
     private final String defaultMediaType;
+    private final boolean useMappedBuffers;
+    private final long cacheMaximumSize;
+    @Nullable
+    private final Duration cacheExpireAfterWrite;
+    private final boolean precompress;
 
     /**
      * Creates a new AssetsBundle which serves up static assets from
@@ -110,6 +122,56 @@ public class AssetsBundle implements ConfiguredBundle<Configuration> {
      */
     public AssetsBundle(String resourcePath, String uriPath, String indexFile, String assetsName,
                         String defaultMediaType) {
+        this(resourcePath, uriPath, indexFile, assetsName, defaultMediaType, false);
+    }
+
+    /**
+     * Creates a new AssetsBundle which will configure the application to serve the static files
+     * located in {@code src/main/resources/${resourcePath}} as {@code /${uriPath}}. If no file name is
+     * in ${uriPath}, ${indexFile} is appended before serving. For example, given a
+     * {@code resourcePath} of {@code "/assets"} and a uriPath of {@code "/js"},
+     * {@code src/main/resources/assets/example.js} would be served up from {@code /js/example.js}.
+     * If {@code useMappedBuffers} is {@code true}, assets located on the file system are memory-mapped
+     * and written to the response without being copied onto the heap.
+     *
+     * @param resourcePath     the resource path (in the classpath) of the static asset files
+     * @param uriPath          the uri path for the static asset files
+     * @param indexFile        the name of the index file to use
+     * @param assetsName       the name of servlet mapping used for this assets bundle
+     * @param defaultMediaType the default media type for unknown file extensions
+     * @param useMappedBuffers whether assets located on the file system should be memory-mapped
+     * @since 2.1
+     */
+    public AssetsBundle(String resourcePath, String uriPath, String indexFile, String assetsName,
+                        String defaultMediaType, boolean useMappedBuffers) {
+        this(resourcePath, uriPath, indexFile, assetsName, defaultMediaType, useMappedBuffers, 0, null, false);
+    }
+
+    /**
+     * Creates a new AssetsBundle which will configure the application to serve the static files
+     * located in {@code src/main/resources/${resourcePath}} as {@code /${uriPath}}. If no file name is
+     * in ${uriPath}, ${indexFile} is appended before serving. For example, given a
+     * {@code resourcePath} of {@code "/assets"} and a uriPath of {@code "/js"},
+     * {@code src/main/resources/assets/example.js} would be served up from {@code /js/example.js}.
+     * If {@code cacheMaximumSize} is positive, loaded assets are kept in memory, up to that many bytes,
+     * and the statistics of the cache are recorded in the application's metrics. If {@code precompress}
+     * is {@code true}, a gzip-encoded variant of each cached asset is built once and served to clients
+     * which accept it.
+     *
+     * @param resourcePath          the resource path (in the classpath) of the static asset files
+     * @param uriPath               the uri path for the static asset files
+     * @param indexFile             the name of the index file to use
+     * @param assetsName            the name of servlet mapping used for this assets bundle
+     * @param defaultMediaType      the default media type for unknown file extensions
+     * @param useMappedBuffers      whether assets located on the file system should be memory-mapped
+     * @param cacheMaximumSize      the maximum number of bytes of cached assets, or {@code 0} to disable caching
+     * @param cacheExpireAfterWrite how long cached assets are kept, or {@code null} to keep them until evicted
+     * @param precompress           whether gzip-encoded variants of cached assets should be built
+     * @since 2.1
+     */
+    public AssetsBundle(String resourcePath, String uriPath, String indexFile, String assetsName,
+                        String defaultMediaType, boolean useMappedBuffers, long cacheMaximumSize,
+                        @Nullable Duration cacheExpireAfterWrite, boolean precompress) {
         if (!resourcePath.startsWith("/")) {
             throw new IllegalArgumentException(resourcePath + " is not an absolute path");
         }
@@ -123,13 +185,17 @@ public class AssetsBundle implements ConfiguredBundle<Configuration> {
         this.indexFile = indexFile;
         this.assetsName = assetsName;
         this.defaultMediaType = defaultMediaType;
+        this.useMappedBuffers = useMappedBuffers;
+        this.cacheMaximumSize = cacheMaximumSize;
+        this.cacheExpireAfterWrite = cacheExpireAfterWrite;
+        this.precompress = precompress;
     }
 
     @Override
     public void run(Configuration configuration, Environment environment) {
         final String pathPattern = uriPath + '*';
         LOGGER.info("Registering AssetBundle with name: {} for path {}", assetsName, pathPattern);
-        environment.servlets().addServlet(assetsName, createServlet()).addMapping(pathPattern);
+        environment.servlets().addServlet(assetsName, createServlet(environment.metrics())).addMapping(pathPattern);
     }
 
     public String getResourcePath() {
@@ -151,7 +217,54 @@ public class AssetsBundle implements ConfiguredBundle<Configuration> {
         return defaultMediaType;
     }
 
+    /**
+     * @since 2.1
+     */
+    public boolean isUseMappedBuffers() {
+        return useMappedBuffers;
+    }
+
+    /**
+     * @since 2.1
+     */
+    public long getCacheMaximumSize() {
+        return cacheMaximumSize;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @Nullable
+    public Duration getCacheExpireAfterWrite() {
+        return cacheExpireAfterWrite;
+    }
+
+    /**
+     * @since 2.1
+     */
+    public boolean isPrecompress() {
+        return precompress;
+    }
+
+    /**
+     * Creates the servlet serving the assets, backed by an {@link AssetCache} if caching is enabled.
+     *
+     * @param metricRegistry the registry in which the statistics of the asset cache are recorded
+     * @return the servlet serving the assets
+     * @since 2.1
+     */
+    protected AssetServlet createServlet(MetricRegistry metricRegistry) {
+        if (cacheMaximumSize <= 0) {
+            return createServlet();
+        }
+        final AssetCache cache = new AssetCache(metricRegistry, name(AssetsBundle.class, assetsName, "cache"),
+                cacheMaximumSize, cacheExpireAfterWrite, precompress, MINIMUM_COMPRESS_SIZE);
+        return new AssetServlet(resourcePath, uriPath, indexFile, defaultMediaType, StandardCharsets.UTF_8,
+                useMappedBuffers, cache);
+    }
+
     protected AssetServlet createServlet() {
-        return new AssetServlet(resourcePath, uriPath, indexFile, defaultMediaType, StandardCharsets.UTF_8);
+        return new AssetServlet(resourcePath, uriPath, indexFile, defaultMediaType, StandardCharsets.UTF_8,
+                useMappedBuffers);
     }
 }
@@ -1,10 +1,13 @@
 package io.dropwizard.assets;
 
+import com.codahale.metrics.MetricRegistry;
 import io.dropwizard.Configuration;
 import io.dropwizard.jetty.setup.ServletEnvironment;
+import io.dropwizard.servlets.assets.AssetCache;
 import io.dropwizard.servlets.assets.AssetServlet;
 import io.dropwizard.servlets.assets.ResourceURL;
 import io.dropwizard.setup.Environment;
+import io.dropwizard.util.Duration;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -12,6 +15,7 @@ import org.mockito.ArgumentCaptor;
 import javax.servlet.ServletRegistration;
 import java.net.URL;
 
+import static java.util.Objects.requireNonNull;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyString;
@@ -141,6 +145,26 @@ class AssetsBundleTest {
         assertThat(servlet.getDefaultMediaType()).isEqualTo("text/plain");
     }
 
+    @Test
+    void canUseMappedBuffers() {
+        runBundle(new AssetsBundle("/assets", "/assets", "index.htm", "assets", "text/html", true));
+
+        assertThat(servletPath).isEqualTo("/assets/*");
+        assertThat(servlet.isUseMappedBuffers()).isTrue();
+    }
+
+    @Test
+    void canCacheAssets() {
+        when(environment.metrics()).thenReturn(new MetricRegistry());
+        runBundle(new AssetsBundle("/assets", "/assets", "index.htm", "assets", "text/html", false,
+                1024 * 1024, Duration.minutes(5), true));
+
+        assertThat(servletPath).isEqualTo("/assets/*");
+        final AssetCache cache = servlet.getCache();
+        assertThat(cache).isNotNull();
+        assertThat(requireNonNull(cache).isPrecompress()).isTrue();
+    }
+
     private URL normalize(String path) {
         return ResourceURL.appendTrailingSlash(getClass().getResource(path));
     }
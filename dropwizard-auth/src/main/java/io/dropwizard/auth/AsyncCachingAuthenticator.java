@@ -0,0 +1,200 @@
+package io.dropwizard.auth;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.codahale.metrics.caffeine.MetricsStatsCounter;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.CaffeineSpec;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
+
+import java.security.Principal;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * An {@link Authenticator} decorator which uses an asynchronous Caffeine cache to temporarily
+ * cache credentials and their corresponding principals.
+ * <p>
+ * Unlike {@link CachingAuthenticator}, the underlying authenticator is called on the executor of the
+ * cache. Concurrent requests for the same uncached credentials wait for a single call to the underlying
+ * authenticator, and if the cache is configured with {@code refreshAfterWrite}, stale principals keep
+ * being served while they are refreshed in the background. Since authenticators usually block, caches
+ * built from a {@link CaffeineSpec} run them on a dedicated, bounded pool of threads unless they are given an
+ * {@link Executor}, and caches built from a {@link Caffeine} builder should have their executor set with
+ * {@link Caffeine#executor(Executor)}.
+ * <p>
+ * The durations of initial loads and of refreshes are recorded in separate timers for successful and
+ * failed calls to the underlying authenticator.
+ *
+ * @param <C> the type of credentials the authenticator can authenticate
+ * @param <P> the type of principals the authenticator returns
+ * @since 2.1
+ */
+public class AsyncCachingAuthenticator<C, P extends Principal> implements Authenticator<C, P> {
+    private final AsyncLoadingCache<C, Optional<P>> cache;
+    private final Timer gets;
+
+    /**
+     * Creates a new asynchronously cached authenticator, which calls the underlying authenticator on a dedicated,
+     * bounded pool of threads.
+     *
+     * @param metricRegistry the application's registry of metrics
+     * @param authenticator  the underlying authenticator
+     * @param cacheSpec      a {@link CaffeineSpec}
+     */
+    public AsyncCachingAuthenticator(final MetricRegistry metricRegistry,
+                                     final Authenticator<C, P> authenticator,
+                                     final CaffeineSpec cacheSpec) {
+        this(metricRegistry, authenticator, cacheSpec,
+            TimedAsyncCacheLoader.newDefaultExecutor(AsyncCachingAuthenticator.class));
+    }
+
+    /**
+     * Creates a new asynchronously cached authenticator.
+     *
+     * @param metricRegistry the application's registry of metrics
+     * @param authenticator  the underlying authenticator
+     * @param cacheSpec      a {@link CaffeineSpec}
+     * @param executor       the executor on which the underlying authenticator is called
+     */
+    public AsyncCachingAuthenticator(final MetricRegistry metricRegistry,
+                                     final Authenticator<C, P> authenticator,
+                                     final CaffeineSpec cacheSpec,
+                                     final Executor executor) {
+        this(metricRegistry, authenticator, Caffeine.from(cacheSpec).executor(executor), false);
+    }
+
+    /**
+     * Creates a new asynchronously cached authenticator.
+     *
+     * @param metricRegistry the application's registry of metrics
+     * @param authenticator  the underlying authenticator
+     * @param builder        a {@link Caffeine}
+     */
+    public AsyncCachingAuthenticator(final MetricRegistry metricRegistry,
+                                     final Authenticator<C, P> authenticator,
+                                     final Caffeine<Object, Object> builder) {
+        this(metricRegistry, authenticator, builder, false);
+    }
+
+    /**
+     * Creates a new asynchronously cached authenticator.
+     *
+     * @param metricRegistry      the application's registry of metrics
+     * @param authenticator       the underlying authenticator
+     * @param builder             a {@link Caffeine}
+     * @param cacheNegativeResult the boolean to enable negative cache
+     */
+    public AsyncCachingAuthenticator(final MetricRegistry metricRegistry,
+                                     final Authenticator<C, P> authenticator,
+                                     final Caffeine<Object, Object> builder,
+                                     final boolean cacheNegativeResult) {
+        this(metricRegistry, authenticator, builder, cacheNegativeResult,
+            () -> new MetricsStatsCounter(metricRegistry, name(AsyncCachingAuthenticator.class)));
+    }
+
+    /**
+     * Creates a new asynchronously cached authenticator.
+     *
+     * @param metricRegistry      the application's registry of metrics
+     * @param authenticator       the underlying authenticator
+     * @param builder             a {@link Caffeine}
+     * @param cacheNegativeResult the boolean to enable negative cache
+     * @param supplier            a {@link Supplier<StatsCounter>}
+     */
+    public AsyncCachingAuthenticator(final MetricRegistry metricRegistry,
+                                     final Authenticator<C, P> authenticator,
+                                     final Caffeine<Object, Object> builder,
+                                     final boolean cacheNegativeResult,
+                                     final Supplier<StatsCounter> supplier) {
+        this.gets = metricRegistry.timer(name(authenticator.getClass(), "gets"));
+        this.cache = builder
+                .recordStats(supplier)
+                .buildAsync(new TimedAsyncCacheLoader<C, Optional<P>>(metricRegistry, authenticator.getClass(), key -> {
+                    final Optional<P> optPrincipal = authenticator.authenticate(key);
+                    // A null value prevents caching of unknown credentials, and drops them if they were refreshed
+                    return cacheNegativeResult || optPrincipal.isPresent() ? optPrincipal : null;
+                }));
+    }
+
+    @Override
+    public Optional<P> authenticate(C credentials) throws AuthenticationException {
+        try (Timer.Context context = gets.time()) {
+            final Optional<P> optPrincipal = cache.get(credentials).join();
+            return optPrincipal == null ? Optional.empty() : optPrincipal;
+        } catch (CompletionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof AuthenticationException) {
+                throw (AuthenticationException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new AuthenticationException(cause);
+        }
+    }
+
+    /**
+     * Discards any cached principal for the given credentials.
+     *
+     * @param credentials a set of credentials
+     */
+    public void invalidate(C credentials) {
+        cache.synchronous().invalidate(credentials);
+    }
+
+    /**
+     * Discards any cached principal for the given collection of credentials.
+     *
+     * @param credentials a collection of credentials
+     */
+    public void invalidateAll(Iterable<C> credentials) {
+        cache.synchronous().invalidateAll(credentials);
+    }
+
+    /**
+     * Discards any cached principal for the collection of credentials satisfying the given predicate.
+     *
+     * @param predicate a predicate to filter credentials
+     */
+    public void invalidateAll(Predicate<? super C> predicate) {
+        final Set<C> keys = cache.asMap().keySet().stream()
+                .filter(predicate)
+                .collect(Collectors.toSet());
+        cache.synchronous().invalidateAll(keys);
+    }
+
+    /**
+     * Discards all cached principals.
+     */
+    public void invalidateAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+    /**
+     * Returns the number of cached principals.
+     *
+     * @return the number of cached principals
+     */
+    public long size() {
+        return cache.synchronous().estimatedSize();
+    }
+
+    /**
+     * Returns a set of statistics about the cache contents and usage.
+     *
+     * @return a set of statistics about the cache contents and usage
+     */
+    public CacheStats stats() {
+        return cache.synchronous().stats();
+    }
+}
@@ -0,0 +1,210 @@
+package io.dropwizard.auth;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.codahale.metrics.caffeine.MetricsStatsCounter;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.CaffeineSpec;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
+import io.dropwizard.util.Sets;
+
+import javax.annotation.Nullable;
+import javax.ws.rs.container.ContainerRequestContext;
+import java.security.Principal;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * An {@link Authorizer} decorator which uses an asynchronous {@link Caffeine} cache to
+ * temporarily cache principals' role associations.
+ * <p>
+ * Unlike {@link CachingAuthorizer}, the underlying authorizer is called on the executor of the cache.
+ * Concurrent requests for the same uncached role association wait for a single call to the underlying
+ * authorizer, and if the cache is configured with {@code refreshAfterWrite}, stale associations keep
+ * being served while they are refreshed in the background. Since authorizers usually block, caches built
+ * from a {@link CaffeineSpec} run them on a dedicated, bounded pool of threads unless they are given an
+ * {@link Executor}, and caches built from a {@link Caffeine} builder should have their executor set with
+ * {@link Caffeine#executor(Executor)}.
+ * <p>
+ * The durations of initial loads and of refreshes are recorded in separate timers for successful and
+ * failed calls to the underlying authorizer.
+ *
+ * @param <P> the type of principals on which the authorizer operates
+ * @since 2.1
+ */
+public class AsyncCachingAuthorizer<P extends Principal> implements Authorizer<P> {
+    private final Authorizer<P> underlying;
+    private final Timer getsTimer;
+    private final AsyncLoadingCache<AuthorizationContext<P>, Boolean> cache;
+
+    /**
+     * Creates a new asynchronously cached authorizer, which calls the underlying authorizer on a dedicated, bounded
+     * pool of threads.
+     *
+     * @param metricRegistry the application's registry of metrics
+     * @param authorizer     the underlying authorizer
+     * @param cacheSpec      {@link CaffeineSpec}
+     */
+    public AsyncCachingAuthorizer(
+        final MetricRegistry metricRegistry,
+        final Authorizer<P> authorizer,
+        final CaffeineSpec cacheSpec) {
+        this(metricRegistry, authorizer, cacheSpec, TimedAsyncCacheLoader.newDefaultExecutor(AsyncCachingAuthorizer.class));
+    }
+
+    /**
+     * Creates a new asynchronously cached authorizer.
+     *
+     * @param metricRegistry the application's registry of metrics
+     * @param authorizer     the underlying authorizer
+     * @param cacheSpec      {@link CaffeineSpec}
+     * @param executor       the executor on which the underlying authorizer is called
+     */
+    public AsyncCachingAuthorizer(
+        final MetricRegistry metricRegistry,
+        final Authorizer<P> authorizer,
+        final CaffeineSpec cacheSpec,
+        final Executor executor) {
+        this(metricRegistry, authorizer, Caffeine.from(cacheSpec).executor(executor));
+    }
+
+    /**
+     * Creates a new asynchronously cached authorizer.
+     *
+     * @param metricRegistry the application's registry of metrics
+     * @param authorizer     the underlying authorizer
+     * @param builder        a {@link Caffeine} spec
+     */
+    public AsyncCachingAuthorizer(
+        final MetricRegistry metricRegistry,
+        final Authorizer<P> authorizer,
+        final Caffeine<Object, Object> builder) {
+        this(metricRegistry, authorizer, builder,
+            () -> new MetricsStatsCounter(metricRegistry, name(AsyncCachingAuthorizer.class)));
+    }
+
+    /**
+     * Creates a new asynchronously cached authorizer.
+     *
+     * @param metricRegistry the application's registry of metrics
+     * @param authorizer     the underlying authorizer
+     * @param builder        a {@link Caffeine} spec
+     * @param supplier       a {@link Supplier<StatsCounter>}
+     */
+    public AsyncCachingAuthorizer(
+        final MetricRegistry metricRegistry,
+        final Authorizer<P> authorizer,
+        final Caffeine<Object, Object> builder,
+        final Supplier<StatsCounter> supplier) {
+        this.underlying = authorizer;
+        this.getsTimer = metricRegistry.timer(name(authorizer.getClass(), "gets"));
+        this.cache = builder
+                .recordStats(supplier)
+                .buildAsync(new TimedAsyncCacheLoader<AuthorizationContext<P>, Boolean>(metricRegistry, authorizer.getClass(),
+                    key -> underlying.authorize(key.getPrincipal(), key.getRole(), key.getRequestContext())));
+    }
+
+    @Override
+    public boolean authorize(P principal, String role) {
+        return authorize(principal, role, null);
+    }
+
+    @Override
+    public boolean authorize(P principal, String role, @Nullable ContainerRequestContext requestContext) {
+        try (Timer.Context context = getsTimer.time()) {
+            final AuthorizationContext<P> cacheKey = getAuthorizationContext(principal, role, requestContext);
+            return Boolean.TRUE.equals(cache.get(cacheKey).join());
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public AuthorizationContext<P> getAuthorizationContext(P principal, String role, @Nullable ContainerRequestContext requestContext) {
+        return underlying.getAuthorizationContext(principal, role, requestContext);
+    }
+
+    /**
+     * Discards any cached role associations for the given principal and role.
+     *
+     * @param principal      the principal
+     * @param role           the role
+     * @param requestContext the request context
+     */
+    public void invalidate(P principal, String role, ContainerRequestContext requestContext) {
+        cache.synchronous().invalidate(getAuthorizationContext(principal, role, requestContext));
+    }
+
+    /**
+     * Discards any cached role associations for the given principal.
+     *
+     * @param principal the principal
+     */
+    public void invalidate(P principal) {
+        invalidateAll(principal::equals);
+    }
+
+    /**
+     * Discards any cached role associations for the given collection
+     * of principals.
+     *
+     * @param principals a list of principals
+     */
+    public void invalidateAll(Iterable<P> principals) {
+        invalidateAll(Sets.of(principals)::contains);
+    }
+
+    /**
+     * Discards any cached role associations for principals satisfying
+     * the given predicate.
+     *
+     * @param predicate a predicate to filter credentials
+     */
+    public void invalidateAll(Predicate<? super P> predicate) {
+        final Set<AuthorizationContext<P>> keys = cache.asMap().keySet().stream()
+                .filter(cacheKey -> predicate.test(cacheKey.getPrincipal()))
+                .collect(Collectors.toSet());
+        cache.synchronous().invalidateAll(keys);
+    }
+
+    /**
+     * Discards all cached role associations.
+     */
+    public void invalidateAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+    /**
+     * Returns the number of principals for which there are cached
+     * role associations.
+     *
+     * @return the number of cached principals
+     */
+    public long size() {
+        return cache.synchronous().estimatedSize();
+    }
+
+    /**
+     * Returns a set of statistics about the cache contents and usage.
+     *
+     * @return a set of statistics about the cache contents and usage
+     */
+    public CacheStats stats() {
+        return cache.synchronous().stats();
+    }
+}
@@ -0,0 +1,99 @@
+package io.dropwizard.auth;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * An {@link AsyncCacheLoader} which runs a blocking loader on the cache's executor, and records how long
+ * initial loads and refreshes take, depending on whether they succeed or fail.
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of values
+ */
+class TimedAsyncCacheLoader<K, V> implements AsyncCacheLoader<K, V> {
+    /**
+     * A blocking computation of the value for a given key. A {@code null} result means that no value should be
+     * cached for the key.
+     */
+    @FunctionalInterface
+    interface Loader<K, V> {
+        @Nullable
+        V load(K key) throws Exception;
+    }
+
+    // The number of threads of the default executor, which is sized for blocking loaders
+    private static final int DEFAULT_THREADS = Math.max(4, Runtime.getRuntime().availableProcessors());
+
+    private final Loader<K, V> loader;
+    private final Meter cacheMisses;
+    private final Timer loadSuccesses;
+    private final Timer loadFailures;
+    private final Timer refreshSuccesses;
+    private final Timer refreshFailures;
+
+    TimedAsyncCacheLoader(MetricRegistry metricRegistry, Class<?> klass, Loader<K, V> loader) {
+        this.loader = loader;
+        this.cacheMisses = metricRegistry.meter(name(klass, "cache-misses"));
+        this.loadSuccesses = metricRegistry.timer(name(klass, "loads", "success"));
+        this.loadFailures = metricRegistry.timer(name(klass, "loads", "failure"));
+        this.refreshSuccesses = metricRegistry.timer(name(klass, "refreshes", "success"));
+        this.refreshFailures = metricRegistry.timer(name(klass, "refreshes", "failure"));
+    }
+
+    /**
+     * Creates the executor used by caches which aren't given one: a bounded pool of daemon threads, which exit when
+     * they are idle, so that blocking loaders never run on the common fork-join pool.
+     *
+     * @param klass the class whose loads run on the executor, after which its threads are named
+     * @return a dedicated executor for blocking loaders
+     */
+    static Executor newDefaultExecutor(Class<?> klass) {
+        final AtomicInteger count = new AtomicInteger();
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(DEFAULT_THREADS, DEFAULT_THREADS,
+            60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                final Thread thread = new Thread(runnable, klass.getSimpleName() + "-loader-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    @Override
+    public CompletableFuture<V> asyncLoad(K key, Executor executor) {
+        cacheMisses.mark();
+        return load(key, executor, loadSuccesses, loadFailures);
+    }
+
+    @Override
+    public CompletableFuture<V> asyncReload(K key, V oldValue, Executor executor) {
+        return load(key, executor, refreshSuccesses, refreshFailures);
+    }
+
+    private CompletableFuture<V> load(K key, Executor executor, Timer successes, Timer failures) {
+        return CompletableFuture.supplyAsync(() -> {
+            final long start = System.nanoTime();
+            try {
+                final V value = loader.load(key);
+                successes.update(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return value;
+            } catch (Exception e) {
+                failures.update(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+}
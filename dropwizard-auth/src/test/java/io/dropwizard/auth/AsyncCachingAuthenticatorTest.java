@@ -0,0 +1,139 @@
+package io.dropwizard.auth;
+
+import com.codahale.metrics.MetricRegistry;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.CaffeineSpec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.security.Principal;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncCachingAuthenticatorTest {
+    private final AtomicLong ticker = new AtomicLong();
+    private final Caffeine<Object, Object> caff = Caffeine.newBuilder()
+            .maximumSize(1L)
+            .refreshAfterWrite(1, TimeUnit.MINUTES)
+            .ticker(ticker::get)
+            .executor(Runnable::run);
+    private final MetricRegistry metricRegistry = new MetricRegistry();
+
+    @Mock(lenient = true)
+    private Authenticator<String, Principal> underlying;
+    private AsyncCachingAuthenticator<String, Principal> cached;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(underlying.authenticate(anyString())).thenReturn(Optional.of(new PrincipalImpl("principal")));
+        cached = new AsyncCachingAuthenticator<>(metricRegistry, underlying, caff);
+    }
+
+    @Test
+    void cachesTheFirstReturnedPrincipal() throws Exception {
+        assertThat(cached.authenticate("credentials")).isEqualTo(Optional.<Principal>of(new PrincipalImpl("principal")));
+        assertThat(cached.authenticate("credentials")).isEqualTo(Optional.<Principal>of(new PrincipalImpl("principal")));
+
+        verify(underlying, times(1)).authenticate("credentials");
+        assertThat(metricRegistry.timer(name(underlying.getClass(), "loads", "success")).getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void callsTheUnderlyingAuthenticatorOnADedicatedPoolByDefault() throws Exception {
+        final AtomicReference<String> threadName = new AtomicReference<>();
+        when(underlying.authenticate(anyString())).thenAnswer(invocation -> {
+            threadName.set(Thread.currentThread().getName());
+            return Optional.of(new PrincipalImpl("principal"));
+        });
+        cached = new AsyncCachingAuthenticator<>(metricRegistry, underlying, CaffeineSpec.parse("maximumSize=1"));
+
+        assertThat(cached.authenticate("credentials")).isEqualTo(Optional.<Principal>of(new PrincipalImpl("principal")));
+        assertThat(threadName.get()).startsWith("AsyncCachingAuthenticator-loader-");
+    }
+
+    @Test
+    void servesTheStalePrincipalWhileRefreshing() throws Exception {
+        when(underlying.authenticate(anyString()))
+                .thenReturn(Optional.of(new PrincipalImpl("principal")))
+                .thenReturn(Optional.of(new PrincipalImpl("refreshed")));
+
+        cached.authenticate("credentials");
+        ticker.addAndGet(TimeUnit.MINUTES.toNanos(2));
+
+        assertThat(cached.authenticate("credentials")).isEqualTo(Optional.<Principal>of(new PrincipalImpl("principal")));
+        assertThat(cached.authenticate("credentials")).isEqualTo(Optional.<Principal>of(new PrincipalImpl("refreshed")));
+
+        verify(underlying, times(2)).authenticate("credentials");
+        assertThat(metricRegistry.timer(name(underlying.getClass(), "refreshes", "success")).getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void invalidatesSingleCredentials() throws Exception {
+        cached.authenticate("credentials");
+        cached.invalidate("credentials");
+        cached.authenticate("credentials");
+
+        verify(underlying, times(2)).authenticate("credentials");
+    }
+
+    @Test
+    void invalidatesAllCredentials() throws Exception {
+        cached.authenticate("credentials");
+        cached.invalidateAll();
+        cached.authenticate("credentials");
+
+        verify(underlying, times(2)).authenticate("credentials");
+    }
+
+    @Test
+    void shouldNotCacheAbsentPrincipals() throws Exception {
+        when(underlying.authenticate(anyString())).thenReturn(Optional.empty());
+        assertThat(cached.authenticate("credentials")).isEmpty();
+        verify(underlying).authenticate("credentials");
+        assertThat(cached.size()).isZero();
+    }
+
+    @Test
+    void cachesTheNegativeResultIfSpecified() throws Exception {
+        when(underlying.authenticate(anyString())).thenReturn(Optional.empty());
+        cached = new AsyncCachingAuthenticator<>(metricRegistry, underlying, caff, true);
+        assertThat(cached.authenticate("credentials")).isEmpty();
+        verify(underlying).authenticate("credentials");
+        assertThat(cached.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldPropagateAuthenticationException() throws AuthenticationException {
+        final AuthenticationException e = new AuthenticationException("Auth failed");
+        when(underlying.authenticate(anyString())).thenThrow(e);
+
+        assertThatExceptionOfType(AuthenticationException.class)
+                .isThrownBy(() -> cached.authenticate("credentials"))
+                .isEqualTo(e);
+        assertThat(metricRegistry.timer(name(underlying.getClass(), "loads", "failure")).getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldPropagateRuntimeException() throws AuthenticationException {
+        final RuntimeException e = new NullPointerException();
+        when(underlying.authenticate(anyString())).thenThrow(e);
+
+        assertThatExceptionOfType(RuntimeException.class)
+                .isThrownBy(() -> cached.authenticate("credentials"))
+                .isEqualTo(e);
+    }
+}
@@ -0,0 +1,111 @@
+package io.dropwizard.client;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.Duration;
+import io.dropwizard.validation.MinDuration;
+
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuration of the adaptive sizing of the connection pool of an HTTP client. When enabled, the maximum number of
+ * connections per route isn't fixed anymore, but adjusted periodically between {@code minConnectionsPerRoute} and
+ * the client's {@code maxConnectionsPerRoute}:
+ * <ul>
+ *     <li>it shrinks by a quarter when the ratio of server errors of the route exceeds {@code errorRateThreshold},
+ *     so a failing downstream service isn't flooded with more connections;</li>
+ *     <li>otherwise, it grows by half when requests wait for a connection, or wait on average longer than
+ *     {@code leaseWaitThreshold} to get one;</li>
+ *     <li>otherwise, it shrinks by a quarter when less than a quarter of the connections are in use, so idle routes
+ *     leave room for busy ones within the client's {@code maxConnections}.</li>
+ * </ul>
+ * <p/>
+ * <b>Configuration Parameters:</b>
+ * <table>
+ *     <tr>
+ *         <td>Name</td>
+ *         <td>Default</td>
+ *         <td>Description</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code minConnectionsPerRoute}</td>
+ *         <td>8</td>
+ *         <td>The number of connections a route starts with, and never goes below.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code leaseWaitThreshold}</td>
+ *         <td>10 milliseconds</td>
+ *         <td>The average time waited for a connection above which a route grows.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code errorRateThreshold}</td>
+ *         <td>0.1</td>
+ *         <td>The ratio of responses with a 5xx status above which a route shrinks.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code adjustmentInterval}</td>
+ *         <td>1 second</td>
+ *         <td>How often the routes are adjusted.</td>
+ *     </tr>
+ * </table>
+ *
+ * @since 2.1
+ */
+public class AdaptiveConnectionPoolConfiguration {
+    @Min(1)
+    private int minConnectionsPerRoute = 8;
+
+    @NotNull
+    private Duration leaseWaitThreshold = Duration.milliseconds(10);
+
+    @DecimalMin("0.0")
+    @DecimalMax("1.0")
+    private double errorRateThreshold = 0.1;
+
+    @NotNull
+    @MinDuration(value = 0, unit = TimeUnit.MILLISECONDS, inclusive = false)
+    private Duration adjustmentInterval = Duration.seconds(1);
+
+    @JsonProperty
+    public int getMinConnectionsPerRoute() {
+        return minConnectionsPerRoute;
+    }
+
+    @JsonProperty
+    public void setMinConnectionsPerRoute(int minConnectionsPerRoute) {
+        this.minConnectionsPerRoute = minConnectionsPerRoute;
+    }
+
+    @JsonProperty
+    public Duration getLeaseWaitThreshold() {
+        return leaseWaitThreshold;
+    }
+
+    @JsonProperty
+    public void setLeaseWaitThreshold(Duration leaseWaitThreshold) {
+        this.leaseWaitThreshold = leaseWaitThreshold;
+    }
+
+    @JsonProperty
+    public double getErrorRateThreshold() {
+        return errorRateThreshold;
+    }
+
+    @JsonProperty
+    public void setErrorRateThreshold(double errorRateThreshold) {
+        this.errorRateThreshold = errorRateThreshold;
+    }
+
+    @JsonProperty
+    public Duration getAdjustmentInterval() {
+        return adjustmentInterval;
+    }
+
+    @JsonProperty
+    public void setAdjustmentInterval(Duration adjustmentInterval) {
+        this.adjustmentInterval = adjustmentInterval;
+    }
+}
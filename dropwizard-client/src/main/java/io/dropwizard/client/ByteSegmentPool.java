@@ -0,0 +1,57 @@
+package io.dropwizard.client;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A bounded pool of fixed-size byte arrays, used to buffer request entities without allocating a new buffer, and
+ * growing it, for every request. Segments released while the pool is full are left to the garbage collector.
+ */
+class ByteSegmentPool {
+    private final int segmentSize;
+    private final int maxPooledSegments;
+    private final ConcurrentLinkedQueue<byte[]> segments = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooledSegments = new AtomicInteger();
+
+    ByteSegmentPool(int segmentSize, int maxPooledSegments) {
+        if (segmentSize < 1) {
+            throw new IllegalArgumentException("segmentSize must be positive");
+        }
+        this.segmentSize = segmentSize;
+        this.maxPooledSegments = maxPooledSegments;
+    }
+
+    int getSegmentSize() {
+        return segmentSize;
+    }
+
+    /**
+     * Returns a pooled segment, or a new one if the pool is empty.
+     */
+    byte[] acquire() {
+        final byte[] segment = segments.poll();
+        if (segment == null) {
+            return new byte[segmentSize];
+        }
+        pooledSegments.decrementAndGet();
+        return segment;
+    }
+
+    /**
+     * Gives a segment back to the pool. Its content isn't cleared.
+     */
+    void release(byte[] segment) {
+        if (segment.length != segmentSize) {
+            return;
+        }
+        if (pooledSegments.incrementAndGet() > maxPooledSegments) {
+            pooledSegments.decrementAndGet();
+            return;
+        }
+        segments.offer(segment);
+    }
+
+    int getPooledSegments() {
+        return pooledSegments.get();
+    }
+}
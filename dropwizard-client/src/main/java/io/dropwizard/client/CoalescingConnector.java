@@ -0,0 +1,219 @@
+package io.dropwizard.client;
+
+import com.codahale.metrics.Meter;
+import org.glassfish.jersey.client.ClientRequest;
+import org.glassfish.jersey.client.ClientResponse;
+import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
+import org.glassfish.jersey.client.spi.Connector;
+
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.dropwizard.util.RequestIdGenerator.REQUEST_ID_HEADER;
+
+/**
+ * A {@link Connector} which coalesces identical {@code GET} requests: while a request is in flight, the same request,
+ * with the same URI and the same headers apart from the request ID, waits for its response instead of being sent
+ * again.
+ * <p>
+ * The response of the first request is buffered in memory, so it can be read by every request it's shared with,
+ * but only when other requests are actually waiting for it, so responses which aren't shared are still streamed.
+ * When it's larger than the maximum buffered size, or it's a stream of server-sent events, the waiting requests are
+ * sent on their own. Asynchronous requests aren't coalesced, so they never wait on a thread for another request.
+ * </p>
+ */
+class CoalescingConnector implements Connector {
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Connector delegate;
+    private final int maxBufferedResponseSize;
+    private final Meter coalescedRequests;
+    private final ConcurrentMap<String, InFlightRequest> inFlight = new ConcurrentHashMap<>();
+
+    CoalescingConnector(Connector delegate, int maxBufferedResponseSize, Meter coalescedRequests) {
+        this.delegate = delegate;
+        this.maxBufferedResponseSize = maxBufferedResponseSize;
+        this.coalescedRequests = coalescedRequests;
+    }
+
+    @Override
+    public ClientResponse apply(ClientRequest request) {
+        if (!isCoalescable(request)) {
+            return delegate.apply(request);
+        }
+
+        final String key = key(request);
+        final InFlightRequest leader = new InFlightRequest();
+        final InFlightRequest inFlightRequest = inFlight.putIfAbsent(key, leader);
+        if (inFlightRequest != null) {
+            if (!inFlightRequest.join()) {
+                // The response arrived in the meantime, without being buffered for anyone
+                return delegate.apply(request);
+            }
+            coalescedRequests.mark();
+            final Optional<BufferedResponse> shared = await(inFlightRequest.response);
+            return shared.isPresent() ? shared.get().toClientResponse(request) : delegate.apply(request);
+        }
+
+        try {
+            final ClientResponse response = delegate.apply(request);
+            final boolean shared = leader.complete();
+            inFlight.remove(key, leader);
+            leader.response.complete(shared && !isEventStream(response) ? buffer(response) : Optional.empty());
+            return response;
+        } catch (RuntimeException e) {
+            leader.complete();
+            inFlight.remove(key, leader);
+            leader.response.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Future<?> apply(ClientRequest request, AsyncConnectorCallback callback) {
+        return delegate.apply(request, callback);
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    private static boolean isCoalescable(ClientRequest request) {
+        return HttpMethod.GET.equals(request.getMethod()) && !request.hasEntity();
+    }
+
+    private static boolean isEventStream(ClientResponse response) {
+        final MediaType mediaType = response.getMediaType();
+        return mediaType != null && MediaType.SERVER_SENT_EVENTS_TYPE.isCompatible(mediaType);
+    }
+
+    private static String key(ClientRequest request) {
+        final Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        headers.putAll(request.getStringHeaders());
+        // Otherwise identical requests made while serving different requests carry different IDs
+        headers.remove(REQUEST_ID_HEADER);
+        return request.getUri() + " " + headers;
+    }
+
+    /**
+     * Reads the entity of the response, so it can be shared. The response keeps its entity, whether it fits in the
+     * buffer or not.
+     *
+     * @return the buffered response, or nothing if it's too large to be buffered
+     */
+    private Optional<BufferedResponse> buffer(ClientResponse response) {
+        final InputStream entityStream = response.getEntityStream();
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        final byte[] chunk = new byte[BUFFER_SIZE];
+        try {
+            int read;
+            while ((read = entityStream.read(chunk)) != -1) {
+                buffer.write(chunk, 0, read);
+                if (buffer.size() > maxBufferedResponseSize) {
+                    response.setEntityStream(new SequenceInputStream(
+                        new ByteArrayInputStream(buffer.toByteArray()), entityStream));
+                    return Optional.empty();
+                }
+            }
+            entityStream.close();
+        } catch (IOException e) {
+            response.close();
+            throw new ProcessingException(e);
+        }
+
+        final byte[] entity = buffer.toByteArray();
+        response.setEntityStream(new ByteArrayInputStream(entity));
+        return Optional.of(new BufferedResponse(response.getStatusInfo(), response.getHeaders(), entity));
+    }
+
+    private static Optional<BufferedResponse> await(CompletableFuture<Optional<BufferedResponse>> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProcessingException(e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : new ProcessingException(cause);
+        }
+    }
+
+    /**
+     * A request in flight, which other requests may join until its response arrives.
+     */
+    private static class InFlightRequest {
+        private static final int COMPLETED = -1;
+
+        private final CompletableFuture<Optional<BufferedResponse>> response = new CompletableFuture<>();
+        // The number of requests waiting for the response, or COMPLETED once it arrived
+        private final AtomicInteger followers = new AtomicInteger();
+
+        /**
+         * @return whether the request was joined, which fails once its response arrived
+         */
+        private boolean join() {
+            int count;
+            do {
+                count = followers.get();
+                if (count == COMPLETED) {
+                    return false;
+                }
+            } while (!followers.compareAndSet(count, count + 1));
+            return true;
+        }
+
+        /**
+         * @return whether the request was joined before its response arrived, so the response is to be shared
+         */
+        private boolean complete() {
+            return followers.getAndSet(COMPLETED) > 0;
+        }
+    }
+
+    private static class BufferedResponse {
+        private final Response.StatusType status;
+        private final MultivaluedMap<String, String> headers;
+        private final byte[] entity;
+
+        private BufferedResponse(Response.StatusType status, MultivaluedMap<String, String> headers, byte[] entity) {
+            this.status = status;
+            this.headers = new MultivaluedHashMap<>(headers);
+            this.entity = entity;
+        }
+
+        private ClientResponse toClientResponse(ClientRequest request) {
+            final ClientResponse response = new ClientResponse(status, request);
+            for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+                response.getHeaders().put(header.getKey(), new ArrayList<>(header.getValue()));
+            }
+            response.setEntityStream(new ByteArrayInputStream(entity));
+            return response;
+        }
+    }
+}
@@ -22,7 +22,6 @@ import javax.annotation.Nullable;
 import javax.ws.rs.ProcessingException;
 import javax.ws.rs.core.Response;
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -51,6 +50,9 @@ public class DropwizardApacheConnector implements Connector {
 
     private static final String ERROR_BUFFERING_ENTITY = "Error buffering the entity.";
 
+    private static final int BUFFER_SEGMENT_SIZE = 8 * 1024;
+    private static final int MAX_POOLED_BUFFER_SEGMENTS = 32;
+
     private static final String APACHE_HTTP_CLIENT_VERSION = VersionInfo
             .loadVersionInfo("org.apache.http.client", DropwizardApacheConnector.class.getClassLoader())
             .getRelease();
@@ -70,6 +72,12 @@ public class DropwizardApacheConnector implements Connector {
      */
     private final boolean chunkedEncodingEnabled;
 
+    /**
+     * Buffers of the request entities, when chunked encoding is disabled
+     */
+    private final ByteSegmentPool bufferSegmentPool = new ByteSegmentPool(BUFFER_SEGMENT_SIZE,
+            MAX_POOLED_BUFFER_SEGMENTS);
+
     public DropwizardApacheConnector(CloseableHttpClient client, @Nullable RequestConfig defaultRequestConfig,
                                      boolean chunkedEncodingEnabled) {
         this.client = client;
@@ -82,8 +90,10 @@ public class DropwizardApacheConnector implements Connector {
      */
     @Override
     public ClientResponse apply(ClientRequest jerseyRequest) {
+        HttpEntity requestEntity = null;
         try {
-            final HttpUriRequest apacheRequest = buildApacheRequest(jerseyRequest);
+            requestEntity = getHttpEntity(jerseyRequest);
+            final HttpUriRequest apacheRequest = buildApacheRequest(jerseyRequest, requestEntity);
             final CloseableHttpResponse apacheResponse = client.execute(apacheRequest);
 
             final StatusLine statusLine = apacheResponse.getStatusLine();
@@ -103,6 +113,11 @@ public class DropwizardApacheConnector implements Connector {
             return jerseyResponse;
         } catch (Exception e) {
             throw new ProcessingException(e);
+        } finally {
+            // The request entity has been sent, or never will be, once the client returns
+            if (requestEntity instanceof BufferedJerseyRequestHttpEntity) {
+                ((BufferedJerseyRequestHttpEntity) requestEntity).release();
+            }
         }
     }
 
@@ -114,13 +129,14 @@ public class DropwizardApacheConnector implements Connector {
      * </p>
      *
      * @param jerseyRequest representation of an HTTP request in Jersey
+     * @param entity        the body of the request, if any
      * @return a new {@link org.apache.http.client.methods.HttpUriRequest}
      */
-    private HttpUriRequest buildApacheRequest(ClientRequest jerseyRequest) {
+    private HttpUriRequest buildApacheRequest(ClientRequest jerseyRequest, @Nullable HttpEntity entity) {
         final RequestBuilder builder = RequestBuilder
                 .create(jerseyRequest.getMethod())
                 .setUri(jerseyRequest.getUri())
-                .setEntity(getHttpEntity(jerseyRequest));
+                .setEntity(entity);
         for (String headerName : jerseyRequest.getHeaders().keySet()) {
             builder.addHeader(headerName, jerseyRequest.getHeaderString(headerName));
         }
@@ -175,7 +191,7 @@ public class DropwizardApacheConnector implements Connector {
         }
 
         return chunkedEncodingEnabled ? new JerseyRequestHttpEntity(jerseyRequest) :
-                new BufferedJerseyRequestHttpEntity(jerseyRequest);
+                new BufferedJerseyRequestHttpEntity(jerseyRequest, bufferSegmentPool);
     }
 
     /**
@@ -276,26 +292,36 @@ public class DropwizardApacheConnector implements Connector {
      * a Jersey request as a content source.
      * <p>
      * In contrast to {@link io.dropwizard.client.DropwizardApacheConnector.JerseyRequestHttpEntity}
-     * its contents are buffered on initialization.
+     * its contents are buffered on initialization, in pooled segments which are written out as they are,
+     * so the content length is known without copying the contents into a single array.
      * </p>
      */
     private static class BufferedJerseyRequestHttpEntity extends AbstractHttpEntity {
 
-        private static final int BUFFER_INITIAL_SIZE = 512;
-        private byte[] buffer;
+        private final SegmentedOutputStream buffer;
 
-        private BufferedJerseyRequestHttpEntity(ClientRequest clientRequest) {
-            final ByteArrayOutputStream stream = new ByteArrayOutputStream(BUFFER_INITIAL_SIZE);
-            clientRequest.setStreamProvider(contentLength -> stream);
+        private BufferedJerseyRequestHttpEntity(ClientRequest clientRequest, ByteSegmentPool segmentPool) {
+            buffer = new SegmentedOutputStream(segmentPool);
+            clientRequest.setStreamProvider(contentLength -> buffer);
             try {
                 clientRequest.writeEntity();
             } catch (IOException e) {
+                buffer.release();
                 throw new ProcessingException(ERROR_BUFFERING_ENTITY, e);
+            } catch (RuntimeException e) {
+                buffer.release();
+                throw e;
             }
-            buffer = stream.toByteArray();
             setChunked(false);
         }
 
+        /**
+         * Gives the buffered contents back to the pool, once the entity has been sent
+         */
+        private void release() {
+            buffer.release();
+        }
+
         /**
          * {@inheritDoc}
          */
@@ -309,7 +335,7 @@ public class DropwizardApacheConnector implements Connector {
          */
         @Override
         public long getContentLength() {
-            return buffer.length;
+            return buffer.size();
         }
 
         /**
@@ -330,7 +356,7 @@ public class DropwizardApacheConnector implements Connector {
          */
         @Override
         public void writeTo(OutputStream outstream) throws IOException {
-            outstream.write(buffer);
+            buffer.writeTo(outstream);
             outstream.flush();
         }
 
@@ -0,0 +1,275 @@
+package io.dropwizard.client;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.codahale.metrics.httpclient.HttpClientMetricNameStrategy;
+import org.apache.http.client.methods.RequestBuilder;
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.client.api.Request;
+import org.eclipse.jetty.client.api.Response;
+import org.eclipse.jetty.client.api.Result;
+import org.eclipse.jetty.client.util.BufferingResponseListener;
+import org.eclipse.jetty.client.util.BytesContentProvider;
+import org.eclipse.jetty.client.util.InputStreamResponseListener;
+import org.eclipse.jetty.http.HttpField;
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.util.Jetty;
+import org.glassfish.jersey.client.ClientProperties;
+import org.glassfish.jersey.client.ClientRequest;
+import org.glassfish.jersey.client.ClientResponse;
+import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
+import org.glassfish.jersey.client.spi.Connector;
+import org.glassfish.jersey.message.internal.Statuses;
+
+import javax.annotation.Nullable;
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.core.HttpHeaders;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Dropwizard Jetty Connector.
+ * <p>
+ * A Jersey {@link Connector} that uses Jetty's non-blocking {@link HttpClient} as an HTTP transport
+ * implementation, so asynchronous and reactive requests don't hold on to a thread for the whole round trip.
+ * Responses to asynchronous requests are received by Jetty's selectors and buffered in memory, up to a maximum
+ * size, before the callback is notified. Responses to synchronous requests are streamed. Request entities are
+ * always buffered.
+ * </p>
+ * <p>
+ * Like {@link DropwizardApacheConnector}, it uses a pre-configured HTTP client, and times every request with the
+ * configured {@link HttpClientMetricNameStrategy}. The connect timeout can't be changed per request.
+ * </p>
+ * <p>
+ * The HTTP client is shared by the runtimes of the Jersey client, so it isn't stopped when a connector is closed,
+ * but by whoever created it, like {@link JerseyClientBuilder} does when the Jersey client is closed.
+ * </p>
+ *
+ * @since 2.1
+ */
+public class DropwizardJettyConnector implements Connector {
+
+    private static final int BUFFER_INITIAL_SIZE = 512;
+
+    /**
+     * Actual HTTP client
+     */
+    private final HttpClient client;
+    private final MetricRegistry metricRegistry;
+    private final HttpClientMetricNameStrategy metricNameStrategy;
+    private final String name;
+
+    /**
+     * The maximum size of the response entities of asynchronous requests
+     */
+    private final int maxBufferedResponseSize;
+
+    /**
+     * Should the client ask for compressed responses, which are decompressed by Jersey
+     */
+    private final boolean gzipEnabled;
+
+    public DropwizardJettyConnector(HttpClient client, MetricRegistry metricRegistry,
+                                    HttpClientMetricNameStrategy metricNameStrategy, String name,
+                                    int maxBufferedResponseSize, boolean gzipEnabled) {
+        this.client = client;
+        this.metricRegistry = metricRegistry;
+        this.metricNameStrategy = metricNameStrategy;
+        this.name = name;
+        this.maxBufferedResponseSize = maxBufferedResponseSize;
+        this.gzipEnabled = gzipEnabled;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ClientResponse apply(ClientRequest jerseyRequest) {
+        final Request jettyRequest = buildJettyRequest(jerseyRequest);
+        final InputStreamResponseListener listener = new InputStreamResponseListener();
+        final Timer.Context timerContext = timer(jerseyRequest).time();
+        try {
+            jettyRequest.send(listener);
+            final Response jettyResponse = listener.get(responseTimeout(jettyRequest), TimeUnit.MILLISECONDS);
+            return buildJerseyResponse(jerseyRequest, jettyResponse, listener.getInputStream());
+        } catch (InterruptedException e) {
+            jettyRequest.abort(e);
+            Thread.currentThread().interrupt();
+            throw new ProcessingException(e);
+        } catch (TimeoutException e) {
+            jettyRequest.abort(e);
+            throw new ProcessingException(e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause() == null ? e : e.getCause();
+            jettyRequest.abort(cause);
+            throw new ProcessingException(cause);
+        } finally {
+            timerContext.stop();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Future<?> apply(final ClientRequest jerseyRequest, final AsyncConnectorCallback callback) {
+        final Request jettyRequest;
+        try {
+            jettyRequest = buildJettyRequest(jerseyRequest);
+        } catch (ProcessingException e) {
+            callback.failure(e);
+            final CompletableFuture<ClientResponse> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+
+        final CompletableFuture<ClientResponse> future = new CompletableFuture<ClientResponse>() {
+            @Override
+            public boolean cancel(boolean mayInterruptIfRunning) {
+                jettyRequest.abort(new CancellationException());
+                return super.cancel(mayInterruptIfRunning);
+            }
+        };
+        final Timer.Context timerContext = timer(jerseyRequest).time();
+        jettyRequest.send(new BufferingResponseListener(maxBufferedResponseSize) {
+            @Override
+            public void onComplete(Result result) {
+                timerContext.stop();
+                if (result.isFailed()) {
+                    final ProcessingException failure = new ProcessingException(result.getFailure());
+                    future.completeExceptionally(failure);
+                    callback.failure(failure);
+                    return;
+                }
+
+                final ClientResponse jerseyResponse;
+                try {
+                    jerseyResponse = buildJerseyResponse(jerseyRequest, result.getResponse(),
+                        getContentAsInputStream());
+                } catch (RuntimeException e) {
+                    future.completeExceptionally(e);
+                    callback.failure(e);
+                    return;
+                }
+                future.complete(jerseyResponse);
+                callback.response(jerseyResponse);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Build a new Jetty {@link Request} from Jersey's {@link ClientRequest}
+     * <p>
+     * Convert a method, URI, body, headers and Jersey properties
+     * </p>
+     *
+     * @param jerseyRequest representation of an HTTP request in Jersey
+     * @return a new {@link Request}
+     */
+    private Request buildJettyRequest(ClientRequest jerseyRequest) {
+        final Request jettyRequest = client.newRequest(jerseyRequest.getUri())
+            .method(jerseyRequest.getMethod());
+
+        // Write the entity first, as writer interceptors may add headers
+        final byte[] entity = bufferEntity(jerseyRequest);
+        if (entity != null) {
+            jettyRequest.content(new BytesContentProvider(entity));
+        }
+
+        for (String headerName : jerseyRequest.getHeaders().keySet()) {
+            final String value = jerseyRequest.getHeaderString(headerName);
+            if (HttpHeaders.USER_AGENT.equalsIgnoreCase(headerName)) {
+                jettyRequest.agent(value);
+            } else {
+                jettyRequest.header(headerName, value);
+            }
+        }
+        if (gzipEnabled && jerseyRequest.getHeaderString(HttpHeaders.ACCEPT_ENCODING) == null) {
+            jettyRequest.header(HttpHeader.ACCEPT_ENCODING, "gzip");
+        }
+
+        final Integer timeout = jerseyRequest.resolveProperty(ClientProperties.READ_TIMEOUT, Integer.class);
+        if (timeout != null) {
+            jettyRequest.idleTimeout(timeout, TimeUnit.MILLISECONDS);
+        }
+        final Boolean followRedirects = jerseyRequest.resolveProperty(ClientProperties.FOLLOW_REDIRECTS,
+            Boolean.class);
+        if (followRedirects != null) {
+            jettyRequest.followRedirects(followRedirects);
+        }
+        return jettyRequest;
+    }
+
+    @Nullable
+    private byte[] bufferEntity(ClientRequest jerseyRequest) {
+        if (jerseyRequest.getEntity() == null) {
+            return null;
+        }
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream(BUFFER_INITIAL_SIZE);
+        jerseyRequest.setStreamProvider(contentLength -> stream);
+        try {
+            jerseyRequest.writeEntity();
+        } catch (IOException e) {
+            throw new ProcessingException("Error buffering the entity.", e);
+        }
+        return stream.toByteArray();
+    }
+
+    private ClientResponse buildJerseyResponse(ClientRequest jerseyRequest, Response jettyResponse,
+                                               InputStream entityStream) {
+        final String reasonPhrase = jettyResponse.getReason();
+        final javax.ws.rs.core.Response.StatusType status = Statuses.from(jettyResponse.getStatus(),
+            reasonPhrase == null ? "" : reasonPhrase);
+
+        final ClientResponse jerseyResponse = new ClientResponse(status, jerseyRequest);
+        for (HttpField header : jettyResponse.getHeaders()) {
+            jerseyResponse.getHeaders().computeIfAbsent(header.getName(), k -> new ArrayList<>())
+                .add(header.getValue());
+        }
+        jerseyResponse.setEntityStream(entityStream);
+        return jerseyResponse;
+    }
+
+    /**
+     * Returns how long to wait for the response headers. The request fails by itself when the connection can't be
+     * established or stays idle for too long, so this is only a safety net.
+     */
+    private long responseTimeout(Request jettyRequest) {
+        final long idleTimeout = jettyRequest.getIdleTimeout() > 0 ? jettyRequest.getIdleTimeout() :
+            client.getIdleTimeout();
+        if (idleTimeout <= 0) {
+            return Long.MAX_VALUE;
+        }
+        return client.getConnectTimeout() + 2 * idleTimeout;
+    }
+
+    private Timer timer(ClientRequest jerseyRequest) {
+        return metricRegistry.timer(metricNameStrategy.getNameFor(name,
+            RequestBuilder.create(jerseyRequest.getMethod()).setUri(jerseyRequest.getUri()).build()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getName() {
+        return "Jetty-HttpClient/" + Jetty.VERSION;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        // Should not stop the client here, because it's shared by every runtime of the Jersey client
+    }
+}
@@ -71,7 +71,7 @@ public class DropwizardSSLConnectionSocketFactory {
         }
     }
 
-    private SSLContext buildSslContext() throws SSLInitializationException {
+    SSLContext buildSslContext() throws SSLInitializationException {
         final SSLContext sslContext;
         try {
             final SSLContextBuilder sslContextBuilder = new SSLContextBuilder();
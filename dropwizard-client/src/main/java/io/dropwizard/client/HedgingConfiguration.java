@@ -0,0 +1,63 @@
+package io.dropwizard.client;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.Duration;
+
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.NotNull;
+
+/**
+ * Configuration of the hedged requests of a Jersey client. When enabled, a {@code GET} or {@code HEAD} request which
+ * hasn't completed after the given percentile of the recent request latencies is sent a second time, and the first
+ * response to arrive is used. Requests aren't hedged until enough latencies have been observed.
+ * <p/>
+ * <b>Configuration Parameters:</b>
+ * <table>
+ *     <tr>
+ *         <td>Name</td>
+ *         <td>Default</td>
+ *         <td>Description</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code percentile}</td>
+ *         <td>0.95</td>
+ *         <td>The percentile of the recent request latencies after which a request is hedged.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code minDelay}</td>
+ *         <td>5 milliseconds</td>
+ *         <td>The minimum time to wait before hedging a request.</td>
+ *     </tr>
+ * </table>
+ *
+ * @since 2.1
+ */
+public class HedgingConfiguration {
+    @DecimalMin("0.0")
+    @DecimalMax("1.0")
+    private double percentile = 0.95;
+
+    @NotNull
+    private Duration minDelay = Duration.milliseconds(5);
+
+    @JsonProperty
+    public double getPercentile() {
+        return percentile;
+    }
+
+    @JsonProperty
+    public void setPercentile(double percentile) {
+        this.percentile = percentile;
+    }
+
+    @JsonProperty
+    public Duration getMinDelay() {
+        return minDelay;
+    }
+
+    @JsonProperty
+    public void setMinDelay(Duration minDelay) {
+        this.minDelay = minDelay;
+    }
+}
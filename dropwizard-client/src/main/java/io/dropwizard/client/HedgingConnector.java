@@ -0,0 +1,285 @@
+package io.dropwizard.client;
+
+import com.codahale.metrics.ExponentiallyDecayingReservoir;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.Snapshot;
+import org.glassfish.jersey.client.ClientRequest;
+import org.glassfish.jersey.client.ClientResponse;
+import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
+import org.glassfish.jersey.client.spi.Connector;
+
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.ProcessingException;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link Connector} which hedges idempotent requests: a {@code GET} or {@code HEAD} request which hasn't completed
+ * after a percentile of the recent latencies is sent a second time, and the first successful response wins. The
+ * response which loses the race is closed as soon as it arrives, so its connection goes back to the pool.
+ * <p>
+ * For synchronous requests, both attempts run on a dedicated executor, while the calling thread waits. When the
+ * executor is saturated, the request is sent without hedging. Asynchronous requests are sent through the
+ * asynchronous API of the connector, and a scheduler sends the second attempt, so no thread waits for them.
+ * </p>
+ */
+class HedgingConnector implements Connector {
+    private static final int MIN_SAMPLES = 100;
+    private static final long DELAY_REFRESH_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+
+    private final Connector delegate;
+    private final ExecutorService executor;
+    private final ScheduledExecutorService scheduler;
+    private final double percentile;
+    private final long minDelay;
+    private final Meter hedgedRequests;
+    private final Meter hedgeWins;
+    private final Histogram latencies = new Histogram(new ExponentiallyDecayingReservoir());
+
+    private volatile long hedgeDelay = -1;
+    private volatile long nextDelayRefresh = System.nanoTime();
+
+    HedgingConnector(Connector delegate, ExecutorService executor, ScheduledExecutorService scheduler,
+                     HedgingConfiguration configuration, Meter hedgedRequests, Meter hedgeWins) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.scheduler = scheduler;
+        this.percentile = configuration.getPercentile();
+        this.minDelay = configuration.getMinDelay().toNanoseconds();
+        this.hedgedRequests = hedgedRequests;
+        this.hedgeWins = hedgeWins;
+    }
+
+    @Override
+    public ClientResponse apply(ClientRequest request) {
+        if (!isHedgeable(request)) {
+            return delegate.apply(request);
+        }
+
+        final CompletableFuture<ClientResponse> primary;
+        try {
+            primary = send(request, true);
+        } catch (RejectedExecutionException e) {
+            return delegate.apply(request);
+        }
+
+        final long delay = hedgeDelay();
+        if (delay < 0) {
+            return await(primary);
+        }
+        try {
+            return primary.get(delay, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            return hedge(request, primary);
+        } catch (InterruptedException e) {
+            closeWhenDone(primary);
+            Thread.currentThread().interrupt();
+            throw new ProcessingException(e);
+        } catch (ExecutionException e) {
+            throw failure(e);
+        }
+    }
+
+    @Override
+    public Future<?> apply(ClientRequest request, AsyncConnectorCallback callback) {
+        if (!isHedgeable(request)) {
+            return delegate.apply(request, callback);
+        }
+
+        final List<Future<?>> attempts = new CopyOnWriteArrayList<>();
+        final CompletableFuture<ClientResponse> winner = new CompletableFuture<ClientResponse>() {
+            @Override
+            public boolean cancel(boolean mayInterruptIfRunning) {
+                attempts.forEach(attempt -> attempt.cancel(mayInterruptIfRunning));
+                return super.cancel(mayInterruptIfRunning);
+            }
+        };
+        final AtomicInteger started = new AtomicInteger(1);
+        final AtomicInteger failures = new AtomicInteger();
+        final long delay = hedgeDelay();
+        attempts.add(delegate.apply(request, new AttemptCallback(winner, started, failures, false, System.nanoTime())));
+
+        if (delay >= 0 && !winner.isDone()) {
+            try {
+                final Future<?> hedge = scheduler.schedule(() -> {
+                    if (!winner.isDone()) {
+                        started.incrementAndGet();
+                        hedgedRequests.mark();
+                        attempts.add(delegate.apply(new ClientRequest(request),
+                            new AttemptCallback(winner, started, failures, true, System.nanoTime())));
+                    }
+                }, delay, TimeUnit.NANOSECONDS);
+                winner.whenComplete((response, failure) -> hedge.cancel(false));
+            } catch (RejectedExecutionException e) {
+                // The request is sent without hedging
+            }
+        }
+
+        winner.whenComplete((response, failure) -> {
+            if (failure == null) {
+                callback.response(response);
+            } else if (!(failure instanceof CancellationException)) {
+                callback.failure(failure);
+            }
+        });
+        return winner;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public void close() {
+        // The executors are shared by every runtime of the Jersey client, and shut down along with it
+        delegate.close();
+    }
+
+    private static boolean isHedgeable(ClientRequest request) {
+        return (HttpMethod.GET.equals(request.getMethod()) || HttpMethod.HEAD.equals(request.getMethod())) &&
+            !request.hasEntity();
+    }
+
+    private ClientResponse hedge(ClientRequest request, CompletableFuture<ClientResponse> primary) {
+        final CompletableFuture<ClientResponse> secondary;
+        try {
+            secondary = send(new ClientRequest(request), false);
+        } catch (RejectedExecutionException e) {
+            return await(primary);
+        }
+        hedgedRequests.mark();
+
+        final CompletableFuture<ClientResponse> winner = new CompletableFuture<>();
+        final AtomicInteger failures = new AtomicInteger();
+        race(primary, winner, failures, false);
+        race(secondary, winner, failures, true);
+        return await(winner);
+    }
+
+    /**
+     * Completes the winner with the response of the attempt, unless the other attempt already won, in which case the
+     * response is closed. The winner only fails when both attempts failed.
+     */
+    private void race(CompletableFuture<ClientResponse> attempt, CompletableFuture<ClientResponse> winner,
+                      AtomicInteger failures, boolean isHedge) {
+        attempt.whenComplete((response, failure) -> {
+            if (failure != null) {
+                if (failures.incrementAndGet() == 2) {
+                    winner.completeExceptionally(failure);
+                }
+            } else if (winner.complete(response)) {
+                if (isHedge) {
+                    hedgeWins.mark();
+                }
+            } else {
+                response.close();
+            }
+        });
+    }
+
+    /**
+     * Receives the response of an asynchronous attempt, which completes the winner unless the other attempt already
+     * won, in which case the response is closed. The winner only fails once every attempt started so far failed.
+     */
+    private class AttemptCallback implements AsyncConnectorCallback {
+        private final CompletableFuture<ClientResponse> winner;
+        private final AtomicInteger started;
+        private final AtomicInteger failures;
+        private final boolean isHedge;
+        private final long start;
+
+        private AttemptCallback(CompletableFuture<ClientResponse> winner, AtomicInteger started,
+                                AtomicInteger failures, boolean isHedge, long start) {
+            this.winner = winner;
+            this.started = started;
+            this.failures = failures;
+            this.isHedge = isHedge;
+            this.start = start;
+        }
+
+        @Override
+        public void response(ClientResponse response) {
+            if (!isHedge) {
+                latencies.update(System.nanoTime() - start);
+            }
+            if (winner.complete(response)) {
+                if (isHedge) {
+                    hedgeWins.mark();
+                }
+            } else {
+                response.close();
+            }
+        }
+
+        @Override
+        public void failure(Throwable failure) {
+            if (failures.incrementAndGet() >= started.get()) {
+                winner.completeExceptionally(failure);
+            }
+        }
+    }
+
+    private CompletableFuture<ClientResponse> send(ClientRequest request, boolean recordLatency) {
+        final CompletableFuture<ClientResponse> future = new CompletableFuture<>();
+        executor.execute(() -> {
+            final long start = System.nanoTime();
+            try {
+                final ClientResponse response = delegate.apply(request);
+                if (recordLatency) {
+                    latencies.update(System.nanoTime() - start);
+                }
+                future.complete(response);
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Returns how long to wait before hedging a request, or a negative value if too few latencies have been observed
+     * yet. It's computed from the recent latencies at most once per second.
+     */
+    private long hedgeDelay() {
+        final long now = System.nanoTime();
+        if (now - nextDelayRefresh >= 0) {
+            final Snapshot snapshot = latencies.getSnapshot();
+            hedgeDelay = snapshot.size() < MIN_SAMPLES ? -1 : Math.max(minDelay, (long) snapshot.getValue(percentile));
+            nextDelayRefresh = now + DELAY_REFRESH_INTERVAL;
+        }
+        return hedgeDelay;
+    }
+
+    private static ClientResponse await(CompletableFuture<ClientResponse> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            closeWhenDone(future);
+            Thread.currentThread().interrupt();
+            throw new ProcessingException(e);
+        } catch (ExecutionException e) {
+            throw failure(e);
+        }
+    }
+
+    private static void closeWhenDone(CompletableFuture<ClientResponse> future) {
+        future.thenAccept(ClientResponse::close);
+    }
+
+    private static RuntimeException failure(ExecutionException e) {
+        final Throwable cause = e.getCause();
+        return cause instanceof RuntimeException ? (RuntimeException) cause : new ProcessingException(cause);
+    }
+}
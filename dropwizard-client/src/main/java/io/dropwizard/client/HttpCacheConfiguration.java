@@ -0,0 +1,106 @@
+package io.dropwizard.client;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.DataSize;
+import io.dropwizard.validation.MinDataSize;
+
+import javax.annotation.Nullable;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+/**
+ * Configuration of the HTTP response cache of a client. When enabled, responses are cached as allowed by their
+ * {@code Cache-Control} and {@code Expires} headers, and stale responses with an {@code ETag} or a
+ * {@code Last-Modified} header are revalidated with a conditional request.
+ * <p/>
+ * <b>Configuration Parameters:</b>
+ * <table>
+ *     <tr>
+ *         <td>Name</td>
+ *         <td>Default</td>
+ *         <td>Description</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code maxEntries}</td>
+ *         <td>1000</td>
+ *         <td>The maximum number of responses in the cache. The least recently used ones are evicted first.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code maxObjectSize}</td>
+ *         <td>64 KiB</td>
+ *         <td>The maximum size of the body of a cached response. Larger responses aren't cached.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code sharedCache}</td>
+ *         <td>true</td>
+ *         <td>
+ *             Whether the cache behaves as a shared cache, which doesn't store responses marked as
+ *             {@code private}, or responses to requests with an {@code Authorization} header.
+ *         </td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code directory}</td>
+ *         <td>(none)</td>
+ *         <td>
+ *             When set, the bodies of the cached responses are stored in files in this directory rather than in
+ *             memory.
+ *         </td>
+ *     </tr>
+ * </table>
+ *
+ * @since 2.1
+ */
+public class HttpCacheConfiguration {
+    @Min(1)
+    private int maxEntries = 1000;
+
+    @NotNull
+    @MinDataSize(1)
+    private DataSize maxObjectSize = DataSize.kibibytes(64);
+
+    private boolean sharedCache = true;
+
+    @Nullable
+    private String directory;
+
+    @JsonProperty
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    @JsonProperty
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    @JsonProperty
+    public DataSize getMaxObjectSize() {
+        return maxObjectSize;
+    }
+
+    @JsonProperty
+    public void setMaxObjectSize(DataSize maxObjectSize) {
+        this.maxObjectSize = maxObjectSize;
+    }
+
+    @JsonProperty
+    public boolean isSharedCache() {
+        return sharedCache;
+    }
+
+    @JsonProperty
+    public void setSharedCache(boolean sharedCache) {
+        this.sharedCache = sharedCache;
+    }
+
+    @JsonProperty
+    @Nullable
+    public String getDirectory() {
+        return directory;
+    }
+
+    @JsonProperty
+    public void setDirectory(@Nullable String directory) {
+        this.directory = directory;
+    }
+}
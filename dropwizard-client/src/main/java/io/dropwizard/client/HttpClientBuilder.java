@@ -1,5 +1,6 @@
 package io.dropwizard.client;
 
+import com.codahale.metrics.Histogram;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.httpclient.HttpClientMetricNameStrategies;
 import com.codahale.metrics.httpclient.HttpClientMetricNameStrategy;
@@ -14,7 +15,11 @@ import io.dropwizard.setup.Environment;
 import io.dropwizard.util.Duration;
 import org.apache.http.ConnectionReuseStrategy;
 import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
 import org.apache.http.HttpHost;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.HttpResponseInterceptor;
 import org.apache.http.HttpResponse;
 import org.apache.http.auth.AuthScope;
 import org.apache.http.auth.Credentials;
@@ -25,8 +30,10 @@ import org.apache.http.client.HttpClient;
 import org.apache.http.client.HttpRequestRetryHandler;
 import org.apache.http.client.RedirectStrategy;
 import org.apache.http.client.ServiceUnavailableRetryStrategy;
+import org.apache.http.client.cache.CacheConfig;
 import org.apache.http.client.config.CookieSpecs;
 import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.protocol.HttpClientContext;
 import org.apache.http.config.Registry;
 import org.apache.http.config.RegistryBuilder;
 import org.apache.http.config.SocketConfig;
@@ -41,14 +48,21 @@ import org.apache.http.impl.client.BasicCredentialsProvider;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
 import org.apache.http.impl.client.DefaultHttpRequestRetryHandler;
+import org.apache.http.impl.client.cache.CachingHttpClientBuilder;
 import org.apache.http.impl.conn.SystemDefaultDnsResolver;
 import org.apache.http.protocol.HttpContext;
 import org.apache.http.protocol.HttpProcessor;
 import org.apache.http.protocol.HttpRequestExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
 import javax.net.ssl.HostnameVerifier;
+import java.io.File;
 import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * A convenience class for building {@link HttpClient} instances.
@@ -64,6 +78,7 @@ import java.util.List;
 public class HttpClientBuilder {
     @SuppressWarnings("UnnecessaryLambda")
     private static final HttpRequestRetryHandler NO_RETRIES = (exception, executionCount, context) -> false;
+    private static final Logger LOGGER = LoggerFactory.getLogger(HttpClientBuilder.class);
 
     private final MetricRegistry metricRegistry;
 
@@ -305,7 +320,8 @@ public class HttpClientBuilder {
      * @return an {@link io.dropwizard.client.ConfiguredCloseableHttpClient}
      */
     ConfiguredCloseableHttpClient buildWithDefaultRequestConfiguration(String name) {
-        return createClient(createBuilder(),
+        final HttpCacheConfiguration cache = configuration.getCache();
+        return createClient(cache == null ? createBuilder() : createCachingBuilder(cache, name),
                 createConnectionManager(createConfiguredRegistry(), name), name);
     }
 
@@ -336,6 +352,31 @@ public class HttpClientBuilder {
         return org.apache.http.impl.client.HttpClientBuilder.create();
     }
 
+    /**
+     * Creates an Apache {@link CachingHttpClientBuilder}, used instead of {@link #createBuilder()} when the response
+     * cache is enabled.
+     *
+     * The default implementation counts the cache hits, misses and revalidations in meters named after the client.
+     *
+     * @param cache the configuration of the response cache
+     * @param name the name of the client
+     * @return a {@link CachingHttpClientBuilder}
+     * @since 2.1
+     */
+    protected CachingHttpClientBuilder createCachingBuilder(HttpCacheConfiguration cache, String name) {
+        final CachingHttpClientBuilder builder = new InstrumentedCachingHttpClientBuilder(metricRegistry, name);
+        builder.setCacheConfig(CacheConfig.custom()
+            .setMaxCacheEntries(cache.getMaxEntries())
+            .setMaxObjectSize(cache.getMaxObjectSize().toBytes())
+            .setSharedCache(cache.isSharedCache())
+            .build());
+        final String directory = cache.getDirectory();
+        if (directory != null) {
+            builder.setCacheDir(new File(directory));
+        }
+        return builder;
+    }
+
     /**
      * Configures an Apache {@link org.apache.http.impl.client.HttpClientBuilder}.
      *
@@ -394,7 +435,8 @@ public class HttpClientBuilder {
             .setDefaultSocketConfig(socketConfig)
             .setConnectionReuseStrategy(reuseStrategy)
             .setRetryHandler(retryHandler)
-            .setUserAgent(createUserAgent(name));
+            .setUserAgent(createUserAgent(name))
+            .addInterceptorLast(createRequestEntitySizeInterceptor(name));
 
         if (keepAlive != 0) {
             // either keep alive based on response header Keep-Alive,
@@ -461,11 +503,108 @@ public class HttpClientBuilder {
             builder.setServiceUnavailableRetryStrategy(serviceUnavailableRetryStrategy);
         }
 
+        if (manager instanceof RouteInstrumentedHttpClientConnectionManager) {
+            final RouteInstrumentedHttpClientConnectionManager routeManager =
+                (RouteInstrumentedHttpClientConnectionManager) manager;
+            builder.addInterceptorLast((HttpResponseInterceptor) (response, context) -> routeManager.recordResponse(
+                HttpClientContext.adapt(context).getHttpRoute(), response.getStatusLine().getStatusCode()));
+        }
+        scheduleConnectionPoolMaintenance(manager, name);
+
         customizeBuilder(builder);
 
         return new ConfiguredCloseableHttpClient(builder.build(), requestConfig);
     }
 
+    /**
+     * Records the size of the request entities whose length is known, that is, which aren't sent with chunked
+     * encoding, in a histogram named after the client.
+     */
+    private HttpRequestInterceptor createRequestEntitySizeInterceptor(String name) {
+        final Histogram requestEntitySizes = metricRegistry.histogram(
+            MetricRegistry.name(HttpClient.class, name, "request-entity-size"));
+        return (request, context) -> {
+            if (request instanceof HttpEntityEnclosingRequest) {
+                final HttpEntity entity = ((HttpEntityEnclosingRequest) request).getEntity();
+                if (entity != null && entity.getContentLength() >= 0) {
+                    requestEntitySizes.update(entity.getContentLength());
+                }
+            }
+        };
+    }
+
+    /**
+     * Periodically evicts the expired and idle connections of the pool, forgets its idle routes, and adjusts the
+     * limits of its routes if the adaptive mode is enabled, on a thread tied to the lifecycle of the environment.
+     * Without an environment, the thread is shut down along with the connection manager, unless the manager isn't
+     * able to do so, in which case the pool isn't maintained.
+     */
+    private void scheduleConnectionPoolMaintenance(InstrumentedHttpClientConnectionManager manager, String name) {
+        final Environment environment = this.environment;
+        final long evictionInterval = configuration.getConnectionEvictionInterval().toMilliseconds();
+        final AdaptiveConnectionPoolConfiguration adaptive = configuration.getAdaptiveConnectionPool();
+        final RouteInstrumentedHttpClientConnectionManager routeManager =
+            manager instanceof RouteInstrumentedHttpClientConnectionManager ?
+                (RouteInstrumentedHttpClientConnectionManager) manager : null;
+        final long maxIdleTime = configuration.getMaxConnectionIdleTime().toMilliseconds();
+        // Routes are only tracked when their metrics are reported or their limits adapted
+        final boolean evictIdleRoutes = routeManager != null && maxIdleTime > 0 &&
+            (configuration.isPerRouteMetricsEnabled() || adaptive != null);
+        if (evictionInterval <= 0 && adaptive == null && !evictIdleRoutes) {
+            return;
+        }
+
+        final ScheduledExecutorService executor;
+        if (environment != null) {
+            executor = environment.lifecycle()
+                .scheduledExecutorService("http-client-" + name + "-pool-maintenance-%d", true)
+                .build();
+        } else if (routeManager != null) {
+            // Otherwise, adaptive routes would be stuck at their minimum number of connections
+            executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "http-client-" + name + "-pool-maintenance");
+                thread.setDaemon(true);
+                return thread;
+            });
+            routeManager.maintainOn(executor);
+        } else {
+            return;
+        }
+        if (evictionInterval > 0) {
+            executor.scheduleWithFixedDelay(() -> runMaintenance(name, () -> {
+                manager.closeExpiredConnections();
+                manager.closeIdleConnections(maxIdleTime, TimeUnit.MILLISECONDS);
+            }), evictionInterval, evictionInterval, TimeUnit.MILLISECONDS);
+        }
+        if (evictIdleRoutes && routeManager != null) {
+            executor.scheduleWithFixedDelay(() -> runMaintenance(name,
+                () -> routeManager.evictIdleRoutes(maxIdleTime, TimeUnit.MILLISECONDS)),
+                maxIdleTime, maxIdleTime, TimeUnit.MILLISECONDS);
+        }
+        if (adaptive != null && routeManager != null) {
+            final long adjustmentInterval = adaptive.getAdjustmentInterval().toMilliseconds();
+            executor.scheduleWithFixedDelay(() -> runMaintenance(name, routeManager::adjustRouteLimits),
+                adjustmentInterval, adjustmentInterval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static void runMaintenance(String name, Runnable task) {
+        // An exception would cancel the next runs
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            LOGGER.warn("Unable to maintain the connection pool of the HTTP client {}", name, e);
+        }
+    }
+
+    MetricRegistry getMetricRegistry() {
+        return metricRegistry;
+    }
+
+    HttpClientMetricNameStrategy getMetricNameStrategy() {
+        return metricNameStrategy;
+    }
+
     /**
      * Create a user agent string using the configured user agent if defined, otherwise
      * using a combination of the environment name and this client name
@@ -491,14 +630,15 @@ public class HttpClientBuilder {
     protected InstrumentedHttpClientConnectionManager createConnectionManager(Registry<ConnectionSocketFactory> registry,
                                                                               String name) {
         final Duration ttl = configuration.getTimeToLive();
-        final InstrumentedHttpClientConnectionManager manager = new InstrumentedHttpClientConnectionManager(
+        final InstrumentedHttpClientConnectionManager manager = new RouteInstrumentedHttpClientConnectionManager(
                 metricRegistry,
                 registry,
-                null, null,
                 resolver,
                 ttl.getQuantity(),
                 ttl.getUnit(),
-                name);
+                name,
+                configuration.isPerRouteMetricsEnabled(),
+                configuration.getAdaptiveConnectionPool());
         return configureConnectionManager(manager);
     }
 
@@ -67,6 +67,22 @@ public class HttpClientConfiguration {
     @Nullable
     private TlsConfiguration tlsConfiguration;
 
+    private boolean perRouteMetricsEnabled = false;
+
+    @NotNull
+    private Duration connectionEvictionInterval = Duration.milliseconds(0);
+
+    @NotNull
+    private Duration maxConnectionIdleTime = Duration.seconds(30);
+
+    @Valid
+    @Nullable
+    private AdaptiveConnectionPoolConfiguration adaptiveConnectionPool;
+
+    @Valid
+    @Nullable
+    private HttpCacheConfiguration cache;
+
     @JsonProperty
     public void setKeepAlive(Duration keepAlive) {
         this.keepAlive = keepAlive;
@@ -213,4 +229,86 @@ public class HttpClientConfiguration {
     public void setTlsConfiguration(TlsConfiguration tlsConfiguration) {
         this.tlsConfiguration = tlsConfiguration;
     }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public boolean isPerRouteMetricsEnabled() {
+        return perRouteMetricsEnabled;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setPerRouteMetricsEnabled(boolean perRouteMetricsEnabled) {
+        this.perRouteMetricsEnabled = perRouteMetricsEnabled;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public Duration getConnectionEvictionInterval() {
+        return connectionEvictionInterval;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setConnectionEvictionInterval(Duration connectionEvictionInterval) {
+        this.connectionEvictionInterval = connectionEvictionInterval;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public Duration getMaxConnectionIdleTime() {
+        return maxConnectionIdleTime;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setMaxConnectionIdleTime(Duration maxConnectionIdleTime) {
+        this.maxConnectionIdleTime = maxConnectionIdleTime;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    @Nullable
+    public AdaptiveConnectionPoolConfiguration getAdaptiveConnectionPool() {
+        return adaptiveConnectionPool;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setAdaptiveConnectionPool(@Nullable AdaptiveConnectionPoolConfiguration adaptiveConnectionPool) {
+        this.adaptiveConnectionPool = adaptiveConnectionPool;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    @Nullable
+    public HttpCacheConfiguration getCache() {
+        return cache;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setCache(@Nullable HttpCacheConfiguration cache) {
+        this.cache = cache;
+    }
 }
@@ -0,0 +1,43 @@
+package io.dropwizard.client;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.cache.CacheResponseStatus;
+import org.apache.http.client.cache.HttpCacheContext;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.impl.client.cache.CachingHttpClientBuilder;
+import org.apache.http.impl.execchain.ClientExecChain;
+
+/**
+ * A {@link CachingHttpClientBuilder} which counts the requests served from the cache, the requests sent to the
+ * server, and the cached responses revalidated with the server, in meters named after the client.
+ */
+class InstrumentedCachingHttpClientBuilder extends CachingHttpClientBuilder {
+    private final Meter hits;
+    private final Meter misses;
+    private final Meter revalidations;
+
+    InstrumentedCachingHttpClientBuilder(MetricRegistry metricRegistry, String name) {
+        this.hits = metricRegistry.meter(MetricRegistry.name(HttpClient.class, name, "cache-hits"));
+        this.misses = metricRegistry.meter(MetricRegistry.name(HttpClient.class, name, "cache-misses"));
+        this.revalidations = metricRegistry.meter(MetricRegistry.name(HttpClient.class, name, "cache-revalidations"));
+    }
+
+    @Override
+    protected ClientExecChain decorateMainExec(ClientExecChain mainExec) {
+        final ClientExecChain cachingExec = super.decorateMainExec(mainExec);
+        return (route, request, context, execAware) -> {
+            final CloseableHttpResponse response = cachingExec.execute(route, request, context, execAware);
+            final CacheResponseStatus status = HttpCacheContext.adapt(context).getCacheResponseStatus();
+            if (status == CacheResponseStatus.CACHE_HIT) {
+                hits.mark();
+            } else if (status == CacheResponseStatus.CACHE_MISS) {
+                misses.mark();
+            } else if (status == CacheResponseStatus.VALIDATED) {
+                revalidations.mark();
+            }
+            return response;
+        };
+    }
+}
@@ -1,8 +1,10 @@
 package io.dropwizard.client;
 
+import com.codahale.metrics.Gauge;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.httpclient.HttpClientMetricNameStrategy;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.dropwizard.client.ssl.TlsConfiguration;
 import io.dropwizard.jersey.gzip.ConfiguredGZipEncoder;
 import io.dropwizard.jersey.gzip.GZipDecoder;
 import io.dropwizard.jersey.jackson.JacksonFeature;
@@ -15,14 +17,30 @@ import org.apache.http.client.HttpRequestRetryHandler;
 import org.apache.http.client.ServiceUnavailableRetryStrategy;
 import org.apache.http.config.Registry;
 import org.apache.http.conn.DnsResolver;
+import org.apache.http.conn.HttpClientConnectionManager;
 import org.apache.http.conn.routing.HttpRoutePlanner;
 import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.eclipse.jetty.client.AbstractConnectionPool;
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.client.HttpDestination;
+import org.eclipse.jetty.client.api.Destination;
+import org.eclipse.jetty.http.HttpField;
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.util.HttpCookieStore;
+import org.eclipse.jetty.util.ssl.SslContextFactory;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
 import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.client.ClientRequest;
+import org.glassfish.jersey.client.ClientResponse;
+import org.glassfish.jersey.client.JerseyClient;
+import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
+import org.glassfish.jersey.client.spi.Connector;
 import org.glassfish.jersey.client.spi.ConnectorProvider;
 
 import javax.annotation.Nullable;
 import javax.net.ssl.HostnameVerifier;
 import javax.validation.Validator;
+import javax.ws.rs.ProcessingException;
 import javax.ws.rs.client.Client;
 import javax.ws.rs.client.ClientBuilder;
 import javax.ws.rs.client.RxInvokerProvider;
@@ -33,6 +51,16 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToIntFunction;
 
 import static java.util.Objects.requireNonNull;
 
@@ -369,8 +397,11 @@ public class JerseyClientBuilder {
             apacheHttpClientBuilder.disableContentCompression(true);
         }
 
-        final Client client = ClientBuilder.newClient(buildConfig(name, threadPool, objectMapper, validator));
+        final SharedResources sharedResources = new SharedResources();
+        final Client client = ClientBuilder.newClient(buildConfig(name, threadPool, objectMapper, validator,
+            sharedResources));
         client.register(new JerseyIgnoreRequestUserAgentHeaderFilter());
+        client.register(new JerseyRequestIdHeaderFilter());
 
         // Tie the client to server lifecycle
         if (environment != null) {
@@ -382,6 +413,7 @@ public class JerseyClientBuilder {
                 @Override
                 public void stop() throws Exception {
                     client.close();
+                    sharedResources.release();
                 }
             });
         }
@@ -395,7 +427,8 @@ public class JerseyClientBuilder {
 
     private Configuration buildConfig(final String name, final ExecutorService threadPool,
                                       final ObjectMapper objectMapper,
-                                      final Validator validator) {
+                                      final Validator validator,
+                                      final SharedResources sharedResources) {
         final ClientConfig config = new ClientConfig();
 
         for (Object singleton : this.singletons) {
@@ -415,7 +448,12 @@ public class JerseyClientBuilder {
 
         config.register(new DropwizardExecutorProvider(threadPool));
 
-        if (connectorProvider == null) {
+        if (connectorProvider == null && configuration.getConnectorType() == JerseyConnectorType.JETTY) {
+            final HttpClient jettyHttpClient = createJettyHttpClient(name);
+            sharedResources.add(jettyHttpClient::stop);
+            final DropwizardJettyConnector jettyConnector = createDropwizardJettyConnector(jettyHttpClient, name);
+            config.connectorProvider((client, runtimeConfig) -> jettyConnector);
+        } else if (connectorProvider == null) {
             final ConfiguredCloseableHttpClient apacheHttpClient =
                     apacheHttpClientBuilder.buildWithDefaultRequestConfiguration(name);
             config.connectorProvider((client, runtimeConfig) -> createDropwizardApacheConnector(apacheHttpClient));
@@ -423,9 +461,147 @@ public class JerseyClientBuilder {
             config.connectorProvider(connectorProvider);
         }
 
+        final HedgingConfiguration hedging = configuration.getHedging();
+        if (hedging != null || configuration.isCoalescingEnabled()) {
+            final HedgingExecutors hedgingExecutors = hedging == null ? null :
+                createHedgingExecutors(name, sharedResources);
+            final ConnectorProvider provider = config.getConnectorProvider();
+            config.connectorProvider((client, runtimeConfig) ->
+                decorateConnector(provider.getConnector(client, runtimeConfig), name, hedging, hedgingExecutors));
+        }
+
+        // Each runtime of the client, e.g. those of web targets with their own properties, gets a connector, which
+        // is closed with the runtime; the shared resources are only released once the client itself is closed
+        final ConnectorProvider runtimeConnectors = config.getConnectorProvider();
+        config.connectorProvider((client, runtimeConfig) ->
+            sharedResources.releasedWith(client, runtimeConnectors.getConnector(client, runtimeConfig)));
+
         return config;
     }
 
+    /**
+     * Creates the executors which send the hedged requests of every runtime of the client.
+     */
+    private HedgingExecutors createHedgingExecutors(String name, SharedResources sharedResources) {
+        final ExecutorService hedgingExecutor = new ThreadPoolExecutor(0, configuration.getMaxThreads(),
+            60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+            daemonThreadFactory("jersey-client-" + name + "-hedging-"));
+        final ScheduledThreadPoolExecutor hedgingScheduler = new ScheduledThreadPoolExecutor(1,
+            daemonThreadFactory("jersey-client-" + name + "-hedging-scheduler-"));
+        // Most hedges are cancelled, as most requests complete in time
+        hedgingScheduler.setRemoveOnCancelPolicy(true);
+        sharedResources.add(hedgingExecutor::shutdown);
+        sharedResources.add(hedgingScheduler::shutdownNow);
+        return new HedgingExecutors(hedgingExecutor, hedgingScheduler);
+    }
+
+    /**
+     * Wraps the connector of the client with the hedging and coalescing connectors, when they are enabled.
+     */
+    private Connector decorateConnector(Connector connector, String name, @Nullable HedgingConfiguration hedging,
+                                        @Nullable HedgingExecutors hedgingExecutors) {
+        final MetricRegistry metricRegistry = apacheHttpClientBuilder.getMetricRegistry();
+        final String metricPrefix = MetricRegistry.name(org.apache.http.client.HttpClient.class, name);
+        Connector decorated = connector;
+        if (hedging != null && hedgingExecutors != null) {
+            decorated = new HedgingConnector(decorated, hedgingExecutors.executor, hedgingExecutors.scheduler, hedging,
+                metricRegistry.meter(MetricRegistry.name(metricPrefix, "hedged-requests")),
+                metricRegistry.meter(MetricRegistry.name(metricPrefix, "hedge-wins")));
+        }
+        if (configuration.isCoalescingEnabled()) {
+            decorated = new CoalescingConnector(decorated, (int) configuration.getMaxBufferedResponseSize().toBytes(),
+                metricRegistry.meter(MetricRegistry.name(metricPrefix, "coalesced-requests")));
+        }
+        return decorated;
+    }
+
+    private static class HedgingExecutors {
+        private final ExecutorService executor;
+        private final ScheduledExecutorService scheduler;
+
+        private HedgingExecutors(ExecutorService executor, ScheduledExecutorService scheduler) {
+            this.executor = executor;
+            this.scheduler = scheduler;
+        }
+    }
+
+    /**
+     * The resources shared by the runtimes of a Jersey client, such as Jetty's HTTP client and the hedging executors.
+     * They're released when the client is closed, or when the environment is stopped.
+     */
+    private static class SharedResources {
+        private final List<AutoCloseable> resources = new ArrayList<>();
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        void add(AutoCloseable resource) {
+            resources.add(resource);
+        }
+
+        void release() {
+            if (!released.compareAndSet(false, true)) {
+                return;
+            }
+            ProcessingException failure = null;
+            for (AutoCloseable resource : resources) {
+                try {
+                    resource.close();
+                } catch (Exception e) {
+                    if (failure == null) {
+                        failure = new ProcessingException("Failed to release the resources of the client", e);
+                    } else {
+                        failure.addSuppressed(e);
+                    }
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+
+        /**
+         * Wraps the connector of a runtime, so that closing it releases the shared resources if the client itself
+         * is closed, and not when a runtime of a web target is closed or collected.
+         */
+        Connector releasedWith(Client client, Connector connector) {
+            return new Connector() {
+                @Override
+                public ClientResponse apply(ClientRequest request) {
+                    return connector.apply(request);
+                }
+
+                @Override
+                public Future<?> apply(ClientRequest request, AsyncConnectorCallback callback) {
+                    return connector.apply(request, callback);
+                }
+
+                @Override
+                public String getName() {
+                    return connector.getName();
+                }
+
+                @Override
+                public void close() {
+                    try {
+                        connector.close();
+                    } finally {
+                        if (client instanceof JerseyClient && ((JerseyClient) client).isClosed()) {
+                            release();
+                        }
+                    }
+                }
+            };
+        }
+    }
+
+    private static ThreadFactory daemonThreadFactory(String namePrefix) {
+        final AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> {
+            final Thread thread = new Thread(runnable, namePrefix + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
     /**
      * Builds {@link DropwizardApacheConnector} based on the configured Apache HTTP client
      * as {@link ConfiguredCloseableHttpClient} and the chunked encoding configuration set by the user.
@@ -434,4 +610,97 @@ public class JerseyClientBuilder {
         return new DropwizardApacheConnector(configuredClient.getClient(), configuredClient.getDefaultRequestConfig(),
                 configuration.isChunkedEncodingEnabled());
     }
+
+    /**
+     * Builds and starts Jetty's {@link HttpClient} based on the configuration. It's shared by the runtimes of the
+     * Jersey client, and stopped when the Jersey client is closed or the environment is stopped. Its connection pools
+     * are instrumented like Apache's connection manager.
+     *
+     * @since 2.1
+     */
+    protected HttpClient createJettyHttpClient(String name) {
+        final SslContextFactory.Client sslContextFactory = new SslContextFactory.Client();
+        final TlsConfiguration tlsConfiguration = configuration.getTlsConfiguration();
+        if (tlsConfiguration != null) {
+            final DropwizardSSLConnectionSocketFactory socketFactory =
+                new DropwizardSSLConnectionSocketFactory(tlsConfiguration);
+            sslContextFactory.setSslContext(socketFactory.buildSslContext());
+            final List<String> supportedProtocols = tlsConfiguration.getSupportedProtocols();
+            if (supportedProtocols != null) {
+                sslContextFactory.setIncludeProtocols(supportedProtocols.toArray(new String[0]));
+            }
+            final List<String> supportedCiphers = tlsConfiguration.getSupportedCiphers();
+            if (supportedCiphers != null) {
+                sslContextFactory.setIncludeCipherSuites(supportedCiphers.toArray(new String[0]));
+            }
+            if (!tlsConfiguration.isVerifyHostname()) {
+                sslContextFactory.setEndpointIdentificationAlgorithm(null);
+            }
+        }
+
+        final QueuedThreadPool threadPool = new QueuedThreadPool();
+        threadPool.setName("jersey-client-" + name + "-jetty");
+        threadPool.setDaemon(true);
+
+        final HttpClient client = new HttpClient(sslContextFactory);
+        client.setExecutor(threadPool);
+        client.setConnectTimeout(configuration.getConnectionTimeout().toMilliseconds());
+        final long keepAlive = configuration.getKeepAlive().toMilliseconds();
+        client.setIdleTimeout(keepAlive > 0 ? keepAlive : configuration.getTimeout().toMilliseconds());
+        client.setMaxConnectionsPerDestination(configuration.getMaxConnectionsPerRoute());
+        client.setUserAgentField(new HttpField(HttpHeader.USER_AGENT, apacheHttpClientBuilder.createUserAgent(name)));
+        if (!configuration.isCookiesEnabled()) {
+            client.setCookieStore(new HttpCookieStore.Empty());
+        }
+        // Leave compressed responses to Jersey's GZipDecoder, so they aren't decoded twice
+        client.getContentDecoderFactories().clear();
+
+        try {
+            client.start();
+        } catch (Exception e) {
+            throw new IllegalStateException("Unable to start the HTTP client " + name, e);
+        }
+
+        final MetricRegistry metricRegistry = apacheHttpClientBuilder.getMetricRegistry();
+        registerPoolGauge(metricRegistry, name, "available-connections", client,
+            AbstractConnectionPool::getIdleConnectionCount);
+        registerPoolGauge(metricRegistry, name, "leased-connections", client,
+            AbstractConnectionPool::getActiveConnectionCount);
+        registerPoolGauge(metricRegistry, name, "pending-connections", client,
+            AbstractConnectionPool::getPendingConnectionCount);
+        final String maxConnectionsName = MetricRegistry.name(HttpClientConnectionManager.class, name,
+            "max-connections");
+        metricRegistry.remove(maxConnectionsName);
+        metricRegistry.register(maxConnectionsName, (Gauge<Integer>) client::getMaxConnectionsPerDestination);
+        return client;
+    }
+
+    private static void registerPoolGauge(MetricRegistry metricRegistry, String name, String metricName,
+                                          HttpClient client, ToIntFunction<AbstractConnectionPool> count) {
+        final String fullName = MetricRegistry.name(HttpClientConnectionManager.class, name, metricName);
+        metricRegistry.remove(fullName);
+        metricRegistry.register(fullName, (Gauge<Integer>) () -> {
+            int total = 0;
+            for (Destination destination : client.getDestinations()) {
+                if (destination instanceof HttpDestination &&
+                    ((HttpDestination) destination).getConnectionPool() instanceof AbstractConnectionPool) {
+                    total += count.applyAsInt((AbstractConnectionPool) ((HttpDestination) destination)
+                        .getConnectionPool());
+                }
+            }
+            return total;
+        });
+    }
+
+    /**
+     * Builds {@link DropwizardJettyConnector} based on the configured Jetty HTTP client, and the metrics and
+     * buffering configuration set by the user.
+     *
+     * @since 2.1
+     */
+    protected DropwizardJettyConnector createDropwizardJettyConnector(HttpClient client, String name) {
+        return new DropwizardJettyConnector(client, apacheHttpClientBuilder.getMetricRegistry(),
+                apacheHttpClientBuilder.getMetricNameStrategy(), name,
+                (int) configuration.getMaxBufferedResponseSize().toBytes(), configuration.isGzipEnabled());
+    }
 }
@@ -2,10 +2,16 @@ package io.dropwizard.client;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.DataSize;
+import io.dropwizard.validation.MaxDataSize;
+import io.dropwizard.validation.MinDataSize;
 import io.dropwizard.validation.ValidationMethod;
 
+import javax.annotation.Nullable;
+import javax.validation.Valid;
 import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
 
 /**
  * The configuration class used by {@link JerseyClientBuilder}. Extends
@@ -33,6 +39,20 @@ public class JerseyClientConfiguration extends HttpClientConfiguration {
 
     private boolean chunkedEncodingEnabled = true;
 
+    @NotNull
+    private JerseyConnectorType connectorType = JerseyConnectorType.APACHE;
+
+    @NotNull
+    @MinDataSize(1)
+    @MaxDataSize(Integer.MAX_VALUE)
+    private DataSize maxBufferedResponseSize = DataSize.mebibytes(2);
+
+    @Valid
+    @Nullable
+    private HedgingConfiguration hedging;
+
+    private boolean coalescingEnabled = false;
+
     @JsonProperty
     public int getMinThreads() {
         return minThreads;
@@ -93,6 +113,71 @@ public class JerseyClientConfiguration extends HttpClientConfiguration {
         this.workQueueSize = workQueueSize;
     }
 
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public JerseyConnectorType getConnectorType() {
+        return connectorType;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setConnectorType(JerseyConnectorType connectorType) {
+        this.connectorType = connectorType;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public DataSize getMaxBufferedResponseSize() {
+        return maxBufferedResponseSize;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setMaxBufferedResponseSize(DataSize maxBufferedResponseSize) {
+        this.maxBufferedResponseSize = maxBufferedResponseSize;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    @Nullable
+    public HedgingConfiguration getHedging() {
+        return hedging;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setHedging(@Nullable HedgingConfiguration hedging) {
+        this.hedging = hedging;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public boolean isCoalescingEnabled() {
+        return coalescingEnabled;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setCoalescingEnabled(boolean coalescingEnabled) {
+        this.coalescingEnabled = coalescingEnabled;
+    }
+
     @JsonIgnore
     @ValidationMethod(message = ".minThreads must be less than or equal to maxThreads")
     public boolean isThreadPoolSizedCorrectly() {
@@ -104,4 +189,16 @@ public class JerseyClientConfiguration extends HttpClientConfiguration {
     public boolean isCompressionConfigurationValid() {
         return !gzipEnabledForRequests || gzipEnabled;
     }
+
+    @JsonIgnore
+    @ValidationMethod(message = ".proxy is not supported by the jetty connector")
+    public boolean isConnectorConfigurationValid() {
+        return connectorType != JerseyConnectorType.JETTY || getProxyConfiguration() == null;
+    }
+
+    @JsonIgnore
+    @ValidationMethod(message = ".cache is not supported by the jetty connector")
+    public boolean isCacheConfigurationValid() {
+        return connectorType != JerseyConnectorType.JETTY || getCache() == null;
+    }
 }
@@ -0,0 +1,20 @@
+package io.dropwizard.client;
+
+/**
+ * The HTTP transport used by the clients built by {@link JerseyClientBuilder}.
+ *
+ * @since 2.1
+ */
+public enum JerseyConnectorType {
+    /**
+     * Apache's blocking HttpClient, see {@link DropwizardApacheConnector}. Asynchronous requests wait for their
+     * response on a thread of the client's executor.
+     */
+    APACHE,
+
+    /**
+     * Jetty's non-blocking HttpClient, see {@link DropwizardJettyConnector}. Asynchronous requests don't hold on to
+     * a thread while waiting for their response.
+     */
+    JETTY
+}
@@ -0,0 +1,28 @@
+package io.dropwizard.client;
+
+import org.slf4j.MDC;
+
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.client.ClientRequestFilter;
+import javax.ws.rs.ext.Provider;
+import java.io.IOException;
+
+import static io.dropwizard.util.RequestIdGenerator.REQUEST_ID_HEADER;
+import static io.dropwizard.util.RequestIdGenerator.REQUEST_ID_MDC_KEY;
+
+/**
+ * Forwards the ID of the request being served, as found in the logging MDC, in the "X-Request-Id" header
+ * of outgoing requests which don't already carry one, so that a single ID follows a request across services.
+ *
+ * @since 2.1
+ */
+@Provider
+public class JerseyRequestIdHeaderFilter implements ClientRequestFilter {
+    @Override
+    public void filter(ClientRequestContext requestContext) throws IOException {
+        final String id = MDC.get(REQUEST_ID_MDC_KEY);
+        if (id != null && !requestContext.getHeaders().containsKey(REQUEST_ID_HEADER)) {
+            requestContext.getHeaders().putSingle(REQUEST_ID_HEADER, id);
+        }
+    }
+}
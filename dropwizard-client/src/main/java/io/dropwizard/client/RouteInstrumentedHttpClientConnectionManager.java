@@ -0,0 +1,243 @@
+package io.dropwizard.client;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.codahale.metrics.httpclient.InstrumentedHttpClientConnectionManager;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.config.Registry;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.DnsResolver;
+import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.routing.RouteInfo;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.pool.PoolStats;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToIntFunction;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * An {@link InstrumentedHttpClientConnectionManager} which keeps track of how long requests wait for a connection,
+ * and how many of their responses are server errors, for each route.
+ * <p>
+ * When enabled, these are exposed as per-route metrics, next to the pool-wide ones. When an
+ * {@link AdaptiveConnectionPoolConfiguration} is given, they drive the maximum number of connections of each route,
+ * see {@link #adjustRouteLimits()}. Routes which stay idle are forgotten, along with their metrics, see
+ * {@link #evictIdleRoutes(long, TimeUnit)}. Otherwise, routes aren't tracked at all.
+ * </p>
+ */
+class RouteInstrumentedHttpClientConnectionManager extends InstrumentedHttpClientConnectionManager {
+    private static final int MIN_RESPONSES_FOR_ERROR_RATE = 10;
+
+    private final MetricRegistry metricRegistry;
+    private final String name;
+    private final boolean perRouteMetricsEnabled;
+    @Nullable
+    private final AdaptiveConnectionPoolConfiguration adaptiveConfiguration;
+    private final ConcurrentMap<HttpRoute, RouteStatistics> routes = new ConcurrentHashMap<>();
+    @Nullable
+    private volatile ScheduledExecutorService maintenanceExecutor;
+
+    RouteInstrumentedHttpClientConnectionManager(MetricRegistry metricRegistry,
+                                                 Registry<ConnectionSocketFactory> registry,
+                                                 DnsResolver resolver,
+                                                 long timeToLive,
+                                                 TimeUnit timeToLiveUnit,
+                                                 String name,
+                                                 boolean perRouteMetricsEnabled,
+                                                 @Nullable AdaptiveConnectionPoolConfiguration adaptiveConfiguration) {
+        super(metricRegistry, registry, null, null, resolver, timeToLive, timeToLiveUnit, name);
+        this.metricRegistry = metricRegistry;
+        this.name = name;
+        this.perRouteMetricsEnabled = perRouteMetricsEnabled;
+        this.adaptiveConfiguration = adaptiveConfiguration;
+    }
+
+    @Override
+    public ConnectionRequest requestConnection(HttpRoute route, @Nullable Object state) {
+        if (!perRouteMetricsEnabled && adaptiveConfiguration == null) {
+            return super.requestConnection(route, state);
+        }
+        final RouteStatistics statistics = statistics(route);
+        final long start = System.nanoTime();
+        statistics.lastUsed = start;
+        final ConnectionRequest request = super.requestConnection(route, state);
+        return new ConnectionRequest() {
+            @Override
+            public HttpClientConnection get(long timeout, TimeUnit unit)
+                throws InterruptedException, ExecutionException, ConnectionPoolTimeoutException {
+                try {
+                    return request.get(timeout, unit);
+                } finally {
+                    statistics.recordLeaseWait(System.nanoTime() - start);
+                }
+            }
+
+            @Override
+            public boolean cancel() {
+                return request.cancel();
+            }
+        };
+    }
+
+    /**
+     * Records the status of a response received on a route.
+     */
+    void recordResponse(@Nullable RouteInfo route, int statusCode) {
+        final RouteStatistics statistics = route == null ? null : routes.get(route);
+        if (statistics != null) {
+            statistics.responses.increment();
+            if (statusCode >= 500) {
+                statistics.serverErrors.increment();
+            }
+        }
+    }
+
+    /**
+     * Adjusts the maximum number of connections of each route, based on what happened on the route since the last
+     * adjustment, see {@link AdaptiveConnectionPoolConfiguration}. Does nothing if the adaptive mode isn't enabled.
+     */
+    void adjustRouteLimits() {
+        final AdaptiveConnectionPoolConfiguration adaptive = adaptiveConfiguration;
+        if (adaptive == null) {
+            return;
+        }
+        final int ceiling = getDefaultMaxPerRoute();
+        final int floor = Math.min(adaptive.getMinConnectionsPerRoute(), ceiling);
+        final long leaseWaitThreshold = adaptive.getLeaseWaitThreshold().toNanoseconds();
+
+        routes.forEach((route, statistics) -> {
+            final long leases = statistics.leases.sumThenReset();
+            final long leaseWait = statistics.leaseWaitNanos.sumThenReset();
+            final long responses = statistics.responses.sumThenReset();
+            final long serverErrors = statistics.serverErrors.sumThenReset();
+            final PoolStats stats = getStats(route);
+            final int limit = getMaxPerRoute(route);
+
+            final int newLimit;
+            if (responses >= MIN_RESPONSES_FOR_ERROR_RATE &&
+                serverErrors > responses * adaptive.getErrorRateThreshold()) {
+                newLimit = Math.max(floor, limit - Math.max(1, limit / 4));
+            } else if (stats.getPending() > 0 || (leases > 0 && leaseWait / leases > leaseWaitThreshold)) {
+                newLimit = Math.min(ceiling, limit + Math.max(1, limit / 2));
+            } else if (stats.getLeased() < limit / 4) {
+                newLimit = Math.max(floor, limit - Math.max(1, limit / 4));
+            } else {
+                newLimit = limit;
+            }
+            if (newLimit != limit) {
+                setMaxPerRoute(route, newLimit);
+            }
+        });
+    }
+
+    /**
+     * Forgets the routes which haven't been used for the given time and have no leased or pending connections, and
+     * removes their metrics. A route which is used again is tracked from scratch.
+     */
+    void evictIdleRoutes(long idleTime, TimeUnit unit) {
+        final long now = System.nanoTime();
+        final long idleNanos = unit.toNanos(idleTime);
+        routes.forEach((route, statistics) -> {
+            if (now - statistics.lastUsed < idleNanos) {
+                return;
+            }
+            final PoolStats stats = getStats(route);
+            if (stats.getLeased() == 0 && stats.getPending() == 0 && routes.remove(route, statistics)) {
+                statistics.metricNames.forEach(metricRegistry::remove);
+            }
+        });
+    }
+
+    /**
+     * Hands over the executor which maintains the pool, when it isn't tied to the lifecycle of an environment, so that
+     * it's shut down along with the pool.
+     */
+    void maintainOn(ScheduledExecutorService executor) {
+        maintenanceExecutor = executor;
+    }
+
+    @Override
+    public void shutdown() {
+        final ScheduledExecutorService executor = maintenanceExecutor;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        super.shutdown();
+        routes.values().forEach(statistics -> statistics.metricNames.forEach(metricRegistry::remove));
+        routes.clear();
+    }
+
+    private RouteStatistics statistics(HttpRoute route) {
+        final RouteStatistics existing = routes.get(route);
+        if (existing != null) {
+            return existing;
+        }
+
+        // The scheme tells apart the routes to the same host and port over HTTP and HTTPS
+        final String routeName = name(route.getTargetHost().getSchemeName(), route.getTargetHost().toHostString());
+        final String leaseWaitName = name(HttpClientConnectionManager.class, name, routeName, "lease-wait");
+        final RouteStatistics created = new RouteStatistics(perRouteMetricsEnabled ?
+            metricRegistry.timer(leaseWaitName) : null);
+        final RouteStatistics statistics = routes.putIfAbsent(route, created);
+        if (statistics != null) {
+            return statistics;
+        }
+
+        final AdaptiveConnectionPoolConfiguration adaptive = adaptiveConfiguration;
+        if (adaptive != null) {
+            setMaxPerRoute(route, Math.min(adaptive.getMinConnectionsPerRoute(), getDefaultMaxPerRoute()));
+        }
+        if (perRouteMetricsEnabled) {
+            created.metricNames.add(leaseWaitName);
+            registerGauge(route, created, routeName, "available-connections", PoolStats::getAvailable);
+            registerGauge(route, created, routeName, "leased-connections", PoolStats::getLeased);
+            registerGauge(route, created, routeName, "pending-connections", PoolStats::getPending);
+            registerGauge(route, created, routeName, "max-connections", PoolStats::getMax);
+        }
+        return created;
+    }
+
+    private void registerGauge(HttpRoute route, RouteStatistics statistics, String routeName, String metricName,
+                               ToIntFunction<PoolStats> value) {
+        final String fullName = name(HttpClientConnectionManager.class, name, routeName, metricName);
+        statistics.metricNames.add(fullName);
+        metricRegistry.remove(fullName);
+        metricRegistry.register(fullName, (Gauge<Integer>) () -> value.applyAsInt(getStats(route)));
+    }
+
+    private static class RouteStatistics {
+        private final LongAdder leases = new LongAdder();
+        private final LongAdder leaseWaitNanos = new LongAdder();
+        private final LongAdder responses = new LongAdder();
+        private final LongAdder serverErrors = new LongAdder();
+        private final List<String> metricNames = new CopyOnWriteArrayList<>();
+        @Nullable
+        private final Timer leaseWaitTimer;
+        private volatile long lastUsed = System.nanoTime();
+
+        private RouteStatistics(@Nullable Timer leaseWaitTimer) {
+            this.leaseWaitTimer = leaseWaitTimer;
+        }
+
+        private void recordLeaseWait(long nanos) {
+            leases.increment();
+            leaseWaitNanos.add(nanos);
+            if (leaseWaitTimer != null) {
+                leaseWaitTimer.update(nanos, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package io.dropwizard.client;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An {@link OutputStream} which buffers its content in segments borrowed from a {@link ByteSegmentPool}. Unlike a
+ * {@link java.io.ByteArrayOutputStream}, it never copies its content when it grows, and its content is written out
+ * segment by segment instead of being copied into a single array first.
+ * <p>
+ * The segments must be given back with {@link #release()} once the content isn't needed anymore.
+ * </p>
+ */
+class SegmentedOutputStream extends OutputStream {
+    private final ByteSegmentPool pool;
+    private final List<byte[]> segments = new ArrayList<>();
+    private long size;
+
+    SegmentedOutputStream(ByteSegmentPool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public void write(int b) {
+        final int position = positionInLastSegment();
+        segmentWithRoom(position)[position] = (byte) b;
+        size++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        if (off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        int offset = off;
+        int remaining = len;
+        while (remaining > 0) {
+            final int position = positionInLastSegment();
+            final byte[] segment = segmentWithRoom(position);
+            final int length = Math.min(remaining, segment.length - position);
+            System.arraycopy(b, offset, segment, position, length);
+            offset += length;
+            remaining -= length;
+            size += length;
+        }
+    }
+
+    /**
+     * Returns the number of bytes written to the stream.
+     */
+    long size() {
+        return size;
+    }
+
+    /**
+     * Writes the content of the stream to another stream, one segment at a time.
+     */
+    void writeTo(OutputStream out) throws IOException {
+        final int segmentSize = pool.getSegmentSize();
+        long remaining = size;
+        for (byte[] segment : segments) {
+            final int length = (int) Math.min(remaining, segmentSize);
+            out.write(segment, 0, length);
+            remaining -= length;
+        }
+    }
+
+    /**
+     * Gives the segments back to the pool. The content of the stream is lost, but its size is kept.
+     */
+    void release() {
+        for (byte[] segment : segments) {
+            pool.release(segment);
+        }
+        segments.clear();
+    }
+
+    private int positionInLastSegment() {
+        return (int) (size % pool.getSegmentSize());
+    }
+
+    private byte[] segmentWithRoom(int position) {
+        if (position == 0 && size == (long) segments.size() * pool.getSegmentSize()) {
+            segments.add(pool.acquire());
+        }
+        return segments.get(segments.size() - 1);
+    }
+}
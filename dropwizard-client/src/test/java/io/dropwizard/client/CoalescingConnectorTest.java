@@ -0,0 +1,135 @@
+package io.dropwizard.client;
+
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.jackson.Jackson;
+import org.glassfish.jersey.client.ClientRequest;
+import org.glassfish.jersey.client.ClientResponse;
+import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
+import org.glassfish.jersey.client.spi.Connector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.ws.rs.client.Client;
+import javax.ws.rs.core.Response;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CoalescingConnectorTest {
+    private static final String COALESCED_REQUESTS = "org.apache.http.client.HttpClient.test.coalesced-requests";
+
+    private final MetricRegistry metricRegistry = new MetricRegistry();
+    private final ExecutorService executorService = Executors.newFixedThreadPool(2);
+    private final BlockingConnector connector = new BlockingConnector();
+    private Client client;
+
+    @BeforeEach
+    void setUp() {
+        final JerseyClientConfiguration configuration = new JerseyClientConfiguration();
+        configuration.setCoalescingEnabled(true);
+
+        client = new JerseyClientBuilder(metricRegistry)
+            .using(configuration)
+            .using(executorService, Jackson.newObjectMapper())
+            .using((jerseyClient, runtimeConfig) -> connector)
+            .build("test");
+    }
+
+    @AfterEach
+    void tearDown() {
+        connector.release.countDown();
+        client.close();
+        executorService.shutdownNow();
+    }
+
+    @Test
+    void sharesTheResponseOfIdenticalRequestsInFlight() throws Exception {
+        final Future<String> first = executorService.submit(() ->
+            client.target("http://localhost/test").request().get(String.class));
+        assertThat(connector.started.await(5, TimeUnit.SECONDS)).isTrue();
+        final Future<String> second = executorService.submit(() ->
+            client.target("http://localhost/test").request().get(String.class));
+        while (metricRegistry.meter(COALESCED_REQUESTS).getCount() == 0) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+
+        connector.release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("attempt-1");
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("attempt-1");
+        assertThat(connector.attempts).hasValue(1);
+    }
+
+    @Test
+    void streamsResponsesWhichAreNotShared() {
+        connector.release.countDown();
+
+        final Response response = client.target("http://localhost/test").request().get();
+
+        assertThat(connector.responses).hasSize(1);
+        assertThat(connector.responses.get(0).getEntityStream()).isSameAs(connector.entityStreams.get(0));
+        assertThat(response.readEntity(String.class)).isEqualTo("attempt-1");
+    }
+
+    @Test
+    void doesNotCoalesceRequestsWithDifferentHeaders() throws Exception {
+        connector.release.countDown();
+
+        assertThat(client.target("http://localhost/test").request().header("X-Test", "a").get(String.class))
+            .isEqualTo("attempt-1");
+        assertThat(client.target("http://localhost/test").request().header("X-Test", "b").get(String.class))
+            .isEqualTo("attempt-2");
+        assertThat(metricRegistry.meter(COALESCED_REQUESTS).getCount()).isZero();
+    }
+
+    private static class BlockingConnector implements Connector {
+        private final AtomicInteger attempts = new AtomicInteger();
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final List<ClientResponse> responses = new CopyOnWriteArrayList<>();
+        private final List<InputStream> entityStreams = new CopyOnWriteArrayList<>();
+
+        @Override
+        public ClientResponse apply(ClientRequest request) {
+            final int attempt = attempts.incrementAndGet();
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            final ClientResponse response = new ClientResponse(Response.Status.OK, request);
+            final InputStream entityStream = new ByteArrayInputStream(
+                ("attempt-" + attempt).getBytes(StandardCharsets.UTF_8));
+            response.setEntityStream(entityStream);
+            responses.add(response);
+            entityStreams.add(entityStream);
+            return response;
+        }
+
+        @Override
+        public Future<?> apply(ClientRequest request, AsyncConnectorCallback callback) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String getName() {
+            return "blocking";
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
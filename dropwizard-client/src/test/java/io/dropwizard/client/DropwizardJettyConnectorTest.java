@@ -0,0 +1,180 @@
+package io.dropwizard.client;
+
+import com.codahale.metrics.httpclient.HttpClientMetricNameStrategies;
+import io.dropwizard.Configuration;
+import io.dropwizard.jackson.Jackson;
+import io.dropwizard.setup.Environment;
+import io.dropwizard.testing.ResourceHelpers;
+import io.dropwizard.testing.junit5.DropwizardAppExtension;
+import io.dropwizard.testing.junit5.DropwizardExtensionsSupport;
+import io.dropwizard.util.Duration;
+import org.apache.http.HttpStatus;
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.util.component.LifeCycle;
+import org.glassfish.jersey.client.ClientProperties;
+import org.glassfish.jersey.client.JerseyClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.client.Invocation;
+import javax.ws.rs.core.Response;
+import java.net.URI;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+@ExtendWith(DropwizardExtensionsSupport.class)
+class DropwizardJettyConnectorTest {
+
+    private static final int SLEEP_TIME_IN_MILLIS = 1000;
+
+    private static final DropwizardAppExtension<Configuration> APP_RULE = new DropwizardAppExtension<>(
+            DropwizardApacheConnectorTest.TestApplication.class,
+            ResourceHelpers.resourceFilePath("yaml/dropwizardApacheConnectorTest.yml"));
+
+    private final URI testUri = URI.create("http://localhost:" + APP_RULE.getLocalPort());
+
+    private JerseyClient client;
+    private Environment environment;
+
+    @BeforeEach
+    void setup() throws Exception {
+        JerseyClientConfiguration clientConfiguration = new JerseyClientConfiguration();
+        clientConfiguration.setConnectorType(JerseyConnectorType.JETTY);
+        clientConfiguration.setTimeout(Duration.milliseconds(SLEEP_TIME_IN_MILLIS / 2));
+
+        environment = new Environment("test-dropwizard-jetty-connector");
+        client = (JerseyClient) new JerseyClientBuilder(environment)
+                .using(clientConfiguration)
+                .build("test");
+        for (LifeCycle lifeCycle : environment.lifecycle().getManagedObjects()) {
+            lifeCycle.start();
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (LifeCycle lifeCycle : environment.lifecycle().getManagedObjects()) {
+            lifeCycle.stop();
+        }
+        assertThat(client.isClosed()).isTrue();
+    }
+
+    @Test
+    void when_no_read_timeout_override_then_client_request_times_out() {
+        Invocation.Builder request = client.target(testUri + "/long_running").request();
+        assertThatExceptionOfType(ProcessingException.class)
+            .isThrownBy(request::get)
+            .withCauseInstanceOf(TimeoutException.class);
+    }
+
+    @Test
+    void when_read_timeout_override_created_then_client_requests_completes_successfully() {
+        assertThat(client.target(testUri + "/long_running")
+                .property(ClientProperties.READ_TIMEOUT, SLEEP_TIME_IN_MILLIS * 2)
+                .request()
+                .get(String.class))
+            .isEqualTo("success");
+    }
+
+    @Test
+    void async_requests_complete_successfully() throws Exception {
+        assertThat(client.target(testUri + "/long_running")
+                .property(ClientProperties.READ_TIMEOUT, SLEEP_TIME_IN_MILLIS * 2)
+                .request()
+                .async()
+                .get(String.class)
+                .get(SLEEP_TIME_IN_MILLIS * 3, TimeUnit.MILLISECONDS))
+            .isEqualTo("success");
+    }
+
+    @Test
+    void when_no_override_then_redirected_request_successfully_redirected() {
+        assertThat(client.target(testUri + "/redirect")
+                        .request()
+                        .get(String.class)
+        ).isEqualTo("redirected");
+    }
+
+    @Test
+    void when_configuration_overridden_to_disallow_redirects_temporary_redirect_status_returned() {
+        assertThat(client.target(testUri + "/redirect")
+                        .property(ClientProperties.FOLLOW_REDIRECTS, false)
+                        .request()
+                        .get(Response.class)
+                        .getStatus()
+        ).isEqualTo(HttpStatus.SC_TEMPORARY_REDIRECT);
+    }
+
+    @Test
+    void requests_are_timed_and_the_connection_pool_is_instrumented() {
+        client.target(testUri + "/redirected").request().get(String.class);
+
+        assertThat(environment.metrics().getTimers())
+            .containsKey("org.apache.http.client.HttpClient.test.get-requests");
+        assertThat(environment.metrics().getGauges())
+            .containsKeys("org.apache.http.conn.HttpClientConnectionManager.test.available-connections",
+                "org.apache.http.conn.HttpClientConnectionManager.test.leased-connections",
+                "org.apache.http.conn.HttpClientConnectionManager.test.pending-connections",
+                "org.apache.http.conn.HttpClientConnectionManager.test.max-connections");
+    }
+
+    @Test
+    void closing_the_connector_keeps_the_shared_http_client_running() throws Exception {
+        final HttpClient httpClient = new HttpClient();
+        httpClient.start();
+        try {
+            final DropwizardJettyConnector connector = new DropwizardJettyConnector(httpClient,
+                environment.metrics(), HttpClientMetricNameStrategies.METHOD_ONLY, "standalone", 1024, false);
+
+            connector.close();
+
+            assertThat(httpClient.isRunning()).isTrue();
+        } finally {
+            httpClient.stop();
+        }
+    }
+
+    @Test
+    void only_closing_the_jersey_client_stops_the_http_client() {
+        final AtomicReference<HttpClient> httpClient = new AtomicReference<>();
+        final JerseyClientConfiguration clientConfiguration = new JerseyClientConfiguration();
+        clientConfiguration.setConnectorType(JerseyConnectorType.JETTY);
+        final ExecutorService executor = Executors.newCachedThreadPool();
+        final JerseyClient standalone = (JerseyClient) new JerseyClientBuilder(environment.metrics()) {
+            @Override
+            protected HttpClient createJettyHttpClient(String name) {
+                final HttpClient created = super.createJettyHttpClient(name);
+                httpClient.set(created);
+                return created;
+            }
+        }
+            .using(clientConfiguration)
+            .using(executor, Jackson.newObjectMapper())
+            .build("standalone");
+        try {
+            assertThat(standalone.target(testUri + "/redirected").request().get(String.class)).isEqualTo("redirected");
+
+            // The runtime of a web target with its own properties is closed, e.g. when it's collected
+            standalone.getConfiguration().getConnectorProvider()
+                .getConnector(standalone, standalone.getConfiguration())
+                .close();
+            assertThat(httpClient.get().isRunning()).isTrue();
+            assertThat(standalone.target(testUri + "/redirected").request().get(String.class)).isEqualTo("redirected");
+
+            standalone.close();
+            assertThat(httpClient.get().isStopped()).isTrue();
+        } finally {
+            standalone.close();
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package io.dropwizard.client;
+
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.jackson.Jackson;
+import io.dropwizard.util.Duration;
+import org.glassfish.jersey.client.ClientRequest;
+import org.glassfish.jersey.client.ClientResponse;
+import org.glassfish.jersey.client.JerseyClient;
+import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
+import org.glassfish.jersey.client.spi.Connector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.Response;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HedgingConnectorTest {
+    private static final String HEDGED_REQUESTS = "org.apache.http.client.HttpClient.test.hedged-requests";
+    private static final String HEDGE_WINS = "org.apache.http.client.HttpClient.test.hedge-wins";
+
+    private final MetricRegistry metricRegistry = new MetricRegistry();
+    private final ExecutorService executorService = Executors.newSingleThreadExecutor();
+    private final FakeConnector connector = new FakeConnector();
+    private Client client;
+
+    @BeforeEach
+    void setUp() {
+        final HedgingConfiguration hedging = new HedgingConfiguration();
+        hedging.setMinDelay(Duration.milliseconds(20));
+        final JerseyClientConfiguration configuration = new JerseyClientConfiguration();
+        configuration.setHedging(hedging);
+
+        client = new JerseyClientBuilder(metricRegistry)
+            .using(configuration)
+            .using(executorService, Jackson.newObjectMapper())
+            .using((jerseyClient, runtimeConfig) -> connector)
+            .build("test");
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+        executorService.shutdown();
+        connector.asyncExecutor.shutdownNow();
+    }
+
+    @Test
+    void doesNotHedgeUntilEnoughLatenciesAreKnown() {
+        connector.slowAttempts.set(1);
+
+        assertThat(client.target("http://localhost/test").request().get(String.class)).isEqualTo("attempt-1");
+        assertThat(metricRegistry.meter(HEDGED_REQUESTS).getCount()).isZero();
+    }
+
+    @Test
+    void usesTheHedgedResponseWhenItArrivesFirst() throws Exception {
+        warmUp();
+        connector.slowAttempts.set(1);
+
+        final long start = System.nanoTime();
+        final String response = client.target("http://localhost/test").request().get(String.class);
+
+        assertThat(response).isEqualTo("attempt-102");
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(FakeConnector.SLOW_MILLIS);
+        assertThat(metricRegistry.meter(HEDGED_REQUESTS).getCount()).isEqualTo(1);
+        assertThat(metricRegistry.meter(HEDGE_WINS).getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void hedgesAsynchronousRequestsThroughTheAsynchronousConnector() throws Exception {
+        warmUp();
+        connector.slowAttempts.set(1);
+
+        final long start = System.nanoTime();
+        final String response = client.target("http://localhost/test").request().async().get(String.class)
+            .get(FakeConnector.SLOW_MILLIS * 2, TimeUnit.MILLISECONDS);
+
+        assertThat(response).isEqualTo("attempt-102");
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(FakeConnector.SLOW_MILLIS);
+        assertThat(connector.asyncAttempts).hasValue(2);
+        assertThat(metricRegistry.meter(HEDGED_REQUESTS).getCount()).isEqualTo(1);
+        assertThat(metricRegistry.meter(HEDGE_WINS).getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void doesNotHedgeRequestsWhichAreFastEnough() throws Exception {
+        warmUp();
+
+        assertThat(client.target("http://localhost/test").request().get(String.class)).isEqualTo("attempt-101");
+        assertThat(metricRegistry.meter(HEDGED_REQUESTS).getCount()).isZero();
+    }
+
+    @Test
+    void doesNotHedgeNonIdempotentRequests() throws Exception {
+        warmUp();
+        connector.slowAttempts.set(1);
+
+        final Response response = client.target("http://localhost/test").request().post(Entity.text("body"));
+
+        assertThat(response.readEntity(String.class)).isEqualTo("attempt-101");
+        assertThat(metricRegistry.meter(HEDGED_REQUESTS).getCount()).isZero();
+    }
+
+    @Test
+    void keepsHedgingWhenTheRuntimeOfAnotherTargetIsClosed() throws Exception {
+        warmUp();
+        connector.slowAttempts.set(1);
+
+        // The executors are shared by every runtime of the client
+        final JerseyClient jerseyClient = (JerseyClient) client;
+        jerseyClient.getConfiguration().getConnectorProvider()
+            .getConnector(jerseyClient, jerseyClient.getConfiguration())
+            .close();
+
+        assertThat(client.target("http://localhost/test").request().get(String.class)).isEqualTo("attempt-102");
+        assertThat(metricRegistry.meter(HEDGE_WINS).getCount()).isEqualTo(1);
+    }
+
+    private void warmUp() throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            client.target("http://localhost/test").request().get(String.class);
+        }
+        // The hedging delay is refreshed at most once per second
+        TimeUnit.MILLISECONDS.sleep(1100);
+    }
+
+    private static class FakeConnector implements Connector {
+        private static final long SLOW_MILLIS = 2000;
+
+        private final AtomicInteger attempts = new AtomicInteger();
+        private final AtomicInteger slowAttempts = new AtomicInteger();
+        private final AtomicInteger asyncAttempts = new AtomicInteger();
+        // Stands for the selector threads of a non-blocking connector
+        private final ExecutorService asyncExecutor = Executors.newCachedThreadPool();
+
+        @Override
+        public ClientResponse apply(ClientRequest request) {
+            final int attempt = attempts.incrementAndGet();
+            if (slowAttempts.getAndDecrement() > 0) {
+                try {
+                    TimeUnit.MILLISECONDS.sleep(SLOW_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            final ClientResponse response = new ClientResponse(Response.Status.OK, request);
+            response.setEntityStream(new ByteArrayInputStream(
+                ("attempt-" + attempt).getBytes(StandardCharsets.UTF_8)));
+            return response;
+        }
+
+        @Override
+        public Future<?> apply(ClientRequest request, AsyncConnectorCallback callback) {
+            asyncAttempts.incrementAndGet();
+            return asyncExecutor.submit(() -> {
+                try {
+                    callback.response(apply(request));
+                } catch (RuntimeException e) {
+                    callback.failure(e);
+                }
+            });
+        }
+
+        @Override
+        public String getName() {
+            return "fake";
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package io.dropwizard.client;
+
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.Application;
+import io.dropwizard.Configuration;
+import io.dropwizard.setup.Environment;
+import io.dropwizard.testing.ResourceHelpers;
+import io.dropwizard.testing.junit5.DropwizardAppExtension;
+import io.dropwizard.testing.junit5.DropwizardExtensionsSupport;
+import io.dropwizard.util.Duration;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.util.EntityUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(DropwizardExtensionsSupport.class)
+class HttpClientCacheTest {
+    private static final String METRICS = "org.apache.http.client.HttpClient.test.";
+
+    private static final DropwizardAppExtension<Configuration> APP_RULE = new DropwizardAppExtension<>(
+            TestApplication.class,
+            ResourceHelpers.resourceFilePath("yaml/dropwizardApacheConnectorTest.yml"));
+
+    private final URI testUri = URI.create("http://localhost:" + APP_RULE.getLocalPort());
+    private final MetricRegistry metricRegistry = new MetricRegistry();
+    private CloseableHttpClient client;
+
+    @BeforeEach
+    void setUp() {
+        CacheResource.REQUESTS.set(0);
+        CacheResource.NOT_MODIFIED.set(0);
+
+        final HttpClientConfiguration configuration = new HttpClientConfiguration();
+        configuration.setTimeout(Duration.seconds(5));
+        configuration.setCache(new HttpCacheConfiguration());
+        client = new HttpClientBuilder(metricRegistry).using(configuration).build("test");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        client.close();
+    }
+
+    @Test
+    void servesFreshResponsesFromTheCache() throws Exception {
+        assertThat(get("/cache/max-age")).isEqualTo("response-1");
+        assertThat(get("/cache/max-age")).isEqualTo("response-1");
+
+        assertThat(CacheResource.REQUESTS).hasValue(1);
+        assertThat(metricRegistry.meter(METRICS + "cache-misses").getCount()).isEqualTo(1);
+        assertThat(metricRegistry.meter(METRICS + "cache-hits").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void revalidatesStaleResponsesWithTheirETag() throws Exception {
+        assertThat(get("/cache/etag")).isEqualTo("response-1");
+        assertThat(get("/cache/etag")).isEqualTo("response-1");
+
+        assertThat(CacheResource.NOT_MODIFIED).hasValue(1);
+        assertThat(metricRegistry.meter(METRICS + "cache-revalidations").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void doesNotCacheResponsesWhichMustNotBeStored() throws Exception {
+        assertThat(get("/cache/no-store")).isEqualTo("response-1");
+        assertThat(get("/cache/no-store")).isEqualTo("response-2");
+
+        assertThat(metricRegistry.meter(METRICS + "cache-hits").getCount()).isZero();
+    }
+
+    private String get(String path) throws Exception {
+        try (CloseableHttpResponse response = client.execute(new HttpGet(testUri + path))) {
+            return EntityUtils.toString(response.getEntity());
+        }
+    }
+
+    @Path("/cache")
+    public static class CacheResource {
+        private static final AtomicInteger REQUESTS = new AtomicInteger();
+        private static final AtomicInteger NOT_MODIFIED = new AtomicInteger();
+        private static final EntityTag TAG = new EntityTag("v1");
+
+        @GET
+        @Path("max-age")
+        public Response maxAge() {
+            return Response.ok("response-" + REQUESTS.incrementAndGet())
+                .header("Cache-Control", "max-age=60")
+                .build();
+        }
+
+        @GET
+        @Path("etag")
+        public Response etag(@Context Request request) {
+            final Response.ResponseBuilder notModified = request.evaluatePreconditions(TAG);
+            if (notModified != null) {
+                NOT_MODIFIED.incrementAndGet();
+                return notModified.header("Cache-Control", "max-age=0").build();
+            }
+            return Response.ok("response-" + REQUESTS.incrementAndGet())
+                .tag(TAG)
+                .header("Cache-Control", "max-age=0")
+                .build();
+        }
+
+        @GET
+        @Path("no-store")
+        public Response noStore() {
+            return Response.ok("response-" + REQUESTS.incrementAndGet())
+                .header("Cache-Control", "no-store")
+                .build();
+        }
+    }
+
+    public static class TestApplication extends Application<Configuration> {
+        @Override
+        public void run(Configuration configuration, Environment environment) {
+            environment.jersey().register(CacheResource.class);
+        }
+    }
+}
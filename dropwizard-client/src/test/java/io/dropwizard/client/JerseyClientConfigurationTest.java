@@ -4,6 +4,7 @@ import io.dropwizard.configuration.ResourceConfigurationSourceProvider;
 import io.dropwizard.configuration.YamlConfigurationFactory;
 import io.dropwizard.jackson.Jackson;
 import io.dropwizard.jersey.validation.Validators;
+import io.dropwizard.util.DataSize;
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -21,5 +22,7 @@ class JerseyClientConfigurationTest {
         assertThat(configuration.isGzipEnabled()).isFalse();
         assertThat(configuration.isGzipEnabledForRequests()).isFalse();
         assertThat(configuration.isChunkedEncodingEnabled()).isFalse();
+        assertThat(configuration.getConnectorType()).isEqualTo(JerseyConnectorType.JETTY);
+        assertThat(configuration.getMaxBufferedResponseSize()).isEqualTo(DataSize.kibibytes(512));
     }
 }
@@ -0,0 +1,54 @@
+package io.dropwizard.client;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JerseyRequestIdHeaderFilterTest {
+    private final ClientRequestContext requestContext = mock(ClientRequestContext.class);
+    private final MultivaluedMap<String, Object> headers = new MultivaluedHashMap<>();
+    private final JerseyRequestIdHeaderFilter filter = new JerseyRequestIdHeaderFilter();
+
+    @BeforeEach
+    void setUp() {
+        when(requestContext.getHeaders()).thenReturn(headers);
+    }
+
+    @AfterEach
+    void tearDown() {
+        MDC.remove("requestId");
+    }
+
+    @Test
+    void forwardsTheRequestIdOfTheMdc() throws Exception {
+        MDC.put("requestId", "request-id");
+        filter.filter(requestContext);
+
+        assertThat(headers.getFirst("X-Request-Id")).isEqualTo("request-id");
+    }
+
+    @Test
+    void keepsTheRequestIdSetOnTheRequest() throws Exception {
+        MDC.put("requestId", "request-id");
+        headers.putSingle("X-Request-Id", "explicit-id");
+        filter.filter(requestContext);
+
+        assertThat(headers.getFirst("X-Request-Id")).isEqualTo("explicit-id");
+    }
+
+    @Test
+    void doesNothingOutsideOfARequest() throws Exception {
+        filter.filter(requestContext);
+
+        assertThat(headers).isEmpty();
+    }
+}
@@ -0,0 +1,159 @@
+package io.dropwizard.client;
+
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.util.Duration;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpHost;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.impl.conn.SystemDefaultDnsResolver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RouteInstrumentedHttpClientConnectionManagerTest {
+    private static final String ROUTE_METRICS = "org.apache.http.conn.HttpClientConnectionManager.test.http.example.com:80.";
+
+    private final MetricRegistry metricRegistry = new MetricRegistry();
+    private final HttpRoute route = new HttpRoute(new HttpHost("example.com", 80));
+    @Nullable
+    private RouteInstrumentedHttpClientConnectionManager manager;
+
+    @AfterEach
+    void tearDown() {
+        if (manager != null) {
+            manager.shutdown();
+        }
+    }
+
+    @Test
+    void registersPerRouteMetrics() throws Exception {
+        final RouteInstrumentedHttpClientConnectionManager manager = manager(true, null);
+        final HttpClientConnection connection = lease(manager);
+
+        assertThat(metricRegistry.getGauges().get(ROUTE_METRICS + "leased-connections").getValue()).isEqualTo(1);
+        assertThat(metricRegistry.getGauges().get(ROUTE_METRICS + "max-connections").getValue()).isEqualTo(64);
+        assertThat(metricRegistry.timer(ROUTE_METRICS + "lease-wait").getCount()).isEqualTo(1);
+
+        manager.releaseConnection(connection, null, 0, TimeUnit.MILLISECONDS);
+        manager.shutdown();
+        assertThat(metricRegistry.getNames()).noneMatch(name -> name.startsWith(ROUTE_METRICS));
+    }
+
+    @Test
+    void evictsIdleRoutesAndTheirMetrics() throws Exception {
+        final RouteInstrumentedHttpClientConnectionManager manager = manager(true, null);
+        final HttpClientConnection connection = lease(manager);
+
+        manager.evictIdleRoutes(0, TimeUnit.MILLISECONDS);
+        assertThat(metricRegistry.getGauges()).containsKey(ROUTE_METRICS + "leased-connections");
+
+        manager.releaseConnection(connection, null, 0, TimeUnit.MILLISECONDS);
+        manager.evictIdleRoutes(1, TimeUnit.HOURS);
+        assertThat(metricRegistry.getGauges()).containsKey(ROUTE_METRICS + "leased-connections");
+
+        manager.evictIdleRoutes(0, TimeUnit.MILLISECONDS);
+        assertThat(metricRegistry.getNames()).noneMatch(name -> name.startsWith(ROUTE_METRICS));
+
+        manager.releaseConnection(lease(manager), null, 0, TimeUnit.MILLISECONDS);
+        assertThat(metricRegistry.timer(ROUTE_METRICS + "lease-wait").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void doesNotRegisterPerRouteMetricsByDefault() throws Exception {
+        lease(manager(false, null));
+
+        assertThat(metricRegistry.getNames()).noneMatch(name -> name.startsWith(ROUTE_METRICS));
+    }
+
+    @Test
+    void growsRoutesWhichWaitForConnections() throws Exception {
+        final AdaptiveConnectionPoolConfiguration adaptive = adaptive();
+        adaptive.setLeaseWaitThreshold(Duration.milliseconds(0));
+        final RouteInstrumentedHttpClientConnectionManager manager = manager(false, adaptive);
+        lease(manager);
+        assertThat(manager.getMaxPerRoute(route)).isEqualTo(2);
+
+        manager.adjustRouteLimits();
+
+        assertThat(manager.getMaxPerRoute(route)).isEqualTo(3);
+    }
+
+    @Test
+    void shrinksRoutesWithServerErrors() throws Exception {
+        final RouteInstrumentedHttpClientConnectionManager manager = manager(false, adaptive());
+        final HttpClientConnection connection = lease(manager);
+        manager.setMaxPerRoute(route, 16);
+        for (int i = 0; i < 10; i++) {
+            manager.recordResponse(route, 503);
+        }
+
+        manager.adjustRouteLimits();
+
+        assertThat(manager.getMaxPerRoute(route)).isEqualTo(12);
+        manager.releaseConnection(connection, null, 0, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    void shrinksIdleRoutesDownToTheMinimum() throws Exception {
+        final RouteInstrumentedHttpClientConnectionManager manager = manager(false, adaptive());
+        manager.releaseConnection(lease(manager), null, 0, TimeUnit.MILLISECONDS);
+        manager.setMaxPerRoute(route, 16);
+
+        manager.adjustRouteLimits();
+        assertThat(manager.getMaxPerRoute(route)).isEqualTo(12);
+
+        for (int i = 0; i < 10; i++) {
+            manager.adjustRouteLimits();
+        }
+        assertThat(manager.getMaxPerRoute(route)).isEqualTo(2);
+    }
+
+    @Test
+    void shutsDownItsMaintenanceExecutor() {
+        final RouteInstrumentedHttpClientConnectionManager manager = manager(false, adaptive());
+        final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        manager.maintainOn(executor);
+
+        manager.shutdown();
+
+        assertThat(executor.isShutdown()).isTrue();
+    }
+
+    private RouteInstrumentedHttpClientConnectionManager manager(boolean perRouteMetricsEnabled,
+                                                                 @Nullable AdaptiveConnectionPoolConfiguration adaptive) {
+        final RouteInstrumentedHttpClientConnectionManager manager = new RouteInstrumentedHttpClientConnectionManager(
+            metricRegistry,
+            RegistryBuilder.<ConnectionSocketFactory>create()
+                .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                .build(),
+            SystemDefaultDnsResolver.INSTANCE,
+            -1,
+            TimeUnit.MILLISECONDS,
+            "test",
+            perRouteMetricsEnabled,
+            adaptive);
+        manager.setDefaultMaxPerRoute(64);
+        this.manager = manager;
+        return manager;
+    }
+
+    private AdaptiveConnectionPoolConfiguration adaptive() {
+        final AdaptiveConnectionPoolConfiguration adaptive = new AdaptiveConnectionPoolConfiguration();
+        adaptive.setMinConnectionsPerRoute(2);
+        adaptive.setLeaseWaitThreshold(Duration.hours(1));
+        return adaptive;
+    }
+
+    private HttpClientConnection lease(RouteInstrumentedHttpClientConnectionManager manager) throws Exception {
+        return manager.requestConnection(route, null).get(1, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,55 @@
+package io.dropwizard.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SegmentedOutputStreamTest {
+    private final ByteSegmentPool pool = new ByteSegmentPool(4, 2);
+
+    @Test
+    void writesContentSpanningSeveralSegments() throws IOException {
+        final SegmentedOutputStream stream = new SegmentedOutputStream(pool);
+        stream.write('a');
+        stream.write("bcdefghij".getBytes(), 0, 9);
+        stream.write(new byte[]{'x', 'k', 'l', 'y'}, 1, 2);
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        stream.writeTo(out);
+
+        assertThat(stream.size()).isEqualTo(12);
+        assertThat(out.toString()).isEqualTo("abcdefghijkl");
+    }
+
+    @Test
+    void canBeWrittenOutSeveralTimes() throws IOException {
+        final SegmentedOutputStream stream = new SegmentedOutputStream(pool);
+        stream.write("hello".getBytes());
+
+        final ByteArrayOutputStream first = new ByteArrayOutputStream();
+        stream.writeTo(first);
+        final ByteArrayOutputStream second = new ByteArrayOutputStream();
+        stream.writeTo(second);
+
+        assertThat(first.toString()).isEqualTo("hello");
+        assertThat(second.toString()).isEqualTo("hello");
+    }
+
+    @Test
+    void givesItsSegmentsBackToThePool() {
+        final SegmentedOutputStream stream = new SegmentedOutputStream(pool);
+        stream.write("abcdefghij".getBytes(), 0, 10);
+        stream.release();
+
+        // Only two of the three segments are kept
+        assertThat(pool.getPooledSegments()).isEqualTo(2);
+        assertThat(stream.size()).isEqualTo(10);
+
+        final SegmentedOutputStream next = new SegmentedOutputStream(pool);
+        next.write('a');
+        assertThat(pool.getPooledSegments()).isEqualTo(1);
+    }
+}
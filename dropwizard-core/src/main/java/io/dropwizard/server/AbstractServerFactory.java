@@ -14,23 +14,29 @@ import io.dropwizard.jersey.filter.AllowedMethodsFilter;
 import io.dropwizard.jersey.jackson.JacksonFeature;
 import io.dropwizard.jersey.setup.JerseyEnvironment;
 import io.dropwizard.jersey.validation.HibernateValidationBinder;
+import io.dropwizard.jetty.ConcurrencyLimitFactory;
+import io.dropwizard.jetty.ConcurrencyLimitingHandler;
 import io.dropwizard.jetty.GzipHandlerFactory;
 import io.dropwizard.jetty.MutableServletContextHandler;
 import io.dropwizard.jetty.ServerPushFilterFactory;
 import io.dropwizard.lifecycle.setup.LifecycleEnvironment;
 import io.dropwizard.request.logging.LogbackAccessRequestLogFactory;
 import io.dropwizard.request.logging.RequestLogFactory;
+import io.dropwizard.servlets.RequestIdFilter;
 import io.dropwizard.servlets.ThreadNameFilter;
 import io.dropwizard.setup.AdminEnvironment;
 import io.dropwizard.setup.ExceptionMapperBinder;
 import io.dropwizard.util.Duration;
+import io.dropwizard.util.RequestIdFormat;
 import io.dropwizard.validation.MinDuration;
 import io.dropwizard.validation.ValidationMethod;
 import org.eclipse.jetty.server.Handler;
+import org.eclipse.jetty.server.RequestLog;
 import org.eclipse.jetty.server.Server;
 import org.eclipse.jetty.server.handler.ErrorHandler;
 import org.eclipse.jetty.server.handler.RequestLogHandler;
 import org.eclipse.jetty.server.handler.StatisticsHandler;
+import org.eclipse.jetty.servlet.FilterHolder;
 import org.eclipse.jetty.servlet.ServletHolder;
 import org.eclipse.jetty.setuid.RLimit;
 import org.eclipse.jetty.setuid.SetUIDListener;
@@ -83,6 +89,14 @@ import java.util.stream.Collectors;
  *         <td>The {@link ServerPushFilterFactory} configuration.</td>
  *     </tr>
  *     <tr>
+ *         <td>{@code concurrencyLimit}</td>
+ *         <td></td>
+ *         <td>
+ *             The {@link ConcurrencyLimitFactory adaptive concurrency limit} of application requests, which sheds
+ *             requests when the server is overloaded.
+ *         </td>
+ *     </tr>
+ *     <tr>
  *         <td>{@code maxThreads}</td>
  *         <td>1024</td>
  *         <td>The maximum number of threads to use for requests.</td>
@@ -98,6 +112,33 @@ import java.util.stream.Collectors;
  *         <td>The maximum number of requests to queue before blocking the acceptors.</td>
  *     </tr>
  *     <tr>
+ *         <td>{@code enableVirtualThreads}</td>
+ *         <td>false</td>
+ *         <td>
+ *             Whether or not application requests are handled by virtual threads, which requires a JVM supporting
+ *             them. The acceptors and selectors keep running on the platform threads of the server thread pool,
+ *             which only hand the requests over. When enabled, the number of application requests handled
+ *             concurrently is limited by {@code maxConcurrentRequests} instead of {@code maxThreads}, with up to
+ *             {@code maxQueuedRequests} requests waiting for up to {@code maxRequestQueueTime}, unless the adaptive
+ *             {@code concurrencyLimit} is enabled, in which case it limits them instead.
+ *         </td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code maxConcurrentRequests}</td>
+ *         <td>10000</td>
+ *         <td>
+ *             The maximum number of application requests handled concurrently when virtual threads are enabled.
+ *         </td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code maxRequestQueueTime}</td>
+ *         <td>10 seconds</td>
+ *         <td>
+ *             The maximum time an application request waits to be handled when virtual threads are enabled, after
+ *             which it's rejected with a {@code 503 Service Unavailable} response.
+ *         </td>
+ *     </tr>
+ *     <tr>
  *         <td>{@code idleThreadTimeout}</td>
  *         <td>1 minute</td>
  *         <td>The amount of time a worker thread can be idle before being stopped.</td>
@@ -206,6 +247,21 @@ import java.util.stream.Collectors;
  *         </td>
  *     </tr>
  *     <tr>
+ *         <td>{@code enableRequestIdFilter}</td>
+ *         <td>false</td>
+ *         <td>
+ *           Whether or not to apply the {@code RequestIdFilter} that assigns an ID to each request, exposes it as
+ *           {@code requestId} in the logging MDC and returns it in the {@code X-Request-Id} response header.
+ *         </td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code requestIdFormat}</td>
+ *         <td>UUID</td>
+ *         <td>
+ *           The format of IDs generated by the {@code RequestIdFilter}: {@code UUID} or {@code ULID}.
+ *         </td>
+ *     </tr>
+ *     <tr>
  *         <td>{@code dumpAfterStart}</td>
  *         <td>true</td>
  *         <td>
@@ -239,6 +295,10 @@ public abstract class AbstractServerFactory implements ServerFactory {
     @NotNull
     private ServerPushFilterFactory serverPush = new ServerPushFilterFactory();
 
+    @Valid
+    @NotNull
+    private ConcurrencyLimitFactory concurrencyLimit = new ConcurrencyLimitFactory();
+
     @Min(4)
     private int maxThreads = 1024;
 
@@ -247,6 +307,14 @@ public abstract class AbstractServerFactory implements ServerFactory {
 
     private int maxQueuedRequests = 1024;
 
+    private boolean enableVirtualThreads = false;
+
+    @Min(1)
+    private int maxConcurrentRequests = 10000;
+
+    @NotNull
+    private Duration maxRequestQueueTime = Duration.seconds(10);
+
     @MinDuration(1)
     private Duration idleThreadTimeout = Duration.minutes(1);
 
@@ -289,6 +357,11 @@ public abstract class AbstractServerFactory implements ServerFactory {
 
     private boolean enableThreadNameFilter = true;
 
+    private boolean enableRequestIdFilter = false;
+
+    @NotNull
+    private RequestIdFormat requestIdFormat = RequestIdFormat.UUID;
+
     private boolean dumpAfterStart = false;
 
     private boolean dumpBeforeStop = false;
@@ -299,6 +372,12 @@ public abstract class AbstractServerFactory implements ServerFactory {
         return minThreads <= maxThreads;
     }
 
+    @JsonIgnore
+    @ValidationMethod(message = "must run on a JVM supporting virtual threads to enable them")
+    public boolean isVirtualThreadsSupported() {
+        return !enableVirtualThreads || VirtualThreadHandler.isSupported();
+    }
+
     @JsonProperty("requestLog")
     public synchronized RequestLogFactory<?> getRequestLogFactory() {
         if (requestLog == null) {
@@ -333,6 +412,22 @@ public abstract class AbstractServerFactory implements ServerFactory {
         this.serverPush = serverPush;
     }
 
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public ConcurrencyLimitFactory getConcurrencyLimit() {
+        return concurrencyLimit;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setConcurrencyLimit(ConcurrencyLimitFactory concurrencyLimit) {
+        this.concurrencyLimit = concurrencyLimit;
+    }
+
     @JsonProperty
     public int getMaxThreads() {
         return maxThreads;
@@ -363,6 +458,54 @@ public abstract class AbstractServerFactory implements ServerFactory {
         this.maxQueuedRequests = maxQueuedRequests;
     }
 
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public boolean getEnableVirtualThreads() {
+        return enableVirtualThreads;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setEnableVirtualThreads(boolean enableVirtualThreads) {
+        this.enableVirtualThreads = enableVirtualThreads;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setMaxConcurrentRequests(int maxConcurrentRequests) {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public Duration getMaxRequestQueueTime() {
+        return maxRequestQueueTime;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setMaxRequestQueueTime(Duration maxRequestQueueTime) {
+        this.maxRequestQueueTime = maxRequestQueueTime;
+    }
+
     @JsonProperty
     public Duration getIdleThreadTimeout() {
         return idleThreadTimeout;
@@ -519,6 +662,38 @@ public abstract class AbstractServerFactory implements ServerFactory {
         this.enableThreadNameFilter = enableThreadNameFilter;
     }
 
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public boolean getEnableRequestIdFilter() {
+        return enableRequestIdFilter;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setEnableRequestIdFilter(boolean enableRequestIdFilter) {
+        this.enableRequestIdFilter = enableRequestIdFilter;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public RequestIdFormat getRequestIdFormat() {
+        return requestIdFormat;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setRequestIdFormat(RequestIdFormat requestIdFormat) {
+        this.requestIdFormat = requestIdFormat;
+    }
+
     /**
      * @since 2.0
      */
@@ -589,6 +764,10 @@ public abstract class AbstractServerFactory implements ServerFactory {
         final String allowedMethodsParam = String.join(",", allowedMethods);
         handler.addFilter(AllowedMethodsFilter.class, "/*", EnumSet.of(DispatcherType.REQUEST))
                 .setInitParameter(AllowedMethodsFilter.ALLOWED_METHODS_PARAM, allowedMethodsParam);
+        if (enableRequestIdFilter) {
+            handler.addFilter(new FilterHolder(new RequestIdFilter(requestIdFormat)), "/*",
+                    EnumSet.of(DispatcherType.REQUEST));
+        }
         if (enableThreadNameFilter) {
             handler.addFilter(ThreadNameFilter.class, "/*", EnumSet.of(DispatcherType.REQUEST));
         }
@@ -604,7 +783,26 @@ public abstract class AbstractServerFactory implements ServerFactory {
         }
         final InstrumentedHandler instrumented = new InstrumentedHandler(metricRegistry);
         instrumented.setServer(server);
-        instrumented.setHandler(handler);
+        if (!enableVirtualThreads) {
+            instrumented.setHandler(handler);
+            return instrumented;
+        }
+
+        // With virtual threads, the number of threads no longer bounds the number of requests handled concurrently.
+        // The adaptive concurrency limit bounds it when enabled, otherwise a fixed limiter does. The fixed limiter
+        // runs on the virtual threads, so that the requests it queues don't block server threads.
+        final VirtualThreadHandler virtualThreads = new VirtualThreadHandler();
+        virtualThreads.setServer(server);
+        if (concurrencyLimit.isEnabled()) {
+            virtualThreads.setHandler(handler);
+        } else {
+            final ConcurrencyLimitingHandler limiter = new ConcurrencyLimitingHandler(metricRegistry, "application",
+                maxConcurrentRequests, maxQueuedRequests, maxRequestQueueTime);
+            limiter.setServer(server);
+            limiter.setHandler(handler);
+            virtualThreads.setHandler(limiter);
+        }
+        instrumented.setHandler(virtualThreads);
         return instrumented;
     }
 
@@ -677,17 +875,31 @@ public abstract class AbstractServerFactory implements ServerFactory {
     }
 
     protected Handler addRequestLog(Server server, Handler handler, String name) {
-        if (getRequestLogFactory().isEnabled()) {
-            final RequestLogHandler requestLogHandler = new RequestLogHandler();
-            requestLogHandler.setRequestLog(getRequestLogFactory().build(name));
-            // server should own the request log's lifecycle since it's already started,
-            // the handler might not become managed in case of an error which would leave
-            // the request log stranded
-            server.addBean(requestLogHandler.getRequestLog(), true);
-            requestLogHandler.setHandler(handler);
-            return requestLogHandler;
-        }
-        return handler;
+        return getRequestLogFactory().isEnabled()
+            ? addRequestLog(server, handler, getRequestLogFactory().build(name))
+            : handler;
+    }
+
+    /**
+     * Wraps a handler with the request log, if enabled, whose appenders record their metrics in the given registry.
+     *
+     * @since 2.1
+     */
+    protected Handler addRequestLog(Server server, Handler handler, String name, MetricRegistry metricRegistry) {
+        return getRequestLogFactory().isEnabled()
+            ? addRequestLog(server, handler, getRequestLogFactory().build(name, metricRegistry))
+            : handler;
+    }
+
+    private Handler addRequestLog(Server server, Handler handler, RequestLog requestLog) {
+        final RequestLogHandler requestLogHandler = new RequestLogHandler();
+        requestLogHandler.setRequestLog(requestLog);
+        // server should own the request log's lifecycle since it's already started,
+        // the handler might not become managed in case of an error which would leave
+        // the request log stranded
+        server.addBean(requestLogHandler.getRequestLog(), true);
+        requestLogHandler.setHandler(handler);
+        return requestLogHandler;
     }
 
     protected Handler addStatsHandler(Handler handler) {
@@ -174,7 +174,7 @@ public class DefaultServerFactory extends AbstractServerFactory {
                                                                   applicationHandler,
                                                                   adminHandler);
         final Handler gzipHandler = buildGzipHandler(routingHandler);
-        server.setHandler(addStatsHandler(addRequestLog(server, gzipHandler, environment.getName())));
+        server.setHandler(addStatsHandler(addRequestLog(server, gzipHandler, environment.getName(), environment.metrics())));
         return server;
     }
 
@@ -197,9 +197,12 @@ public class DefaultServerFactory extends AbstractServerFactory {
 
         final Map<Connector, Handler> handlers = new LinkedHashMap<>();
 
+        // Only application requests are limited, so the admin connectors stay responsive under overload
+        final Handler limitedApplicationHandler = getConcurrencyLimit().build(applicationHandler, metricRegistry,
+            "application", applicationContextPath);
         for (Connector connector : appConnectors) {
             server.addConnector(connector);
-            handlers.put(connector, applicationHandler);
+            handlers.put(connector, limitedApplicationHandler);
         }
 
         for (Connector connector : adConnectors) {
@@ -129,11 +129,12 @@ public class SimpleServerFactory extends AbstractServerFactory {
         server.addConnector(conn);
 
         final Map<String, Handler> handlers = Maps.of(
-                applicationContextPath, applicationHandler,
+                applicationContextPath, getConcurrencyLimit().build(applicationHandler, environment.metrics(),
+                    "application", applicationContextPath),
                 adminContextPath, adminHandler);
         final ContextRoutingHandler routingHandler = new ContextRoutingHandler(handlers);
         final Handler gzipHandler = buildGzipHandler(routingHandler);
-        server.setHandler(addStatsHandler(addRequestLog(server, gzipHandler, environment.getName())));
+        server.setHandler(addStatsHandler(addRequestLog(server, gzipHandler, environment.getName(), environment.metrics())));
 
         return server;
     }
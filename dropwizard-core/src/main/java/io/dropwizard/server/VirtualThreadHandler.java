@@ -0,0 +1,181 @@
+package io.dropwizard.server;
+
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.handler.HandlerWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import javax.servlet.AsyncContext;
+import javax.servlet.DispatcherType;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * A Jetty handler which handles requests on virtual threads.
+ * <p>
+ * The server thread which dispatches a request to this handler starts the request asynchronously and returns to the
+ * server thread pool, and a virtual thread handles the request with the handler this handler wraps. The server
+ * thread pool, which runs the acceptors and selectors of the server, keeps its platform threads.
+ * </p>
+ * <p>
+ * The wrapped handler may start requests asynchronously, as it would on a server thread: it's given the asynchronous
+ * context started by this handler, and the request is only completed by this handler if the wrapped handler doesn't
+ * start it asynchronously. Only the initial dispatch of a request is handled on a virtual thread, the dispatches of
+ * asynchronous requests aren't. Virtual threads are created through reflection, so they're only available when
+ * running on a JVM which supports them.
+ * </p>
+ */
+class VirtualThreadHandler extends HandlerWrapper {
+    private static final Logger LOGGER = LoggerFactory.getLogger(VirtualThreadHandler.class);
+
+    private final Supplier<ExecutorService> executorFactory;
+
+    @Nullable
+    private volatile ExecutorService executor;
+
+    VirtualThreadHandler() {
+        this(VirtualThreadHandler::newVirtualThreadPerTaskExecutor);
+    }
+
+    /**
+     * @param executorFactory creates the executor handling requests each time the handler is started
+     */
+    VirtualThreadHandler(Supplier<ExecutorService> executorFactory) {
+        this.executorFactory = executorFactory;
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        executor = executorFactory.get();
+        super.doStart();
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+        final ExecutorService executor = this.executor;
+        if (executor != null) {
+            executor.shutdown();
+            this.executor = null;
+        }
+    }
+
+    @Override
+    public void handle(String target,
+                       Request baseRequest,
+                       HttpServletRequest request,
+                       HttpServletResponse response) throws IOException, ServletException {
+        final ExecutorService executor = this.executor;
+        if (executor == null || baseRequest.getDispatcherType() != DispatcherType.REQUEST) {
+            super.handle(target, baseRequest, request, response);
+            return;
+        }
+
+        final AsyncContext context = baseRequest.startAsync();
+        // The wrapped handler may take as long as it would on a server thread
+        context.setTimeout(0);
+        final AsyncRequest asyncRequest = new AsyncRequest(request, context);
+        try {
+            executor.execute(() -> handleAsync(target, baseRequest, asyncRequest, response));
+        } catch (RejectedExecutionException e) {
+            // The handler is stopping
+            baseRequest.setHandled(true);
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            context.complete();
+        }
+    }
+
+    private void handleAsync(String target,
+                             Request baseRequest,
+                             AsyncRequest request,
+                             HttpServletResponse response) {
+        try {
+            super.handle(target, baseRequest, request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            LOGGER.error("Error handling {} {}", baseRequest.getMethod(), baseRequest.getRequestURI(), e);
+            if (!response.isCommitted()) {
+                baseRequest.setHandled(true);
+                try {
+                    response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+                } catch (IOException | RuntimeException sendFailure) {
+                    LOGGER.debug("Unable to send the error response", sendFailure);
+                }
+            }
+        } finally {
+            if (!request.isStartedByApplication()) {
+                request.context.complete();
+            }
+        }
+    }
+
+    static boolean isSupported() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual threads aren't supported by this JVM", e);
+        }
+    }
+
+    /**
+     * A request which is already started asynchronously, and which returns its asynchronous context when the
+     * application starts it asynchronously.
+     */
+    private static class AsyncRequest extends HttpServletRequestWrapper {
+        private final AsyncContext context;
+        private volatile boolean startedByApplication;
+
+        private AsyncRequest(HttpServletRequest request, AsyncContext context) {
+            super(request);
+            this.context = context;
+        }
+
+        private boolean isStartedByApplication() {
+            return startedByApplication;
+        }
+
+        @Override
+        public AsyncContext startAsync() {
+            startedByApplication = true;
+            return context;
+        }
+
+        @Override
+        public AsyncContext startAsync(ServletRequest servletRequest, ServletResponse servletResponse) {
+            // The context keeps the original request and response, which the application usually doesn't need
+            startedByApplication = true;
+            return context;
+        }
+
+        @Override
+        public boolean isAsyncStarted() {
+            return startedByApplication && super.isAsyncStarted();
+        }
+
+        @Override
+        public AsyncContext getAsyncContext() {
+            if (!startedByApplication) {
+                throw new IllegalStateException("The request isn't started asynchronously");
+            }
+            return context;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package io.dropwizard.setup;
 
+import com.codahale.metrics.Gauge;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.health.HealthCheckRegistry;
 import com.codahale.metrics.jmx.JmxReporter;
@@ -20,6 +21,7 @@ import io.dropwizard.configuration.ConfigurationFactoryFactory;
 import io.dropwizard.configuration.ConfigurationSourceProvider;
 import io.dropwizard.configuration.DefaultConfigurationFactoryFactory;
 import io.dropwizard.configuration.FileConfigurationSourceProvider;
+import io.dropwizard.jackson.DiscoverableSubtypeResolver;
 import io.dropwizard.jackson.Jackson;
 import io.dropwizard.jersey.validation.Validators;
 
@@ -28,7 +30,9 @@ import javax.validation.ValidatorFactory;
 import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
+import static com.codahale.metrics.MetricRegistry.name;
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -89,6 +93,8 @@ public class Bootstrap<T extends Configuration> {
         getMetricRegistry().register("jvm.gc", new GarbageCollectorMetricSet());
         getMetricRegistry().register("jvm.memory", new MemoryUsageGaugeSet());
         getMetricRegistry().register("jvm.threads", new ThreadStatesGaugeSet());
+        getMetricRegistry().register(name(DiscoverableSubtypeResolver.class, "discoveryTime"),
+            (Gauge<Long>) () -> DiscoverableSubtypeResolver.getDiscoveryTime(TimeUnit.MILLISECONDS));
 
         jmxReporter = JmxReporter.forRegistry(metricRegistry).build();
         jmxReporter.start();
@@ -41,6 +41,8 @@ import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 class DefaultServerFactoryTest {
     private final Environment environment = new Environment("test");
@@ -87,6 +89,42 @@ class DefaultServerFactoryTest {
                 .isEqualTo(89);
     }
 
+    @Test
+    void usesPlatformThreadsByDefault() {
+        assertThat(http.getEnableVirtualThreads()).isFalse();
+    }
+
+    @Test
+    void handlesRequestsOnVirtualThreadsWhenEnabled() throws Exception {
+        assumeTrue(VirtualThreadHandler.isSupported());
+        http.setEnableVirtualThreads(true);
+        assertThat(http.isVirtualThreadsSupported()).isTrue();
+
+        environment.jersey().register(new ThreadResource());
+        http.configure(environment);
+        final Server server = http.build(environment);
+        ((AbstractNetworkConnector) server.getConnectors()[0]).setPort(0);
+        ((AbstractNetworkConnector) server.getConnectors()[1]).setPort(0);
+        server.start();
+        try {
+            final int port = ((AbstractNetworkConnector) server.getConnectors()[0]).getLocalPort();
+            final URLConnection connection = new URL("http://localhost:" + port + "/app/thread").openConnection();
+            try (InputStream in = connection.getInputStream()) {
+                assertThat(new String(ByteStreams.toByteArray(in), StandardCharsets.UTF_8)).isEqualTo("true");
+            }
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    void requiresAJvmSupportingVirtualThreadsToEnableThem() {
+        assumeFalse(VirtualThreadHandler.isSupported());
+        http.setEnableVirtualThreads(true);
+
+        assertThat(http.isVirtualThreadsSupported()).isFalse();
+    }
+
     @Test
     void hasApplicationContextPath() {
         assertThat(http.getApplicationContextPath()).isEqualTo("/app");
@@ -258,6 +296,15 @@ class DefaultServerFactoryTest {
             .isEqualTo(101);
     }
 
+    @Path("/thread")
+    @Produces("text/plain")
+    public static class ThreadResource {
+        @GET
+        public String isVirtual() throws Exception {
+            return String.valueOf(Thread.class.getMethod("isVirtual").invoke(Thread.currentThread()));
+        }
+    }
+
     @Path("/test")
     @Produces("text/plain")
     public static class TestResource {
@@ -0,0 +1,116 @@
+package io.dropwizard.server;
+
+import org.eclipse.jetty.server.LocalConnector;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class VirtualThreadHandlerTest {
+    private final Server server = new Server();
+    private final LocalConnector connector = new LocalConnector(server);
+
+    @AfterEach
+    void tearDown() throws Exception {
+        server.stop();
+    }
+
+    @Test
+    void handlesRequestsOnVirtualThreads() throws Exception {
+        assumeTrue(VirtualThreadHandler.isSupported());
+        start(new VirtualThreadHandler(), new AbstractHandler() {
+            @Override
+            public void handle(String target, Request baseRequest, HttpServletRequest request,
+                               HttpServletResponse response) throws IOException {
+                baseRequest.setHandled(true);
+                try {
+                    response.getWriter().print("virtual=" + Thread.class.getMethod("isVirtual")
+                        .invoke(Thread.currentThread()));
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        });
+
+        assertThat(connector.getResponse("GET / HTTP/1.0\r\n\r\n")).contains("200 OK").endsWith("virtual=true");
+    }
+
+    @Test
+    void handlesRequestsOnTheThreadsOfItsExecutor() throws Exception {
+        start(new VirtualThreadHandler(() -> namedExecutor("handler")), new AbstractHandler() {
+            @Override
+            public void handle(String target, Request baseRequest, HttpServletRequest request,
+                               HttpServletResponse response) throws IOException {
+                baseRequest.setHandled(true);
+                response.getWriter().print("thread=" + Thread.currentThread().getName());
+            }
+        });
+
+        assertThat(connector.getResponse("GET / HTTP/1.0\r\n\r\n")).contains("200 OK").endsWith("thread=handler");
+    }
+
+    @Test
+    void letsTheApplicationStartRequestsAsynchronously() throws Exception {
+        final ExecutorService application = namedExecutor("application");
+        try {
+            start(new VirtualThreadHandler(() -> namedExecutor("handler")), new AbstractHandler() {
+                @Override
+                public void handle(String target, Request baseRequest, HttpServletRequest request,
+                                   HttpServletResponse response) {
+                    baseRequest.setHandled(true);
+                    final AsyncContext context = request.startAsync();
+                    assertThat(request.isAsyncStarted()).isTrue();
+                    application.execute(() -> {
+                        try {
+                            response.getWriter().print("completed asynchronously");
+                        } catch (IOException e) {
+                            throw new IllegalStateException(e);
+                        } finally {
+                            context.complete();
+                        }
+                    });
+                }
+            });
+
+            assertThat(connector.getResponse("GET / HTTP/1.0\r\n\r\n")).contains("200 OK")
+                .endsWith("completed asynchronously");
+        } finally {
+            application.shutdownNow();
+        }
+    }
+
+    @Test
+    void respondsWithAnErrorWhenTheHandlerFails() throws Exception {
+        start(new VirtualThreadHandler(() -> namedExecutor("handler")), new AbstractHandler() {
+            @Override
+            public void handle(String target, Request baseRequest, HttpServletRequest request,
+                               HttpServletResponse response) {
+                throw new IllegalStateException("can't handle");
+            }
+        });
+
+        assertThat(connector.getResponse("GET / HTTP/1.0\r\n\r\n")).contains("500 Server Error");
+    }
+
+    private void start(VirtualThreadHandler handler, AbstractHandler application) throws Exception {
+        handler.setHandler(application);
+        server.setHandler(handler);
+        server.addConnector(connector);
+        server.start();
+    }
+
+    private static ExecutorService namedExecutor(String name) {
+        return Executors.newCachedThreadPool(runnable -> new Thread(runnable, name));
+    }
+}
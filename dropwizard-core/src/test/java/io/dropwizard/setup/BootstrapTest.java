@@ -70,6 +70,13 @@ class BootstrapTest {
                         "jvm.attribute.vendor", "jvm.classloader.loaded", "jvm.filedescriptor");
     }
 
+    @Test
+    void reportsTheTimeSpentDiscoveringSubtypes() {
+        bootstrap.registerMetrics();
+        assertThat(bootstrap.getMetricRegistry().getGauges())
+                .containsKey("io.dropwizard.jackson.DiscoverableSubtypeResolver.discoveryTime");
+    }
+
     @Test
     void defaultsToDefaultConfigurationFactoryFactory() throws Exception {
         assertThat(bootstrap.getConfigurationFactoryFactory())
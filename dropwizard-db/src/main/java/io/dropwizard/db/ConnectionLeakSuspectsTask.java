@@ -0,0 +1,69 @@
+package io.dropwizard.db;
+
+import io.dropwizard.servlets.tasks.Task;
+import io.dropwizard.util.Duration;
+
+import java.io.PrintWriter;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Reports the connections of a {@link ManagedPooledDataSource} which have been borrowed for longer than a threshold,
+ * longest first, with the thread which borrowed them and, when {@code logAbandonedConnections} is set, where.
+ * <p>
+ * The threshold is the {@code removeAbandonedTimeout} of the pool, unless a {@code threshold} parameter, such as
+ * {@code 10s}, is given. Connections are only tracked when the JDBC metrics of the data source are enabled.
+ * </p>
+ *
+ * @since 2.1
+ */
+public class ConnectionLeakSuspectsTask extends Task {
+    private final ManagedPooledDataSource dataSource;
+
+    /**
+     * Creates a new task for the given data source, named {@code leak-suspects-<name>} after the name of its pool,
+     * like its metrics.
+     *
+     * @param dataSource the data source
+     */
+    public ConnectionLeakSuspectsTask(ManagedPooledDataSource dataSource) {
+        super("leak-suspects-" + dataSource.getPoolProperties().getName());
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public void execute(Map<String, List<String>> parameters, PrintWriter output) {
+        final long thresholdNanos = getThreshold(parameters);
+        final long now = System.nanoTime();
+        final List<ConnectionLease> suspects = dataSource.getLeases().stream()
+            .filter(lease -> lease.getHeldNanos(now) >= thresholdNanos)
+            .sorted(Comparator.comparingLong((ConnectionLease lease) -> lease.getHeldNanos(now)).reversed())
+            .collect(Collectors.toList());
+
+        output.printf("%d connection(s) held for at least %d ms%n", suspects.size(),
+            TimeUnit.NANOSECONDS.toMillis(thresholdNanos));
+        for (ConnectionLease lease : suspects) {
+            output.printf("Held for %d ms by thread %s%n", TimeUnit.NANOSECONDS.toMillis(lease.getHeldNanos(now)),
+                lease.getThreadName());
+            final Throwable stackTrace = lease.getStackTrace();
+            if (stackTrace != null) {
+                for (StackTraceElement element : stackTrace.getStackTrace()) {
+                    output.println("\tat " + element);
+                }
+            }
+        }
+        output.flush();
+    }
+
+    private long getThreshold(Map<String, List<String>> parameters) {
+        final List<String> thresholds = parameters.getOrDefault("threshold", Collections.emptyList());
+        if (thresholds.isEmpty()) {
+            return TimeUnit.SECONDS.toNanos(dataSource.getPoolProperties().getRemoveAbandonedTimeout());
+        }
+        return Duration.parse(thresholds.get(0)).toNanoseconds();
+    }
+}
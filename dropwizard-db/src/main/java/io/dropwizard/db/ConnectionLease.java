@@ -0,0 +1,33 @@
+package io.dropwizard.db;
+
+import javax.annotation.Nullable;
+
+/**
+ * A connection borrowed from a {@link ManagedPooledDataSource}: which thread borrowed it, when, and optionally
+ * where.
+ */
+class ConnectionLease {
+    private final String threadName;
+    private final long leasedAtNanos;
+    @Nullable
+    private final Throwable stackTrace;
+
+    ConnectionLease(String threadName, long leasedAtNanos, @Nullable Throwable stackTrace) {
+        this.threadName = threadName;
+        this.leasedAtNanos = leasedAtNanos;
+        this.stackTrace = stackTrace;
+    }
+
+    String getThreadName() {
+        return threadName;
+    }
+
+    long getHeldNanos(long nowNanos) {
+        return nowNanos - leasedAtNanos;
+    }
+
+    @Nullable
+    Throwable getStackTrace() {
+        return stackTrace;
+    }
+}
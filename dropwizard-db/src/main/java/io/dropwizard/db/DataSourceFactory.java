@@ -298,6 +298,15 @@ import java.util.concurrent.TimeUnit;
  *         </td>
  *     </tr>
  *     <tr>
+ *         <td>{@code jdbcMetricsEnabled}</td>
+ *         <td>{@code false}</td>
+ *         <td>
+ *             Whether to install the {@link InstrumentedJdbcInterceptor}, which records the time connections are
+ *             held, the execution time of statements and the number of rows fetched by queries, and tracks the
+ *             borrowed connections so the ones held for too long can be reported.
+ *         </td>
+ *     </tr>
+ *     <tr>
  *         <td>{@code ignoreExceptionOnPreLoad}</td>
  *         <td>{@code false}</td>
  *         <td>
@@ -433,6 +442,8 @@ public class DataSourceFactory implements PooledDataSourceFactory {
 
     private Optional<String> jdbcInterceptors = Optional.empty();
 
+    private boolean jdbcMetricsEnabled = false;
+
     private boolean ignoreExceptionOnPreLoad = false;
 
     @JsonProperty
@@ -852,6 +863,22 @@ public class DataSourceFactory implements PooledDataSourceFactory {
         this.jdbcInterceptors = jdbcInterceptors;
     }
 
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public boolean isJdbcMetricsEnabled() {
+        return jdbcMetricsEnabled;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setJdbcMetricsEnabled(boolean jdbcMetricsEnabled) {
+        this.jdbcMetricsEnabled = jdbcMetricsEnabled;
+    }
+
     @JsonProperty
     public boolean isIgnoreExceptionOnPreLoad() {
         return ignoreExceptionOnPreLoad;
@@ -917,7 +944,12 @@ public class DataSourceFactory implements PooledDataSourceFactory {
 
         getValidationQueryTimeout().map(x -> (int) x.toSeconds()).ifPresent(poolConfig::setValidationQueryTimeout);
         validatorClassName.ifPresent(poolConfig::setValidatorClassName);
-        jdbcInterceptors.ifPresent(poolConfig::setJdbcInterceptors);
+        if (jdbcMetricsEnabled) {
+            poolConfig.setJdbcInterceptors(jdbcInterceptors.map(interceptors -> interceptors + ";").orElse("")
+                + InstrumentedJdbcInterceptor.class.getName());
+        } else {
+            jdbcInterceptors.ifPresent(poolConfig::setJdbcInterceptors);
+        }
         return new ManagedPooledDataSource(poolConfig, metricRegistry);
     }
 }
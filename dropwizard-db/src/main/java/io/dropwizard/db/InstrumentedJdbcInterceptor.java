@@ -0,0 +1,175 @@
+package io.dropwizard.db;
+
+import org.apache.tomcat.jdbc.pool.ConnectionPool;
+import org.apache.tomcat.jdbc.pool.PooledConnection;
+import org.apache.tomcat.jdbc.pool.interceptor.AbstractCreateStatementInterceptor;
+
+import javax.annotation.Nullable;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+
+/**
+ * A Tomcat JDBC interceptor which records, in the metrics of the {@link ManagedPooledDataSource} it's installed on,
+ * the time connections are held, the execution time of statements and the number of rows fetched by queries. It also
+ * tracks the connections currently borrowed, along with where they were borrowed when {@code logAbandoned} is set.
+ * <p>
+ * It's installed by {@link DataSourceFactory} when {@code jdbcMetricsEnabled} is set, and does nothing on pools of
+ * other data sources.
+ * </p>
+ *
+ * @since 2.1
+ */
+public class InstrumentedJdbcInterceptor extends AbstractCreateStatementInterceptor {
+    @Nullable
+    private ManagedPooledDataSource dataSource;
+    @Nullable
+    private ConnectionLease lease;
+
+    @Override
+    public void reset(@Nullable ConnectionPool parent, @Nullable PooledConnection con) {
+        // Called each time the connection is borrowed
+        release();
+        if (parent instanceof ManagedPooledDataSource.InstrumentedConnectionPool && con != null) {
+            final ManagedPooledDataSource pooledDataSource =
+                ((ManagedPooledDataSource.InstrumentedConnectionPool) parent).getDataSource();
+            lease = pooledDataSource.lease(parent.getPoolProperties().isLogAbandoned());
+            dataSource = pooledDataSource;
+        } else {
+            dataSource = null;
+        }
+    }
+
+    @Override
+    public void closeInvoked() {
+        release();
+    }
+
+    @Override
+    public void disconnected(ConnectionPool parent, PooledConnection con, boolean finalizing) {
+        // The pool closes the physical connection of abandoned connections, which the application never returns
+        release();
+        super.disconnected(parent, con, finalizing);
+    }
+
+    @Override
+    public Object createStatement(Object proxy, Method method, Object[] args, Object statement, long time) {
+        final ManagedPooledDataSource pooledDataSource = dataSource;
+        if (pooledDataSource == null) {
+            return statement;
+        }
+        return Proxy.newProxyInstance(InstrumentedJdbcInterceptor.class.getClassLoader(),
+            new Class<?>[]{method.getReturnType()},
+            new StatementHandler(pooledDataSource, proxy, statement));
+    }
+
+    private void release() {
+        final ManagedPooledDataSource pooledDataSource = dataSource;
+        final ConnectionLease currentLease = lease;
+        if (pooledDataSource != null && currentLease != null) {
+            pooledDataSource.release(currentLease);
+        }
+        lease = null;
+    }
+
+    @Nullable
+    private static Object invokeDelegate(Object delegate, Method method, @Nullable Object[] args) throws Throwable {
+        try {
+            return method.invoke(delegate, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    /**
+     * Times the executions of a statement, and counts the rows of its result sets.
+     */
+    private static class StatementHandler implements InvocationHandler {
+        private final ManagedPooledDataSource dataSource;
+        private final Object connection;
+        private final Object statement;
+
+        private StatementHandler(ManagedPooledDataSource dataSource, Object connection, Object statement) {
+            this.dataSource = dataSource;
+            this.connection = connection;
+            this.statement = statement;
+        }
+
+        @Override
+        @Nullable
+        public Object invoke(Object proxy, Method method, @Nullable Object[] args) throws Throwable {
+            final String name = method.getName();
+            if ("getConnection".equals(name)) {
+                // The pooled connection, rather than the physical one
+                return connection;
+            }
+            if (!name.startsWith("execute")) {
+                return wrapResultSet(proxy, name, invokeDelegate(statement, method, args));
+            }
+
+            final long start = System.nanoTime();
+            try {
+                return wrapResultSet(proxy, name, invokeDelegate(statement, method, args));
+            } finally {
+                dataSource.recordStatement(System.nanoTime() - start);
+            }
+        }
+
+        @Nullable
+        private Object wrapResultSet(Object proxy, String name, @Nullable Object result) {
+            if (result instanceof ResultSet && ("executeQuery".equals(name) || "getResultSet".equals(name))) {
+                return Proxy.newProxyInstance(InstrumentedJdbcInterceptor.class.getClassLoader(),
+                    new Class<?>[]{ResultSet.class},
+                    new ResultSetHandler(dataSource, proxy, result));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Counts the rows read from a result set, and records them once it's read entirely or closed.
+     */
+    private static class ResultSetHandler implements InvocationHandler {
+        private final ManagedPooledDataSource dataSource;
+        private final Object statement;
+        private final Object resultSet;
+        private long rows;
+        private boolean recorded;
+
+        private ResultSetHandler(ManagedPooledDataSource dataSource, Object statement, Object resultSet) {
+            this.dataSource = dataSource;
+            this.statement = statement;
+            this.resultSet = resultSet;
+        }
+
+        @Override
+        @Nullable
+        public Object invoke(Object proxy, Method method, @Nullable Object[] args) throws Throwable {
+            final String name = method.getName();
+            if ("getStatement".equals(name)) {
+                return statement;
+            }
+
+            final Object result = invokeDelegate(resultSet, method, args);
+            if ("next".equals(name)) {
+                if (Boolean.TRUE.equals(result)) {
+                    rows++;
+                } else {
+                    record();
+                }
+            } else if ("close".equals(name)) {
+                record();
+            }
+            return result;
+        }
+
+        private void record() {
+            if (!recorded) {
+                recorded = true;
+                dataSource.recordRows(rows);
+            }
+        }
+    }
+}
@@ -1,21 +1,53 @@
 package io.dropwizard.db;
 
+import com.codahale.metrics.ExponentiallyDecayingReservoir;
 import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
 import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
 import org.apache.tomcat.jdbc.pool.ConnectionPool;
 import org.apache.tomcat.jdbc.pool.DataSourceProxy;
 import org.apache.tomcat.jdbc.pool.PoolConfiguration;
+import org.apache.tomcat.jdbc.pool.PoolProperties.InterceptorDefinition;
+import org.apache.tomcat.jdbc.pool.PooledConnection;
 
+import javax.annotation.Nullable;
+import java.sql.Connection;
+import java.sql.SQLException;
 import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
 import static com.codahale.metrics.MetricRegistry.name;
 
 /**
  * A {@link ManagedDataSource} which is backed by a Tomcat pooled {@link javax.sql.DataSource}.
+ * <p>
+ * The connection validations performed by the pool itself, when connections are created, borrowed, returned or
+ * tested while idle, are timed and their outcome is kept, so health checks can rely on them instead of borrowing
+ * a connection of their own.
+ * </p>
+ * <p>
+ * When the {@link InstrumentedJdbcInterceptor} is installed, the time connections are held, the execution time of
+ * statements and the number of rows they fetch are also recorded, and the connections currently borrowed are
+ * tracked, so the ones held for too long can be reported.
+ * </p>
  */
 public class ManagedPooledDataSource extends DataSourceProxy implements ManagedDataSource {
     private final MetricRegistry metricRegistry;
+    private final Timer validations = new Timer();
+    private final Timer acquisitions = new Timer();
+    private final Timer holds = new Timer();
+    private final Timer statements = new Timer();
+    private final Histogram rows = new Histogram(new ExponentiallyDecayingReservoir());
+    private final Set<ConnectionLease> leases = ConcurrentHashMap.newKeySet();
+
+    private volatile long lastValidated;
+    private volatile boolean lastValidationFailed;
 
     /**
      * Create a new data source with the given connection pool configuration.
@@ -67,10 +99,168 @@ public class ManagedPooledDataSource extends DataSourceProxy implements ManagedD
 
         metricRegistry.register(name(getClass(), connectionPool.getName(), "removeAbandoned"),
             (Gauge<Long>) connectionPool::getRemoveAbandonedCount);
+
+        metricRegistry.register(name(getClass(), connectionPool.getName(), "validation"), validations);
+
+        metricRegistry.register(name(getClass(), connectionPool.getName(), "lastValidated"),
+            (Gauge<Long>) this::getLastValidated);
+
+        metricRegistry.register(name(getClass(), connectionPool.getName(), "acquire"), acquisitions);
+
+        if (isJdbcMetricsEnabled()) {
+            metricRegistry.register(name(getClass(), connectionPool.getName(), "hold"), holds);
+            metricRegistry.register(name(getClass(), connectionPool.getName(), "statements"), statements);
+            metricRegistry.register(name(getClass(), connectionPool.getName(), "rows"), rows);
+        }
     }
 
     @Override
     public void stop() throws Exception {
         close();
     }
+
+    @Override
+    public ConnectionPool createPool() throws SQLException {
+        final ConnectionPool connectionPool = pool;
+        return connectionPool != null ? connectionPool : createInstrumentedPool();
+    }
+
+    private synchronized ConnectionPool createInstrumentedPool() throws SQLException {
+        if (pool == null) {
+            pool = new InstrumentedConnectionPool(poolProperties);
+        }
+        return pool;
+    }
+
+    /**
+     * Returns whether the {@link InstrumentedJdbcInterceptor} is installed on the pool, so connections and statements
+     * are instrumented.
+     *
+     * @return {@code true} if the JDBC metrics are recorded
+     * @since 2.1
+     */
+    public boolean isJdbcMetricsEnabled() {
+        for (InterceptorDefinition interceptor : getPoolProperties().getJdbcInterceptorsAsArray()) {
+            if (InstrumentedJdbcInterceptor.class.getName().equals(interceptor.getClassName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns when the pool last validated a connection successfully.
+     *
+     * @return the time of the last successful validation in milliseconds since the epoch, or 0 if none happened yet
+     * @since 2.1
+     */
+    public long getLastValidated() {
+        return lastValidated;
+    }
+
+    /**
+     * Returns whether the pool successfully validated a connection within its {@code validationInterval}, and no
+     * validation failed since. In that case, the database is known to be reachable without borrowing a connection.
+     *
+     * @return {@code true} if the pool recently validated a connection successfully
+     * @since 2.1
+     */
+    public boolean isRecentlyValidated() {
+        final long validated = lastValidated;
+        return validated > 0 && !lastValidationFailed
+            && System.currentTimeMillis() - validated <= getPoolProperties().getValidationInterval();
+    }
+
+    /**
+     * Returns the connections currently borrowed from the pool. Only tracked when the JDBC metrics are enabled.
+     */
+    Collection<ConnectionLease> getLeases() {
+        return new ArrayList<>(leases);
+    }
+
+    ConnectionLease lease(boolean captureStackTrace) {
+        final ConnectionLease lease = new ConnectionLease(Thread.currentThread().getName(), System.nanoTime(),
+            captureStackTrace ? new Throwable("Connection borrowed here") : null);
+        leases.add(lease);
+        return lease;
+    }
+
+    void release(ConnectionLease lease) {
+        if (leases.remove(lease)) {
+            holds.update(lease.getHeldNanos(System.nanoTime()), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    void recordStatement(long durationNanos) {
+        statements.update(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    void recordRows(long count) {
+        rows.update(count);
+    }
+
+    private void recordValidation(boolean valid, long durationNanos) {
+        validations.update(durationNanos, TimeUnit.NANOSECONDS);
+        if (valid) {
+            lastValidated = System.currentTimeMillis();
+        }
+        lastValidationFailed = !valid;
+    }
+
+    /**
+     * A {@link ConnectionPool} which times the acquisition of connections, and whose connections report their
+     * validations to the data source.
+     */
+    class InstrumentedConnectionPool extends ConnectionPool {
+        InstrumentedConnectionPool(PoolConfiguration config) throws SQLException {
+            super(config);
+        }
+
+        ManagedPooledDataSource getDataSource() {
+            return ManagedPooledDataSource.this;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            try (Timer.Context ignored = acquisitions.time()) {
+                return super.getConnection();
+            }
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            try (Timer.Context ignored = acquisitions.time()) {
+                return super.getConnection(username, password);
+            }
+        }
+
+        @Override
+        protected PooledConnection create(boolean incrementCounter) {
+            if (incrementCounter) {
+                // Only the pool can count a connection in its size. It never asks for that itself, as it counts
+                // connections before creating them, so such connections are simply not instrumented.
+                return super.create(true);
+            }
+            return new ValidationRecordingPooledConnection(getPoolProperties(), this);
+        }
+    }
+
+    private class ValidationRecordingPooledConnection extends PooledConnection {
+        ValidationRecordingPooledConnection(PoolConfiguration config, ConnectionPool parent) {
+            super(config, parent);
+        }
+
+        @Override
+        public boolean validate(int validateAction, @Nullable String sql) {
+            final long validated = getLastValidated();
+            final long start = System.nanoTime();
+            final boolean valid = super.validate(validateAction, sql);
+            // Validations skipped because of the validation interval, or not enabled for this action, succeed
+            // without updating the time of the last validation
+            if (!valid || getLastValidated() != validated) {
+                recordValidation(valid, System.nanoTime() - start);
+            }
+            return valid;
+        }
+    }
 }
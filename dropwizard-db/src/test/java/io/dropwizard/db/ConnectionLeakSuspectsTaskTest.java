@@ -0,0 +1,90 @@
+package io.dropwizard.db;
+
+import com.codahale.metrics.MetricRegistry;
+import org.apache.tomcat.jdbc.pool.PoolProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.annotation.Nullable;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.sql.Connection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Objects.requireNonNull;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConnectionLeakSuspectsTaskTest {
+    private final PoolProperties config = new PoolProperties();
+    private final ManagedPooledDataSource dataSource = new ManagedPooledDataSource(config, new MetricRegistry());
+    @Nullable
+    private ConnectionLeakSuspectsTask task;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        config.setName("test");
+        config.setUrl("jdbc:h2:mem:leaks-" + System.currentTimeMillis());
+        config.setDriverClassName("org.h2.Driver");
+        config.setUsername("sa");
+        config.setPassword("");
+        config.setJdbcInterceptors(InstrumentedJdbcInterceptor.class.getName());
+        config.setLogAbandoned(true);
+        dataSource.start();
+        task = new ConnectionLeakSuspectsTask(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        dataSource.stop();
+    }
+
+    @Test
+    void isNamedAfterTheDataSource() {
+        assertThat(requireNonNull(task).getName()).isEqualTo("leak-suspects-test");
+    }
+
+    @Test
+    void reportsConnectionsHeldLongerThanTheThreshold() throws Exception {
+        try (Connection ignored = dataSource.getConnection()) {
+            final String output = execute(Collections.singletonMap("threshold",
+                Collections.singletonList("0ms")));
+
+            assertThat(output)
+                .startsWith("1 connection(s) held for at least 0 ms")
+                .contains("by thread " + Thread.currentThread().getName())
+                .contains("at " + getClass().getName() + ".reportsConnectionsHeldLongerThanTheThreshold");
+        }
+    }
+
+    @Test
+    void usesTheRemoveAbandonedTimeoutByDefault() throws Exception {
+        try (Connection ignored = dataSource.getConnection()) {
+            assertThat(execute(Collections.emptyMap())).isEqualTo(
+                String.format("0 connection(s) held for at least 60000 ms%n"));
+        }
+    }
+
+    @Test
+    void forgetsConnectionsReclaimedByThePool() throws Exception {
+        config.setRemoveAbandoned(true);
+        config.setRemoveAbandonedTimeout(1);
+        final Connection abandoned = dataSource.getConnection();
+        TimeUnit.MILLISECONDS.sleep(1100);
+
+        dataSource.getPool().checkAbandoned();
+
+        assertThat(abandoned.isClosed()).isTrue();
+        assertThat(execute(Collections.singletonMap("threshold", Collections.singletonList("0ms"))))
+            .startsWith("0 connection(s)");
+    }
+
+    private String execute(Map<String, List<String>> parameters) {
+        final StringWriter output = new StringWriter();
+        requireNonNull(task).execute(parameters, new PrintWriter(output));
+        return output.toString();
+    }
+}
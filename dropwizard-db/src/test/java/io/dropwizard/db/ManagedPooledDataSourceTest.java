@@ -2,10 +2,15 @@ package io.dropwizard.db;
 
 import com.codahale.metrics.MetricRegistry;
 import org.apache.tomcat.jdbc.pool.PoolProperties;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLFeatureNotSupportedException;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
 class ManagedPooledDataSourceTest {
@@ -13,9 +18,89 @@ class ManagedPooledDataSourceTest {
     private final MetricRegistry metricRegistry = new MetricRegistry();
     private final ManagedPooledDataSource dataSource = new ManagedPooledDataSource(config, metricRegistry);
 
+    @AfterEach
+    void tearDown() throws Exception {
+        dataSource.stop();
+    }
+
     @Test
     void hasNoParentLogger() {
         assertThatExceptionOfType(SQLFeatureNotSupportedException.class)
             .isThrownBy(dataSource::getParentLogger);
     }
+
+    @Test
+    void recordsTheValidationsOfThePool() throws Exception {
+        configureDatabase("validated");
+        config.setTestOnConnect(true);
+        config.setValidationQuery("SELECT 1");
+        dataSource.start();
+
+        try (Connection connection = dataSource.getConnection()) {
+            assertThat(connection.isValid(1)).isTrue();
+        }
+
+        assertThat(dataSource.getLastValidated()).isPositive();
+        assertThat(dataSource.isRecentlyValidated()).isTrue();
+        assertThat(metricRegistry.timer("io.dropwizard.db.ManagedPooledDataSource.validated.validation").getCount())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void isNotRecentlyValidatedWhenThePoolDoesNotValidateConnections() throws Exception {
+        configureDatabase("unvalidated");
+        dataSource.start();
+
+        try (Connection connection = dataSource.getConnection()) {
+            assertThat(connection.isValid(1)).isTrue();
+        }
+
+        assertThat(dataSource.getLastValidated()).isZero();
+        assertThat(dataSource.isRecentlyValidated()).isFalse();
+    }
+
+    @Test
+    void recordsConnectionsAndStatementsWhenJdbcMetricsAreEnabled() throws Exception {
+        configureDatabase("instrumented");
+        config.setJdbcInterceptors(InstrumentedJdbcInterceptor.class.getName());
+        dataSource.start();
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT X FROM SYSTEM_RANGE(1, 3)");
+             ResultSet resultSet = statement.executeQuery()) {
+            assertThat(dataSource.getLeases()).hasSize(1);
+            assertThat(resultSet.getStatement()).isSameAs(statement);
+            while (resultSet.next()) {
+                assertThat(resultSet.getInt(1)).isPositive();
+            }
+        }
+
+        final String prefix = "io.dropwizard.db.ManagedPooledDataSource.instrumented.";
+        assertThat(dataSource.isJdbcMetricsEnabled()).isTrue();
+        assertThat(dataSource.getLeases()).isEmpty();
+        assertThat(metricRegistry.timer(prefix + "acquire").getCount()).isEqualTo(1);
+        assertThat(metricRegistry.timer(prefix + "hold").getCount()).isEqualTo(1);
+        assertThat(metricRegistry.timer(prefix + "statements").getCount()).isEqualTo(1);
+        assertThat(metricRegistry.histogram(prefix + "rows").getSnapshot().getValues()).containsExactly(3);
+    }
+
+    @Test
+    void doesNotRegisterJdbcMetricsByDefault() throws Exception {
+        configureDatabase("uninstrumented");
+        dataSource.start();
+
+        assertThat(dataSource.isJdbcMetricsEnabled()).isFalse();
+        assertThat(metricRegistry.getNames())
+            .contains("io.dropwizard.db.ManagedPooledDataSource.uninstrumented.acquire")
+            .doesNotContain("io.dropwizard.db.ManagedPooledDataSource.uninstrumented.hold");
+    }
+
+    private void configureDatabase(String name) {
+        config.setName(name);
+        config.setUrl("jdbc:h2:mem:" + name + "-" + System.currentTimeMillis());
+        config.setDriverClassName("org.h2.Driver");
+        config.setUsername("sa");
+        config.setPassword("");
+        config.setInitialSize(1);
+    }
 }
@@ -4,6 +4,7 @@ import com.codahale.metrics.InstrumentedScheduledExecutorService;
 import com.codahale.metrics.InstrumentedThreadFactory;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.health.HealthCheckRegistry;
+import com.codahale.metrics.health.HealthCheckRegistryListener;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -19,8 +20,11 @@ import io.dropwizard.lifecycle.setup.LifecycleEnvironment;
 import io.dropwizard.util.Duration;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadFactory;
+import javax.annotation.Nullable;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
@@ -169,9 +173,11 @@ public class DefaultHealthFactory implements HealthFactory {
         final ScheduledExecutorService scheduledHealthCheckExecutor = createScheduledExecutorForHealthChecks(
                 healthCheckConfigs.size(), metrics, lifecycle, fullName);
         final HealthCheckScheduler scheduler = new HealthCheckScheduler(scheduledHealthCheckExecutor);
+        final ExecutorService healthCheckExecutor = createExecutorForHealthChecksWithTimeout(healthCheckConfigs,
+                lifecycle, fullName);
         // configure health manager to receive registered health state listeners from HealthEnvironment (via reference)
         final HealthCheckManager healthCheckManager = new HealthCheckManager(healthCheckConfigs, scheduler, metrics,
-                shutdownWaitPeriod, initialOverallState, health.healthStateListeners());
+                shutdownWaitPeriod, initialOverallState, health.healthStateListeners(), healthCheckExecutor);
         healthCheckManager.initializeAppHealth();
 
         // setup response provider and responder to respond to health check requests
@@ -180,8 +186,18 @@ public class DefaultHealthFactory implements HealthFactory {
         healthResponderFactory.configure(fullName, healthCheckUrlPaths, responseProvider, health, jersey, servlets,
                 mapper);
 
+        // let response providers which cache responses invalidate them when health checks change state or are added.
+        // State listeners are registered before any health check is scheduled, and registry listeners after the
+        // health check manager, so it knows about added health checks first.
+        if (responseProvider instanceof HealthStateListener) {
+            health.addHealthStateListener((HealthStateListener) responseProvider);
+        }
+
         // register listener for HealthCheckRegistry and setup validator to ensure correct config
         healthChecks.addListener(healthCheckManager);
+        if (responseProvider instanceof HealthCheckRegistryListener) {
+            healthChecks.addListener((HealthCheckRegistryListener) responseProvider);
+        }
         lifecycle.manage(new HealthCheckConfigValidator(healthCheckConfigs, healthChecks));
 
         // register shutdown handler with Jetty
@@ -219,4 +235,36 @@ public class DefaultHealthFactory implements HealthFactory {
 
         return new InstrumentedScheduledExecutorService(scheduledExecutorService, metrics);
     }
+
+    /**
+     * Creates the executor which runs the health checks that have a timeout, so a hung check can be interrupted
+     * without holding on to a scheduler thread. Threads are only created when needed. As a check doesn't run
+     * again while its previous execution is still running, one thread per check with a timeout is enough, but the
+     * thread of a finished execution may not be waiting for work yet when the next one is submitted, so there's
+     * twice as many.
+     */
+    @Nullable
+    private ExecutorService createExecutorForHealthChecksWithTimeout(
+            final List<HealthCheckConfiguration> healthCheckConfigs,
+            final LifecycleEnvironment lifecycle,
+            final String fullName) {
+        final int checksWithTimeout = (int) healthCheckConfigs.stream()
+                .filter(config -> config.getSchedule().getTimeout() != null)
+                .count();
+        if (checksWithTimeout == 0) {
+            return null;
+        }
+
+        final ThreadFactory threadFactory = new ThreadFactoryBuilder()
+                .setNameFormat(fullName + "-check-%d")
+                .setDaemon(true)
+                .setUncaughtExceptionHandler((t, e) -> LOGGER.error("Thread={} died due to uncaught exception", t, e))
+                .build();
+
+        return lifecycle.executorService(fullName + "-check-executor", threadFactory)
+                .minThreads(0)
+                .maxThreads(checksWithTimeout * 2)
+                .workQueue(new SynchronousQueue<>())
+                .build();
+    }
 }
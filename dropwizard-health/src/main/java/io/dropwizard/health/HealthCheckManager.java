@@ -3,6 +3,7 @@ package io.dropwizard.health;
 import com.codahale.metrics.Counter;
 import com.codahale.metrics.Gauge;
 import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
 import com.codahale.metrics.health.HealthCheck;
 import com.codahale.metrics.health.HealthCheckRegistryListener;
 import io.dropwizard.util.Duration;
@@ -17,6 +18,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
@@ -44,6 +46,8 @@ class HealthCheckManager implements HealthCheckRegistryListener, HealthStatusChe
     private final String aggregateHealthyName;
     @Nonnull
     private final String aggregateUnhealthyName;
+    @Nullable
+    private final ExecutorService checkExecutor;
     @Nonnull
     private Map<String, ScheduledHealthCheck> checks;
     private volatile boolean shuttingDown = false;
@@ -54,6 +58,19 @@ class HealthCheckManager implements HealthCheckRegistryListener, HealthStatusChe
                               final Duration shutdownWaitPeriod,
                               final boolean initialOverallState,
                               final Collection<HealthStateListener> healthStateListeners) {
+        this(configs, scheduler, metrics, shutdownWaitPeriod, initialOverallState, healthStateListeners, null);
+    }
+
+    /**
+     * @param checkExecutor runs the checks which have a timeout. Without one, timeouts are not enforced.
+     */
+    public HealthCheckManager(final List<HealthCheckConfiguration> configs,
+                              final HealthCheckScheduler scheduler,
+                              final MetricRegistry metrics,
+                              final Duration shutdownWaitPeriod,
+                              final boolean initialOverallState,
+                              final Collection<HealthStateListener> healthStateListeners,
+                              @Nullable final ExecutorService checkExecutor) {
         this.configs = configs.stream()
             .collect(Collectors.toMap(HealthCheckConfiguration::getName, Function.identity()));
         this.scheduler = Objects.requireNonNull(scheduler);
@@ -62,6 +79,7 @@ class HealthCheckManager implements HealthCheckRegistryListener, HealthStatusChe
         this.initialOverallState = initialOverallState;
         this.checks = new HashMap<>();
         this.healthStateListeners = Objects.requireNonNull(healthStateListeners);
+        this.checkExecutor = checkExecutor;
 
         this.aggregateHealthyName = MetricRegistry.name("health", "aggregate", "healthy");
         this.aggregateUnhealthyName = MetricRegistry.name("health", "aggregate", "unhealthy");
@@ -92,9 +110,10 @@ class HealthCheckManager implements HealthCheckRegistryListener, HealthStatusChe
         final State state = new State(name, schedule.getFailureAttempts(), schedule.getSuccessAttempts(), initialState, this);
         final Counter healthyCheckCounter = metrics.counter(MetricRegistry.name("health", name, "healthy"));
         final Counter unhealthyCheckCounter = metrics.counter(MetricRegistry.name("health", name, "unhealthy"));
+        final Timer durationTimer = metrics.timer(MetricRegistry.name("health", name, "duration"));
 
         final ScheduledHealthCheck check = new ScheduledHealthCheck(name, type, critical, healthCheck, schedule, state,
-            healthyCheckCounter, unhealthyCheckCounter);
+            healthyCheckCounter, unhealthyCheckCounter, durationTimer, checkExecutor);
         checks.put(name, check);
 
         // handle initial state of 'false' to ensure counts line up
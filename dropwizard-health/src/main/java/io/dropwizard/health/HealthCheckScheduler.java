@@ -8,6 +8,7 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 
 class HealthCheckScheduler {
@@ -46,11 +47,20 @@ class HealthCheckScheduler {
 
     private void schedule(final ScheduledHealthCheck check, final Duration initialDelay, final Duration delay) {
         final ScheduledFuture<?> taskFuture = executorService.scheduleWithFixedDelay(check,
-            initialDelay.toMilliseconds(), delay.toMilliseconds(), TimeUnit.MILLISECONDS);
+            initialDelay.toMilliseconds() + jitter(check.getSchedule()), delay.toMilliseconds(), TimeUnit.MILLISECONDS);
         futures.put(check.getName(), taskFuture);
         LOGGER.debug("Scheduled check: check={}", check);
     }
 
+    /**
+     * Returns a random extra delay, so checks of the same dependency across a fleet of instances, or checks which
+     * changed state at the same time, don't all run at once.
+     */
+    private long jitter(final Schedule schedule) {
+        final long maxJitter = schedule.getJitter().toMilliseconds();
+        return maxJitter > 0 ? ThreadLocalRandom.current().nextLong(maxJitter + 1) : 0;
+    }
+
     public void unschedule(final String name) {
         final ScheduledFuture<?> taskFuture = futures.get(name);
         if (taskFuture != null) {
@@ -30,6 +30,14 @@ public class Schedule {
     @JsonProperty
     private int successAttempts = 2;
 
+    @Nullable
+    @JsonProperty
+    private Duration timeout = null;
+
+    @NotNull
+    @JsonProperty
+    private Duration jitter = Duration.milliseconds(0);
+
     public Duration getInitialDelay() {
         // default to checkInterval value
         return initialDelay == null ? getCheckInterval() : initialDelay;
@@ -71,6 +79,35 @@ public class Schedule {
         this.successAttempts = successAttempts;
     }
 
+    /**
+     * @since 2.1
+     */
+    @Nullable
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * @since 2.1
+     */
+    public void setTimeout(@Nullable final Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    /**
+     * @since 2.1
+     */
+    public Duration getJitter() {
+        return jitter;
+    }
+
+    /**
+     * @since 2.1
+     */
+    public void setJitter(final Duration jitter) {
+        this.jitter = jitter;
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) return true;
@@ -80,11 +117,14 @@ public class Schedule {
             successAttempts == schedule.successAttempts &&
             Objects.equals(initialDelay, schedule.initialDelay) &&
             Objects.equals(checkInterval, schedule.checkInterval) &&
-            Objects.equals(downtimeInterval, schedule.downtimeInterval);
+            Objects.equals(downtimeInterval, schedule.downtimeInterval) &&
+            Objects.equals(timeout, schedule.timeout) &&
+            Objects.equals(jitter, schedule.jitter);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(initialDelay, checkInterval, downtimeInterval, failureAttempts, successAttempts);
+        return Objects.hash(initialDelay, checkInterval, downtimeInterval, failureAttempts, successAttempts, timeout,
+            jitter);
     }
 }
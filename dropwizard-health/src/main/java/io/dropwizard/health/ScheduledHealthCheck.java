@@ -1,11 +1,21 @@
 package io.dropwizard.health;
 
 import com.codahale.metrics.Counter;
+import com.codahale.metrics.Timer;
 import com.codahale.metrics.health.HealthCheck;
+import io.dropwizard.util.Duration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 class ScheduledHealthCheck implements Runnable {
     private static final Logger LOGGER = LoggerFactory.getLogger(ScheduledHealthCheck.class);
@@ -18,6 +28,12 @@ class ScheduledHealthCheck implements Runnable {
     private final State state;
     private final Counter healthyCheckCounter;
     private final Counter unhealthyCheckCounter;
+    private final Timer durationTimer;
+    @Nullable
+    private final ExecutorService checkExecutor;
+    // Whether an execution on the check executor is still running, which it may be after timing out if the check
+    // doesn't respond to interruption
+    private final AtomicBoolean executing = new AtomicBoolean();
 
     ScheduledHealthCheck(final String name,
                          final HealthCheckType type,
@@ -27,6 +43,26 @@ class ScheduledHealthCheck implements Runnable {
                          final State state,
                          final Counter healthyCheckCounter,
                          final Counter unhealthyCheckCounter) {
+        this(name, type, critical, healthCheck, schedule, state, healthyCheckCounter, unhealthyCheckCounter,
+            new Timer(), null);
+    }
+
+    /**
+     * @param durationTimer records the duration of every execution of the check
+     * @param checkExecutor runs the check when its schedule has a timeout, so it can be interrupted. Without one,
+     *                      the check runs on the calling thread, and timeouts are not enforced. The check is only
+     *                      submitted once its previous execution is done, so it never holds more than one thread.
+     */
+    ScheduledHealthCheck(final String name,
+                         final HealthCheckType type,
+                         final boolean critical,
+                         final HealthCheck healthCheck,
+                         final Schedule schedule,
+                         final State state,
+                         final Counter healthyCheckCounter,
+                         final Counter unhealthyCheckCounter,
+                         final Timer durationTimer,
+                         @Nullable final ExecutorService checkExecutor) {
         this.name = Objects.requireNonNull(name);
         this.type = type;
         this.critical = critical;
@@ -35,6 +71,8 @@ class ScheduledHealthCheck implements Runnable {
         this.state = Objects.requireNonNull(state);
         this.healthyCheckCounter = Objects.requireNonNull(healthyCheckCounter);
         this.unhealthyCheckCounter = Objects.requireNonNull(unhealthyCheckCounter);
+        this.durationTimer = Objects.requireNonNull(durationTimer);
+        this.checkExecutor = checkExecutor;
     }
 
     public String getName() {
@@ -62,11 +100,19 @@ class ScheduledHealthCheck implements Runnable {
         LOGGER.trace("executing health check: name={}", name);
 
         HealthCheck.Result result;
+        final Timer.Context context = durationTimer.time();
         try {
-            result = healthCheck.execute();
+            result = execute();
         } catch (final Exception e) {
             LOGGER.warn("Check for name={} failed exceptionally", name, e);
             result = HealthCheck.Result.unhealthy(e);
+        } finally {
+            context.stop();
+        }
+
+        if (result == null) {
+            // The check couldn't be run this time, which says nothing about its health
+            return;
         }
 
         if (result.isHealthy()) {
@@ -80,6 +126,69 @@ class ScheduledHealthCheck implements Runnable {
         }
     }
 
+    /**
+     * @return the result of the check, or {@code null} if the check executor had no thread to run it right now
+     */
+    @Nullable
+    private HealthCheck.Result execute() throws InterruptedException {
+        final Duration timeout = schedule.getTimeout();
+        final ExecutorService executor = checkExecutor;
+        if (timeout == null || executor == null) {
+            return healthCheck.execute();
+        }
+
+        if (!executing.compareAndSet(false, true)) {
+            LOGGER.warn("Check for name={} is still running after timing out, skipping execution", name);
+            return HealthCheck.Result.unhealthy("Previous execution timed out after %s and is still running", timeout);
+        }
+        // Claimed by whichever comes first: the execution starting, or this thread abandoning it before it starts
+        final AtomicBoolean claimed = new AtomicBoolean();
+        final Future<HealthCheck.Result> future;
+        try {
+            future = executor.submit(() -> {
+                if (!claimed.compareAndSet(false, true)) {
+                    return HealthCheck.Result.unhealthy("Abandoned before it started");
+                }
+                try {
+                    return healthCheck.execute();
+                } finally {
+                    executing.set(false);
+                }
+            });
+        } catch (final RejectedExecutionException e) {
+            executing.set(false);
+            if (executor.isShutdown()) {
+                throw e;
+            }
+            // A thread which just finished a check may not be waiting for the next one yet
+            LOGGER.debug("No thread available to run the check for name={}, skipping execution", name);
+            return null;
+        }
+        try {
+            return future.get(timeout.toNanoseconds(), TimeUnit.NANOSECONDS);
+        } catch (final TimeoutException e) {
+            // Interrupt the check, so a hung dependency doesn't hold on to a thread
+            abandon(future, claimed);
+            LOGGER.warn("Check for name={} timed out after {}", name, timeout);
+            return HealthCheck.Result.unhealthy("Timed out after %s", timeout);
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            return HealthCheck.Result.unhealthy(cause == null ? e : cause);
+        } catch (final InterruptedException e) {
+            abandon(future, claimed);
+            Thread.currentThread().interrupt();
+            throw e;
+        }
+    }
+
+    private void abandon(final Future<HealthCheck.Result> future, final AtomicBoolean claimed) {
+        if (claimed.compareAndSet(false, true)) {
+            // The execution never started, so it won't clear the flag itself
+            executing.set(false);
+        }
+        future.cancel(true);
+    }
+
     public HealthStateView view() {
         return new HealthStateView(name, isHealthy(), type, isCritical());
     }
@@ -1,22 +1,36 @@
 package io.dropwizard.health.response;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.util.Objects;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+
 public final class HealthResponse {
     private final boolean healthy;
     @Nonnull
     private final String message;
     @Nonnull
+    private final byte[] messageBytes;
+    @Nonnull
     private final String contentType;
     private final int status;
+    @Nullable
+    private final String entityTag;
 
     public HealthResponse(boolean healthy, @Nonnull final String message, @Nonnull final String contentType,
                           int status) {
+        this(healthy, message, message.getBytes(UTF_8), contentType, status, null);
+    }
+
+    HealthResponse(boolean healthy, @Nonnull final String message, @Nonnull final byte[] messageBytes,
+                   @Nonnull final String contentType, int status, @Nullable final String entityTag) {
         this.healthy = healthy;
         this.message = Objects.requireNonNull(message);
+        this.messageBytes = Objects.requireNonNull(messageBytes);
         this.contentType = Objects.requireNonNull(contentType);
         this.status = status;
+        this.entityTag = entityTag;
     }
 
     public boolean isHealthy() {
@@ -37,6 +51,23 @@ public final class HealthResponse {
         return status;
     }
 
+    /**
+     * Returns the entity tag identifying the message and status of this response, if they're cached.
+     *
+     * @since 2.1
+     */
+    @Nullable
+    public String getEntityTag() {
+        return entityTag;
+    }
+
+    /**
+     * Returns the message encoded in UTF-8, which must not be modified.
+     */
+    byte[] getMessageBytes() {
+        return messageBytes;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -1,7 +1,10 @@
 package io.dropwizard.health.response;
 
+import com.codahale.metrics.health.HealthCheck;
+import com.codahale.metrics.health.HealthCheckRegistryListener;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.dropwizard.health.HealthStateAggregator;
+import io.dropwizard.health.HealthStateListener;
 import io.dropwizard.health.HealthStateView;
 import io.dropwizard.health.HealthStatusChecker;
 import org.slf4j.Logger;
@@ -10,23 +13,40 @@ import org.slf4j.LoggerFactory;
 import javax.annotation.Nonnull;
 import javax.ws.rs.core.MediaType;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Collections.unmodifiableList;
 
-public class JsonHealthResponseProvider implements HealthResponseProvider {
+/**
+ * Responds to health check requests with the JSON representation of the requested health state views.
+ * <p>
+ * The serialized views are cached by the names they were requested with, until a health check changes state or is
+ * added. Only the status of the response, which is cheap to compute, is determined on each request.
+ * </p>
+ */
+public class JsonHealthResponseProvider implements HealthResponseProvider, HealthStateListener,
+    HealthCheckRegistryListener {
     public static final String CHECK_TYPE_QUERY_PARAM = "type";
     public static final String NAME_QUERY_PARAM = "name";
     public static final String ALL_VALUE = "all";
     private static final Logger LOGGER = LoggerFactory.getLogger(JsonHealthResponseProvider.class);
     private static final String MEDIA_TYPE = MediaType.APPLICATION_JSON;
+    private static final List<String> ALL_VIEWS = Collections.singletonList(ALL_VALUE);
+    // Bounds the cache, since the names are chosen by clients
+    private static final int MAX_CACHED_RESPONSES = 128;
 
     @Nonnull
     private final HealthStatusChecker healthStatusChecker;
@@ -34,6 +54,8 @@ public class JsonHealthResponseProvider implements HealthResponseProvider {
     private final HealthStateAggregator healthStateAggregator;
     @Nonnull
     private final ObjectMapper mapper;
+    private final AtomicLong version = new AtomicLong();
+    private final ConcurrentMap<List<String>, CachedResponse> cache = new ConcurrentHashMap<>();
 
     public JsonHealthResponseProvider(@Nonnull final HealthStatusChecker healthStatusChecker,
                                       @Nonnull final HealthStateAggregator healthStateAggregator,
@@ -51,27 +73,72 @@ public class JsonHealthResponseProvider implements HealthResponseProvider {
             .findFirst()
             .orElse(null);
 
-        final Collection<HealthStateView> views = getViews(queryParams);
-
-        final String responseBody;
-        try {
-            responseBody = mapper.writeValueAsString(views);
-        } catch (final Exception e) {
-            LOGGER.error("Failed to serialize health state views: {}", views, e);
-            throw new RuntimeException(e);
-        }
+        final CachedResponse cachedResponse = getCachedResponse(getNamesFromQueryParams(queryParams));
         final boolean healthy = healthStatusChecker.isHealthy(type);
 
-        final int status;
         if (healthy) {
             // HTTP OK
-            status = 200;
+            return cachedResponse.healthy;
         } else {
             // HTTP Service unavailable
-            status = 503;
+            return cachedResponse.unhealthy;
         }
+    }
 
-        return new HealthResponse(healthy, responseBody, MEDIA_TYPE, status);
+    @Override
+    public void onStateChanged(final String healthCheckName, final boolean healthy) {
+        invalidate();
+    }
+
+    @Override
+    public void onHealthyCheck(final String healthCheckName) {
+        // the views only change when a health check changes state
+    }
+
+    @Override
+    public void onUnhealthyCheck(final String healthCheckName) {
+        // the views only change when a health check changes state
+    }
+
+    @Override
+    public void onHealthCheckAdded(final String name, final HealthCheck healthCheck) {
+        invalidate();
+    }
+
+    @Override
+    public void onHealthCheckRemoved(final String name, final HealthCheck healthCheck) {
+        invalidate();
+    }
+
+    private void invalidate() {
+        version.incrementAndGet();
+        cache.clear();
+    }
+
+    private CachedResponse getCachedResponse(final Set<String> names) {
+        final List<String> key = shouldReturnAllViews(names) ? ALL_VIEWS : new ArrayList<>(names);
+        final CachedResponse cachedResponse = cache.get(key);
+        final long currentVersion = version.get();
+        if (cachedResponse != null && cachedResponse.version == currentVersion) {
+            return cachedResponse;
+        }
+
+        // The version is read before the views, so a response built from views older than a state change is
+        // never served once the change is known
+        final CachedResponse newResponse = new CachedResponse(currentVersion, serialize(getViews(names)));
+        if (cache.size() < MAX_CACHED_RESPONSES || cache.containsKey(key)) {
+            cache.put(key, newResponse);
+        }
+        return newResponse;
+    }
+
+    private String serialize(final Collection<HealthStateView> views) {
+        try {
+            return mapper.writeValueAsString(views);
+        } catch (final Exception e) {
+            LOGGER.error("Failed to serialize health state views: {}", views, e);
+            throw new RuntimeException(e);
+        }
     }
 
     private Set<String> getNamesFromQueryParams(final Map<String, Collection<String>> queryParams) {
@@ -83,10 +150,7 @@ public class JsonHealthResponseProvider implements HealthResponseProvider {
             .collect(Collectors.toCollection(LinkedHashSet::new));
     }
 
-    private Collection<HealthStateView> getViews(final Map<String, Collection<String>> queryParams) {
-        final Set<String> names = getNamesFromQueryParams(queryParams);
-
-        final Collection<HealthStateView> views;
+    private Collection<HealthStateView> getViews(final Set<String> names) {
         if (shouldReturnAllViews(names)) {
             return unmodifiableList(new ArrayList<>(healthStateAggregator.healthStateViews()));
         } else {
@@ -103,4 +167,22 @@ public class JsonHealthResponseProvider implements HealthResponseProvider {
     private boolean shouldReturnAllViews(final Set<String> names) {
         return names.contains(ALL_VALUE);
     }
+
+    private static final class CachedResponse {
+        private final long version;
+        private final HealthResponse healthy;
+        private final HealthResponse unhealthy;
+
+        private CachedResponse(final long version, final String body) {
+            final byte[] bytes = body.getBytes(UTF_8);
+            this.version = version;
+            this.healthy = new HealthResponse(true, body, bytes, MEDIA_TYPE, 200, entityTag(bytes, true));
+            this.unhealthy = new HealthResponse(false, body, bytes, MEDIA_TYPE, 503, entityTag(bytes, false));
+        }
+
+        private static String entityTag(final byte[] bytes, final boolean healthy) {
+            return '"' + Integer.toHexString(Arrays.hashCode(bytes)) + '-' + Integer.toHexString(bytes.length)
+                + (healthy ? "" : "-unhealthy") + '"';
+        }
+    }
 }
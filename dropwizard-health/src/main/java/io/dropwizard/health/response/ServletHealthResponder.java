@@ -1,5 +1,6 @@
 package io.dropwizard.health.response;
 
+import javax.annotation.Nullable;
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -7,6 +8,7 @@ import javax.ws.rs.core.HttpHeaders;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
 import java.util.stream.Collectors;
 
@@ -30,20 +32,53 @@ public class ServletHealthResponder extends HttpServlet {
             response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControlValue);
         }
 
-        final Map<String, Collection<String>> queryParameters = request.getParameterMap()
+        final HealthResponse healthResponse = healthResponseProvider.healthResponse(getQueryParameters(request));
+
+        final String entityTag = healthResponse.getEntityTag();
+        if (entityTag != null) {
+            response.setHeader(HttpHeaders.ETAG, entityTag);
+            if (healthResponse.getStatus() == HttpServletResponse.SC_OK
+                && matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), entityTag)) {
+                response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return;
+            }
+        }
+
+        final byte[] message = healthResponse.getMessageBytes();
+        response.setStatus(healthResponse.getStatus());
+        response.setContentType(healthResponse.getContentType());
+        response.setContentLength(message.length);
+        response.getOutputStream()
+            .write(message);
+    }
+
+    private static Map<String, Collection<String>> getQueryParameters(final HttpServletRequest request) {
+        final Map<String, String[]> parameters = request.getParameterMap();
+        if (parameters.isEmpty()) {
+            // the common case of polling the overall health
+            return Collections.emptyMap();
+        }
+
+        return parameters
             .entrySet()
             .stream()
             .collect(Collectors.toMap(
                 Map.Entry::getKey,
                 entry -> Arrays.asList(entry.getValue())
             ));
+    }
 
-        final HealthResponse healthResponse = healthResponseProvider.healthResponse(queryParameters);
-
-        response.setContentType(healthResponse.getContentType());
-
-        response.getWriter()
-            .write(healthResponse.getMessage());
-        response.setStatus(healthResponse.getStatus());
+    private static boolean matches(@Nullable final String ifNoneMatch, final String entityTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            final String trimmed = candidate.trim();
+            // entity tags are compared weakly for conditional GET requests
+            if (trimmed.equals("*") || trimmed.equals(entityTag) || trimmed.equals("W/" + entityTag)) {
+                return true;
+            }
+        }
+        return false;
     }
 }
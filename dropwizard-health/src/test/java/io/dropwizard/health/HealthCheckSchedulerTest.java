@@ -3,6 +3,8 @@ package io.dropwizard.health;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import io.dropwizard.util.Duration;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -10,8 +12,10 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.mockito.AdditionalMatchers.or;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -175,4 +179,26 @@ class HealthCheckSchedulerTest {
         assertThatCode(() -> scheduler.unschedule(name))
             .doesNotThrowAnyException();
     }
+
+    @Test
+    void shouldAddJitterToInitialDelay() {
+        final String name = "test";
+        final Schedule schedule = new Schedule();
+        schedule.setJitter(Duration.seconds(1));
+
+        final ScheduledHealthCheck check = mock(ScheduledHealthCheck.class);
+        when(check.getName()).thenReturn(name);
+        when(check.getSchedule()).thenReturn(schedule);
+
+        final long interval = schedule.getCheckInterval().toMilliseconds();
+        when(executor.scheduleWithFixedDelay(eq(check), anyLong(), eq(interval), eq(TimeUnit.MILLISECONDS)))
+            .thenReturn(mock(ScheduledFuture.class));
+
+        scheduler.schedule(check, true);
+
+        final ArgumentCaptor<Long> initialDelay = ArgumentCaptor.forClass(Long.class);
+        verify(executor).scheduleWithFixedDelay(eq(check), initialDelay.capture(), eq(interval),
+            eq(TimeUnit.MILLISECONDS));
+        assertThat(initialDelay.getValue()).isBetween(interval, interval + 1000L);
+    }
 }
@@ -5,6 +5,7 @@ import io.dropwizard.configuration.ResourceConfigurationSourceProvider;
 import io.dropwizard.configuration.YamlConfigurationFactory;
 import io.dropwizard.jackson.Jackson;
 import io.dropwizard.jersey.validation.Validators;
+import io.dropwizard.util.Duration;
 import org.junit.jupiter.api.Test;
 
 import javax.validation.Validator;
@@ -25,5 +26,7 @@ class ScheduleTest {
         assertThat(schedule.getDowntimeInterval().toSeconds()).isEqualTo(25L);
         assertThat(schedule.getFailureAttempts()).isEqualTo(2);
         assertThat(schedule.getSuccessAttempts()).isEqualTo(1);
+        assertThat(schedule.getTimeout()).isEqualTo(Duration.seconds(1));
+        assertThat(schedule.getJitter()).isEqualTo(Duration.milliseconds(500));
     }
 }
@@ -2,12 +2,22 @@ package io.dropwizard.health;
 
 import com.codahale.metrics.Counter;
 import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
 import com.codahale.metrics.health.HealthCheck;
+import io.dropwizard.util.Duration;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.when;
 
@@ -73,4 +83,150 @@ class ScheduledHealthCheckTest {
         assertThat(healthyCounter.getCount()).isZero();
         assertThat(unhealthyCounter.getCount()).isEqualTo(1L);
     }
+
+    @Test
+    void checkExceedingTimeoutShouldResultInFail() throws Exception {
+        when(schedule.getSuccessAttempts()).thenReturn(1);
+        when(schedule.getFailureAttempts()).thenReturn(1);
+        when(schedule.getTimeout()).thenReturn(Duration.milliseconds(50));
+
+        final String name = "test";
+        final Counter healthyCounter = metrics.counter("test.healthy");
+        final Counter unhealthyCounter = metrics.counter("test.unhealthy");
+        final Timer durationTimer = metrics.timer("test.duration");
+        final State state = new State(name, schedule.getFailureAttempts(), schedule.getSuccessAttempts(), true, LISTENER);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final ScheduledHealthCheck scheduledHealthCheck = new ScheduledHealthCheck(name, HealthCheckType.READY, true,
+                healthCheck, schedule, state, healthyCounter, unhealthyCounter, durationTimer, executor);
+            when(healthCheck.execute()).thenAnswer(invocation -> {
+                Thread.sleep(10_000);
+                return HealthCheck.Result.healthy();
+            });
+
+            scheduledHealthCheck.run();
+
+            assertThat(scheduledHealthCheck.isHealthy()).isFalse();
+            assertThat(unhealthyCounter.getCount()).isEqualTo(1L);
+            assertThat(durationTimer.getCount()).isEqualTo(1L);
+            assertThat(durationTimer.getSnapshot().getMax()).isLessThan(TimeUnit.SECONDS.toNanos(10));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void checkStillRunningAfterTimeoutShouldNotRunAgain() throws Exception {
+        when(schedule.getSuccessAttempts()).thenReturn(1);
+        when(schedule.getFailureAttempts()).thenReturn(1);
+        when(schedule.getTimeout()).thenReturn(Duration.milliseconds(50));
+
+        final String name = "test";
+        final Counter healthyCounter = metrics.counter("test.healthy");
+        final Counter unhealthyCounter = metrics.counter("test.unhealthy");
+        final State state = new State(name, schedule.getFailureAttempts(), schedule.getSuccessAttempts(), true, LISTENER);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger executions = new AtomicInteger();
+        final ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            final ScheduledHealthCheck scheduledHealthCheck = new ScheduledHealthCheck(name, HealthCheckType.READY, true,
+                healthCheck, schedule, state, healthyCounter, unhealthyCounter, metrics.timer("test.duration"),
+                executor);
+            when(healthCheck.execute()).thenAnswer(invocation -> {
+                executions.incrementAndGet();
+                // Ignores interruption, like a check blocked on a socket
+                while (true) {
+                    try {
+                        release.await();
+                        return HealthCheck.Result.healthy();
+                    } catch (InterruptedException ignored) {
+                        // keep waiting
+                    }
+                }
+            });
+
+            scheduledHealthCheck.run();
+            scheduledHealthCheck.run();
+
+            assertThat(executions.get()).isEqualTo(1);
+            assertThat(unhealthyCounter.getCount()).isEqualTo(2L);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void checkAbandonedBeforeStartingShouldRunAgain() throws Exception {
+        when(schedule.getSuccessAttempts()).thenReturn(1);
+        when(schedule.getFailureAttempts()).thenReturn(1);
+        when(schedule.getTimeout()).thenReturn(Duration.milliseconds(500));
+
+        final String name = "test";
+        final Counter healthyCounter = metrics.counter("test.healthy");
+        final Counter unhealthyCounter = metrics.counter("test.unhealthy");
+        final State state = new State(name, schedule.getFailureAttempts(), schedule.getSuccessAttempts(), true, LISTENER);
+        final CountDownLatch release = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final ScheduledHealthCheck scheduledHealthCheck = new ScheduledHealthCheck(name, HealthCheckType.READY, true,
+                healthCheck, schedule, state, healthyCounter, unhealthyCounter, metrics.timer("test.duration"),
+                executor);
+            when(healthCheck.execute()).thenReturn(HealthCheck.Result.healthy());
+            // Keeps the only thread busy, so the first execution times out before it starts
+            executor.execute(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+
+            scheduledHealthCheck.run();
+            release.countDown();
+            scheduledHealthCheck.run();
+
+            assertThat(scheduledHealthCheck.isHealthy()).isTrue();
+            assertThat(unhealthyCounter.getCount()).isEqualTo(1L);
+            assertThat(healthyCounter.getCount()).isEqualTo(1L);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void checkWithoutAvailableThreadShouldKeepItsState() throws Exception {
+        when(schedule.getSuccessAttempts()).thenReturn(1);
+        when(schedule.getFailureAttempts()).thenReturn(1);
+        when(schedule.getTimeout()).thenReturn(Duration.milliseconds(50));
+
+        final String name = "test";
+        final Counter healthyCounter = metrics.counter("test.healthy");
+        final Counter unhealthyCounter = metrics.counter("test.unhealthy");
+        final State state = new State(name, schedule.getFailureAttempts(), schedule.getSuccessAttempts(), true, LISTENER);
+        final CountDownLatch release = new CountDownLatch(1);
+        final ExecutorService executor = new ThreadPoolExecutor(0, 1, 1, TimeUnit.MINUTES, new SynchronousQueue<>());
+        try {
+            final ScheduledHealthCheck scheduledHealthCheck = new ScheduledHealthCheck(name, HealthCheckType.READY, true,
+                healthCheck, schedule, state, healthyCounter, unhealthyCounter, metrics.timer("test.duration"),
+                executor);
+            executor.execute(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+
+            scheduledHealthCheck.run();
+
+            assertThat(scheduledHealthCheck.isHealthy()).isTrue();
+            assertThat(healthyCounter.getCount()).isZero();
+            assertThat(unhealthyCounter.getCount()).isZero();
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package io.dropwizard.health.response;
 
+import com.codahale.metrics.health.HealthCheck;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.dropwizard.health.HealthCheckType;
@@ -17,17 +18,21 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import javax.ws.rs.core.MediaType;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Optional;
 
+import static io.dropwizard.health.response.JsonHealthResponseProvider.ALL_VALUE;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
@@ -127,6 +132,67 @@ class JsonHealthResponseProviderTest {
         verifyNoInteractions(healthStatusChecker);
     }
 
+    @Test
+    void shouldCacheResponsesUntilStateChanges() {
+        // given
+        final HealthStateView view = new HealthStateView("foo", true, HealthCheckType.READY, true);
+        final Map<String, Collection<String>> queryParams = Collections.singletonMap(
+            JsonHealthResponseProvider.NAME_QUERY_PARAM, Collections.singleton(ALL_VALUE));
+
+        // when
+        when(healthStateAggregator.healthStateViews()).thenReturn(Collections.singletonList(view));
+        when(healthStatusChecker.isHealthy(isNull())).thenReturn(true);
+        final HealthResponse first = jsonHealthResponseProvider.healthResponse(queryParams);
+        final HealthResponse second = jsonHealthResponseProvider.healthResponse(queryParams);
+        jsonHealthResponseProvider.onStateChanged(view.getName(), false);
+        final HealthResponse third = jsonHealthResponseProvider.healthResponse(queryParams);
+
+        // then
+        assertThat(second).isSameAs(first);
+        assertThat(third).isNotSameAs(first).isEqualTo(first);
+        assertThat(first.getEntityTag()).isNotNull().isEqualTo(third.getEntityTag());
+        verify(healthStateAggregator, times(2)).healthStateViews();
+    }
+
+    @Test
+    void shouldComputeStatusOfCachedResponses() {
+        // given
+        final Map<String, Collection<String>> queryParams = Collections.emptyMap();
+
+        // when
+        when(healthStatusChecker.isHealthy(isNull())).thenReturn(true, false);
+        final HealthResponse healthy = jsonHealthResponseProvider.healthResponse(queryParams);
+        final HealthResponse unhealthy = jsonHealthResponseProvider.healthResponse(queryParams);
+
+        // then
+        assertThat(healthy.getStatus()).isEqualTo(200);
+        assertThat(unhealthy.getStatus()).isEqualTo(503);
+        assertThat(unhealthy.getMessage()).isEqualTo(healthy.getMessage());
+        assertThat(unhealthy.getEntityTag()).isNotEqualTo(healthy.getEntityTag());
+    }
+
+    @Test
+    void shouldInvalidateCachedResponsesWhenHealthCheckIsAdded() {
+        // given
+        final HealthStateView fooView = new HealthStateView("foo", true, HealthCheckType.READY, true);
+        final HealthStateView barView = new HealthStateView("bar", true, HealthCheckType.READY, true);
+        final Map<String, Collection<String>> queryParams = Collections.singletonMap(
+            JsonHealthResponseProvider.NAME_QUERY_PARAM, Collections.singleton(ALL_VALUE));
+
+        // when
+        when(healthStateAggregator.healthStateViews())
+            .thenReturn(Collections.singletonList(fooView), Arrays.asList(fooView, barView));
+        when(healthStatusChecker.isHealthy(isNull())).thenReturn(true);
+        final HealthResponse before = jsonHealthResponseProvider.healthResponse(queryParams);
+        jsonHealthResponseProvider.onHealthCheckAdded(barView.getName(), mock(HealthCheck.class));
+        final HealthResponse after = jsonHealthResponseProvider.healthResponse(queryParams);
+
+        // then
+        assertThat(before.getMessage()).doesNotContain("bar");
+        assertThat(after.getMessage()).contains("bar");
+        assertThat(after.getEntityTag()).isNotEqualTo(before.getEntityTag());
+    }
+
     private String fixture(final String filename) throws IOException {
         return new String(ByteStreams.toByteArray(getClass().getResourceAsStream(filename)), UTF_8);
     }
@@ -21,6 +21,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Collections.unmodifiableList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.when;
@@ -29,6 +30,7 @@ import static org.mockito.Mockito.when;
 class ServletHealthResponderTest {
     private static final String NO_STORE = "no-store";
     private static final String HEALTH_CHECK_URI = "/health-check";
+    private static final String ETAG = "\"1234-7\"";
     private static final HealthResponse SUCCESS = new HealthResponse(true, "healthy", MediaType.TEXT_PLAIN,
         Response.SC_OK);
     private static final HealthResponse FAIL = new HealthResponse(false, "unhealthy", MediaType.TEXT_PLAIN,
@@ -145,6 +147,51 @@ class ServletHealthResponderTest {
             .isEqualTo(NO_STORE);
     }
 
+    @Test
+    void shouldReturnNotModifiedWhenEntityTagMatches() throws Exception {
+        // given
+        final ServletHealthResponder servletHealthResponder = new ServletHealthResponder(healthResponseProvider, true,
+            "no-store");
+        final HealthResponse cached = new HealthResponse(true, "healthy", "healthy".getBytes(UTF_8),
+            MediaType.TEXT_PLAIN, Response.SC_OK, ETAG);
+
+        // when
+        when(healthResponseProvider.healthResponse(Collections.emptyMap())).thenReturn(cached);
+        servletTester.addServlet(new ServletHolder(servletHealthResponder), HEALTH_CHECK_URI);
+        servletTester.start();
+        final HttpTester.Response firstResponse = executeRequest(request);
+        request.setHeader(HttpHeader.IF_NONE_MATCH.asString(), ETAG);
+        final HttpTester.Response secondResponse = executeRequest(request);
+
+        // then
+        assertThat(firstResponse.getStatus()).isEqualTo(Response.SC_OK);
+        assertThat(firstResponse.get(HttpHeader.ETAG)).isEqualTo(ETAG);
+        assertThat(firstResponse.getContent()).isEqualTo("healthy");
+        assertThat(secondResponse.getStatus()).isEqualTo(Response.SC_NOT_MODIFIED);
+        assertThat(secondResponse.get(HttpHeader.ETAG)).isEqualTo(ETAG);
+        assertThat(secondResponse.getContent()).isNullOrEmpty();
+    }
+
+    @Test
+    void shouldNotReturnNotModifiedWhenUnhealthy() throws Exception {
+        // given
+        final ServletHealthResponder servletHealthResponder = new ServletHealthResponder(healthResponseProvider, true,
+            "no-store");
+        final HealthResponse cached = new HealthResponse(false, "unhealthy", "unhealthy".getBytes(UTF_8),
+            MediaType.TEXT_PLAIN, Response.SC_SERVICE_UNAVAILABLE, ETAG);
+
+        // when
+        when(healthResponseProvider.healthResponse(Collections.emptyMap())).thenReturn(cached);
+        servletTester.addServlet(new ServletHolder(servletHealthResponder), HEALTH_CHECK_URI);
+        servletTester.start();
+        request.setHeader(HttpHeader.IF_NONE_MATCH.asString(), ETAG);
+        final HttpTester.Response response = executeRequest(request);
+
+        // then
+        assertThat(response.getStatus()).isEqualTo(Response.SC_SERVICE_UNAVAILABLE);
+        assertThat(response.getContent()).isEqualTo("unhealthy");
+    }
+
     private HttpTester.Response executeRequest(HttpTester.Request request) throws Exception {
         return HttpTester.parseResponse(servletTester.getResponses(request.generate()));
     }
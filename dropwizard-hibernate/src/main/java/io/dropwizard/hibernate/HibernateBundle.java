@@ -87,7 +87,7 @@ public abstract class HibernateBundle<T> implements ConfiguredBundle<T>, Databas
                 return (UnitOfWorkApplicationListener) singleton;
             }
         }
-        final UnitOfWorkApplicationListener listener = new UnitOfWorkApplicationListener();
+        final UnitOfWorkApplicationListener listener = new UnitOfWorkApplicationListener(environment.metrics());
         environment.jersey().register(listener);
         return listener;
     }
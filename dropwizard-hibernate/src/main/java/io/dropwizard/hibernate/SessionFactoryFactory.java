@@ -1,6 +1,8 @@
 package io.dropwizard.hibernate;
 
+import io.dropwizard.db.ConnectionLeakSuspectsTask;
 import io.dropwizard.db.ManagedDataSource;
+import io.dropwizard.db.ManagedPooledDataSource;
 import io.dropwizard.db.PooledDataSourceFactory;
 import io.dropwizard.setup.Environment;
 import org.hibernate.SessionFactory;
@@ -55,6 +57,12 @@ public class SessionFactoryFactory {
             entities);
         final SessionFactoryManager managedFactory = new SessionFactoryManager(factory, dataSource);
         environment.lifecycle().manage(managedFactory);
+        if (dataSource instanceof ManagedPooledDataSource) {
+            final ManagedPooledDataSource pooledDataSource = (ManagedPooledDataSource) dataSource;
+            if (pooledDataSource.isJdbcMetricsEnabled()) {
+                environment.admin().addTask(new ConnectionLeakSuspectsTask(pooledDataSource));
+            }
+        }
         return factory;
     }
 
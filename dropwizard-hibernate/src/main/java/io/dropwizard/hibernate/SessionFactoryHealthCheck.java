@@ -1,6 +1,8 @@
 package io.dropwizard.hibernate;
 
 import com.codahale.metrics.health.HealthCheck;
+import io.dropwizard.db.ManagedDataSource;
+import io.dropwizard.db.ManagedPooledDataSource;
 import io.dropwizard.db.TimeBoundHealthCheck;
 import io.dropwizard.util.DirectExecutorService;
 import io.dropwizard.util.Duration;
@@ -8,6 +10,7 @@ import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.hibernate.Transaction;
 
+import javax.annotation.Nullable;
 import java.util.Optional;
 import java.util.concurrent.ExecutorService;
 
@@ -16,6 +19,8 @@ public class SessionFactoryHealthCheck extends HealthCheck {
     private final Optional<String> validationQuery;
     private final int validationQueryTimeout;
     private final TimeBoundHealthCheck timeBoundHealthCheck;
+    @Nullable
+    private final ManagedPooledDataSource pooledDataSource;
 
     public SessionFactoryHealthCheck(SessionFactory sessionFactory,
                                      Optional<String> validationQuery) {
@@ -26,10 +31,25 @@ public class SessionFactoryHealthCheck extends HealthCheck {
                                      Duration duration,
                                      SessionFactory sessionFactory,
                                      Optional<String> validationQuery) {
+        this(executorService, duration, sessionFactory, validationQuery, null);
+    }
+
+    /**
+     * Creates a health check which reports the database as healthy without opening a session, when the pool of the
+     * given data source recently validated one of its connections.
+     *
+     * @since 2.1
+     */
+    public SessionFactoryHealthCheck(ExecutorService executorService,
+                                     Duration duration,
+                                     SessionFactory sessionFactory,
+                                     Optional<String> validationQuery,
+                                     @Nullable ManagedDataSource dataSource) {
         this.sessionFactory = sessionFactory;
         this.validationQuery = validationQuery;
         this.validationQueryTimeout = (int) duration.toSeconds();
         this.timeBoundHealthCheck = new TimeBoundHealthCheck(executorService, duration);
+        this.pooledDataSource = dataSource instanceof ManagedPooledDataSource ? (ManagedPooledDataSource) dataSource : null;
     }
 
 
@@ -43,6 +63,10 @@ public class SessionFactoryHealthCheck extends HealthCheck {
 
     @Override
     protected Result check() throws Exception {
+        final ManagedPooledDataSource dataSource = pooledDataSource;
+        if (dataSource != null && dataSource.isRecentlyValidated()) {
+            return Result.healthy();
+        }
         return timeBoundHealthCheck.check(() -> {
             HealthCheck.Result result = Result.healthy();
             try (Session session = sessionFactory.openSession()) {
@@ -1,37 +1,73 @@
 package io.dropwizard.hibernate;
 
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
 import org.glassfish.jersey.server.internal.process.MappableException;
+import org.glassfish.jersey.server.model.Resource;
 import org.glassfish.jersey.server.model.ResourceMethod;
+import org.glassfish.jersey.server.model.ResourceModel;
 import org.glassfish.jersey.server.monitoring.ApplicationEvent;
 import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
 import org.glassfish.jersey.server.monitoring.RequestEvent;
 import org.glassfish.jersey.server.monitoring.RequestEventListener;
 import org.hibernate.SessionFactory;
 
+import javax.annotation.Nullable;
 import javax.ws.rs.ext.Provider;
+import java.lang.reflect.Method;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
+import static com.codahale.metrics.MetricRegistry.name;
+
 
 /**
  * An application event listener that listens for Jersey application initialization to
- * be finished, then creates a map of resource method that have metrics annotations.
+ * be finished, then resolves the unit of work of every resource method once, from its
+ * {@link UnitOfWork} annotation, into an immutable plan.
  *
  * Finally, it listens for method start events, and returns a {@link RequestEventListener}
- * that updates the relevant metric for suitably annotated methods when it gets the
- * request events indicating that the method is about to be invoked, or just got done
- * being invoked.
+ * that opens a session and a transaction for the methods which have a unit of work when
+ * it gets the request events indicating that the method is about to be invoked, and
+ * commits or rolls them back when it just got done being invoked. If no resource method
+ * has a unit of work, requests aren't listened to at all.
+ *
+ * When a {@link MetricRegistry} is given, the duration of the transactions and flushes of
+ * each resource method are recorded in the {@code unitOfWork.transaction} and
+ * {@code unitOfWork.flush} timers of the method.
  */
 @Provider
 public class UnitOfWorkApplicationListener implements ApplicationEventListener {
 
-    private ConcurrentMap<ResourceMethod, Optional<UnitOfWork>> methodMap = new ConcurrentHashMap<>();
+    private ConcurrentMap<ResourceMethod, Optional<UnitOfWorkPlan>> methodMap = new ConcurrentHashMap<>();
     private Map<String, SessionFactory> sessionFactories = new HashMap<>();
 
+    @Nullable
+    private final MetricRegistry metricRegistry;
+
+    // The plans of the resource methods of the application model, once it's initialized
+    @Nullable
+    private volatile Map<ResourceMethod, Optional<UnitOfWorkPlan>> plans;
+    // Whether requests may be handled by methods with a unit of work
+    private volatile boolean listening = true;
+
     public UnitOfWorkApplicationListener() {
+        this.metricRegistry = null;
+    }
+
+    /**
+     * Construct an application event listener which records the duration of the transactions
+     * and flushes of each resource method.
+     *
+     * @param metricRegistry the {@link MetricRegistry} to record the timings in
+     * @since 2.1
+     */
+    public UnitOfWorkApplicationListener(MetricRegistry metricRegistry) {
+        this.metricRegistry = metricRegistry;
     }
 
     /**
@@ -45,6 +81,7 @@ public class UnitOfWorkApplicationListener implements ApplicationEventListener {
      * @param sessionFactory a {@link SessionFactory}
      */
     public UnitOfWorkApplicationListener(String name, SessionFactory sessionFactory) {
+        this();
         registerSessionFactory(name, sessionFactory);
     }
 
@@ -59,51 +96,115 @@ public class UnitOfWorkApplicationListener implements ApplicationEventListener {
     }
 
     private static class UnitOfWorkEventListener implements RequestEventListener {
-        private ConcurrentMap<ResourceMethod, Optional<UnitOfWork>> methodMap;
-        private final UnitOfWorkAspect unitOfWorkAspect;
+        private final UnitOfWorkApplicationListener applicationListener;
+        @Nullable
+        private UnitOfWorkAspect unitOfWorkAspect;
 
-        UnitOfWorkEventListener(ConcurrentMap<ResourceMethod, Optional<UnitOfWork>> methodMap,
-                                Map<String, SessionFactory> sessionFactories) {
-            this.methodMap = methodMap;
-            unitOfWorkAspect = new UnitOfWorkAspect(sessionFactories);
+        UnitOfWorkEventListener(UnitOfWorkApplicationListener applicationListener) {
+            this.applicationListener = applicationListener;
         }
 
         @Override
         public void onEvent(RequestEvent event) {
             final RequestEvent.Type eventType = event.getType();
             if (eventType == RequestEvent.Type.RESOURCE_METHOD_START) {
-                Optional<UnitOfWork> unitOfWork = methodMap.computeIfAbsent(event.getUriInfo()
-                        .getMatchedResourceMethod(), UnitOfWorkEventListener::registerUnitOfWorkAnnotations);
-                unitOfWorkAspect.beforeStart(unitOfWork.orElse(null));
-            } else if (eventType == RequestEvent.Type.RESP_FILTERS_START) {
+                final Optional<UnitOfWorkPlan> plan = applicationListener.getPlan(event.getUriInfo()
+                        .getMatchedResourceMethod());
+                if (plan.isPresent()) {
+                    final UnitOfWorkAspect aspect = new UnitOfWorkAspect(applicationListener.sessionFactories);
+                    unitOfWorkAspect = aspect;
+                    aspect.beforeStart(plan.get());
+                }
+                return;
+            }
+
+            // Methods without a unit of work have nothing to do
+            final UnitOfWorkAspect aspect = unitOfWorkAspect;
+            if (aspect == null) {
+                return;
+            }
+            if (eventType == RequestEvent.Type.RESP_FILTERS_START) {
                 try {
-                    unitOfWorkAspect.afterEnd();
+                    aspect.afterEnd();
                 } catch (Exception e) {
                     throw new MappableException(e);
                 }
             } else if (eventType == RequestEvent.Type.ON_EXCEPTION) {
-                unitOfWorkAspect.onError();
+                aspect.onError();
             } else if (eventType == RequestEvent.Type.FINISHED) {
-                unitOfWorkAspect.onFinish();
+                aspect.onFinish();
             }
         }
+    }
 
-        private static Optional<UnitOfWork> registerUnitOfWorkAnnotations(ResourceMethod method) {
-            UnitOfWork annotation = method.getInvocable().getDefinitionMethod().getAnnotation(UnitOfWork.class);
-            if (annotation == null) {
-                annotation = method.getInvocable().getHandlingMethod().getAnnotation(UnitOfWork.class);
+    private Optional<UnitOfWorkPlan> getPlan(ResourceMethod method) {
+        final Map<ResourceMethod, Optional<UnitOfWorkPlan>> resolvedPlans = plans;
+        if (resolvedPlans != null) {
+            final Optional<UnitOfWorkPlan> plan = resolvedPlans.get(method);
+            if (plan != null) {
+                return plan;
             }
-            return Optional.ofNullable(annotation);
         }
+        // Methods of resources returned by sub-resource locators aren't part of the application model
+        return methodMap.computeIfAbsent(method, this::resolvePlan);
+    }
+
+    private Optional<UnitOfWorkPlan> resolvePlan(ResourceMethod method) {
+        UnitOfWork annotation = method.getInvocable().getDefinitionMethod().getAnnotation(UnitOfWork.class);
+        if (annotation == null) {
+            annotation = method.getInvocable().getHandlingMethod().getAnnotation(UnitOfWork.class);
+        }
+        if (annotation == null) {
+            return Optional.empty();
+        }
+
+        final SessionFactory sessionFactory = UnitOfWorkAspect.findSessionFactory(sessionFactories, annotation);
+        final MetricRegistry registry = metricRegistry;
+        if (registry == null) {
+            return Optional.of(new UnitOfWorkPlan(annotation, sessionFactory, null, null));
+        }
+        final Method definitionMethod = method.getInvocable().getDefinitionMethod();
+        final Timer transactions = registry.timer(name(definitionMethod.getDeclaringClass(),
+            definitionMethod.getName(), "unitOfWork", "transaction"));
+        final Timer flushes = registry.timer(name(definitionMethod.getDeclaringClass(),
+            definitionMethod.getName(), "unitOfWork", "flush"));
+        return Optional.of(new UnitOfWorkPlan(annotation, sessionFactory, transactions, flushes));
     }
 
     @Override
     public void onEvent(ApplicationEvent event) {
+        if (event.getType() == ApplicationEvent.Type.INITIALIZATION_APP_FINISHED) {
+            final Map<ResourceMethod, Optional<UnitOfWorkPlan>> resolvedPlans = new HashMap<>();
+            boolean hasLocators = false;
+            final ResourceModel resourceModel = event.getResourceModel();
+            for (Resource resource : resourceModel.getResources()) {
+                hasLocators |= resolvePlans(resource, resolvedPlans);
+            }
+            plans = Collections.unmodifiableMap(resolvedPlans);
+            listening = hasLocators || resolvedPlans.values().stream().anyMatch(Optional::isPresent);
+        }
+    }
+
+    /**
+     * Resolves the plans of the methods of a resource and of its child resources.
+     *
+     * @return whether the resource or one of its child resources has a sub-resource locator
+     */
+    private boolean resolvePlans(Resource resource, Map<ResourceMethod, Optional<UnitOfWorkPlan>> resolvedPlans) {
+        boolean hasLocators = resource.getResourceLocator() != null;
+        for (ResourceMethod method : resource.getResourceMethods()) {
+            resolvedPlans.put(method, resolvePlan(method));
+        }
+        for (Resource childResource : resource.getChildResources()) {
+            hasLocators |= resolvePlans(childResource, resolvedPlans);
+        }
+        return hasLocators;
     }
 
     @Override
+    @Nullable
     public RequestEventListener onRequest(RequestEvent event) {
-        return new UnitOfWorkEventListener(methodMap, sessionFactories);
+        return listening ? new UnitOfWorkEventListener(this) : null;
     }
 
 
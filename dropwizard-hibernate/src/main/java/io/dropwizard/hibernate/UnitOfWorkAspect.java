@@ -1,5 +1,7 @@
 package io.dropwizard.hibernate;
 
+import com.codahale.metrics.Timer;
+import org.hibernate.BaseSessionEventListener;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.hibernate.Transaction;
@@ -7,6 +9,7 @@ import org.hibernate.context.internal.ManagedSessionContext;
 
 import javax.annotation.Nullable;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import static java.util.Objects.requireNonNull;
 
@@ -52,27 +55,64 @@ public class UnitOfWorkAspect {
     @Nullable
     private SessionFactory sessionFactory;
 
+    @Nullable
+    private Timer transactions;
+
     // was the session created by this aspect?
     private boolean sessionCreated;
     // do we manage the transaction or did we join an existing one?
     private boolean transactionStarted;
+    // when the transaction we manage started, if it's timed and not over yet
+    private long transactionStartedAt;
 
     public void beforeStart(@Nullable UnitOfWork unitOfWork) {
         if (unitOfWork == null) {
             return;
         }
-        this.unitOfWork = unitOfWork;
+        start(unitOfWork, resolveSessionFactory(unitOfWork), null, null);
+    }
 
-        sessionFactory = sessionFactories.get(unitOfWork.value());
+    /**
+     * Starts the unit of work of a resolved plan, without looking up its session factory again if it was resolved,
+     * and timing its transaction and flushes if the plan has timers.
+     */
+    void beforeStart(UnitOfWorkPlan plan) {
+        final SessionFactory plannedSessionFactory = plan.getSessionFactory();
+        start(plan.getUnitOfWork(),
+            plannedSessionFactory != null ? plannedSessionFactory : resolveSessionFactory(plan.getUnitOfWork()),
+            plan.getTransactions(), plan.getFlushes());
+    }
+
+    /**
+     * Returns the session factory a unit of work runs against.
+     *
+     * @return the session factory, or {@code null} if it isn't registered
+     */
+    @Nullable
+    static SessionFactory findSessionFactory(Map<String, SessionFactory> sessionFactories, UnitOfWork unitOfWork) {
+        final SessionFactory sessionFactory = sessionFactories.get(unitOfWork.value());
+        // If the user didn't specify the name of a session factory,
+        // and we have only one registered, we can assume that it's the right one.
+        if (sessionFactory == null && unitOfWork.value().equals(HibernateBundle.DEFAULT_NAME)
+            && sessionFactories.size() == 1) {
+            return sessionFactories.values().iterator().next();
+        }
+        return sessionFactory;
+    }
+
+    private SessionFactory resolveSessionFactory(UnitOfWork unitOfWork) {
+        final SessionFactory sessionFactory = findSessionFactory(sessionFactories, unitOfWork);
         if (sessionFactory == null) {
-            // If the user didn't specify the name of a session factory,
-            // and we have only one registered, we can assume that it's the right one.
-            if (unitOfWork.value().equals(HibernateBundle.DEFAULT_NAME) && sessionFactories.size() == 1) {
-                sessionFactory = sessionFactories.values().iterator().next();
-            } else {
-                throw new IllegalArgumentException("Unregistered Hibernate bundle: '" + unitOfWork.value() + "'");
-            }
+            throw new IllegalArgumentException("Unregistered Hibernate bundle: '" + unitOfWork.value() + "'");
         }
+        return sessionFactory;
+    }
+
+    private void start(UnitOfWork unitOfWork, SessionFactory sessionFactory,
+                       @Nullable Timer transactions, @Nullable Timer flushes) {
+        this.unitOfWork = unitOfWork;
+        this.sessionFactory = sessionFactory;
+        this.transactions = transactions;
 
         Session existingSession = null;
         if(ManagedSessionContext.hasBind(sessionFactory)) {
@@ -88,6 +128,9 @@ public class UnitOfWorkAspect {
             session = sessionFactory.openSession();
             try {
                 configureSession();
+                if (flushes != null) {
+                    session.addEventListeners(new FlushTimingListener(flushes));
+                }
                 ManagedSessionContext.bind(session);
             } catch (Throwable th) {
                 session.close();
@@ -185,6 +228,9 @@ public class UnitOfWorkAspect {
         } else {
             session.beginTransaction();
             transactionStarted = true;
+            if (transactions != null) {
+                transactionStartedAt = System.nanoTime();
+            }
         }
     }
 
@@ -194,7 +240,11 @@ public class UnitOfWorkAspect {
         }
         final Transaction txn = session.getTransaction();
         if (transactionStarted && txn != null && txn.getStatus().canRollback()) {
-            txn.rollback();
+            try {
+                txn.rollback();
+            } finally {
+                recordTransaction();
+            }
         }
     }
 
@@ -204,7 +254,19 @@ public class UnitOfWorkAspect {
         }
         final Transaction txn = session.getTransaction();
         if (transactionStarted && txn != null && txn.getStatus().canRollback()) {
-            txn.commit();
+            try {
+                txn.commit();
+            } finally {
+                recordTransaction();
+            }
+        }
+    }
+
+    private void recordTransaction() {
+        final Timer timer = transactions;
+        if (timer != null && transactionStartedAt != 0) {
+            timer.update(System.nanoTime() - transactionStartedAt, TimeUnit.NANOSECONDS);
+            transactionStartedAt = 0;
         }
     }
 
@@ -216,4 +278,27 @@ public class UnitOfWorkAspect {
         return requireNonNull(sessionFactory);
     }
 
+    /**
+     * Times the flushes of a session.
+     */
+    private static class FlushTimingListener extends BaseSessionEventListener {
+        private static final long serialVersionUID = 1L;
+
+        private final Timer flushes;
+        private long flushStartedAt;
+
+        private FlushTimingListener(Timer flushes) {
+            this.flushes = flushes;
+        }
+
+        @Override
+        public void flushStart() {
+            flushStartedAt = System.nanoTime();
+        }
+
+        @Override
+        public void flushEnd(int numberOfEntities, int numberOfCollections) {
+            flushes.update(System.nanoTime() - flushStartedAt, TimeUnit.NANOSECONDS);
+        }
+    }
 }
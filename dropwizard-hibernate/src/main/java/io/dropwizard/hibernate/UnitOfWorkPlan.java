@@ -0,0 +1,48 @@
+package io.dropwizard.hibernate;
+
+import com.codahale.metrics.Timer;
+import org.hibernate.SessionFactory;
+
+import javax.annotation.Nullable;
+
+/**
+ * The unit of work of a resource method, resolved once: its {@link UnitOfWork} annotation, the session factory it
+ * runs against if it was registered when the plan was resolved, and the timers of its transactions and flushes if
+ * they are recorded.
+ */
+final class UnitOfWorkPlan {
+    private final UnitOfWork unitOfWork;
+    @Nullable
+    private final SessionFactory sessionFactory;
+    @Nullable
+    private final Timer transactions;
+    @Nullable
+    private final Timer flushes;
+
+    UnitOfWorkPlan(UnitOfWork unitOfWork, @Nullable SessionFactory sessionFactory,
+                   @Nullable Timer transactions, @Nullable Timer flushes) {
+        this.unitOfWork = unitOfWork;
+        this.sessionFactory = sessionFactory;
+        this.transactions = transactions;
+        this.flushes = flushes;
+    }
+
+    UnitOfWork getUnitOfWork() {
+        return unitOfWork;
+    }
+
+    @Nullable
+    SessionFactory getSessionFactory() {
+        return sessionFactory;
+    }
+
+    @Nullable
+    Timer getTransactions() {
+        return transactions;
+    }
+
+    @Nullable
+    Timer getFlushes() {
+        return flushes;
+    }
+}
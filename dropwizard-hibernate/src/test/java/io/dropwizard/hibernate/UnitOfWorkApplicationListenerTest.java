@@ -1,12 +1,17 @@
 package io.dropwizard.hibernate;
 
+import com.codahale.metrics.MetricRegistry;
 import org.glassfish.jersey.server.ExtendedUriInfo;
 import org.glassfish.jersey.server.model.Resource;
+import org.glassfish.jersey.server.model.ResourceMethod;
+import org.glassfish.jersey.server.model.ResourceModel;
+import org.glassfish.jersey.server.monitoring.ApplicationEvent;
 import org.glassfish.jersey.server.monitoring.RequestEvent;
 import org.glassfish.jersey.server.monitoring.RequestEventListener;
 import org.hibernate.CacheMode;
 import org.hibernate.FlushMode;
 import org.hibernate.Session;
+import org.hibernate.SessionEventListener;
 import org.hibernate.SessionFactory;
 import org.hibernate.Transaction;
 import org.hibernate.context.internal.ManagedSessionContext;
@@ -16,11 +21,13 @@ import org.mockito.InOrder;
 
 import java.lang.reflect.Method;
 
+import static java.util.Objects.requireNonNull;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.hibernate.resource.transaction.spi.TransactionStatus.ACTIVE;
 import static org.hibernate.resource.transaction.spi.TransactionStatus.NOT_ACTIVE;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
@@ -241,18 +248,82 @@ class UnitOfWorkApplicationListenerTest {
             .withMessage("Unregistered Hibernate bundle: 'warehouse'");
     }
 
-    private void prepareResourceMethod(String resourceMethodName) throws NoSuchMethodException {
+    @Test
+    void resolvesThePlansOfTheApplicationModel() throws Exception {
+        final ResourceMethod resourceMethod = prepareResourceMethod("methodWithReadOnlyAnnotation");
+        initialize(resourceMethod);
+
+        assertThat(listener.onRequest(requestStartEvent)).isNotNull();
+
+        execute();
+
+        verify(session).setDefaultReadOnly(true);
+    }
+
+    @Test
+    void doesNotListenToRequestsWithoutUnitsOfWork() throws Exception {
+        initialize(prepareResourceMethod("definitionMethodAnnotated", false));
+
+        assertThat(listener.onRequest(requestStartEvent)).isNull();
+        verifyNoInteractions(sessionFactory, analyticsSessionFactory);
+    }
+
+    @Test
+    void doesNotOpenASessionForMethodsWithoutUnitOfWork() throws Exception {
+        prepareResourceMethod("definitionMethodAnnotated", false);
+
+        execute();
+
+        verifyNoInteractions(sessionFactory, analyticsSessionFactory);
+    }
+
+    @Test
+    void recordsTheTransactionsAndFlushesOfEachResourceMethod() throws Exception {
+        final MetricRegistry metricRegistry = new MetricRegistry();
+        final UnitOfWorkApplicationListener instrumentedListener = new UnitOfWorkApplicationListener(metricRegistry);
+        instrumentedListener.registerSessionFactory(HibernateBundle.DEFAULT_NAME, sessionFactory);
+
+        final RequestEventListener requestListener = requireNonNull(instrumentedListener.onRequest(requestStartEvent));
+        requestListener.onEvent(requestMethodStartEvent);
+        requestListener.onEvent(responseFiltersStartEvent);
+        requestListener.onEvent(responseFinishedEvent);
+
+        verify(session).addEventListeners(any(SessionEventListener.class));
+        assertThat(metricRegistry.timer(MockResource.class.getName()
+            + ".methodWithDefaultAnnotation.unitOfWork.transaction").getCount()).isEqualTo(1);
+        assertThat(metricRegistry.getNames())
+            .contains(MockResource.class.getName() + ".methodWithDefaultAnnotation.unitOfWork.flush");
+    }
+
+    private void initialize(ResourceMethod resourceMethod) {
+        final ApplicationEvent initializationFinishedEvent = mock(ApplicationEvent.class);
+        when(initializationFinishedEvent.getType()).thenReturn(ApplicationEvent.Type.INITIALIZATION_APP_FINISHED);
+        when(initializationFinishedEvent.getResourceModel()).thenReturn(new ResourceModel.Builder(false)
+            .addResource(resourceMethod.getParent())
+            .build());
+        listener.onEvent(initializationFinishedEvent);
+    }
+
+    private ResourceMethod prepareResourceMethod(String resourceMethodName) throws NoSuchMethodException {
+        return prepareResourceMethod(resourceMethodName, true);
+    }
+
+    private ResourceMethod prepareResourceMethod(String resourceMethodName, boolean fromInterface)
+        throws NoSuchMethodException {
         final Method handlingMethod = MockResource.class.getMethod(resourceMethodName);
         Method definitionMethod = handlingMethod;
         Class<?> interfaceClass = MockResource.class.getInterfaces()[0];
-        if (methodDefinedOnInterface(resourceMethodName, interfaceClass.getMethods())) {
+        if (fromInterface && methodDefinedOnInterface(resourceMethodName, interfaceClass.getMethods())) {
             definitionMethod = interfaceClass.getMethod(resourceMethodName);
         }
-        when(uriInfo.getMatchedResourceMethod()).thenReturn(Resource.builder()
-            .addMethod()
+        final Resource.Builder resourceBuilder = Resource.builder("/");
+        resourceBuilder.addMethod("GET")
             .handlingMethod(handlingMethod)
             .handledBy(new MockResource(), definitionMethod)
-            .build());
+            .build();
+        final ResourceMethod resourceMethod = resourceBuilder.build().getResourceMethods().get(0);
+        when(uriInfo.getMatchedResourceMethod()).thenReturn(resourceMethod);
+        return resourceMethod;
     }
 
     private static boolean methodDefinedOnInterface(String methodName, Method[] methods) {
@@ -265,14 +336,14 @@ class UnitOfWorkApplicationListenerTest {
     }
 
     private void execute() {
-        RequestEventListener requestListener = listener.onRequest(requestStartEvent);
+        RequestEventListener requestListener = requireNonNull(listener.onRequest(requestStartEvent));
         requestListener.onEvent(requestMethodStartEvent);
         requestListener.onEvent(responseFiltersStartEvent);
         requestListener.onEvent(responseFinishedEvent);
     }
 
     private void executeWithException() {
-        RequestEventListener requestListener = listener.onRequest(requestStartEvent);
+        RequestEventListener requestListener = requireNonNull(listener.onRequest(requestStartEvent));
         requestListener.onEvent(requestMethodStartEvent);
         requestListener.onEvent(responseFiltersStartEvent);
         requestListener.onEvent(requestMethodExceptionEvent);
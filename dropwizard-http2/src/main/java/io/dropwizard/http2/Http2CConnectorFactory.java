@@ -7,11 +7,13 @@ import com.fasterxml.jackson.annotation.JsonTypeName;
 import io.dropwizard.jetty.HttpConnectorFactory;
 import io.dropwizard.jetty.HttpsConnectorFactory;
 import org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory;
+import org.eclipse.jetty.http2.parser.WindowRateControl;
 import org.eclipse.jetty.http2.server.HTTP2ServerConnectionFactory;
 import org.eclipse.jetty.server.Connector;
 import org.eclipse.jetty.server.HttpConfiguration;
 import org.eclipse.jetty.server.HttpConnectionFactory;
 import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
 import org.eclipse.jetty.util.thread.ScheduledExecutorScheduler;
 import org.eclipse.jetty.util.thread.ThreadPool;
 
@@ -45,8 +47,33 @@ import javax.validation.constraints.Min;
  *             but also risk head of line blocking if TCP/IP flow control is triggered.
  *         </td>
  *     </tr>
+ *     <tr>
+ *         <td>{@code initialSessionRecvWindow}</td>
+ *         <td>1048576</td>
+ *         <td>
+ *             The initial flow control window size for a new session, shared by all of its streams. It should be
+ *             larger than {@code initialStreamRecvWindow}, so a single stream can't exhaust it.
+ *         </td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code maxDynamicTableSize}</td>
+ *         <td>4096</td>
+ *         <td>The maximum size in bytes of the HPACK dynamic table used to compress headers.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code maxRateControlEvents}</td>
+ *         <td>50</td>
+ *         <td>
+ *             The maximum number of suspicious frames, such as empty or unsolicited control frames, a session may
+ *             receive per second before it is closed.
+ *         </td>
+ *     </tr>
  * </table>
  * <p/>
+ * The connector records the open streams, the streams per session, stream resets, flow control stalls and session
+ * receive windows of its sessions, with names starting with
+ * {@code org.eclipse.jetty.http2.server.HTTP2ServerConnectionFactory.<bindHost>.<port>}.
+ * <p/>
  * For more configuration parameters, see {@link HttpsConnectorFactory}.
  * @see HttpConnectorFactory
  */
@@ -61,6 +88,16 @@ public class Http2CConnectorFactory extends HttpConnectorFactory {
     @Max(Integer.MAX_VALUE)
     private int initialStreamRecvWindow = 65535;
 
+    @Min(1)
+    @Max(Integer.MAX_VALUE)
+    private int initialSessionRecvWindow = 1024 * 1024;
+
+    @Min(0)
+    private int maxDynamicTableSize = 4096;
+
+    @Min(1)
+    private int maxRateControlEvents = 50;
+
     @JsonProperty
     public int getMaxConcurrentStreams() {
         return maxConcurrentStreams;
@@ -81,6 +118,54 @@ public class Http2CConnectorFactory extends HttpConnectorFactory {
         this.initialStreamRecvWindow = initialStreamRecvWindow;
     }
 
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public int getInitialSessionRecvWindow() {
+        return initialSessionRecvWindow;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setInitialSessionRecvWindow(int initialSessionRecvWindow) {
+        this.initialSessionRecvWindow = initialSessionRecvWindow;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public int getMaxDynamicTableSize() {
+        return maxDynamicTableSize;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setMaxDynamicTableSize(int maxDynamicTableSize) {
+        this.maxDynamicTableSize = maxDynamicTableSize;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public int getMaxRateControlEvents() {
+        return maxRateControlEvents;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setMaxRateControlEvents(int maxRateControlEvents) {
+        this.maxRateControlEvents = maxRateControlEvents;
+    }
+
     @Override
     public Connector build(Server server, MetricRegistry metrics, String name, @Nullable ThreadPool threadPool) {
 
@@ -90,13 +175,18 @@ public class Http2CConnectorFactory extends HttpConnectorFactory {
         final HTTP2ServerConnectionFactory http2c = new HTTP2CServerConnectionFactory(httpConfig);
         http2c.setMaxConcurrentStreams(maxConcurrentStreams);
         http2c.setInitialStreamRecvWindow(initialStreamRecvWindow);
+        http2c.setInitialSessionRecvWindow(initialSessionRecvWindow);
+        http2c.setMaxDynamicTableSize(maxDynamicTableSize);
+        http2c.setRateControlFactory(new WindowRateControl.Factory(maxRateControlEvents));
 
         // The server connector should use HTTP/1.1 by default. It affords to the server to stay compatible
         // with old clients. New clients which want to use HTTP/2, however, will make an HTTP/1.1 OPTIONS
         // request with an Upgrade header with "h2c" value. The server supports HTTP/2 clear text connections,
         // so it will return the predefined HTTP/2 preamble and the client and the server will switch to the
         // new protocol.
-        return buildConnector(server, new ScheduledExecutorScheduler(), buildBufferPool(), name, threadPool,
-                new InstrumentedConnectionFactory(http11, metrics.timer(httpConnections())), http2c);
+        final ServerConnector connector = buildConnector(server, new ScheduledExecutorScheduler(), buildBufferPool(),
+                name, threadPool, new InstrumentedConnectionFactory(http11, metrics.timer(httpConnections())), http2c);
+        http2c.setFlowControlStrategyFactory(new InstrumentedFlowControlStrategy.Factory(metrics, connector));
+        return connector;
     }
 }
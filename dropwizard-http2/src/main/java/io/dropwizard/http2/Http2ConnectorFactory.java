@@ -7,12 +7,14 @@ import com.fasterxml.jackson.annotation.JsonTypeName;
 import io.dropwizard.jetty.HttpsConnectorFactory;
 import io.dropwizard.jetty.SslReload;
 import org.eclipse.jetty.alpn.server.ALPNServerConnectionFactory;
+import org.eclipse.jetty.http2.parser.WindowRateControl;
 import org.eclipse.jetty.http2.server.HTTP2ServerConnectionFactory;
 import org.eclipse.jetty.server.Connector;
 import org.eclipse.jetty.server.HttpConfiguration;
 import org.eclipse.jetty.server.HttpConnectionFactory;
 import org.eclipse.jetty.server.NegotiatingServerConnectionFactory;
 import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
 import org.eclipse.jetty.server.SslConnectionFactory;
 import org.eclipse.jetty.util.ssl.SslContextFactory;
 import org.eclipse.jetty.util.thread.ScheduledExecutorScheduler;
@@ -50,8 +52,33 @@ import java.util.Collections;
  *             but also risk head of line blocking if TCP/IP flow control is triggered.
  *         </td>
  *     </tr>
+ *     <tr>
+ *         <td>{@code initialSessionRecvWindow}</td>
+ *         <td>1048576</td>
+ *         <td>
+ *             The initial flow control window size for a new session, shared by all of its streams. It should be
+ *             larger than {@code initialStreamRecvWindow}, so a single stream can't exhaust it.
+ *         </td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code maxDynamicTableSize}</td>
+ *         <td>4096</td>
+ *         <td>The maximum size in bytes of the HPACK dynamic table used to compress headers.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code maxRateControlEvents}</td>
+ *         <td>50</td>
+ *         <td>
+ *             The maximum number of suspicious frames, such as empty or unsolicited control frames, a session may
+ *             receive per second before it is closed.
+ *         </td>
+ *     </tr>
  * </table>
  * <p/>
+ * The connector records the open streams, the streams per session, stream resets, flow control stalls and session
+ * receive windows of its sessions, with names starting with
+ * {@code org.eclipse.jetty.http2.server.HTTP2ServerConnectionFactory.<bindHost>.<port>}.
+ * <p/>
  * For more configuration parameters, see {@link HttpsConnectorFactory}.
  *
  * @see HttpsConnectorFactory
@@ -68,6 +95,16 @@ public class Http2ConnectorFactory extends HttpsConnectorFactory {
     @Max(Integer.MAX_VALUE)
     private int initialStreamRecvWindow = 65535;
 
+    @Min(1)
+    @Max(Integer.MAX_VALUE)
+    private int initialSessionRecvWindow = 1024 * 1024;
+
+    @Min(0)
+    private int maxDynamicTableSize = 4096;
+
+    @Min(1)
+    private int maxRateControlEvents = 50;
+
     @JsonProperty
     public int getMaxConcurrentStreams() {
         return maxConcurrentStreams;
@@ -88,6 +125,54 @@ public class Http2ConnectorFactory extends HttpsConnectorFactory {
         this.initialStreamRecvWindow = initialStreamRecvWindow;
     }
 
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public int getInitialSessionRecvWindow() {
+        return initialSessionRecvWindow;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setInitialSessionRecvWindow(int initialSessionRecvWindow) {
+        this.initialSessionRecvWindow = initialSessionRecvWindow;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public int getMaxDynamicTableSize() {
+        return maxDynamicTableSize;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setMaxDynamicTableSize(int maxDynamicTableSize) {
+        this.maxDynamicTableSize = maxDynamicTableSize;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public int getMaxRateControlEvents() {
+        return maxRateControlEvents;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setMaxRateControlEvents(int maxRateControlEvents) {
+        this.maxRateControlEvents = maxRateControlEvents;
+    }
+
     @Override
     public Connector build(Server server, MetricRegistry metrics, String name, @Nullable ThreadPool threadPool) {
         // HTTP/2 requires that a server MUST support TLSv1.2 or higher and TLS_ECDHE_RSA_WITH_AES_128_GCM_SHA256 cipher
@@ -101,6 +186,9 @@ public class Http2ConnectorFactory extends HttpsConnectorFactory {
         final HTTP2ServerConnectionFactory http2 = new HTTP2ServerConnectionFactory(httpConfig);
         http2.setMaxConcurrentStreams(maxConcurrentStreams);
         http2.setInitialStreamRecvWindow(initialStreamRecvWindow);
+        http2.setInitialSessionRecvWindow(initialSessionRecvWindow);
+        http2.setMaxDynamicTableSize(maxDynamicTableSize);
+        http2.setRateControlFactory(new WindowRateControl.Factory(maxRateControlEvents));
 
         final NegotiatingServerConnectionFactory alpn = new ALPNServerConnectionFactory();
         alpn.setDefaultProtocol("http/1.1"); // Speak HTTP 1.1 over TLS if negotiation fails
@@ -115,9 +203,11 @@ public class Http2ConnectorFactory extends HttpsConnectorFactory {
         // If negotiation succeeds, the client and server switch to HTTP/2 protocol.
         final SslConnectionFactory sslConnectionFactory = new SslConnectionFactory(sslContextFactory, "alpn");
 
-        return buildConnector(server, new ScheduledExecutorScheduler(), buildBufferPool(), name, threadPool,
-            new InstrumentedConnectionFactory(sslConnectionFactory, metrics.timer(httpConnections())),
+        final ServerConnector connector = buildConnector(server, new ScheduledExecutorScheduler(), buildBufferPool(),
+            name, threadPool, new InstrumentedConnectionFactory(sslConnectionFactory, metrics.timer(httpConnections())),
             alpn, http2, http1);
+        http2.setFlowControlStrategyFactory(new InstrumentedFlowControlStrategy.Factory(metrics, connector));
+        return connector;
     }
 
     void checkSupportedCipherSuites() {
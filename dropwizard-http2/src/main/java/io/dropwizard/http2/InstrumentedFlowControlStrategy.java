@@ -0,0 +1,151 @@
+package io.dropwizard.http2;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import org.eclipse.jetty.http2.BufferingFlowControlStrategy;
+import org.eclipse.jetty.http2.FlowControlStrategy;
+import org.eclipse.jetty.http2.ISession;
+import org.eclipse.jetty.http2.IStream;
+import org.eclipse.jetty.http2.server.HTTP2ServerConnectionFactory;
+import org.eclipse.jetty.server.ServerConnector;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * The default flow control strategy of Jetty, which also records the streams, resets, flow control stalls and receive
+ * windows of the HTTP/2 sessions it's used by.
+ * <p>
+ * Flow control strategies see every stream of their session from its creation to its destruction, which makes them
+ * the least intrusive place to observe HTTP/2 sessions. The recorded metrics are:
+ * </p>
+ * <ul>
+ *     <li>{@code streams}: the number of open streams</li>
+ *     <li>{@code streams-per-session}: the number of open streams of a session when a stream is created</li>
+ *     <li>{@code resets}: the rate of streams which were reset by either peer</li>
+ *     <li>{@code session-stalls} and {@code stream-stalls}: the rate at which the send window of a session or a
+ *         stream was exhausted</li>
+ *     <li>{@code session-recv-window}: the receive window of a session when it receives data</li>
+ * </ul>
+ */
+class InstrumentedFlowControlStrategy extends BufferingFlowControlStrategy {
+    // The buffer ratio of the default flow control strategy of Jetty
+    private static final float BUFFER_RATIO = 0.5F;
+
+    private final Counter streams;
+    private final Histogram streamsPerSession;
+    private final Meter resets;
+    private final Meter sessionStalls;
+    private final Meter streamStalls;
+    private final Histogram sessionRecvWindow;
+    // Each session has its own strategy, so this is the number of open streams of the session
+    private final AtomicInteger sessionStreams = new AtomicInteger();
+
+    private InstrumentedFlowControlStrategy(Counter streams, Histogram streamsPerSession, Meter resets,
+                                            Meter sessionStalls, Meter streamStalls, Histogram sessionRecvWindow) {
+        super(BUFFER_RATIO);
+        this.streams = streams;
+        this.streamsPerSession = streamsPerSession;
+        this.resets = resets;
+        this.sessionStalls = sessionStalls;
+        this.streamStalls = streamStalls;
+        this.sessionRecvWindow = sessionRecvWindow;
+    }
+
+    @Override
+    public void onStreamCreated(IStream stream) {
+        super.onStreamCreated(stream);
+        streams.inc();
+        streamsPerSession.update(sessionStreams.incrementAndGet());
+    }
+
+    @Override
+    public void onStreamDestroyed(IStream stream) {
+        super.onStreamDestroyed(stream);
+        streams.dec();
+        sessionStreams.decrementAndGet();
+        if (stream.isReset()) {
+            resets.mark();
+        }
+    }
+
+    @Override
+    public void onDataReceived(ISession session, IStream stream, int length) {
+        super.onDataReceived(session, stream, length);
+        // Adding nothing to the window returns its current size
+        sessionRecvWindow.update(session.updateRecvWindow(0));
+    }
+
+    @Override
+    protected void onSessionStalled(ISession session) {
+        super.onSessionStalled(session);
+        sessionStalls.mark();
+    }
+
+    @Override
+    protected void onStreamStalled(IStream stream) {
+        super.onStreamStalled(stream);
+        streamStalls.mark();
+    }
+
+    /**
+     * Creates the instrumented flow control strategies of the sessions of a connector, which share the metrics of
+     * the connector.
+     * <p>
+     * The metrics are named after the name, the host and the local port of the connector. They're only registered
+     * when the first session is created, once the connector is open, so that connectors listening on a random port
+     * don't share their metrics.
+     * </p>
+     */
+    static class Factory implements FlowControlStrategy.Factory {
+        private final MetricRegistry metrics;
+        private final ServerConnector connector;
+
+        @Nullable
+        private volatile Metrics resolved;
+
+        /**
+         * @param metrics   the registry to record the metrics in
+         * @param connector the connector whose sessions the strategies are used by
+         */
+        Factory(MetricRegistry metrics, ServerConnector connector) {
+            this.metrics = metrics;
+            this.connector = connector;
+        }
+
+        @Override
+        public FlowControlStrategy newFlowControlStrategy() {
+            Metrics resolved = this.resolved;
+            if (resolved == null) {
+                // Registering the metrics twice in a race returns the same metrics
+                resolved = new Metrics(metrics, name(HTTP2ServerConnectionFactory.class, connector.getName(),
+                    connector.getHost(), Integer.toString(connector.getLocalPort())));
+                this.resolved = resolved;
+            }
+            return new InstrumentedFlowControlStrategy(resolved.streams, resolved.streamsPerSession, resolved.resets,
+                resolved.sessionStalls, resolved.streamStalls, resolved.sessionRecvWindow);
+        }
+    }
+
+    private static class Metrics {
+        private final Counter streams;
+        private final Histogram streamsPerSession;
+        private final Meter resets;
+        private final Meter sessionStalls;
+        private final Meter streamStalls;
+        private final Histogram sessionRecvWindow;
+
+        private Metrics(MetricRegistry metrics, String prefix) {
+            this.streams = metrics.counter(name(prefix, "streams"));
+            this.streamsPerSession = metrics.histogram(name(prefix, "streams-per-session"));
+            this.resets = metrics.meter(name(prefix, "resets"));
+            this.sessionStalls = metrics.meter(name(prefix, "session-stalls"));
+            this.streamStalls = metrics.meter(name(prefix, "stream-stalls"));
+            this.sessionRecvWindow = metrics.histogram(name(prefix, "session-recv-window"));
+        }
+    }
+}
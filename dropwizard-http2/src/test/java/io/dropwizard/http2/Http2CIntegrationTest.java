@@ -56,4 +56,14 @@ class Http2CIntegrationTest extends AbstractHttp2Test {
         assertThat(AbstractHttp2Test.performManyAsyncRequests(http2Client, "http://localhost:" + appRule.getLocalPort() + "/api/test"))
             .isTrue();
     }
+
+    @Test
+    void testHttp2cSessionMetrics() throws Exception {
+        AbstractHttp2Test.assertResponse(http2Client.GET("http://localhost:" + appRule.getLocalPort() + "/api/test"), HttpVersion.HTTP_2);
+
+        assertThat(appRule.getEnvironment().metrics()
+            .histogram("org.eclipse.jetty.http2.server.HTTP2ServerConnectionFactory." + appRule.getEnvironment().getName()
+                + "." + appRule.getLocalPort() + ".streams-per-session").getCount())
+            .isPositive();
+    }
 }
@@ -12,17 +12,34 @@ import java.io.InputStreamReader;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Enumeration;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 
 /**
  * A subtype resolver which discovers subtypes via
  * {@code META-INF/services/io.dropwizard.jackson.Discoverable}.
+ * <p>
+ * The subtypes of each root class are only discovered once per process, and shared by all the resolvers of this
+ * exact class. Subclasses, which may change how services are discovered, discover them each time they're created.
+ * </p>
  */
 public class DiscoverableSubtypeResolver extends StdSubtypeResolver {
     private static final long serialVersionUID = 1L;
     private static final Logger LOGGER = LoggerFactory.getLogger(DiscoverableSubtypeResolver.class);
 
+    private static final AtomicLong DISCOVERY_NANOS = new AtomicLong();
+    private static final ClassValue<List<Class<?>>> DISCOVERED_SUBTYPES = new ClassValue<List<Class<?>>>() {
+        @Override
+        protected List<Class<?>> computeValue(Class<?> rootKlass) {
+            final ClassLoader classLoader = DiscoverableSubtypeResolver.class.getClassLoader();
+            return discoverSubtypes(rootKlass, klass -> discoverServices(classLoader, klass));
+        }
+    };
+
     private final List<Class<?>> discoveredSubtypes;
 
     public DiscoverableSubtypeResolver() {
@@ -30,12 +47,11 @@ public class DiscoverableSubtypeResolver extends StdSubtypeResolver {
     }
 
     public DiscoverableSubtypeResolver(Class<?> rootKlass) {
-        final List<Class<?>> subtypes = new ArrayList<>();
-        for (Class<?> klass : discoverServices(rootKlass)) {
-            for (Class<?> subtype : discoverServices(klass)) {
-                subtypes.add(subtype);
-                registerSubtypes(subtype);
-            }
+        final List<Class<?>> subtypes = getClass() == DiscoverableSubtypeResolver.class
+            ? DISCOVERED_SUBTYPES.get(rootKlass)
+            : discoverSubtypes(rootKlass, this::discoverServices);
+        for (Class<?> subtype : subtypes) {
+            registerSubtypes(subtype);
         }
         this.discoveredSubtypes = subtypes;
     }
@@ -44,17 +60,43 @@ public class DiscoverableSubtypeResolver extends StdSubtypeResolver {
         return discoveredSubtypes;
     }
 
+    /**
+     * Returns the time spent discovering subtypes, by all the resolvers of the process.
+     *
+     * @param unit the unit of the returned time
+     * @return the time spent discovering subtypes
+     * @since 2.1
+     */
+    public static long getDiscoveryTime(TimeUnit unit) {
+        return unit.convert(DISCOVERY_NANOS.get(), TimeUnit.NANOSECONDS);
+    }
+
     protected ClassLoader getClassLoader() {
         return this.getClass().getClassLoader();
     }
 
     protected List<Class<?>> discoverServices(Class<?> klass) {
+        return discoverServices(getClassLoader(), klass);
+    }
+
+    private static List<Class<?>> discoverSubtypes(Class<?> rootKlass,
+                                                   Function<Class<?>, List<Class<?>>> serviceDiscovery) {
+        final long start = System.nanoTime();
+        final List<Class<?>> subtypes = new ArrayList<>();
+        for (Class<?> klass : serviceDiscovery.apply(rootKlass)) {
+            subtypes.addAll(serviceDiscovery.apply(klass));
+        }
+        DISCOVERY_NANOS.addAndGet(System.nanoTime() - start);
+        return Collections.unmodifiableList(subtypes);
+    }
+
+    private static List<Class<?>> discoverServices(ClassLoader classLoader, Class<?> klass) {
         final List<Class<?>> serviceClasses = new ArrayList<>();
         try {
             // use classloader that loaded this class to find the service descriptors on the classpath
             // better than ClassLoader.getSystemResources() which may not be the same classloader if ths app
             // is running in a container (e.g. via maven exec:java)
-            final Enumeration<URL> resources = getClassLoader().getResources("META-INF/services/" + klass.getName());
+            final Enumeration<URL> resources = classLoader.getResources("META-INF/services/" + klass.getName());
             while (resources.hasMoreElements()) {
                 final URL url = resources.nextElement();
                 try (InputStream input = url.openStream();
@@ -63,7 +105,7 @@ public class DiscoverableSubtypeResolver extends StdSubtypeResolver {
                     String line;
                     while ((line = reader.readLine()) != null) {
                         if (!line.startsWith("#")) {
-                            final Class<?> loadedClass = loadClass(line);
+                            final Class<?> loadedClass = loadClass(classLoader, line);
                             if (loadedClass != null) {
                                 serviceClasses.add(loadedClass);
                             }
@@ -78,9 +120,9 @@ public class DiscoverableSubtypeResolver extends StdSubtypeResolver {
     }
 
     @Nullable
-    private Class<?> loadClass(String line) {
+    private static Class<?> loadClass(ClassLoader classLoader, String line) {
         try {
-            return getClassLoader().loadClass(line.trim());
+            return classLoader.loadClass(line.trim());
         } catch (ClassNotFoundException e) {
             LOGGER.info("Unable to load {}", line);
             return null;
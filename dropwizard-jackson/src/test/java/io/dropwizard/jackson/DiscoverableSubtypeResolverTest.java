@@ -4,6 +4,9 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 class DiscoverableSubtypeResolverTest {
@@ -23,4 +26,28 @@ class DiscoverableSubtypeResolverTest {
         assertThat(mapper.readValue("{\"type\":\"b\"}", ExampleSPI.class))
                 .isInstanceOf(ImplB.class);
     }
+
+    @Test
+    void discoversTheSubtypesOfARootClassOnce() {
+        assertThat(new DiscoverableSubtypeResolver(ExampleTag.class).getDiscoveredSubtypes())
+                .isSameAs(resolver.getDiscoveredSubtypes())
+                .containsExactlyInAnyOrder(ImplA.class, ImplB.class);
+        assertThat(DiscoverableSubtypeResolver.getDiscoveryTime(TimeUnit.NANOSECONDS)).isPositive();
+    }
+
+    @Test
+    void subclassesDiscoverTheirOwnServices() {
+        final DiscoverableSubtypeResolver subclass = new DiscoverableSubtypeResolver(ExampleTag.class) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected List<Class<?>> discoverServices(Class<?> klass) {
+                final List<Class<?>> services = super.discoverServices(klass);
+                services.remove(ImplB.class);
+                return services;
+            }
+        };
+
+        assertThat(subclass.getDiscoveredSubtypes()).containsExactly(ImplA.class);
+    }
 }
@@ -0,0 +1,112 @@
+package io.dropwizard.jdbi3;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.jdbi.v3.core.extension.ExtensionMethod;
+import org.jdbi.v3.core.statement.StatementContext;
+import org.jdbi.v3.core.statement.TemplateEngine;
+
+import javax.annotation.Nullable;
+import java.lang.reflect.Method;
+import java.util.Objects;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * Jdbi {@link TemplateEngine} decorator which caches the statements rendered by another engine, such as a
+ * {@link NamePrependingTemplateEngine}, for each template and SQLObject method.
+ * <p>
+ * Only the statements of SQLObject methods executed without any attribute defined, globally or with {@code @Define},
+ * are cached, as the rendering of the other ones depends on the values of their attributes. The hits and misses of
+ * the cache are reported as the {@code cache-hits} and {@code cache-misses} meters.
+ * </p>
+ *
+ * @since 2.1
+ */
+public class CachingTemplateEngine implements TemplateEngine {
+    /**
+     * The default maximum number of statements cached.
+     */
+    public static final long DEFAULT_MAXIMUM_SIZE = 1000;
+
+    private final TemplateEngine originalEngine;
+    private final Cache<Key, String> cache;
+    private final Meter cacheHits;
+    private final Meter cacheMisses;
+
+    /**
+     * @param originalEngine The original {@link TemplateEngine} to use to create the actual statements
+     * @param metricRegistry The {@link MetricRegistry} to report the hits and misses of the cache to
+     * @param name           The name of the database the statements are executed on
+     */
+    public CachingTemplateEngine(TemplateEngine originalEngine, MetricRegistry metricRegistry, String name) {
+        this(originalEngine, metricRegistry, name, DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * @param originalEngine The original {@link TemplateEngine} to use to create the actual statements
+     * @param metricRegistry The {@link MetricRegistry} to report the hits and misses of the cache to
+     * @param name           The name of the database the statements are executed on
+     * @param maximumSize    The maximum number of statements cached
+     */
+    public CachingTemplateEngine(TemplateEngine originalEngine, MetricRegistry metricRegistry, String name,
+                                 long maximumSize) {
+        this.originalEngine = Objects.requireNonNull(originalEngine, "'originalEngine' cannot be null'");
+        this.cache = Caffeine.newBuilder().maximumSize(maximumSize).build();
+        this.cacheHits = metricRegistry.meter(name(getClass(), name, "cache-hits"));
+        this.cacheMisses = metricRegistry.meter(name(getClass(), name, "cache-misses"));
+    }
+
+    @Override
+    public String render(String template, StatementContext ctx) {
+        final ExtensionMethod extensionMethod = ctx.getExtensionMethod();
+        if (extensionMethod == null || !ctx.getAttributes().isEmpty()) {
+            return originalEngine.render(template, ctx);
+        }
+
+        final Key key = new Key(template, extensionMethod.getType(), extensionMethod.getMethod());
+        final String cached = cache.getIfPresent(key);
+        if (cached != null) {
+            cacheHits.mark();
+            return cached;
+        }
+
+        cacheMisses.mark();
+        final String rendered = originalEngine.render(template, ctx);
+        cache.put(key, rendered);
+        return rendered;
+    }
+
+    private static final class Key {
+        private final String template;
+        private final Class<?> type;
+        private final Method method;
+        private final int hashCode;
+
+        private Key(String template, Class<?> type, Method method) {
+            this.template = template;
+            this.type = type;
+            this.method = method;
+            this.hashCode = Objects.hash(template, type, method);
+        }
+
+        @Override
+        public boolean equals(@Nullable Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key that = (Key) o;
+            return template.equals(that.template) && type.equals(that.type) && method.equals(that.method);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -4,7 +4,9 @@ import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.jdbi3.InstrumentedSqlLogger;
 import com.codahale.metrics.jdbi3.strategies.SmartNameStrategy;
 import com.codahale.metrics.jdbi3.strategies.StatementNameStrategy;
+import io.dropwizard.db.ConnectionLeakSuspectsTask;
 import io.dropwizard.db.ManagedDataSource;
+import io.dropwizard.db.ManagedPooledDataSource;
 import io.dropwizard.db.PooledDataSourceFactory;
 import io.dropwizard.setup.Environment;
 import io.dropwizard.util.Duration;
@@ -78,14 +80,24 @@ public class JdbiFactory {
             environment.getHealthCheckExecutorService(),
             configuration.getValidationQueryTimeout().orElseGet(() -> Duration.seconds(5)),
             jdbi,
-            validationQuery));
+            validationQuery,
+            dataSource));
+
+        // Report the connections held for too long
+        if (dataSource instanceof ManagedPooledDataSource) {
+            final ManagedPooledDataSource pooledDataSource = (ManagedPooledDataSource) dataSource;
+            if (pooledDataSource.isJdbcMetricsEnabled()) {
+                environment.admin().addTask(new ConnectionLeakSuspectsTask(pooledDataSource));
+            }
+        }
 
         // Setup the SQL logger
         jdbi.setSqlLogger(buildSQLLogger(environment.metrics(), nameStrategy));
 
         if (configuration.isAutoCommentsEnabled()) {
             final TemplateEngine original = jdbi.getConfig(SqlStatements.class).getTemplateEngine();
-            jdbi.setTemplateEngine(new NamePrependingTemplateEngine(original));
+            jdbi.setTemplateEngine(new CachingTemplateEngine(new NamePrependingTemplateEngine(original),
+                environment.metrics(), name));
         }
 
         configure(jdbi);
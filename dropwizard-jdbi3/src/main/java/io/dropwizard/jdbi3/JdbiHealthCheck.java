@@ -1,12 +1,15 @@
 package io.dropwizard.jdbi3;
 
 import com.codahale.metrics.health.HealthCheck;
+import io.dropwizard.db.ManagedDataSource;
+import io.dropwizard.db.ManagedPooledDataSource;
 import io.dropwizard.db.TimeBoundHealthCheck;
 import io.dropwizard.util.DirectExecutorService;
 import io.dropwizard.util.Duration;
 import org.jdbi.v3.core.Handle;
 import org.jdbi.v3.core.Jdbi;
 
+import javax.annotation.Nullable;
 import java.util.Optional;
 import java.util.concurrent.ExecutorService;
 
@@ -15,12 +18,26 @@ public class JdbiHealthCheck extends HealthCheck {
     private final Optional<String> validationQuery;
     private final int validationQueryTimeout;
     private final TimeBoundHealthCheck timeBoundHealthCheck;
+    @Nullable
+    private final ManagedPooledDataSource pooledDataSource;
 
     public JdbiHealthCheck(ExecutorService executorService, Duration duration, Jdbi jdbi, Optional<String> validationQuery) {
+        this(executorService, duration, jdbi, validationQuery, null);
+    }
+
+    /**
+     * Creates a health check which reports the database as healthy without borrowing a connection, when the pool
+     * of the given data source recently validated one of its connections.
+     *
+     * @since 2.1
+     */
+    public JdbiHealthCheck(ExecutorService executorService, Duration duration, Jdbi jdbi, Optional<String> validationQuery,
+                           @Nullable ManagedDataSource dataSource) {
         this.jdbi = jdbi;
         this.validationQuery = validationQuery;
         this.validationQueryTimeout = (int) duration.toSeconds();
         this.timeBoundHealthCheck = new TimeBoundHealthCheck(executorService, duration);
+        this.pooledDataSource = dataSource instanceof ManagedPooledDataSource ? (ManagedPooledDataSource) dataSource : null;
     }
 
     public JdbiHealthCheck(Jdbi jdbi, Optional<String> validationQuery) {
@@ -29,6 +46,10 @@ public class JdbiHealthCheck extends HealthCheck {
 
     @Override
     protected Result check() throws Exception {
+        final ManagedPooledDataSource dataSource = pooledDataSource;
+        if (dataSource != null && dataSource.isRecentlyValidated()) {
+            return Result.healthy();
+        }
         return timeBoundHealthCheck.check(() -> {
                 try (Handle handle = jdbi.open()) {
                     if (validationQuery.isPresent()) {
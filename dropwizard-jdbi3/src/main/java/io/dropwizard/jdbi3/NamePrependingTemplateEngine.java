@@ -29,13 +29,15 @@ public class NamePrependingTemplateEngine implements TemplateEngine {
             return originalResult;
         }
 
-        final StringBuilder query = new StringBuilder(originalResult.length() + 100);
-        query.append("/* ");
         final String className = extensionMethod.getType().getSimpleName();
+        final String methodName = extensionMethod.getMethod().getName();
+        final StringBuilder query = new StringBuilder(
+            originalResult.length() + className.length() + methodName.length() + 8);
+        query.append("/* ");
         if (!className.isEmpty()) {
             query.append(className).append('.');
         }
-        query.append(extensionMethod.getMethod().getName());
+        query.append(methodName);
         query.append(" */ ");
         query.append(originalResult);
 
@@ -0,0 +1,90 @@
+package io.dropwizard.jdbi3;
+
+import com.codahale.metrics.MetricRegistry;
+import org.jdbi.v3.core.extension.ExtensionMethod;
+import org.jdbi.v3.core.statement.StatementContext;
+import org.jdbi.v3.core.statement.TemplateEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CachingTemplateEngineTest {
+    private static final String TEMPLATE = "SELECT name FROM people";
+    private static final String RENDERED = "/* MyDao.myDbCall */ SELECT name FROM people";
+
+    public interface MyDao {
+        String myDbCall();
+
+        String myOtherDbCall();
+    }
+
+    private final MetricRegistry metricRegistry = new MetricRegistry();
+    private TemplateEngine original;
+    private StatementContext ctx;
+    private CachingTemplateEngine sut;
+
+    @BeforeEach
+    void setup() {
+        original = mock(TemplateEngine.class);
+        ctx = mock(StatementContext.class);
+        when(original.render(TEMPLATE, ctx)).thenReturn(RENDERED);
+
+        sut = new CachingTemplateEngine(original, metricRegistry, "db");
+    }
+
+    @Test
+    void reusesTheStatementsOfExtensionMethods() throws NoSuchMethodException {
+        when(ctx.getExtensionMethod()).thenReturn(new ExtensionMethod(MyDao.class, MyDao.class.getMethod("myDbCall")));
+
+        assertThat(sut.render(TEMPLATE, ctx)).isEqualTo(RENDERED);
+        assertThat(sut.render(TEMPLATE, ctx)).isEqualTo(RENDERED);
+
+        verify(original).render(TEMPLATE, ctx);
+        assertThat(metricRegistry.meter("io.dropwizard.jdbi3.CachingTemplateEngine.db.cache-hits").getCount())
+            .isEqualTo(1);
+        assertThat(metricRegistry.meter("io.dropwizard.jdbi3.CachingTemplateEngine.db.cache-misses").getCount())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void cachesTheStatementsOfEachExtensionMethodSeparately() throws NoSuchMethodException {
+        when(ctx.getExtensionMethod())
+            .thenReturn(new ExtensionMethod(MyDao.class, MyDao.class.getMethod("myDbCall")))
+            .thenReturn(new ExtensionMethod(MyDao.class, MyDao.class.getMethod("myOtherDbCall")));
+
+        sut.render(TEMPLATE, ctx);
+        sut.render(TEMPLATE, ctx);
+
+        verify(original, times(2)).render(TEMPLATE, ctx);
+    }
+
+    @Test
+    void doesNotCacheStatementsWithDefinedAttributes() throws NoSuchMethodException {
+        when(ctx.getExtensionMethod()).thenReturn(new ExtensionMethod(MyDao.class, MyDao.class.getMethod("myDbCall")));
+        when(ctx.getAttributes()).thenReturn(Collections.singletonMap("table", "people"));
+
+        sut.render(TEMPLATE, ctx);
+        sut.render(TEMPLATE, ctx);
+
+        verify(original, times(2)).render(TEMPLATE, ctx);
+        assertThat(metricRegistry.meter("io.dropwizard.jdbi3.CachingTemplateEngine.db.cache-misses").getCount())
+            .isZero();
+    }
+
+    @Test
+    void doesNotCacheStatementsOutsideOfExtensionMethods() {
+        when(ctx.getExtensionMethod()).thenReturn(null);
+
+        sut.render(TEMPLATE, ctx);
+        sut.render(TEMPLATE, ctx);
+
+        verify(original, times(2)).render(TEMPLATE, ctx);
+    }
+}
@@ -53,7 +53,7 @@ class JdbiFactoryTest {
         verify(healthChecks).register(eq(name), any(JdbiHealthCheck.class));
         verify(jdbi).setSqlLogger(any(InstrumentedSqlLogger.class));
         verify(factory).buildSQLLogger(same(metrics), any(StatementNameStrategy.class));
-        verify(jdbi).setTemplateEngine(any(NamePrependingTemplateEngine.class));
+        verify(jdbi).setTemplateEngine(any(CachingTemplateEngine.class));
         verify(factory).configure(jdbi);
     }
 }
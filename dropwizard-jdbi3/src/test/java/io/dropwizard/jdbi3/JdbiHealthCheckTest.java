@@ -3,6 +3,7 @@ package io.dropwizard.jdbi3;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -23,6 +24,7 @@ import org.mockito.stubbing.Answer;
 
 import com.codahale.metrics.health.HealthCheck;
 
+import io.dropwizard.db.ManagedPooledDataSource;
 import io.dropwizard.util.Duration;
 
 class JdbiHealthCheckTest {
@@ -89,6 +91,31 @@ class JdbiHealthCheckTest {
         verify(connection).isValid(anyInt());
     }
 
+    @Test
+    void testHealthyWithoutOpeningAHandleWhenThePoolWasRecentlyValidated() throws Exception {
+        final ManagedPooledDataSource dataSource = mock(ManagedPooledDataSource.class);
+        when(dataSource.isRecentlyValidated()).thenReturn(true);
+
+        HealthCheck.Result result = new JdbiHealthCheck(executorService, Duration.milliseconds(100), jdbi,
+            Optional.of(VALIDATION_QUERY), dataSource).check();
+
+        assertThat(result.isHealthy()).isTrue();
+        verify(jdbi, never()).open();
+    }
+
+    @Test
+    void testValidatesAConnectionWhenThePoolWasNotRecentlyValidated() throws Exception {
+        final ManagedPooledDataSource dataSource = mock(ManagedPooledDataSource.class);
+        when(dataSource.isRecentlyValidated()).thenReturn(false);
+        when(connection.isValid(anyInt())).thenReturn(true);
+
+        HealthCheck.Result result = new JdbiHealthCheck(executorService, Duration.milliseconds(100), jdbi,
+            Optional.empty(), dataSource).check();
+
+        assertThat(result.isHealthy()).isTrue();
+        verify(connection).isValid(anyInt());
+    }
+
     private JdbiHealthCheck healthCheck() {
         return healthCheck(null);
     }
@@ -6,6 +6,7 @@ import com.codahale.metrics.jersey2.InstrumentedResourceMethodApplicationListene
 import com.fasterxml.classmate.ResolvedType;
 import com.fasterxml.classmate.TypeResolver;
 import io.dropwizard.jersey.caching.CacheControlledResponseFeature;
+import io.dropwizard.jersey.filter.RouteTemplateFilter;
 import io.dropwizard.jersey.params.AbstractParamConverterProvider;
 import io.dropwizard.jersey.sessions.SessionFactoryProvider;
 import io.dropwizard.jersey.validation.FuzzyEnumParamConverterProvider;
@@ -71,6 +72,7 @@ public class DropwizardResourceConfig extends ResourceConfig {
         register(new MetricRegistryBinder(metricRegistry));
         register(new InstrumentedResourceMethodApplicationListener(metricRegistry, Clock.defaultClock(), true));
         register(CacheControlledResponseFeature.class);
+        register(RouteTemplateFilter.class);
         register(io.dropwizard.jersey.guava.OptionalMessageBodyWriter.class);
         register(new io.dropwizard.jersey.guava.OptionalParamBinder());
         register(io.dropwizard.jersey.optional.OptionalMessageBodyWriter.class);
@@ -1,7 +1,10 @@
 package io.dropwizard.jersey.filter;
 
+import io.dropwizard.util.RequestIdFormat;
+import io.dropwizard.util.RequestIdGenerator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 
 import javax.annotation.Priority;
 import javax.ws.rs.Priorities;
@@ -10,15 +13,18 @@ import javax.ws.rs.container.ContainerResponseContext;
 import javax.ws.rs.container.ContainerResponseFilter;
 import javax.ws.rs.ext.Provider;
 import java.io.IOException;
-import java.util.Optional;
-import java.util.Random;
-import java.util.UUID;
-import java.util.concurrent.ThreadLocalRandom;
+
+import static io.dropwizard.util.RequestIdGenerator.REQUEST_ID_HEADER;
+import static io.dropwizard.util.RequestIdGenerator.REQUEST_ID_MDC_KEY;
 
 /**
  * This class adds a "X-Request-Id" HTTP response header and logs the following
  * information: request method, request path, request ID, response status,
  * response length (or -1 if not known).
+ * <p>
+ * If the request already carries an ID, either in the logging MDC (as set by
+ * {@code io.dropwizard.servlets.RequestIdFilter}) or in its "X-Request-Id" header, that ID is reused. Otherwise, a new one is created by the
+ * configured {@link RequestIdGenerator}.
  *
  * @see <a href="https://devcenter.heroku.com/articles/http-request-id">Heroku - HTTP Request IDs</a>
  */
@@ -26,10 +32,21 @@ import java.util.concurrent.ThreadLocalRandom;
 @Priority(Priorities.USER)
 public class RequestIdFilter implements ContainerResponseFilter {
 
-    private static final String REQUEST_ID = "X-Request-Id";
+    private final RequestIdGenerator generator;
 
     private Logger logger = LoggerFactory.getLogger(RequestIdFilter.class);
 
+    public RequestIdFilter() {
+        this(RequestIdFormat.UUID);
+    }
+
+    /**
+     * @since 2.1
+     */
+    public RequestIdFilter(RequestIdGenerator generator) {
+        this.generator = generator;
+    }
+
     void setLogger(Logger logger) {
         this.logger = logger;
     }
@@ -38,37 +55,17 @@ public class RequestIdFilter implements ContainerResponseFilter {
     public void filter(final ContainerRequestContext request,
             final ContainerResponseContext response) throws IOException {
 
-        String id = Optional.ofNullable(request.getHeaderString(REQUEST_ID))
-            .filter(header -> !header.isEmpty())
-            .orElseGet(() -> generateRandomUuid().toString());
+        String id = MDC.get(REQUEST_ID_MDC_KEY);
+        if (id == null || id.isEmpty()) {
+            id = request.getHeaderString(REQUEST_ID_HEADER);
+        }
+        if (id == null || id.isEmpty()) {
+            id = generator.generate();
+        }
 
         logger.trace("method={} path={} request_id={} status={} length={}",
                 request.getMethod(), request.getUriInfo().getPath(), id,
                 response.getStatus(), response.getLength());
-        response.getHeaders().putSingle(REQUEST_ID, id);
-    }
-
-    /**
-     * Generate a random UUID v4 that will perform reasonably when used by
-     * multiple threads under load.
-     *
-     * @see <a href="https://github.com/Netflix/netflix-commons/blob/v0.3.0/netflix-commons-util/src/main/java/com/netflix/util/concurrent/ConcurrentUUIDFactory.java">ConcurrentUUIDFactory</a>
-     * @return random UUID
-     */
-    private static UUID generateRandomUuid() {
-        final Random rnd = ThreadLocalRandom.current();
-        long mostSig  = rnd.nextLong();
-        long leastSig = rnd.nextLong();
-
-        // Identify this as a version 4 UUID, that is one based on a random value.
-        mostSig &= 0xffffffffffff0fffL;
-        mostSig |= 0x0000000000004000L;
-
-        // Set the variant identifier as specified for version 4 UUID values.  The two
-        // high order bits of the lower word are required to be one and zero, respectively.
-        leastSig &= 0x3fffffffffffffffL;
-        leastSig |= 0x8000000000000000L;
-
-        return new UUID(mostSig, leastSig);
+        response.getHeaders().putSingle(REQUEST_ID_HEADER, id);
     }
 }
@@ -0,0 +1,44 @@
+package io.dropwizard.jersey.filter;
+
+import io.dropwizard.util.RequestAttributes;
+import org.glassfish.jersey.server.ExtendedUriInfo;
+import org.glassfish.jersey.uri.UriTemplate;
+
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.ext.Provider;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * This class stores the template of the resource matched by a request, such as {@code /users/{id}}, in the
+ * {@link RequestAttributes#ROUTE} request property, which the servlet container exposes as a request attribute.
+ * Servlet filters such as {@code io.dropwizard.servlets.SlowRequestFilter} use it to group requests by route
+ * instead of by raw URL. It's registered by {@link io.dropwizard.jersey.DropwizardResourceConfig}.
+ */
+@Provider
+public class RouteTemplateFilter implements ContainerRequestFilter {
+    @Override
+    public void filter(ContainerRequestContext request) throws IOException {
+        if (request.getUriInfo() instanceof ExtendedUriInfo) {
+            final List<UriTemplate> templates = ((ExtendedUriInfo) request.getUriInfo()).getMatchedTemplates();
+            request.setProperty(RequestAttributes.ROUTE, toRoute(templates));
+        }
+    }
+
+    static String toRoute(List<UriTemplate> templates) {
+        // Matched templates are listed from the most specific one to the least specific one
+        final StringBuilder route = new StringBuilder();
+        for (int i = templates.size() - 1; i >= 0; i--) {
+            final String template = templates.get(i).getTemplate();
+            if (!template.startsWith("/")) {
+                route.append('/');
+            }
+            route.append(template);
+            while (route.length() > 1 && route.charAt(route.length() - 1) == '/') {
+                route.setLength(route.length() - 1);
+            }
+        }
+        return route.length() == 0 ? "/" : route.toString().replace("//", "/");
+    }
+}
@@ -1,6 +1,7 @@
 package io.dropwizard.jersey;
 
 import io.dropwizard.jersey.dummy.DummyResource;
+import io.dropwizard.jersey.filter.RouteTemplateFilter;
 import org.glassfish.jersey.internal.inject.AbstractBinder;
 import org.glassfish.jersey.server.model.Resource;
 import org.junit.jupiter.api.AfterEach;
@@ -59,6 +60,11 @@ class DropwizardResourceConfigTest {
                 ResourceInterface.class);
     }
 
+    @Test
+    void registersTheRouteTemplateFilter() {
+        assertThat(rc.getClasses()).contains(RouteTemplateFilter.class);
+    }
+
     @Test
     void combinesAlRegisteredClasses() {
         rc.register(new TestResource());
@@ -4,6 +4,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.slf4j.Logger;
+import org.slf4j.MDC;
 
 import javax.ws.rs.container.ContainerRequestContext;
 import javax.ws.rs.container.ContainerResponseContext;
@@ -66,4 +67,15 @@ class RequestIdFilterTest {
             "GET", "/some/path", requestId, 200, 2048);
     }
 
+    @Test
+    void reusesTheRequestIdOfTheMdc() throws Exception {
+        MDC.put("requestId", "mdc-request-id");
+        try {
+            requestIdFilter.filter(request, response);
+        } finally {
+            MDC.remove("requestId");
+        }
+
+        assertThat(headers.getFirst("X-Request-Id")).isEqualTo("mdc-request-id");
+    }
 }
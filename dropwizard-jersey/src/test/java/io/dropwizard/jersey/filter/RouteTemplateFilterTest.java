@@ -0,0 +1,43 @@
+package io.dropwizard.jersey.filter;
+
+import io.dropwizard.util.RequestAttributes;
+import org.glassfish.jersey.server.ExtendedUriInfo;
+import org.glassfish.jersey.uri.UriTemplate;
+import org.junit.jupiter.api.Test;
+
+import javax.ws.rs.container.ContainerRequestContext;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RouteTemplateFilterTest {
+
+    private final ContainerRequestContext request = mock(ContainerRequestContext.class);
+    private final ExtendedUriInfo uriInfo = mock(ExtendedUriInfo.class);
+
+    @Test
+    void storesTheMatchedTemplate() throws Exception {
+        when(request.getUriInfo()).thenReturn(uriInfo);
+        when(uriInfo.getMatchedTemplates()).thenReturn(Arrays.asList(new UriTemplate("/{id}"), new UriTemplate("/users")));
+
+        new RouteTemplateFilter().filter(request);
+
+        verify(request).setProperty(RequestAttributes.ROUTE, "/users/{id}");
+    }
+
+    @Test
+    void joinsTemplatesWithSingleSlashes() {
+        assertThat(RouteTemplateFilter.toRoute(Arrays.asList(new UriTemplate("/"), new UriTemplate("users/"))))
+            .isEqualTo("/users");
+        assertThat(RouteTemplateFilter.toRoute(Arrays.asList(new UriTemplate("{id}"), new UriTemplate("/users/"))))
+            .isEqualTo("/users/{id}");
+        assertThat(RouteTemplateFilter.toRoute(Collections.singletonList(new UriTemplate("/"))))
+            .isEqualTo("/");
+        assertThat(RouteTemplateFilter.toRoute(Collections.emptyList()))
+            .isEqualTo("/");
+    }
+}
@@ -0,0 +1,244 @@
+package io.dropwizard.jetty;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.handler.HandlerWrapper;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.DispatcherType;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * A Jetty handler which limits the number of requests handled concurrently by the handler it wraps, adapting the
+ * limit to the latency of the requests, and sheds the requests above the limit with a fast
+ * {@code 503 Service Unavailable} response and a {@code Retry-After} header.
+ * <p>
+ * The limit follows the gradient between the long-term and the short-term average latency of requests: it shrinks
+ * when requests get slower than usual, as they queue up in the application or its dependencies, and grows while the
+ * latency is stable and the limit is in use. Each request has a {@link RequestPriority}, determined by the longest
+ * configured prefix of its path, and may only use the share of the limit of its priority, so lower priority requests
+ * are shed first.
+ * </p>
+ * <p>
+ * Asynchronous requests are in flight until they complete. Updating the limit is lock-free: the latency of a request
+ * which completes while the limit is updated with the latency of another request is skipped.
+ * </p>
+ * <p>
+ * The {@code limit} and {@code in-flight} gauges and the {@code shed} meter of the handler are recorded.
+ * </p>
+ *
+ * @since 2.1
+ */
+public class AdaptiveConcurrencyLimitHandler extends HandlerWrapper {
+    // The number of samples the short-term and long-term average latencies are computed over
+    private static final double SHORT_WINDOW = 10;
+    private static final double LONG_WINDOW = 600;
+    // How much slower than the long-term average requests may get before the limit shrinks
+    private static final double TOLERANCE = 1.5;
+    // How fast the limit moves towards its new value
+    private static final double SMOOTHING = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final String retryAfter;
+    private final List<Map.Entry<String, RequestPriority>> priorities;
+    private final RequestPriority defaultPriority;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Meter shed;
+
+    private volatile int limit;
+    // Guarded by updating
+    private final AtomicBoolean updating = new AtomicBoolean();
+    private double estimatedLimit;
+    private double shortRtt;
+    private double longRtt;
+
+    /**
+     * @param metricRegistry      the registry to record the metrics of the handler in
+     * @param name                the name of the handler in the metrics
+     * @param initialLimit        the concurrency limit to start with
+     * @param minLimit            the minimum concurrency limit
+     * @param maxLimit            the maximum concurrency limit
+     * @param retryAfterSeconds   the number of seconds clients are asked to wait before retrying shed requests
+     * @param priorities          the priorities of requests, by prefix of their path, including the context path
+     * @param defaultPriority     the priority of requests whose path doesn't match any prefix
+     */
+    public AdaptiveConcurrencyLimitHandler(MetricRegistry metricRegistry, String name, int initialLimit,
+                                           int minLimit, int maxLimit, long retryAfterSeconds,
+                                           Map<String, RequestPriority> priorities,
+                                           RequestPriority defaultPriority) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = initialLimit;
+        this.estimatedLimit = initialLimit;
+        this.retryAfter = Long.toString(retryAfterSeconds);
+        this.priorities = new ArrayList<>(priorities.entrySet());
+        // Longest prefixes first, so the most specific one matches
+        this.priorities.sort(Comparator.comparingInt((Map.Entry<String, RequestPriority> entry) ->
+            entry.getKey().length()).reversed());
+        this.defaultPriority = defaultPriority;
+        this.shed = metricRegistry.meter(name(AdaptiveConcurrencyLimitHandler.class, name, "shed"));
+        metricRegistry.gauge(name(AdaptiveConcurrencyLimitHandler.class, name, "limit"),
+            () -> (Gauge<Integer>) this::getLimit);
+        metricRegistry.gauge(name(AdaptiveConcurrencyLimitHandler.class, name, "in-flight"),
+            () -> (Gauge<Integer>) inFlight::get);
+    }
+
+    /**
+     * Returns the current concurrency limit.
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    public void handle(String target,
+                       Request baseRequest,
+                       HttpServletRequest request,
+                       HttpServletResponse response) throws IOException, ServletException {
+        if (baseRequest.getDispatcherType() != DispatcherType.REQUEST) {
+            super.handle(target, baseRequest, request, response);
+            return;
+        }
+
+        final int inFlightAtStart = tryAcquire(getPriority(baseRequest.getRequestURI()));
+        if (inFlightAtStart < 0) {
+            shed.mark();
+            baseRequest.setHandled(true);
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader(HttpHeader.RETRY_AFTER.asString(), retryAfter);
+            return;
+        }
+
+        final long start = System.nanoTime();
+        boolean async = false;
+        try {
+            super.handle(target, baseRequest, request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new CompletionListener(start, inFlightAtStart));
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                onComplete(start, inFlightAtStart);
+            }
+        }
+    }
+
+    private void onComplete(long start, int inFlightAtStart) {
+        inFlight.decrementAndGet();
+        onSample(System.nanoTime() - start, inFlightAtStart);
+    }
+
+    RequestPriority getPriority(String path) {
+        for (Map.Entry<String, RequestPriority> priority : priorities) {
+            if (path.startsWith(priority.getKey())) {
+                return priority.getValue();
+            }
+        }
+        return defaultPriority;
+    }
+
+    /**
+     * Counts a request as in flight if the limit of its priority allows it.
+     *
+     * @return the number of requests in flight when the request was admitted, or -1 if it must be shed
+     */
+    private int tryAcquire(RequestPriority priority) {
+        final int priorityLimit = priority.limit(limit);
+        while (true) {
+            final int current = inFlight.get();
+            if (current >= priorityLimit) {
+                return -1;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    /**
+     * Updates the limit with the latency of a request.
+     *
+     * @param rttNanos        the latency of the request
+     * @param inFlightAtStart the number of requests in flight when the request was admitted
+     */
+    void onSample(long rttNanos, int inFlightAtStart) {
+        if (!updating.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            updateLimit(rttNanos, inFlightAtStart);
+        } finally {
+            updating.set(false);
+        }
+    }
+
+    private void updateLimit(long rttNanos, int inFlightAtStart) {
+        final double rtt = Math.max(1, rttNanos);
+        shortRtt = shortRtt == 0 ? rtt : shortRtt + (rtt - shortRtt) / SHORT_WINDOW;
+        longRtt = longRtt == 0 ? rtt : longRtt + (rtt - longRtt) / LONG_WINDOW;
+        if (longRtt / shortRtt > 2) {
+            // Latency dropped durably, let the long-term average catch up faster
+            longRtt *= 0.95;
+        }
+
+        final double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRtt / shortRtt));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        newLimit = estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+        newLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        if (newLimit > estimatedLimit && inFlightAtStart < estimatedLimit / 2) {
+            // Don't grow a limit which isn't used
+            return;
+        }
+        estimatedLimit = newLimit;
+        limit = (int) newLimit;
+    }
+
+    /**
+     * Releases an asynchronous request once it completes, after a timeout or an error too.
+     */
+    private class CompletionListener implements AsyncListener {
+        private final long start;
+        private final int inFlightAtStart;
+
+        private CompletionListener(long start, int inFlightAtStart) {
+            this.start = start;
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            AdaptiveConcurrencyLimitHandler.this.onComplete(start, inFlightAtStart);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Keep listening if the request is started asynchronously again
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
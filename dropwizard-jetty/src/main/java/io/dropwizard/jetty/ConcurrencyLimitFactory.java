@@ -0,0 +1,192 @@
+package io.dropwizard.jetty;
+
+import com.codahale.metrics.MetricRegistry;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.Duration;
+import io.dropwizard.validation.MinDuration;
+import io.dropwizard.validation.ValidationMethod;
+import org.eclipse.jetty.server.Handler;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds {@link AdaptiveConcurrencyLimitHandler adaptive concurrency limiters}.
+ *
+ * <p/>
+ * <b>Configuration Parameters:</b>
+ * <table>
+ *     <tr>
+ *         <td>Name</td>
+ *         <td>Default</td>
+ *         <td>Description</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code enabled}</td>
+ *         <td>false</td>
+ *         <td>If true, the number of application requests handled concurrently is limited, and requests above the
+ *             limit are shed with a {@code 503 Service Unavailable} response.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code initialLimit}</td>
+ *         <td>100</td>
+ *         <td>The concurrency limit to start with, before it adapts to the latency of requests.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code minLimit}</td>
+ *         <td>10</td>
+ *         <td>The minimum concurrency limit.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code maxLimit}</td>
+ *         <td>1000</td>
+ *         <td>The maximum concurrency limit.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code retryAfter}</td>
+ *         <td>1 second</td>
+ *         <td>The time clients are asked to wait before retrying shed requests, in the {@code Retry-After}
+ *             header.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code priorities}</td>
+ *         <td>(none)</td>
+ *         <td>The {@link RequestPriority priority} of requests, by prefix of their path within the application
+ *             context. The longest matching prefix applies.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code defaultPriority}</td>
+ *         <td>NORMAL</td>
+ *         <td>The priority of requests whose path doesn't match any prefix.</td>
+ *     </tr>
+ * </table>
+ *
+ * @since 2.1
+ */
+public class ConcurrencyLimitFactory {
+    private boolean enabled = false;
+
+    @Min(1)
+    private int initialLimit = 100;
+
+    @Min(1)
+    private int minLimit = 10;
+
+    @Min(1)
+    private int maxLimit = 1000;
+
+    @NotNull
+    @MinDuration(value = 1, unit = TimeUnit.SECONDS)
+    private Duration retryAfter = Duration.seconds(1);
+
+    @NotNull
+    private Map<String, RequestPriority> priorities = Collections.emptyMap();
+
+    @NotNull
+    private RequestPriority defaultPriority = RequestPriority.NORMAL;
+
+    @JsonIgnore
+    @ValidationMethod(message = "must have minLimit <= initialLimit <= maxLimit")
+    public boolean isLimitRangeValid() {
+        return minLimit <= initialLimit && initialLimit <= maxLimit;
+    }
+
+    @JsonProperty
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @JsonProperty
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @JsonProperty
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    @JsonProperty
+    public void setInitialLimit(int initialLimit) {
+        this.initialLimit = initialLimit;
+    }
+
+    @JsonProperty
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    @JsonProperty
+    public void setMinLimit(int minLimit) {
+        this.minLimit = minLimit;
+    }
+
+    @JsonProperty
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    @JsonProperty
+    public void setMaxLimit(int maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+
+    @JsonProperty
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    @JsonProperty
+    public void setRetryAfter(Duration retryAfter) {
+        this.retryAfter = retryAfter;
+    }
+
+    @JsonProperty
+    public Map<String, RequestPriority> getPriorities() {
+        return priorities;
+    }
+
+    @JsonProperty
+    public void setPriorities(Map<String, RequestPriority> priorities) {
+        this.priorities = priorities;
+    }
+
+    @JsonProperty
+    public RequestPriority getDefaultPriority() {
+        return defaultPriority;
+    }
+
+    @JsonProperty
+    public void setDefaultPriority(RequestPriority defaultPriority) {
+        this.defaultPriority = defaultPriority;
+    }
+
+    /**
+     * Wraps a handler with an adaptive concurrency limiter, if enabled.
+     *
+     * @param handler        the handler to limit
+     * @param metricRegistry the registry to record the metrics of the limiter in
+     * @param name           the name of the limiter in the metrics
+     * @param contextPath    the context path of the handler, which the paths of the priorities are relative to
+     * @return the limited handler, or the given handler if the limiter is disabled
+     */
+    public Handler build(Handler handler, MetricRegistry metricRegistry, String name, String contextPath) {
+        if (!enabled) {
+            return handler;
+        }
+        // The limiter wraps the context, so it sees the request paths including the context path
+        final String prefix = contextPath.endsWith("/") ? contextPath.substring(0, contextPath.length() - 1)
+            : contextPath;
+        final Map<String, RequestPriority> contextPriorities = new LinkedHashMap<>();
+        priorities.forEach((path, priority) -> contextPriorities.put(prefix + path, priority));
+        final AdaptiveConcurrencyLimitHandler limiter = new AdaptiveConcurrencyLimitHandler(metricRegistry, name,
+            initialLimit, minLimit, maxLimit, retryAfter.toSeconds(), contextPriorities, defaultPriority);
+        limiter.setHandler(handler);
+        return limiter;
+    }
+}
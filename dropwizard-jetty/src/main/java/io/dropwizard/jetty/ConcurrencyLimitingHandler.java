@@ -0,0 +1,117 @@
+package io.dropwizard.jetty;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import io.dropwizard.util.Duration;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.handler.HandlerWrapper;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * A Jetty handler which limits the number of requests handled concurrently by the handler it wraps.
+ * <p>
+ * Requests above the limit wait for a request to complete, blocking their thread, for up to the maximum queue time.
+ * They're rejected with a {@code 503 Service Unavailable} response if they're still waiting after that time, or if
+ * too many requests are already waiting. Only the initial
+ * dispatch of a request is limited, the dispatches of asynchronous requests aren't.
+ * </p>
+ * <p>
+ * The following metrics are recorded:
+ * </p>
+ * <ul>
+ *     <li>{@code in-flight}: the number of requests currently handled;</li>
+ *     <li>{@code queued}: the number of requests waiting to be handled;</li>
+ *     <li>{@code rejected}: the rate of the rejected requests;</li>
+ *     <li>{@code dispatches}: the time between the arrival of requests and the moment they're handled.</li>
+ * </ul>
+ *
+ * @since 2.1
+ */
+public class ConcurrencyLimitingHandler extends HandlerWrapper {
+    private final Semaphore permits;
+    private final int maxQueuedRequests;
+    private final long maxQueueTimeNanos;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final Counter inFlight;
+    private final Counter queued;
+    private final Meter rejected;
+    private final Timer dispatches;
+
+    /**
+     * @param metricRegistry        the registry to record the metrics of the handler in
+     * @param name                  the name of the handler in the metrics
+     * @param maxConcurrentRequests the maximum number of requests handled concurrently
+     * @param maxQueuedRequests     the maximum number of requests waiting to be handled
+     * @param maxQueueTime          the maximum time a request waits to be handled
+     */
+    public ConcurrencyLimitingHandler(MetricRegistry metricRegistry, String name, int maxConcurrentRequests,
+                                      int maxQueuedRequests, Duration maxQueueTime) {
+        this.permits = new Semaphore(maxConcurrentRequests);
+        this.maxQueuedRequests = maxQueuedRequests;
+        this.maxQueueTimeNanos = maxQueueTime.toNanoseconds();
+        this.inFlight = metricRegistry.counter(name(ConcurrencyLimitingHandler.class, name, "in-flight"));
+        this.queued = metricRegistry.counter(name(ConcurrencyLimitingHandler.class, name, "queued"));
+        this.rejected = metricRegistry.meter(name(ConcurrencyLimitingHandler.class, name, "rejected"));
+        this.dispatches = metricRegistry.timer(name(ConcurrencyLimitingHandler.class, name, "dispatches"));
+    }
+
+    @Override
+    public void handle(String target,
+                       Request baseRequest,
+                       HttpServletRequest request,
+                       HttpServletResponse response) throws IOException, ServletException {
+        if (baseRequest.getDispatcherType() != DispatcherType.REQUEST) {
+            super.handle(target, baseRequest, request, response);
+            return;
+        }
+
+        if (!acquire()) {
+            rejected.mark();
+            baseRequest.setHandled(true);
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            return;
+        }
+
+        dispatches.update(Math.max(0, System.currentTimeMillis() - baseRequest.getTimeStamp()), TimeUnit.MILLISECONDS);
+        inFlight.inc();
+        try {
+            super.handle(target, baseRequest, request, response);
+        } finally {
+            inFlight.dec();
+            permits.release();
+        }
+    }
+
+    private boolean acquire() {
+        if (permits.tryAcquire()) {
+            return true;
+        }
+        if (waiting.incrementAndGet() > maxQueuedRequests) {
+            waiting.decrementAndGet();
+            return false;
+        }
+
+        queued.inc();
+        try {
+            return permits.tryAcquire(maxQueueTimeNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            queued.dec();
+            waiting.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package io.dropwizard.jetty;
+
+/**
+ * The priority classes of requests, which determine the share of the concurrency limit of an
+ * {@link AdaptiveConcurrencyLimitHandler} they may use: lower priority requests are shed first when the server is
+ * overloaded.
+ *
+ * @since 2.1
+ */
+public enum RequestPriority {
+    /**
+     * Requests which may use the whole concurrency limit, such as health checks.
+     */
+    CRITICAL(1.0),
+
+    /**
+     * Requests which may use 90% of the concurrency limit.
+     */
+    NORMAL(0.9),
+
+    /**
+     * Requests which may use half of the concurrency limit, such as bulk or batch requests.
+     */
+    LOW(0.5);
+
+    private final double share;
+
+    RequestPriority(double share) {
+        this.share = share;
+    }
+
+    /**
+     * Returns the number of requests of this priority which may be handled concurrently.
+     *
+     * @param limit the concurrency limit
+     * @return the share of the limit requests of this priority may use, at least one
+     */
+    int limit(int limit) {
+        return Math.max(1, (int) (limit * share));
+    }
+}
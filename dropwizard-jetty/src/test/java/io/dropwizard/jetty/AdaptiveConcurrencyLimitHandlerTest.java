@@ -0,0 +1,245 @@
+package io.dropwizard.jetty;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import org.eclipse.jetty.server.Handler;
+import org.eclipse.jetty.server.Request;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Objects.requireNonNull;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AdaptiveConcurrencyLimitHandlerTest {
+    private static final String PREFIX = "io.dropwizard.jetty.AdaptiveConcurrencyLimitHandler.test.";
+
+    private final MetricRegistry metricRegistry = new MetricRegistry();
+    private final Handler wrapped = mock(Handler.class);
+    private final Request baseRequest = mock(Request.class);
+    private final HttpServletRequest request = mock(HttpServletRequest.class);
+    private final HttpServletResponse response = mock(HttpServletResponse.class);
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void handlesRequestsBelowTheLimit() throws Exception {
+        final AdaptiveConcurrencyLimitHandler handler = limit(10, 1, 10, new HashMap<>());
+        when(baseRequest.getDispatcherType()).thenReturn(DispatcherType.REQUEST);
+        when(baseRequest.getRequestURI()).thenReturn("/");
+
+        handler.handle("/", baseRequest, request, response);
+
+        verify(wrapped).handle("/", baseRequest, request, response);
+        verify(response, never()).setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        assertThat(gauge("in-flight").getValue()).isZero();
+        assertThat(metricRegistry.meter(PREFIX + "shed").getCount()).isZero();
+    }
+
+    @Test
+    void shedsRequestsAboveTheLimitWithRetryAfter() throws Exception {
+        final AdaptiveConcurrencyLimitHandler handler = limit(1, 1, 1, new HashMap<>());
+        final Future<?> blocked = blockFirstRequest(handler, "/");
+
+        handler.handle("/", baseRequest, request, response);
+
+        verify(response).setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        verify(response).setHeader("Retry-After", "2");
+        verify(baseRequest).setHandled(true);
+        verify(wrapped, times(1)).handle(anyString(), any(Request.class), any(HttpServletRequest.class),
+            any(HttpServletResponse.class));
+        assertThat(metricRegistry.meter(PREFIX + "shed").getCount()).isEqualTo(1);
+        assertThat(gauge("in-flight").getValue()).isEqualTo(1);
+
+        release.countDown();
+        blocked.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void shedsLowPriorityRequestsFirst() throws Exception {
+        final Map<String, RequestPriority> priorities = new HashMap<>();
+        priorities.put("/reports", RequestPriority.LOW);
+        priorities.put("/health", RequestPriority.CRITICAL);
+        final AdaptiveConcurrencyLimitHandler handler = limit(2, 2, 2, priorities);
+        final Future<?> blocked = blockFirstRequest(handler, "/orders");
+
+        when(baseRequest.getRequestURI()).thenReturn("/reports/daily");
+        handler.handle("/reports/daily", baseRequest, request, response);
+
+        verify(response).setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        assertThat(metricRegistry.meter(PREFIX + "shed").getCount()).isEqualTo(1);
+
+        when(baseRequest.getRequestURI()).thenReturn("/health");
+        handler.handle("/health", baseRequest, request, response);
+
+        verify(wrapped).handle("/health", baseRequest, request, response);
+        assertThat(metricRegistry.meter(PREFIX + "shed").getCount()).isEqualTo(1);
+
+        release.countDown();
+        blocked.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void doesNotLimitAsyncDispatches() throws Exception {
+        final AdaptiveConcurrencyLimitHandler handler = limit(1, 1, 1, new HashMap<>());
+        final Future<?> blocked = blockFirstRequest(handler, "/");
+        when(baseRequest.getDispatcherType()).thenReturn(DispatcherType.ASYNC);
+
+        handler.handle("/", baseRequest, request, response);
+
+        verify(response, never()).setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+
+        release.countDown();
+        blocked.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void keepsAsyncRequestsInFlightUntilTheyComplete() throws Exception {
+        final AdaptiveConcurrencyLimitHandler handler = limit(1, 1, 1, new HashMap<>());
+        final AsyncContext asyncContext = mock(AsyncContext.class);
+        when(baseRequest.getDispatcherType()).thenReturn(DispatcherType.REQUEST);
+        when(baseRequest.getRequestURI()).thenReturn("/");
+        when(request.isAsyncStarted()).thenReturn(true);
+        when(request.getAsyncContext()).thenReturn(asyncContext);
+
+        handler.handle("/", baseRequest, request, response);
+
+        final ArgumentCaptor<AsyncListener> listener = ArgumentCaptor.forClass(AsyncListener.class);
+        verify(asyncContext).addListener(listener.capture());
+        assertThat(gauge("in-flight").getValue()).isEqualTo(1);
+
+        handler.handle("/", baseRequest, request, response);
+
+        verify(response).setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+
+        listener.getValue().onComplete(new AsyncEvent(asyncContext));
+
+        assertThat(gauge("in-flight").getValue()).isZero();
+    }
+
+    @Test
+    void matchesPrefixesWithinTheContextPath() {
+        final ConcurrencyLimitFactory factory = new ConcurrencyLimitFactory();
+        factory.setEnabled(true);
+        factory.setPriorities(Collections.singletonMap("/reports", RequestPriority.LOW));
+
+        final AdaptiveConcurrencyLimitHandler handler =
+            (AdaptiveConcurrencyLimitHandler) factory.build(wrapped, metricRegistry, "test", "/application/");
+
+        assertThat(handler.getPriority("/application/reports/daily")).isEqualTo(RequestPriority.LOW);
+        assertThat(handler.getPriority("/reports/daily")).isEqualTo(RequestPriority.NORMAL);
+    }
+
+    @Test
+    void matchesTheLongestPrefix() {
+        final Map<String, RequestPriority> priorities = new HashMap<>();
+        priorities.put("/api", RequestPriority.LOW);
+        priorities.put("/api/orders", RequestPriority.CRITICAL);
+        final AdaptiveConcurrencyLimitHandler handler = limit(10, 1, 10, priorities);
+
+        assertThat(handler.getPriority("/api/orders/1")).isEqualTo(RequestPriority.CRITICAL);
+        assertThat(handler.getPriority("/api/reports")).isEqualTo(RequestPriority.LOW);
+        assertThat(handler.getPriority("/ping")).isEqualTo(RequestPriority.NORMAL);
+    }
+
+    @Test
+    void growsTheLimitWhileLatencyIsStable() {
+        final AdaptiveConcurrencyLimitHandler handler = limit(20, 10, 100, new HashMap<>());
+
+        for (int i = 0; i < 50; i++) {
+            handler.onSample(TimeUnit.MILLISECONDS.toNanos(10), 20);
+        }
+
+        assertThat(handler.getLimit()).isGreaterThan(20);
+        assertThat(gauge("limit").getValue()).isEqualTo(handler.getLimit());
+    }
+
+    @Test
+    void doesNotGrowAnUnusedLimit() {
+        final AdaptiveConcurrencyLimitHandler handler = limit(20, 10, 100, new HashMap<>());
+
+        for (int i = 0; i < 50; i++) {
+            handler.onSample(TimeUnit.MILLISECONDS.toNanos(10), 1);
+        }
+
+        assertThat(handler.getLimit()).isEqualTo(20);
+    }
+
+    @Test
+    void shrinksTheLimitWhenLatencyIncreases() {
+        final AdaptiveConcurrencyLimitHandler handler = limit(50, 10, 100, new HashMap<>());
+        for (int i = 0; i < 100; i++) {
+            handler.onSample(TimeUnit.MILLISECONDS.toNanos(10), 50);
+        }
+        final int limitBefore = handler.getLimit();
+
+        for (int i = 0; i < 50; i++) {
+            handler.onSample(TimeUnit.MILLISECONDS.toNanos(100), 50);
+        }
+
+        assertThat(handler.getLimit()).isLessThan(limitBefore).isGreaterThanOrEqualTo(10);
+    }
+
+    private AdaptiveConcurrencyLimitHandler limit(int initialLimit, int minLimit, int maxLimit,
+                                                  Map<String, RequestPriority> priorities) {
+        final AdaptiveConcurrencyLimitHandler handler = new AdaptiveConcurrencyLimitHandler(metricRegistry, "test",
+            initialLimit, minLimit, maxLimit, 2, priorities, RequestPriority.NORMAL);
+        handler.setHandler(wrapped);
+        return handler;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Gauge<Integer> gauge(String name) {
+        return (Gauge<Integer>) requireNonNull(metricRegistry.getGauges().get(PREFIX + name));
+    }
+
+    private Future<?> blockFirstRequest(AdaptiveConcurrencyLimitHandler handler, String path) throws Exception {
+        when(baseRequest.getDispatcherType()).thenReturn(DispatcherType.REQUEST);
+        when(baseRequest.getRequestURI()).thenReturn(path);
+        doAnswer(invocation -> {
+            if (started.getCount() > 0) {
+                started.countDown();
+                release.await(5, TimeUnit.SECONDS);
+            }
+            return null;
+        }).when(wrapped).handle(anyString(), any(Request.class), any(HttpServletRequest.class),
+            any(HttpServletResponse.class));
+
+        final Future<?> blocked = executor.submit(() -> {
+            handler.handle(path, baseRequest, request, response);
+            return null;
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        return blocked;
+    }
+}
@@ -0,0 +1,165 @@
+package io.dropwizard.jetty;
+
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.util.Duration;
+import org.eclipse.jetty.server.Handler;
+import org.eclipse.jetty.server.Request;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ConcurrencyLimitingHandlerTest {
+    private static final String PREFIX = "io.dropwizard.jetty.ConcurrencyLimitingHandler.test.";
+
+    private final MetricRegistry metricRegistry = new MetricRegistry();
+    private final Handler wrapped = mock(Handler.class);
+    private final Request baseRequest = mock(Request.class);
+    private final HttpServletRequest request = mock(HttpServletRequest.class);
+    private final HttpServletResponse response = mock(HttpServletResponse.class);
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void handlesRequestsBelowTheLimit() throws Exception {
+        final ConcurrencyLimitingHandler handler = limit(1, 0);
+        when(baseRequest.getDispatcherType()).thenReturn(DispatcherType.REQUEST);
+        when(baseRequest.getTimeStamp()).thenReturn(System.currentTimeMillis());
+
+        handler.handle("/", baseRequest, request, response);
+        handler.handle("/", baseRequest, request, response);
+
+        verify(wrapped, times(2)).handle("/", baseRequest, request, response);
+        assertThat(metricRegistry.counter(PREFIX + "in-flight").getCount()).isZero();
+        assertThat(metricRegistry.timer(PREFIX + "dispatches").getCount()).isEqualTo(2);
+    }
+
+    @Test
+    void rejectsRequestsAboveTheLimitWhenTooManyAreQueued() throws Exception {
+        final ConcurrencyLimitingHandler handler = limit(1, 0);
+        final Future<?> blocked = blockFirstRequest(handler);
+
+        handler.handle("/", baseRequest, request, response);
+
+        verify(response).sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        verify(baseRequest).setHandled(true);
+        assertThat(metricRegistry.meter(PREFIX + "rejected").getCount()).isEqualTo(1);
+        assertThat(metricRegistry.counter(PREFIX + "in-flight").getCount()).isEqualTo(1);
+
+        release.countDown();
+        blocked.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void queuesRequestsAboveTheLimit() throws Exception {
+        final ConcurrencyLimitingHandler handler = limit(1, 1);
+        final Future<?> blocked = blockFirstRequest(handler);
+
+        final ExecutorService queuedExecutor = Executors.newSingleThreadExecutor();
+        try {
+            final Future<?> queued = queuedExecutor.submit(() -> {
+                handler.handle("/", baseRequest, request, response);
+                return null;
+            });
+            while (metricRegistry.counter(PREFIX + "queued").getCount() == 0) {
+                Thread.sleep(5);
+            }
+
+            release.countDown();
+            blocked.get(5, TimeUnit.SECONDS);
+            queued.get(5, TimeUnit.SECONDS);
+        } finally {
+            queuedExecutor.shutdownNow();
+        }
+
+        verify(wrapped, times(2)).handle("/", baseRequest, request, response);
+        verify(response, never()).sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        assertThat(metricRegistry.counter(PREFIX + "queued").getCount()).isZero();
+    }
+
+    @Test
+    void rejectsRequestsWaitingLongerThanTheMaximumQueueTime() throws Exception {
+        final ConcurrencyLimitingHandler handler = limit(1, 1, Duration.milliseconds(10));
+        final Future<?> blocked = blockFirstRequest(handler);
+
+        handler.handle("/", baseRequest, request, response);
+
+        verify(response).sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        assertThat(metricRegistry.meter(PREFIX + "rejected").getCount()).isEqualTo(1);
+        assertThat(metricRegistry.counter(PREFIX + "queued").getCount()).isZero();
+        verify(wrapped, times(1)).handle(anyString(), any(Request.class), any(HttpServletRequest.class),
+            any(HttpServletResponse.class));
+
+        release.countDown();
+        blocked.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void doesNotLimitAsyncDispatches() throws Exception {
+        final ConcurrencyLimitingHandler handler = limit(1, 0);
+        final Future<?> blocked = blockFirstRequest(handler);
+        when(baseRequest.getDispatcherType()).thenReturn(DispatcherType.ASYNC);
+
+        handler.handle("/", baseRequest, request, response);
+
+        verify(response, never()).sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+
+        release.countDown();
+        blocked.get(5, TimeUnit.SECONDS);
+    }
+
+    private ConcurrencyLimitingHandler limit(int maxConcurrentRequests, int maxQueuedRequests) {
+        return limit(maxConcurrentRequests, maxQueuedRequests, Duration.seconds(5));
+    }
+
+    private ConcurrencyLimitingHandler limit(int maxConcurrentRequests, int maxQueuedRequests,
+                                             Duration maxQueueTime) {
+        final ConcurrencyLimitingHandler handler = new ConcurrencyLimitingHandler(metricRegistry, "test",
+            maxConcurrentRequests, maxQueuedRequests, maxQueueTime);
+        handler.setHandler(wrapped);
+        return handler;
+    }
+
+    private Future<?> blockFirstRequest(ConcurrencyLimitingHandler handler) throws Exception {
+        when(baseRequest.getDispatcherType()).thenReturn(DispatcherType.REQUEST);
+        doAnswer(invocation -> {
+            if (started.getCount() > 0) {
+                started.countDown();
+                release.await(5, TimeUnit.SECONDS);
+            }
+            return null;
+        }).when(wrapped).handle(anyString(), any(Request.class), any(HttpServletRequest.class),
+            any(HttpServletResponse.class));
+
+        final Future<?> blocked = executor.submit(() -> {
+            handler.handle("/", baseRequest, request, response);
+            return null;
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        return blocked;
+    }
+}
@@ -1,23 +1,33 @@
 package io.dropwizard.logging.json.layout;
 
 import ch.qos.logback.core.LayoutBase;
+import ch.qos.logback.core.encoder.Encoder;
+import com.fasterxml.jackson.core.JsonGenerator;
 
 import javax.annotation.Nullable;
+import java.io.IOException;
 import java.util.Map;
 
 /**
  * Provides the common functionality for building JSON representations
  * of {@link ch.qos.logback.access.spi.IAccessEvent} and {@link ch.qos.logback.classic.spi.ILoggingEvent}
  * events.
+ * <p>
+ * The layout is also an {@link Encoder}, which streams the events as UTF-8 encoded JSON straight into a
+ * reusable buffer, without building an intermediate map or string.
  *
  * @param <E> represents the type of the event
  */
-public abstract class AbstractJsonLayout<E> extends LayoutBase<E> {
+public abstract class AbstractJsonLayout<E> extends LayoutBase<E> implements Encoder<E> {
+
+    private static final byte[] EMPTY = new byte[0];
 
     private final JsonFormatter jsonFormatter;
+    private final JsonFormatter.JsonWriter<E> jsonWriter;
 
     protected AbstractJsonLayout(JsonFormatter jsonFormatter) {
         this.jsonFormatter = jsonFormatter;
+        this.jsonWriter = this::writeJson;
     }
 
     @Override
@@ -30,4 +40,41 @@ public abstract class AbstractJsonLayout<E> extends LayoutBase<E> {
      * Converts the provided logging event to a generic {@link Map}
      */
     protected abstract Map<String, Object> toJsonMap(E event);
+
+    /**
+     * @since 2.1
+     */
+    @Override
+    public byte[] encode(E event) {
+        return jsonFormatter.toJsonBytes(event, jsonWriter);
+    }
+
+    /**
+     * Writes the provided logging event as a JSON object to the generator. The default implementation writes the
+     * map built by {@link #toJsonMap(Object)}; subclasses should override it to stream the fields directly.
+     *
+     * @since 2.1
+     */
+    protected void writeJson(JsonGenerator generator, E event) throws IOException {
+        final Map<String, Object> map = toJsonMap(event);
+        if (!map.isEmpty()) {
+            generator.writeObject(map);
+        }
+    }
+
+    /**
+     * @since 2.1
+     */
+    @Override
+    public byte[] headerBytes() {
+        return EMPTY;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @Override
+    public byte[] footerBytes() {
+        return EMPTY;
+    }
 }
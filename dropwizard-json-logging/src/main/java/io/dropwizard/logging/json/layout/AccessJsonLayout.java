@@ -1,12 +1,16 @@
 package io.dropwizard.logging.json.layout;
 
 import ch.qos.logback.access.spi.IAccessEvent;
+import com.fasterxml.jackson.core.JsonGenerator;
 import io.dropwizard.logging.json.AccessAttribute;
 
 import javax.annotation.Nullable;
+import java.io.IOException;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.SortedSet;
@@ -20,6 +24,12 @@ import java.util.stream.Collectors;
 public class AccessJsonLayout extends AbstractJsonLayout<IAccessEvent> {
     private static final String USER_AGENT = "User-Agent";
 
+    // The fields of access events, in the order they are written
+    private static final List<String> FIELD_NAMES = Arrays.asList("port", "contentLength", "timestamp", "method",
+        "protocol", "requestContent", "remoteAddress", "remoteUser", "headers", "params", "requestTime", "uri", "url",
+        "pathQuery", "remoteHost", "responseContent", "responseHeaders", "serverName", "status", "userAgent",
+        "version", "requestAttributes");
+
     private Set<AccessAttribute> includes;
 
     private SortedSet<String> requestHeaders = Collections.emptySortedSet();
@@ -33,6 +43,10 @@ public class AccessJsonLayout extends AbstractJsonLayout<IAccessEvent> {
     private final Map<String, Object> additionalFields;
     private final Map<String, String> customFieldNames;
 
+    // Whether some fields are renamed after others, in which case the fields are written through a MapBuilder, so
+    // that later fields keep overriding earlier ones
+    private final boolean duplicateFieldNames;
+
     public AccessJsonLayout(JsonFormatter jsonFormatter, TimestampFormatter timestampFormatter,
                             Set<AccessAttribute> includes, Map<String, String> customFieldNames,
                             Map<String, Object> additionalFields) {
@@ -41,6 +55,7 @@ public class AccessJsonLayout extends AbstractJsonLayout<IAccessEvent> {
         this.additionalFields = new HashMap<>(additionalFields);
         this.customFieldNames = new HashMap<>(customFieldNames);
         this.includes = EnumSet.copyOf(includes);
+        this.duplicateFieldNames = JsonFieldWriter.haveDuplicateNames(FIELD_NAMES, this.customFieldNames);
     }
 
     @Override
@@ -74,6 +89,42 @@ public class AccessJsonLayout extends AbstractJsonLayout<IAccessEvent> {
             .build();
     }
 
+    @Override
+    protected void writeJson(JsonGenerator generator, IAccessEvent event) throws IOException {
+        if (duplicateFieldNames) {
+            super.writeJson(generator, event);
+            return;
+        }
+
+        new JsonFieldWriter(generator, timestampFormatter, customFieldNames, additionalFields)
+            .addNumber("port", isIncluded(AccessAttribute.LOCAL_PORT), event::getLocalPort)
+            .addNumber("contentLength", isIncluded(AccessAttribute.CONTENT_LENGTH), event::getContentLength)
+            .addTimestamp("timestamp", isIncluded(AccessAttribute.TIMESTAMP), event.getTimeStamp())
+            .add("method", isIncluded(AccessAttribute.METHOD), event::getMethod)
+            .add("protocol", isIncluded(AccessAttribute.PROTOCOL), event::getProtocol)
+            .add("requestContent", isIncluded(AccessAttribute.REQUEST_CONTENT), event::getRequestContent)
+            .add("remoteAddress", isIncluded(AccessAttribute.REMOTE_ADDRESS), event::getRemoteAddr)
+            .add("remoteUser", isIncluded(AccessAttribute.REMOTE_USER), event::getRemoteUser)
+            .addMap("headers", !requestHeaders.isEmpty(),
+                () -> filterHeaders(event.getRequestHeaderMap(), requestHeaders))
+            .addMap("params", isIncluded(AccessAttribute.REQUEST_PARAMETERS), event::getRequestParameterMap)
+            .addNumber("requestTime", isIncluded(AccessAttribute.REQUEST_TIME), event::getElapsedTime)
+            .add("uri", isIncluded(AccessAttribute.REQUEST_URI), event::getRequestURI)
+            .add("url", isIncluded(AccessAttribute.REQUEST_URL), event::getRequestURL)
+            .add("pathQuery", isIncluded(AccessAttribute.PATH_QUERY), () -> event.getRequestURI() + event.getQueryString())
+            .add("remoteHost", isIncluded(AccessAttribute.REMOTE_HOST), event::getRemoteHost)
+            .add("responseContent", isIncluded(AccessAttribute.RESPONSE_CONTENT), event::getResponseContent)
+            .addMap("responseHeaders", !responseHeaders.isEmpty(),
+                () -> filterHeaders(event.getResponseHeaderMap(), responseHeaders))
+            .add("serverName", isIncluded(AccessAttribute.SERVER_NAME), event::getServerName)
+            .addNumber("status", isIncluded(AccessAttribute.STATUS_CODE), event::getStatusCode)
+            .add("userAgent", isIncluded(AccessAttribute.USER_AGENT), () -> event.getRequestHeader(USER_AGENT))
+            .add("version", jsonProtocolVersion != null, jsonProtocolVersion)
+            .addMap("requestAttributes", !requestAttributes.isEmpty(),
+                () -> filterRequestAttributes(requestAttributes, event))
+            .finish();
+    }
+
     private boolean isIncluded(AccessAttribute attribute) {
         return includes.contains(attribute);
     }
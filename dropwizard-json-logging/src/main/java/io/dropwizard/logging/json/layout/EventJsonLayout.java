@@ -2,12 +2,17 @@ package io.dropwizard.logging.json.layout;
 
 import ch.qos.logback.classic.pattern.ThrowableHandlingConverter;
 import ch.qos.logback.classic.spi.ILoggingEvent;
+import com.fasterxml.jackson.core.JsonGenerator;
 import io.dropwizard.logging.json.EventAttribute;
 
 import javax.annotation.Nullable;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -16,6 +21,10 @@ import java.util.stream.Collectors;
  * Builds JSON messages from logging events of the type {@link ILoggingEvent}.
  */
 public class EventJsonLayout extends AbstractJsonLayout<ILoggingEvent> {
+    // The fields of events, in the order they are written
+    private static final List<String> FIELD_NAMES = Arrays.asList("timestamp", "level", "thread", "marker", "logger",
+        "message", "context", "version", "exception", "mdc", "caller_class_name", "caller_method_name",
+        "caller_file_name", "caller_line_number");
 
     private Set<EventAttribute> includes;
 
@@ -30,6 +39,11 @@ public class EventJsonLayout extends AbstractJsonLayout<ILoggingEvent> {
     private Set<String> includesMdcKeys;
     private final boolean flattenMdc;
 
+    // The names of the fields once renamed, and whether some fields are renamed after others, in which case the
+    // fields are written through a MapBuilder, so that later fields keep overriding earlier ones
+    private final Set<String> fieldNames;
+    private final boolean duplicateFieldNames;
+
     public EventJsonLayout(JsonFormatter jsonFormatter, TimestampFormatter timestampFormatter,
                            ThrowableHandlingConverter throwableProxyConverter, Set<EventAttribute> includes,
                            Map<String, String> customFieldNames, Map<String, Object> additionalFields,
@@ -42,6 +56,10 @@ public class EventJsonLayout extends AbstractJsonLayout<ILoggingEvent> {
         this.includes = new HashSet<>(includes);
         this.includesMdcKeys = new HashSet<>(includesMdcKeys);
         this.flattenMdc = flattenMdc;
+        this.fieldNames = FIELD_NAMES.stream()
+            .map(name -> this.customFieldNames.getOrDefault(name, name))
+            .collect(Collectors.toSet());
+        this.duplicateFieldNames = JsonFieldWriter.haveDuplicateNames(FIELD_NAMES, this.customFieldNames);
     }
 
     @Override
@@ -90,6 +108,63 @@ public class EventJsonLayout extends AbstractJsonLayout<ILoggingEvent> {
         return mapBuilder.build();
     }
 
+    @Override
+    protected void writeJson(JsonGenerator generator, ILoggingEvent event) throws IOException {
+        final boolean includeMdc = isIncluded(EventAttribute.MDC);
+        final Map<String, String> flattenedMdc = flattenMdc && includeMdc
+            ? filterMdc(event.getMDCPropertyMap()) : Collections.emptyMap();
+        if (duplicateFieldNames || overridesFields(flattenedMdc)) {
+            super.writeJson(generator, event);
+            return;
+        }
+
+        final JsonFieldWriter fieldWriter = new JsonFieldWriter(generator, timestampFormatter, customFieldNames, additionalFields)
+            .addTimestamp("timestamp", isIncluded(EventAttribute.TIMESTAMP), event.getTimeStamp())
+            .add("level", isIncluded(EventAttribute.LEVEL), () -> String.valueOf(event.getLevel()))
+            .add("thread", isIncluded(EventAttribute.THREAD_NAME), event::getThreadName)
+            .add("marker", isIncluded(EventAttribute.MARKER) && event.getMarker() != null, () -> event.getMarker().getName())
+            .add("logger", isIncluded(EventAttribute.LOGGER_NAME), event::getLoggerName)
+            .add("message", isIncluded(EventAttribute.MESSAGE), event::getFormattedMessage)
+            .add("context", isIncluded(EventAttribute.CONTEXT_NAME), () -> event.getLoggerContextVO().getName())
+            .add("version", jsonProtocolVersion != null, jsonProtocolVersion)
+            .add("exception", isIncluded(EventAttribute.EXCEPTION) && event.getThrowableProxy() != null,
+                () -> throwableProxyConverter.convert(event));
+
+        if (flattenMdc) {
+            for (Map.Entry<String, String> entry : flattenedMdc.entrySet()) {
+                fieldWriter.add(entry.getKey(), true, entry.getValue());
+            }
+        } else {
+            fieldWriter.addMap("mdc", includeMdc, () -> filterMdc(event.getMDCPropertyMap()));
+        }
+
+        if (isIncluded(EventAttribute.CALLER_DATA)) {
+            final StackTraceElement[] callerData = event.getCallerData();
+            if (callerData.length >= 1) {
+                final StackTraceElement stackTraceElement = callerData[0];
+                fieldWriter.add("caller_class_name", true, stackTraceElement.getClassName());
+                fieldWriter.add("caller_method_name", true, stackTraceElement.getMethodName());
+                fieldWriter.add("caller_file_name", true, stackTraceElement.getFileName());
+                fieldWriter.addNumber("caller_line_number", true, stackTraceElement.getLineNumber());
+            }
+        }
+
+        fieldWriter.finish();
+    }
+
+    /**
+     * Checks whether flattened MDC entries would be written under the name of another field, which they override.
+     */
+    private boolean overridesFields(Map<String, String> flattenedMdc) {
+        for (String key : flattenedMdc.keySet()) {
+            final String name = customFieldNames.getOrDefault(key, key);
+            if (!name.equals(key) || fieldNames.contains(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private Map<String, String> filterMdc(Map<String, String> mdcPropertyMap) {
         if (includesMdcKeys.isEmpty()) {
             return mdcPropertyMap;
@@ -0,0 +1,202 @@
+package io.dropwizard.logging.json.layout;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Streams the fields of a JSON object to a {@link JsonGenerator}, based on the provided configuration and
+ * customization. This is the streaming counterpart of {@link MapBuilder}, and produces the same fields.
+ * <p>
+ * The enclosing JSON object is only started when the first field is written, so nothing is written at all
+ * for an event without any field.
+ * <p>
+ * Unlike {@link MapBuilder}, the writer can't replace a field it already wrote, so each name is only written once:
+ * the additional fields take precedence over the other fields, and otherwise the first field with a name is kept.
+ * Layouts which write several fields under the same name, for example because of custom field names, should use
+ * {@link MapBuilder} instead, where later fields override earlier ones.
+ *
+ * @since 2.1
+ */
+public class JsonFieldWriter {
+
+    private final JsonGenerator generator;
+    private final TimestampFormatter timestampFormatter;
+
+    /**
+     * Custom field name replacements in the format (oldName:newName).
+     */
+    private final Map<String, String> customFieldNames;
+
+    /**
+     * Additional fields which should be included in the message.
+     */
+    private final Map<String, Object> additionalFields;
+
+    private final Set<String> writtenFieldNames = new HashSet<>();
+
+    private boolean started;
+
+    public JsonFieldWriter(JsonGenerator generator, TimestampFormatter timestampFormatter,
+                           Map<String, String> customFieldNames, Map<String, Object> additionalFields) {
+        this.generator = requireNonNull(generator);
+        this.timestampFormatter = timestampFormatter;
+        this.customFieldNames = requireNonNull(customFieldNames);
+        this.additionalFields = requireNonNull(additionalFields);
+    }
+
+    /**
+     * Writes the string value under the provided field name, if it should be included.
+     */
+    public JsonFieldWriter add(String fieldName, boolean include, @Nullable String value) throws IOException {
+        if (include && value != null) {
+            final String name = getFieldName(fieldName);
+            if (!additionalFields.containsKey(name) && writtenFieldNames.add(name)) {
+                startField(name);
+                generator.writeString(value);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Writes the string value under the provided field name, if it should be included.
+     * The supplier is only invoked if the field is to be included.
+     */
+    public JsonFieldWriter add(String fieldName, boolean include, Supplier<String> supplier) throws IOException {
+        if (include) {
+            add(fieldName, true, supplier.get());
+        }
+        return this;
+    }
+
+    /**
+     * Writes the number under the provided field name, if it should be included.
+     */
+    public JsonFieldWriter addNumber(String fieldName, boolean include, @Nullable Number number) throws IOException {
+        if (include && number != null) {
+            final String name = getFieldName(fieldName);
+            if (!additionalFields.containsKey(name) && writtenFieldNames.add(name)) {
+                startField(name);
+                writeNumber(number);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Writes the number under the provided field name, if it should be included.
+     * The supplier is only invoked if the field is to be included.
+     */
+    public JsonFieldWriter addNumber(String fieldName, boolean include, Supplier<Number> supplier) throws IOException {
+        if (include) {
+            addNumber(fieldName, true, supplier.get());
+        }
+        return this;
+    }
+
+    /**
+     * Writes the map as a nested object under the provided field name, if it should be included.
+     */
+    public JsonFieldWriter add(String fieldName, boolean include, @Nullable Map<String, ?> mapValue) throws IOException {
+        if (include && mapValue != null && !mapValue.isEmpty()) {
+            final String name = getFieldName(fieldName);
+            if (!additionalFields.containsKey(name) && writtenFieldNames.add(name)) {
+                startField(name);
+                generator.writeObject(mapValue);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Writes the map as a nested object under the provided field name, if it should be included.
+     * The supplier is only invoked if the field is to be included.
+     */
+    public JsonFieldWriter addMap(String fieldName, boolean include, Supplier<Map<String, ?>> supplier) throws IOException {
+        if (include) {
+            add(fieldName, true, supplier.get());
+        }
+        return this;
+    }
+
+    /**
+     * Writes and optionally formats the timestamp under the provided field name, if it should be included.
+     */
+    public JsonFieldWriter addTimestamp(String fieldName, boolean include, long timestamp) throws IOException {
+        if (include && timestamp > 0) {
+            final String name = getFieldName(fieldName);
+            if (!additionalFields.containsKey(name) && writtenFieldNames.add(name)) {
+                startField(name);
+                final Object formatted = timestampFormatter.format(timestamp);
+                if (formatted instanceof Number) {
+                    writeNumber((Number) formatted);
+                } else {
+                    generator.writeString(formatted.toString());
+                }
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Writes the additional fields and closes the JSON object, if any field has been written.
+     */
+    public void finish() throws IOException {
+        for (Map.Entry<String, Object> field : additionalFields.entrySet()) {
+            startField(field.getKey());
+            generator.writeObject(field.getValue());
+        }
+        if (started) {
+            generator.writeEndObject();
+        }
+    }
+
+    private void startField(String name) throws IOException {
+        if (!started) {
+            generator.writeStartObject();
+            started = true;
+        }
+        generator.writeFieldName(name);
+    }
+
+    private void writeNumber(Number number) throws IOException {
+        // Avoid going through the object mapper for the common cases
+        if (number instanceof Integer) {
+            generator.writeNumber(number.intValue());
+        } else if (number instanceof Long) {
+            generator.writeNumber(number.longValue());
+        } else {
+            generator.writeObject(number);
+        }
+    }
+
+    private String getFieldName(String fieldName) {
+        return customFieldNames.getOrDefault(fieldName, fieldName);
+    }
+
+    /**
+     * Checks whether some of the fields would be written under the same name, once renamed.
+     *
+     * @param fieldNames       the names of the fields
+     * @param customFieldNames the custom field names, in the format (oldName:newName)
+     * @return whether some fields have the same name
+     */
+    static boolean haveDuplicateNames(Collection<String> fieldNames, Map<String, String> customFieldNames) {
+        final Set<String> names = new HashSet<>();
+        for (String fieldName : fieldNames) {
+            if (!names.add(customFieldNames.getOrDefault(fieldName, fieldName))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,12 +1,16 @@
 package io.dropwizard.logging.json.layout;
 
 import ch.qos.logback.core.CoreConstants;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 
 import javax.annotation.Nullable;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
 /**
@@ -15,16 +19,34 @@ import java.util.Map;
 public class JsonFormatter {
 
     private static final int DEFAULT_BUFFER_SIZE = 512;
+    private static final int MAX_RETAINED_BUFFER_SIZE = 64 * 1024;
+    private static final byte[] EMPTY = new byte[0];
+    private static final byte[] LINE_SEPARATOR = CoreConstants.LINE_SEPARATOR.getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * Writes the JSON representation of a value directly to a {@link JsonGenerator}.
+     *
+     * @param <T> the type of the value
+     * @since 2.1
+     */
+    @FunctionalInterface
+    public interface JsonWriter<T> {
+        void writeJson(JsonGenerator generator, T value) throws IOException;
+    }
 
     private final ObjectMapper objectMapper;
+    private final ObjectWriter objectWriter;
     private final boolean doesAppendLineSeparator;
     private final int bufferSize;
+    private final ThreadLocal<ByteArrayOutputStream> buffers;
 
     public JsonFormatter(ObjectMapper objectMapper, boolean prettyPrint, boolean doesAppendLineSeparator,
                          int bufferSize) {
         this.objectMapper = prettyPrint ? objectMapper.enable(SerializationFeature.INDENT_OUTPUT) : objectMapper;
+        this.objectWriter = this.objectMapper.writer();
         this.doesAppendLineSeparator = doesAppendLineSeparator;
         this.bufferSize = bufferSize;
+        this.buffers = ThreadLocal.withInitial(() -> new ByteArrayOutputStream(bufferSize));
     }
 
     public JsonFormatter(ObjectMapper objectMapper, boolean prettyPrint, boolean doesAppendLineSeparator) {
@@ -53,4 +75,39 @@ public class JsonFormatter {
             throw new IllegalArgumentException("Unable to format map as a JSON", e);
         }
     }
+
+    /**
+     * Writes the provided value as UTF-8 encoded JSON, without building an intermediate map or string. The value is
+     * written into a buffer which is reused by the calling thread, so only the returned array is allocated.
+     *
+     * @param value  the value to write
+     * @param writer writes the value to a {@link JsonGenerator}, which honours the configured output parameters
+     * @param <T>    the type of the value
+     * @return the JSON as UTF-8 encoded bytes, or an empty array if the writer didn't write anything
+     * @since 2.1
+     */
+    public <T> byte[] toJsonBytes(T value, JsonWriter<T> writer) {
+        final ByteArrayOutputStream buffer = buffers.get();
+        try {
+            try (JsonGenerator generator = objectWriter.createGenerator(buffer)) {
+                writer.writeJson(generator, value);
+            }
+            if (buffer.size() == 0) {
+                return EMPTY;
+            }
+            if (doesAppendLineSeparator) {
+                buffer.write(LINE_SEPARATOR);
+            }
+            return buffer.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unable to format value as a JSON", e);
+        } finally {
+            if (buffer.size() > MAX_RETAINED_BUFFER_SIZE) {
+                // Don't hold on to the buffer of an unusually large event for the lifetime of the thread
+                buffers.remove();
+            } else {
+                buffer.reset();
+            }
+        }
+    }
 }
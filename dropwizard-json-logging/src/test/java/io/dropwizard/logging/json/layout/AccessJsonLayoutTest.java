@@ -11,6 +11,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import java.nio.charset.StandardCharsets;
 import java.time.ZoneId;
 import java.util.Collections;
 import java.util.EnumSet;
@@ -88,6 +89,18 @@ class AccessJsonLayoutTest {
             entry("userAgent", userAgent), entry("remoteAddress", remoteAddress));
     }
 
+    @Test
+    void testEncodesTheSameFieldsAsTheJsonMap() throws Exception {
+        accessJsonLayout.setRequestHeaders(Collections.singleton("Host"));
+        accessJsonLayout.setJsonProtocolVersion("1.2");
+
+        final byte[] encoded = accessJsonLayout.encode(event);
+
+        assertThat(new String(encoded, StandardCharsets.UTF_8)).endsWith(System.lineSeparator());
+        assertThat(objectMapper.readTree(encoded))
+            .isEqualTo(objectMapper.readTree(objectMapper.writeValueAsString(accessJsonLayout.toJsonMap(event))));
+    }
+
     @Test
     void testDisableRemoteAddress() {
         includes.remove(AccessAttribute.REMOTE_ADDRESS);
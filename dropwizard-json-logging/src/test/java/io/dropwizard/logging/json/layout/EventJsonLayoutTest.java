@@ -5,6 +5,9 @@ import ch.qos.logback.classic.pattern.ThrowableProxyConverter;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.classic.spi.LoggerContextVO;
 import ch.qos.logback.classic.spi.ThrowableProxyVO;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.dropwizard.jackson.Jackson;
 import io.dropwizard.logging.json.EventAttribute;
 import io.dropwizard.util.Maps;
@@ -45,6 +48,10 @@ class EventJsonLayoutTest {
             EventAttribute.TIMESTAMP,
             EventAttribute.CALLER_DATA));
 
+    private static final ObjectMapper OBJECT_MAPPER = Jackson.newObjectMapper();
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<Map<String, Object>>() {
+    };
+
     private final TimestampFormatter timestampFormatter = new TimestampFormatter("yyyy-MM-dd'T'HH:mm:ss.SSSZ", ZoneId.of("UTC"));
     private final JsonFormatter jsonFormatter = new JsonFormatter(Jackson.newObjectMapper(), false, true);
     private ThrowableProxyConverter throwableProxyConverter = Mockito.mock(ThrowableProxyConverter.class);
@@ -184,6 +191,68 @@ class EventJsonLayoutTest {
         assertThat(map).isEqualTo(expectedFields);
     }
 
+    @Test
+    void testEncodesTheDefaultFields() throws Exception {
+        final Map<String, Object> encoded = OBJECT_MAPPER.readValue(eventJsonLayout.encode(event), MAP_TYPE);
+        assertThat(encoded).isEqualTo(defaultExpectedFields);
+    }
+
+    @Test
+    void testEncodesCustomizedFields() throws Exception {
+        final Map<String, String> customFieldNames = Maps.of(
+                "timestamp", "@timestamp",
+                "message", "@message");
+        final Map<String, Object> additionalFields = Maps.of(
+                "serviceName", "userService",
+                "level", "overridden");
+        final EventJsonLayout layout = new EventJsonLayout(jsonFormatter, timestampFormatter, throwableProxyConverter,
+            DEFAULT_EVENT_ATTRIBUTES, customFieldNames, additionalFields, Sets.of("userId"), true);
+
+        final Map<String, Object> encoded = OBJECT_MAPPER.readValue(layout.encode(event), MAP_TYPE);
+        assertThat(encoded).isEqualTo(layout.toJsonMap(event));
+        assertThat(encoded).containsEntry("@message", message)
+            .containsEntry("level", "overridden")
+            .containsEntry("userId", "18")
+            .doesNotContainKeys("message", "mdc", "orderId");
+    }
+
+    @Test
+    void testEncodesFieldsWithTheSameNameOnceAndKeepsTheOverridingOne() throws Exception {
+        final ObjectMapper strictMapper = Jackson.newObjectMapper()
+            .enable(JsonParser.Feature.STRICT_DUPLICATE_DETECTION);
+        final Map<String, String> customFieldNames = Maps.of(
+                "logger", "message",
+                "caller_line_number", "userId");
+        final EventJsonLayout layout = new EventJsonLayout(jsonFormatter, timestampFormatter, throwableProxyConverter,
+            DEFAULT_EVENT_ATTRIBUTES, customFieldNames, Collections.emptyMap(), Collections.emptySet(), true);
+
+        final Map<String, Object> encoded = strictMapper.readValue(layout.encode(event), MAP_TYPE);
+        assertThat(encoded).isEqualTo(layout.toJsonMap(event));
+        assertThat(encoded).containsEntry("message", message)
+            .containsEntry("userId", 42);
+    }
+
+    @Test
+    void testEncodesFlattenedMdcEntriesOverridingOtherFieldsOnce() throws Exception {
+        final ObjectMapper strictMapper = Jackson.newObjectMapper()
+            .enable(JsonParser.Feature.STRICT_DUPLICATE_DETECTION);
+        when(event.getMDCPropertyMap()).thenReturn(Maps.of("thread", "worker", "userId", "18"));
+        final EventJsonLayout layout = new EventJsonLayout(jsonFormatter, timestampFormatter, throwableProxyConverter,
+            DEFAULT_EVENT_ATTRIBUTES, Collections.emptyMap(), Collections.singletonMap("userId", "overridden"),
+            Collections.emptySet(), true);
+
+        final Map<String, Object> encoded = strictMapper.readValue(layout.encode(event), MAP_TYPE);
+        assertThat(encoded).isEqualTo(layout.toJsonMap(event));
+        assertThat(encoded).containsEntry("thread", "worker")
+            .containsEntry("userId", "overridden");
+    }
+
+    @Test
+    void testEncodesNothingWithoutFields() {
+        eventJsonLayout.setIncludes(EnumSet.noneOf(EventAttribute.class));
+        assertThat(eventJsonLayout.encode(event)).isEmpty();
+    }
+
     @Test
     void testStartThrowableConverter() {
         eventJsonLayout.start();
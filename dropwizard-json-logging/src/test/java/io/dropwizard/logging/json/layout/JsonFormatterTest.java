@@ -7,6 +7,7 @@ import io.dropwizard.util.Maps;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.SortedMap;
 import java.util.TreeMap;
@@ -58,4 +59,20 @@ class JsonFormatterTest {
                 "  \"name\" : \"Jim\"%n" +
                 "}"));
     }
+
+    @Test
+    void testWritesTheSameBytesAsTheMap() {
+        for (boolean prettyPrint : new boolean[]{false, true}) {
+            JsonFormatter formatter = new JsonFormatter(objectMapper.copy(), prettyPrint, true);
+            final byte[] bytes = formatter.toJsonBytes(map, (generator, value) -> generator.writeObject(value));
+            assertThat(new String(bytes, StandardCharsets.UTF_8)).isEqualTo(formatter.toJson(map));
+        }
+    }
+
+    @Test
+    void testWritesNothingForAnEmptyValue() {
+        JsonFormatter formatter = new JsonFormatter(objectMapper, false, true);
+        assertThat(formatter.toJsonBytes(map, (generator, value) -> { })).isEmpty();
+        assertThat(formatter.toJsonBytes(map, (generator, value) -> generator.writeObject(value))).isNotEmpty();
+    }
 }
@@ -4,6 +4,7 @@ import com.codahale.metrics.MetricRegistry;
 import io.dropwizard.lifecycle.JettyManaged;
 import io.dropwizard.lifecycle.Managed;
 import io.dropwizard.lifecycle.ServerLifecycleListener;
+import io.dropwizard.util.Duration;
 import org.eclipse.jetty.server.Server;
 import org.eclipse.jetty.util.component.AbstractLifeCycle;
 import org.eclipse.jetty.util.component.ContainerLifeCycle;
@@ -12,7 +13,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ThreadFactory;
 
 import static java.util.Objects.requireNonNull;
@@ -23,6 +26,8 @@ public class LifecycleEnvironment {
     private final List<LifeCycle> managedObjects;
     private final List<LifeCycle.Listener> lifecycleListeners;
     private final MetricRegistry metricRegistry;
+    // The parallel group of each named managed object
+    private final Map<String, ParallelManagedLifeCycle> parallelGroups = new HashMap<>();
 
     public LifecycleEnvironment(MetricRegistry metricRegistry) {
         this.managedObjects = new ArrayList<>();
@@ -45,6 +50,58 @@ public class LifecycleEnvironment {
         managedObjects.add(new JettyManaged(requireNonNull(managed)));
     }
 
+    /**
+     * Adds the given {@link Managed} instance to the set of objects managed by the server's lifecycle, under a name
+     * other managed objects may depend on. When the server starts, {@code managed} will be started once the objects
+     * it depends on are started. When the server stops, {@code managed} will be stopped before them.
+     * <p>
+     * The objects managed with a name one after the other are started and stopped in parallel as far as their
+     * dependencies allow, together, at their position among the other managed objects. An object managed in between
+     * them, without a name, keeps its position: the named objects managed before it are started before it, and the
+     * named objects managed after it are started after it. The duration of the start and the stop of each of them is
+     * recorded in the {@code io.dropwizard.lifecycle.Managed.<name>.start} and
+     * {@code io.dropwizard.lifecycle.Managed.<name>.stop} timers, and logged once all of them are started or stopped.
+     * </p>
+     *
+     * @param name         the unique name of the managed object
+     * @param managed      a managed object
+     * @param timeout      the maximum time {@code managed} may take to start or to stop; the server fails to start if
+     *                     it takes longer to start
+     * @param dependencies the names of the managed objects {@code managed} depends on, which must already be managed
+     * @throws IllegalArgumentException if the name is already used, or if a dependency isn't managed yet
+     * @since 2.1
+     */
+    public void manage(String name, Managed managed, Duration timeout, String... dependencies) {
+        requireNonNull(name);
+        if (parallelGroups.containsKey(name)) {
+            throw new IllegalArgumentException("A managed object named " + name + " is already managed");
+        }
+
+        // Named objects managed one after the other share a group, started after the objects managed before them
+        final LifeCycle last = managedObjects.isEmpty() ? null : managedObjects.get(managedObjects.size() - 1);
+        ParallelManagedLifeCycle group = last instanceof ParallelManagedLifeCycle ? (ParallelManagedLifeCycle) last
+            : null;
+        final List<String> groupDependencies = new ArrayList<>();
+        for (String dependency : dependencies) {
+            final ParallelManagedLifeCycle dependencyGroup = parallelGroups.get(dependency);
+            if (dependencyGroup == null) {
+                throw new IllegalArgumentException("Managed object " + name + " depends on " + dependency
+                    + ", which must be managed first");
+            }
+            // The objects of earlier groups are started before and stopped after the objects of this group
+            if (dependencyGroup == group) {
+                groupDependencies.add(dependency);
+            }
+        }
+
+        if (group == null) {
+            group = new ParallelManagedLifeCycle(metricRegistry);
+            managedObjects.add(group);
+        }
+        group.add(name, requireNonNull(managed), requireNonNull(timeout), groupDependencies.toArray(new String[0]));
+        parallelGroups.put(name, group);
+    }
+
     /**
      * Adds the given Jetty {@link LifeCycle} instances to the server's lifecycle.
      *
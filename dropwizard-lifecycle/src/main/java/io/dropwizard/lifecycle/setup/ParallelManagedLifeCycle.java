@@ -0,0 +1,312 @@
+package io.dropwizard.lifecycle.setup;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import io.dropwizard.lifecycle.Managed;
+import io.dropwizard.util.Duration;
+import org.eclipse.jetty.util.component.AbstractLifeCycle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * Starts and stops named {@link Managed} objects in parallel, as far as their dependencies allow: an object is
+ * started once the objects it depends on are started, and stopped once the objects depending on it are stopped.
+ * <p>
+ * Each object may take up to its timeout to start or to stop. A failure or a timeout while starting fails the start
+ * of the whole lifecycle: no other object is started, the objects still starting are given their timeout to finish,
+ * and the objects which were started are stopped again. An object which finishes starting after its timeout is
+ * stopped as soon as it's started, regardless of its dependencies, which may already be stopped. A failure or a
+ * timeout while stopping doesn't prevent the other objects from stopping.
+ * </p>
+ */
+class ParallelManagedLifeCycle extends AbstractLifeCycle {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParallelManagedLifeCycle.class);
+
+    private final MetricRegistry metricRegistry;
+    private final Map<String, Node> nodes = new LinkedHashMap<>();
+    private final Set<Node> started = new LinkedHashSet<>();
+
+    ParallelManagedLifeCycle(MetricRegistry metricRegistry) {
+        this.metricRegistry = metricRegistry;
+    }
+
+    void add(String name, Managed managed, Duration timeout, String... dependencies) {
+        if (nodes.containsKey(name)) {
+            throw new IllegalArgumentException("A managed object named " + name + " is already managed");
+        }
+
+        final List<Node> prerequisites = new ArrayList<>();
+        for (String dependency : dependencies) {
+            final Node prerequisite = nodes.get(dependency);
+            if (prerequisite == null) {
+                // Requiring the dependencies to be managed first rules out cycles
+                throw new IllegalArgumentException("Managed object " + name + " depends on " + dependency
+                    + ", which must be managed first");
+            }
+            prerequisites.add(prerequisite);
+        }
+
+        final Node node = new Node(name, managed, timeout, prerequisites,
+            metricRegistry.timer(name(Managed.class, name, "start")),
+            metricRegistry.timer(name(Managed.class, name, "stop")));
+        for (Node prerequisite : prerequisites) {
+            prerequisite.dependents.add(node);
+        }
+        nodes.put(name, node);
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        final long startedAt = System.nanoTime();
+        final Map<Node, Long> durations;
+        try {
+            durations = run(true, nodes.values(), node -> node.dependencies);
+        } catch (Exception e) {
+            try {
+                doStop();
+            } catch (Exception stopFailure) {
+                e.addSuppressed(stopFailure);
+            }
+            throw e;
+        }
+        LOGGER.info("Started managed objects in {} ms:{}",
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt), report(durations));
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        final long stoppedAt = System.nanoTime();
+        final Map<Node, Long> durations;
+        try {
+            durations = run(false, new ArrayList<>(started), node -> node.dependents);
+        } finally {
+            // The objects which failed to stop aren't stopped again
+            started.clear();
+        }
+        LOGGER.info("Stopped managed objects in {} ms:{}",
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - stoppedAt), report(durations));
+    }
+
+    /**
+     * Starts or stops objects in parallel, each once its prerequisites are done.
+     *
+     * @param starting        whether the objects are started, in which case no other object is started after the
+     *                        first failure or timeout, or stopped; failures are thrown once the objects started or
+     *                        stopped are done
+     * @param nodes           the objects to start or to stop
+     * @param prerequisitesOf the objects which must be done before an object, if they're to be started or stopped
+     * @return the duration of the start or stop of each object which completed it, in nanoseconds
+     */
+    private Map<Node, Long> run(boolean starting, Collection<Node> nodes,
+                                Function<Node, List<Node>> prerequisitesOf) throws Exception {
+        final String phase = starting ? "start" : "stop";
+        final Set<Node> remaining = new LinkedHashSet<>(nodes);
+        final Set<Node> unfinished = new HashSet<>(nodes);
+        final Map<Future<Long>, Node> running = new HashMap<>();
+        final Map<Node, Long> deadlines = new HashMap<>();
+        final Map<Node, Long> durations = new LinkedHashMap<>();
+        Exception failure = null;
+
+        final ExecutorService executor = Executors.newCachedThreadPool(threadFactory(phase));
+        final CompletionService<Long> completions = new ExecutorCompletionService<>(executor);
+        try {
+            while (!unfinished.isEmpty()) {
+                for (Iterator<Node> iterator = remaining.iterator(); iterator.hasNext(); ) {
+                    final Node node = iterator.next();
+                    if (prerequisitesOf.apply(node).stream().noneMatch(unfinished::contains)) {
+                        iterator.remove();
+                        if (starting) {
+                            node.state.set(StartState.STARTING);
+                        }
+                        running.put(completions.submit(() -> node.run(starting)), node);
+                        deadlines.put(node, System.nanoTime() + node.timeout.toNanoseconds());
+                    }
+                }
+
+                // Objects which started right as they timed out have no deadline, their completion is on its way
+                final long timeout = deadlines.values().stream().min(Long::compare)
+                    .map(deadline -> Math.max(0, deadline - System.nanoTime()))
+                    .orElse(Long.MAX_VALUE);
+                final Future<Long> completed = completions.poll(timeout, TimeUnit.NANOSECONDS);
+                if (completed == null) {
+                    failure = addFailure(failure, cancelTimedOut(starting, running, deadlines, unfinished));
+                } else {
+                    // Cancelled and abandoned tasks complete too, once they're no longer running
+                    final Node node = running.remove(completed);
+                    if (node == null) {
+                        continue;
+                    }
+                    deadlines.remove(node);
+                    unfinished.remove(node);
+                    try {
+                        durations.put(node, completed.get());
+                        if (starting) {
+                            started.add(node);
+                        }
+                    } catch (ExecutionException e) {
+                        LOGGER.error("Failed to {} managed object {}", phase, node.name, e.getCause());
+                        failure = addFailure(failure, asException(e.getCause()));
+                    }
+                }
+
+                if (failure != null && starting && !remaining.isEmpty()) {
+                    // Start no other object, but let the objects still starting finish, so that they're stopped again
+                    unfinished.removeAll(remaining);
+                    remaining.clear();
+                }
+            }
+        } finally {
+            // Abandoned starts aren't interrupted, they stop their object once it's started
+            executor.shutdown();
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+        return durations;
+    }
+
+    @Nullable
+    private static Exception cancelTimedOut(boolean starting, Map<Future<Long>, Node> running,
+                                            Map<Node, Long> deadlines, Set<Node> unfinished) {
+        final String phase = starting ? "start" : "stop";
+        final long now = System.nanoTime();
+        Exception failure = null;
+        for (Iterator<Map.Entry<Future<Long>, Node>> iterator = running.entrySet().iterator(); iterator.hasNext(); ) {
+            final Map.Entry<Future<Long>, Node> entry = iterator.next();
+            final Node node = entry.getValue();
+            final Long deadline = deadlines.get(node);
+            if (deadline == null || deadline - now > 0) {
+                continue;
+            }
+            deadlines.remove(node);
+            if (starting && !node.state.compareAndSet(StartState.STARTING, StartState.ABANDONED)) {
+                // It started right as it timed out, so it's completed like any started object
+                continue;
+            }
+
+            LOGGER.error("Timed out after {} waiting for managed object {} to {}", node.timeout, node.name, phase);
+            if (!starting) {
+                entry.getKey().cancel(true);
+            }
+            iterator.remove();
+            unfinished.remove(node);
+            failure = addFailure(failure, new TimeoutException("Timed out after " + node.timeout
+                + " waiting for managed object " + node.name + " to " + phase));
+        }
+        return failure;
+    }
+
+    @Nullable
+    private static Exception addFailure(@Nullable Exception failure,
+                                        @Nullable Exception newFailure) {
+        if (failure == null) {
+            return newFailure;
+        }
+        if (newFailure != null) {
+            failure.addSuppressed(newFailure);
+        }
+        return failure;
+    }
+
+    private static Exception asException(Throwable cause) {
+        return cause instanceof Exception ? (Exception) cause : new ExecutionException(cause);
+    }
+
+    private static String report(Map<Node, Long> durations) {
+        final StringBuilder report = new StringBuilder();
+        durations.forEach((node, duration) -> report.append(String.format("%n    %-40s %8d ms", node.name,
+            TimeUnit.NANOSECONDS.toMillis(duration))));
+        return report.toString();
+    }
+
+    private static ThreadFactory threadFactory(String phase) {
+        final AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            final Thread thread = new Thread(runnable, "managed-" + phase + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @Override
+    public String toString() {
+        return "ParallelManagedLifeCycle" + nodes.keySet();
+    }
+
+    private static final class Node {
+        private final String name;
+        private final Managed managed;
+        private final Duration timeout;
+        private final List<Node> dependencies;
+        private final List<Node> dependents = new ArrayList<>();
+        private final Timer startTimer;
+        private final Timer stopTimer;
+        private final AtomicReference<StartState> state = new AtomicReference<>(StartState.STARTING);
+
+        private Node(String name, Managed managed, Duration timeout, List<Node> dependencies, Timer startTimer,
+                     Timer stopTimer) {
+            this.name = name;
+            this.managed = managed;
+            this.timeout = timeout;
+            this.dependencies = dependencies;
+            this.startTimer = startTimer;
+            this.stopTimer = stopTimer;
+        }
+
+        private long run(boolean starting) throws Exception {
+            final long startedAt = System.nanoTime();
+            if (starting) {
+                managed.start();
+            } else {
+                managed.stop();
+            }
+            final long duration = System.nanoTime() - startedAt;
+            (starting ? startTimer : stopTimer).update(duration, TimeUnit.NANOSECONDS);
+            if (starting && !state.compareAndSet(StartState.STARTING, StartState.STARTED)) {
+                stopAbandoned(duration);
+            }
+            return duration;
+        }
+
+        private void stopAbandoned(long duration) {
+            LOGGER.warn("Managed object {} started after {} ms, after timing out, stopping it", name,
+                TimeUnit.NANOSECONDS.toMillis(duration));
+            try {
+                managed.stop();
+            } catch (Exception e) {
+                LOGGER.error("Failed to stop managed object {}", name, e);
+            }
+        }
+    }
+
+    private enum StartState {
+        STARTING, STARTED, ABANDONED
+    }
+}
@@ -3,10 +3,13 @@ package io.dropwizard.lifecycle.setup;
 import com.codahale.metrics.MetricRegistry;
 import io.dropwizard.lifecycle.JettyManaged;
 import io.dropwizard.lifecycle.Managed;
+import io.dropwizard.util.Duration;
 import org.eclipse.jetty.util.component.ContainerLifeCycle;
 import org.eclipse.jetty.util.component.LifeCycle;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -16,6 +19,7 @@ import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicLong;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.mockito.Mockito.mock;
 
 class LifecycleEnvironmentTest {
@@ -48,6 +52,49 @@ class LifecycleEnvironmentTest {
                 assertThat(jettyManaged.getManaged()).isEqualTo(managed));
     }
 
+    @Test
+    void managesNamedManagedObjectsTogether() {
+        final Managed managed = mock(Managed.class);
+        environment.manage("pool", managed, Duration.seconds(1));
+        environment.manage("cache", managed, Duration.seconds(1), "pool");
+
+        final ContainerLifeCycle container = new ContainerLifeCycle();
+        environment.attach(container);
+
+        assertThat(container.getBeans())
+            .singleElement()
+            .isInstanceOf(ParallelManagedLifeCycle.class);
+    }
+
+    @Test
+    void keepsTheRegistrationOrderOfNamedAndUnnamedManagedObjects() {
+        final Managed managed = mock(Managed.class);
+        environment.manage("pool", managed, Duration.seconds(1));
+        environment.manage(managed);
+        environment.manage("cache", managed, Duration.seconds(1), "pool");
+        environment.manage("search", managed, Duration.seconds(1), "cache");
+
+        final ContainerLifeCycle container = new ContainerLifeCycle();
+        environment.attach(container);
+
+        final List<Object> beans = new ArrayList<>(container.getBeans());
+        assertThat(beans).hasSize(3);
+        assertThat(beans.get(0)).hasToString("ParallelManagedLifeCycle[pool]");
+        assertThat(beans.get(1)).isInstanceOf(JettyManaged.class);
+        assertThat(beans.get(2)).hasToString("ParallelManagedLifeCycle[cache, search]");
+    }
+
+    @Test
+    void rejectsDuplicateNamesAcrossNamedGroups() {
+        final Managed managed = mock(Managed.class);
+        environment.manage("pool", managed, Duration.seconds(1));
+        environment.manage(managed);
+
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> environment.manage("pool", managed, Duration.seconds(1)))
+            .withMessage("A managed object named pool is already managed");
+    }
+
     @Test
     void scheduledExecutorServiceBuildsDaemonThreads() throws ExecutionException, InterruptedException {
         final ScheduledExecutorService executorService = environment.scheduledExecutorService("daemon-%d", true).build();
@@ -0,0 +1,194 @@
+package io.dropwizard.lifecycle.setup;
+
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.lifecycle.Managed;
+import io.dropwizard.util.Duration;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class ParallelManagedLifeCycleTest {
+    private static final Duration TIMEOUT = Duration.seconds(5);
+
+    private final MetricRegistry metricRegistry = new MetricRegistry();
+    private final ParallelManagedLifeCycle lifeCycle = new ParallelManagedLifeCycle(metricRegistry);
+    private final List<String> events = Collections.synchronizedList(new ArrayList<>());
+
+    @Test
+    void startsIndependentObjectsInParallel() throws Exception {
+        final CountDownLatch bothStarting = new CountDownLatch(2);
+        lifeCycle.add("first", new AwaitingManaged(bothStarting), TIMEOUT);
+        lifeCycle.add("second", new AwaitingManaged(bothStarting), TIMEOUT);
+
+        lifeCycle.start();
+
+        assertThat(lifeCycle.isStarted()).isTrue();
+        assertThat(bothStarting.getCount()).isZero();
+    }
+
+    @Test
+    void startsDependenciesFirstAndStopsThemLast() throws Exception {
+        lifeCycle.add("pool", new RecordingManaged("pool"), TIMEOUT);
+        lifeCycle.add("cache", new RecordingManaged("cache"), TIMEOUT, "pool");
+        lifeCycle.add("client", new RecordingManaged("client"), TIMEOUT, "pool", "cache");
+
+        lifeCycle.start();
+        lifeCycle.stop();
+
+        assertThat(events).containsExactly("pool started", "cache started", "client started",
+            "client stopped", "cache stopped", "pool stopped");
+        assertThat(metricRegistry.timer("io.dropwizard.lifecycle.Managed.cache.start").getCount()).isEqualTo(1);
+        assertThat(metricRegistry.timer("io.dropwizard.lifecycle.Managed.cache.stop").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void failsToStartWhenAnObjectTimesOutAndStopsTheStartedObjects() {
+        lifeCycle.add("pool", new RecordingManaged("pool"), TIMEOUT);
+        lifeCycle.add("slow", new AwaitingManaged(new CountDownLatch(2)), Duration.milliseconds(50), "pool");
+        lifeCycle.add("cache", new RecordingManaged("cache"), TIMEOUT, "slow");
+
+        assertThatExceptionOfType(TimeoutException.class)
+            .isThrownBy(lifeCycle::start)
+            .withMessageContaining("slow");
+        assertThat(events).containsExactly("pool started", "pool stopped");
+    }
+
+    @Test
+    void stopsObjectsWhichFinishStartingAfterTimingOut() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch stopped = new CountDownLatch(1);
+        lifeCycle.add("pool", new RecordingManaged("pool"), TIMEOUT);
+        lifeCycle.add("slow", new RecordingManaged("slow") {
+            @Override
+            public void start() throws Exception {
+                assertThat(release.await(5, TimeUnit.SECONDS)).isTrue();
+                super.start();
+            }
+
+            @Override
+            public void stop() {
+                super.stop();
+                stopped.countDown();
+            }
+        }, Duration.milliseconds(50), "pool");
+
+        assertThatExceptionOfType(TimeoutException.class)
+            .isThrownBy(lifeCycle::start)
+            .withMessageContaining("slow");
+        assertThat(events).containsExactly("pool started", "pool stopped");
+
+        release.countDown();
+
+        assertThat(stopped.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(events).containsExactly("pool started", "pool stopped", "slow started", "slow stopped");
+    }
+
+    @Test
+    void waitsForTheObjectsStillStartingWhenAnObjectFailsToStart() {
+        final IllegalStateException failure = new IllegalStateException("can't start");
+        final CountDownLatch failing = new CountDownLatch(1);
+        lifeCycle.add("pool", new RecordingManaged("pool") {
+            @Override
+            public void start() throws Exception {
+                assertThat(failing.await(5, TimeUnit.SECONDS)).isTrue();
+                Thread.sleep(100);
+                super.start();
+            }
+        }, TIMEOUT);
+        lifeCycle.add("broken", new RecordingManaged("broken") {
+            @Override
+            public void start() {
+                failing.countDown();
+                throw failure;
+            }
+        }, TIMEOUT);
+        lifeCycle.add("cache", new RecordingManaged("cache"), TIMEOUT, "pool");
+
+        assertThatExceptionOfType(IllegalStateException.class)
+            .isThrownBy(lifeCycle::start)
+            .isSameAs(failure);
+        assertThat(events).containsExactly("pool started", "pool stopped");
+    }
+
+    @Test
+    void stopsTheOtherObjectsWhenAnObjectFailsToStop() throws Exception {
+        final IllegalStateException failure = new IllegalStateException("can't stop");
+        lifeCycle.add("pool", new RecordingManaged("pool"), TIMEOUT);
+        lifeCycle.add("cache", new RecordingManaged("cache") {
+            @Override
+            public void stop() {
+                throw failure;
+            }
+        }, TIMEOUT, "pool");
+
+        lifeCycle.start();
+
+        assertThatExceptionOfType(IllegalStateException.class)
+            .isThrownBy(lifeCycle::stop)
+            .isSameAs(failure);
+        assertThat(events).containsExactly("pool started", "cache started", "pool stopped");
+    }
+
+    @Test
+    void rejectsUnmanagedDependencies() {
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> lifeCycle.add("cache", new RecordingManaged("cache"), TIMEOUT, "pool"))
+            .withMessage("Managed object cache depends on pool, which must be managed first");
+    }
+
+    @Test
+    void rejectsDuplicateNames() {
+        lifeCycle.add("pool", new RecordingManaged("pool"), TIMEOUT);
+
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> lifeCycle.add("pool", new RecordingManaged("pool"), TIMEOUT))
+            .withMessage("A managed object named pool is already managed");
+    }
+
+    private class RecordingManaged implements Managed {
+        private final String name;
+
+        private RecordingManaged(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void start() throws Exception {
+            events.add(name + " started");
+        }
+
+        @Override
+        public void stop() {
+            events.add(name + " stopped");
+        }
+    }
+
+    private static class AwaitingManaged implements Managed {
+        private final CountDownLatch latch;
+
+        private AwaitingManaged(CountDownLatch latch) {
+            this.latch = latch;
+        }
+
+        @Override
+        public void start() throws Exception {
+            latch.countDown();
+            if (!latch.await(5, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Not started in parallel");
+            }
+        }
+
+        @Override
+        public void stop() {
+        }
+    }
+}
@@ -7,11 +7,20 @@ import ch.qos.logback.core.Appender;
 import ch.qos.logback.core.AsyncAppenderBase;
 import ch.qos.logback.core.Context;
 import ch.qos.logback.core.LayoutBase;
+import ch.qos.logback.core.encoder.Encoder;
+import ch.qos.logback.core.encoder.LayoutWrappingEncoder;
 import ch.qos.logback.core.pattern.PatternLayoutBase;
 import ch.qos.logback.core.spi.DeferredProcessingAware;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricRegistry;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import io.dropwizard.logback.ThrottlingAppenderWrapper;
 import io.dropwizard.logging.async.AsyncAppenderFactory;
+import io.dropwizard.logging.async.AsyncAppenderType;
+import io.dropwizard.logging.async.RingBufferAsyncAppender;
+import io.dropwizard.logging.async.RingBufferAsyncLoggingEventAppender;
+import io.dropwizard.logging.async.WaitStrategy;
 import io.dropwizard.logging.filter.FilterFactory;
 import io.dropwizard.logging.layout.DiscoverableLayoutFactory;
 import io.dropwizard.logging.layout.LayoutFactory;
@@ -65,6 +74,25 @@ import java.util.concurrent.TimeUnit;
  *         <td>The maximum capacity of the blocking queue.</td>
  *     </tr>
  *     <tr>
+ *         <td>{@code asyncAppenderType}</td>
+ *         <td>{@code LOGBACK}</td>
+ *         <td>
+ *             The implementation of the asynchronous appender. {@code LOGBACK} queues events in a blocking queue,
+ *             while {@code RING_BUFFER} queues them in a lock-free ring buffer, whose size is rounded up to the next
+ *             power of two, and registers {@code queue-size} and {@code discarded} metrics when a metric registry
+ *             is available. The metrics are named after the appender, with an index when several appenders of the
+ *             same type are running.
+ *         </td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code waitStrategy}</td>
+ *         <td>{@code BLOCKING}</td>
+ *         <td>
+ *             How the worker of the {@code RING_BUFFER} appender waits for events: {@code BLOCKING},
+ *             {@code SLEEPING}, {@code YIELDING} or {@code BUSY_SPIN}. See {@link WaitStrategy}.
+ *         </td>
+ *     </tr>
+ *     <tr>
  *         <td>{@code includeCallerData}</td>
  *         <td>{@link AsyncAppenderBase}</td>
  *         <td>
@@ -134,6 +162,12 @@ public abstract class AbstractAppenderFactory<E extends DeferredProcessingAware>
 
     private boolean neverBlock = false;
 
+    @NotNull
+    private AsyncAppenderType asyncAppenderType = AsyncAppenderType.LOGBACK;
+
+    @NotNull
+    private WaitStrategy waitStrategy = WaitStrategy.BLOCKING;
+
     @JsonProperty
     public int getQueueSize() {
         return queueSize;
@@ -233,6 +267,38 @@ public abstract class AbstractAppenderFactory<E extends DeferredProcessingAware>
         this.neverBlock = neverBlock;
     }
 
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public AsyncAppenderType getAsyncAppenderType() {
+        return asyncAppenderType;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setAsyncAppenderType(AsyncAppenderType asyncAppenderType) {
+        this.asyncAppenderType = asyncAppenderType;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public WaitStrategy getWaitStrategy() {
+        return waitStrategy;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setWaitStrategy(WaitStrategy waitStrategy) {
+        this.waitStrategy = waitStrategy;
+    }
+
     @Nullable
     @JsonProperty
     public DiscoverableLayoutFactory<?> getLayout() {
@@ -248,10 +314,34 @@ public abstract class AbstractAppenderFactory<E extends DeferredProcessingAware>
         return wrapAsync(appender, asyncAppenderFactory, appender.getContext());
     }
 
+    /**
+     * Wraps the appender in an asynchronous appender, whose metrics are registered in the provided registry, if any.
+     *
+     * @since 2.1
+     */
+    protected Appender<E> wrapAsync(Appender<E> appender, AsyncAppenderFactory<E> asyncAppenderFactory,
+                                    @Nullable MetricRegistry metricRegistry) {
+        return wrapAsync(appender, asyncAppenderFactory, appender.getContext(), metricRegistry);
+    }
+
     protected Appender<E> wrapAsync(Appender<E> appender, AsyncAppenderFactory<E> asyncAppenderFactory, Context context) {
-        final AsyncAppenderBase<E> asyncAppender = asyncAppenderFactory.build();
+        return wrapAsync(appender, asyncAppenderFactory, context, null);
+    }
+
+    private Appender<E> wrapAsync(Appender<E> appender, AsyncAppenderFactory<E> asyncAppenderFactory, Context context,
+                                  @Nullable MetricRegistry metricRegistry) {
+        final AsyncAppenderBase<E> asyncAppender;
+        if (asyncAppenderType == AsyncAppenderType.RING_BUFFER) {
+            final RingBufferAsyncAppender<E> ringBufferAppender = asyncAppenderFactory.buildRingBuffer();
+            ringBufferAppender.setWaitStrategy(waitStrategy);
+            asyncAppender = ringBufferAppender;
+        } else {
+            asyncAppender = asyncAppenderFactory.build();
+        }
         if (asyncAppender instanceof AsyncAppender) {
             ((AsyncAppender) asyncAppender).setIncludeCallerData(includeCallerData);
+        } else if (asyncAppender instanceof RingBufferAsyncLoggingEventAppender) {
+            ((RingBufferAsyncLoggingEventAppender) asyncAppender).setIncludeCallerData(includeCallerData);
         }
         asyncAppender.setQueueSize(queueSize);
         asyncAppender.setDiscardingThreshold(discardingThreshold);
@@ -260,6 +350,9 @@ public abstract class AbstractAppenderFactory<E extends DeferredProcessingAware>
         asyncAppender.addAppender(appender);
         asyncAppender.setNeverBlock(neverBlock);
         asyncAppender.start();
+        if (metricRegistry != null && asyncAppender instanceof RingBufferAsyncAppender) {
+            registerMetrics((RingBufferAsyncAppender<E>) asyncAppender, metricRegistry);
+        }
         if (messageRate == null) {
             return asyncAppender;
         } else {
@@ -267,6 +360,53 @@ public abstract class AbstractAppenderFactory<E extends DeferredProcessingAware>
         }
     }
 
+    private void registerMetrics(RingBufferAsyncAppender<E> asyncAppender, MetricRegistry metricRegistry) {
+        // Appenders of the same type share their name, e.g. those of the application and of the request log, so the
+        // metrics of an appender which is still running are kept, and the next free index is added to the name
+        synchronized (metricRegistry) {
+            for (int index = 0; ; index++) {
+                final String prefix = index == 0 ? asyncAppender.getName() : asyncAppender.getName() + '-' + index;
+                final String queueSizeName = MetricRegistry.name(RingBufferAsyncAppender.class, prefix, "queue-size");
+                final String discardedName = MetricRegistry.name(RingBufferAsyncAppender.class, prefix, "discarded");
+                final Metric queueSize = metricRegistry.getMetrics().get(queueSizeName);
+                if (queueSize == null && !metricRegistry.getNames().contains(discardedName)) {
+                    register(asyncAppender, metricRegistry, queueSizeName, discardedName);
+                    return;
+                }
+                if (queueSize instanceof QueueSizeGauge && !((QueueSizeGauge) queueSize).appender.isStarted()) {
+                    // The logging was reconfigured, and the appender these metrics belong to was stopped
+                    metricRegistry.remove(queueSizeName);
+                    metricRegistry.remove(discardedName);
+                    register(asyncAppender, metricRegistry, queueSizeName, discardedName);
+                    return;
+                }
+            }
+        }
+    }
+
+    private void register(RingBufferAsyncAppender<E> asyncAppender, MetricRegistry metricRegistry,
+                          String queueSizeName, String discardedName) {
+        metricRegistry.register(queueSizeName, new QueueSizeGauge(asyncAppender));
+        metricRegistry.register(discardedName, asyncAppender.getDiscarded());
+    }
+
+    /**
+     * The number of events queued by an asynchronous appender, which keeps the appender so that its metrics are
+     * only replaced once it's stopped.
+     */
+    private static class QueueSizeGauge implements Gauge<Integer> {
+        private final RingBufferAsyncAppender<?> appender;
+
+        private QueueSizeGauge(RingBufferAsyncAppender<?> appender) {
+            this.appender = appender;
+        }
+
+        @Override
+        public Integer getValue() {
+            return appender.getNumberOfElementsInQueue();
+        }
+    }
+
     protected LayoutBase<E> buildLayout(LoggerContext context, LayoutFactory<E> defaultLayoutFactory) {
         final LayoutBase<E> layoutBase;
         if (layout == null) {
@@ -287,4 +427,21 @@ public abstract class AbstractAppenderFactory<E extends DeferredProcessingAware>
         layoutBase.start();
         return layoutBase;
     }
+
+    /**
+     * Builds the encoder which turns log events into bytes. Layouts which are able to encode events by themselves,
+     * such as the JSON layouts, are used directly; other layouts are wrapped in a {@link LayoutWrappingEncoder}.
+     *
+     * @since 2.1
+     */
+    @SuppressWarnings("unchecked")
+    protected Encoder<E> buildEncoder(LoggerContext context, LayoutFactory<E> defaultLayoutFactory) {
+        final LayoutBase<E> layoutBase = buildLayout(context, defaultLayoutFactory);
+        if (layoutBase instanceof Encoder) {
+            return (Encoder<E>) layoutBase;
+        }
+        final LayoutWrappingEncoder<E> layoutEncoder = new LayoutWrappingEncoder<>();
+        layoutEncoder.setLayout(layoutBase);
+        return layoutEncoder;
+    }
 }
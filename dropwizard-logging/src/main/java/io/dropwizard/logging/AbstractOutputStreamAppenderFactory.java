@@ -3,12 +3,14 @@ package io.dropwizard.logging;
 import ch.qos.logback.classic.LoggerContext;
 import ch.qos.logback.core.Appender;
 import ch.qos.logback.core.OutputStreamAppender;
-import ch.qos.logback.core.encoder.LayoutWrappingEncoder;
 import ch.qos.logback.core.spi.DeferredProcessingAware;
+import com.codahale.metrics.MetricRegistry;
 import io.dropwizard.logging.async.AsyncAppenderFactory;
 import io.dropwizard.logging.filter.LevelFilterFactory;
 import io.dropwizard.logging.layout.LayoutFactory;
 
+import javax.annotation.Nullable;
+
 /**
  * A base implementation of {@link AppenderFactory} producing an appender based on {@link OutputStreamAppender}.
  */
@@ -17,17 +19,38 @@ public abstract class AbstractOutputStreamAppenderFactory<E extends DeferredProc
 
     protected abstract OutputStreamAppender<E> appender(LoggerContext context);
 
+    /**
+     * Creates the appender, which may record its metrics in the provided registry. By default, the registry is
+     * ignored.
+     *
+     * @since 2.1
+     */
+    protected OutputStreamAppender<E> appender(LoggerContext context, MetricRegistry metricRegistry) {
+        return appender(context);
+    }
+
     @Override
     public Appender<E> build(LoggerContext context, String applicationName, LayoutFactory<E> layoutFactory,
                              LevelFilterFactory<E> levelFilterFactory, AsyncAppenderFactory<E> asyncAppenderFactory) {
-        final OutputStreamAppender<E> appender = appender(context);
-        final LayoutWrappingEncoder<E> layoutEncoder = new LayoutWrappingEncoder<>();
-        layoutEncoder.setLayout(buildLayout(context, layoutFactory));
-        appender.setEncoder(layoutEncoder);
+        return build(appender(context), context, layoutFactory, levelFilterFactory, asyncAppenderFactory, null);
+    }
+
+    @Override
+    public Appender<E> build(LoggerContext context, String applicationName, LayoutFactory<E> layoutFactory,
+                             LevelFilterFactory<E> levelFilterFactory, AsyncAppenderFactory<E> asyncAppenderFactory,
+                             MetricRegistry metricRegistry) {
+        return build(appender(context, metricRegistry), context, layoutFactory, levelFilterFactory,
+            asyncAppenderFactory, metricRegistry);
+    }
+
+    private Appender<E> build(OutputStreamAppender<E> appender, LoggerContext context, LayoutFactory<E> layoutFactory,
+                              LevelFilterFactory<E> levelFilterFactory, AsyncAppenderFactory<E> asyncAppenderFactory,
+                              @Nullable MetricRegistry metricRegistry) {
+        appender.setEncoder(buildEncoder(context, layoutFactory));
 
         appender.addFilter(levelFilterFactory.build(threshold));
         getFilterFactories().forEach(f -> appender.addFilter(f.build()));
         appender.start();
-        return wrapAsync(appender, asyncAppenderFactory);
+        return wrapAsync(appender, asyncAppenderFactory, metricRegistry);
     }
 }
@@ -3,6 +3,7 @@ package io.dropwizard.logging;
 import ch.qos.logback.classic.LoggerContext;
 import ch.qos.logback.core.Appender;
 import ch.qos.logback.core.spi.DeferredProcessingAware;
+import com.codahale.metrics.MetricRegistry;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import io.dropwizard.jackson.Discoverable;
 import io.dropwizard.logging.async.AsyncAppenderFactory;
@@ -42,4 +43,27 @@ public interface AppenderFactory<E extends DeferredProcessingAware> extends Disc
                                   LayoutFactory<E> layoutFactory,
                                   LevelFilterFactory<E> levelFilterFactory,
                                   AsyncAppenderFactory<E> asyncAppenderFactory);
+
+    /**
+     * Given a Logback context, an application name, a layout, a levelFilterFactory, an asyncAppenderFactory,
+     * and a metric registry build a new appender. Appenders which record metrics about themselves register them
+     * in the provided registry; by default, the registry is ignored.
+     *
+     * @param context              the Logback context
+     * @param applicationName      the application name
+     * @param layoutFactory        the factory for the layout for logging
+     * @param levelFilterFactory   the factory for the level filter
+     * @param asyncAppenderFactory the factory for the async appender
+     * @param metricRegistry       the registry in which the appender's metrics are recorded
+     * @return a new, started {@link Appender}
+     * @since 2.1
+     */
+    default Appender<E> build(LoggerContext context,
+                              String applicationName,
+                              LayoutFactory<E> layoutFactory,
+                              LevelFilterFactory<E> levelFilterFactory,
+                              AsyncAppenderFactory<E> asyncAppenderFactory,
+                              MetricRegistry metricRegistry) {
+        return build(context, applicationName, layoutFactory, levelFilterFactory, asyncAppenderFactory);
+    }
 }
@@ -125,7 +125,7 @@ public class DefaultLoggingFactory implements LoggingFactory {
         CHANGE_LOGGER_CONTEXT_LOCK.lock();
         final Logger root;
         try {
-            root = configureLoggers(name);
+            root = configureLoggers(name, metricRegistry);
         } finally {
             CHANGE_LOGGER_CONTEXT_LOCK.unlock();
         }
@@ -135,7 +135,8 @@ public class DefaultLoggingFactory implements LoggingFactory {
         final LayoutFactory<ILoggingEvent> layoutFactory = new DropwizardLayoutFactory();
 
         for (AppenderFactory<ILoggingEvent> output : appenders) {
-            root.addAppender(output.build(loggerContext, name, layoutFactory, levelFilterFactory, asyncAppenderFactory));
+            root.addAppender(output.build(loggerContext, name, layoutFactory, levelFilterFactory, asyncAppenderFactory,
+                metricRegistry));
         }
 
         StatusPrinter.setPrintStream(configurationErrorsStream);
@@ -241,7 +242,7 @@ public class DefaultLoggingFactory implements LoggingFactory {
         root.addAppender(appender);
     }
 
-    private Logger configureLoggers(String name) {
+    private Logger configureLoggers(String name, MetricRegistry metricRegistry) {
         final Logger root = loggerContext.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
         loggerContext.reset();
 
@@ -275,7 +276,8 @@ public class DefaultLoggingFactory implements LoggingFactory {
                 logger.setAdditive(configuration.isAdditive());
 
                 for (AppenderFactory<ILoggingEvent> appender : configuration.getAppenders()) {
-                    logger.addAppender(appender.build(loggerContext, name, layoutFactory, levelFilterFactory, asyncAppenderFactory));
+                    logger.addAppender(appender.build(loggerContext, name, layoutFactory, levelFilterFactory, asyncAppenderFactory,
+                        metricRegistry));
                 }
             } else {
                 throw new IllegalArgumentException("Unsupported format of logger '" + entry.getKey() + "'");
@@ -3,11 +3,14 @@ package io.dropwizard.logging;
 import ch.qos.logback.classic.LoggerContext;
 import ch.qos.logback.core.OutputStreamAppender;
 import ch.qos.logback.core.spi.DeferredProcessingAware;
+import com.codahale.metrics.MetricRegistry;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import io.dropwizard.logging.socket.DropwizardSocketAppender;
+import io.dropwizard.logging.socket.OverflowPolicy;
 import io.dropwizard.util.Duration;
 import io.dropwizard.util.DataSize;
+import io.dropwizard.validation.MaxDataSize;
 import io.dropwizard.validation.MinDataSize;
 import io.dropwizard.validation.PortRange;
 import javax.validation.constraints.NotEmpty;
@@ -51,7 +54,28 @@ import javax.validation.constraints.NotNull;
  * <td>8KiB</td>
  * <td>The buffer size of the underlying SocketAppender. Takes into effect if immediateFlush is disabled.</td>
  * </tr>
+ * <tr>
+ * <td>{@code nonBlocking}</td>
+ * <td>{@code false}</td>
+ * <td>If set to true, log events are queued in an off-heap buffer and sent by a dedicated thread, so a slow or
+ * unreachable server never delays the logging threads.</td>
+ * </tr>
+ * <tr>
+ * <td>{@code queueSize}</td>
+ * <td>1MiB</td>
+ * <td>The size of the buffer holding the log events waiting to be sent. Takes into effect if nonBlocking is
+ * enabled.</td>
+ * </tr>
+ * <tr>
+ * <td>{@code overflowPolicy}</td>
+ * <td>{@code DROP}</td>
+ * <td>What to do with a log event when the queue is full: {@code DROP} discards it, {@code BLOCK} waits until
+ * there is room for it. Takes into effect if nonBlocking is enabled.</td>
+ * </tr>
  * </table>
+ * <p/>
+ * In non-blocking mode, the number of queued bytes, dropped events and reconnections are recorded as the
+ * {@code queue-size} gauge, and the {@code dropped} and {@code reconnects} meters of the appender.
  */
 @JsonTypeName("tcp")
 public class TcpSocketAppenderFactory<E extends DeferredProcessingAware> extends AbstractOutputStreamAppenderFactory<E> {
@@ -70,6 +94,15 @@ public class TcpSocketAppenderFactory<E extends DeferredProcessingAware> extends
     @MinDataSize(1)
     private DataSize sendBufferSize = DataSize.kibibytes(8);
 
+    private boolean nonBlocking;
+
+    @MinDataSize(1)
+    @MaxDataSize(Integer.MAX_VALUE)
+    private DataSize queueSize = DataSize.mebibytes(1);
+
+    @NotNull
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+
     @JsonProperty
     public String getHost() {
         return host;
@@ -120,10 +153,64 @@ public class TcpSocketAppenderFactory<E extends DeferredProcessingAware> extends
         this.sendBufferSize = sendBufferSize;
     }
 
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public boolean isNonBlocking() {
+        return nonBlocking;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setNonBlocking(boolean nonBlocking) {
+        this.nonBlocking = nonBlocking;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public DataSize getQueueSize() {
+        return queueSize;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setQueueSize(DataSize queueSize) {
+        this.queueSize = queueSize;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+
     @Override
     protected OutputStreamAppender<E> appender(LoggerContext context) {
+        return appender(context, new MetricRegistry());
+    }
+
+    @Override
+    protected OutputStreamAppender<E> appender(LoggerContext context, MetricRegistry metricRegistry) {
         final OutputStreamAppender<E> appender = new DropwizardSocketAppender<>(host, port,
-            (int) connectionTimeout.toMilliseconds(), (int) sendBufferSize.toBytes(), socketFactory());
+            (int) connectionTimeout.toMilliseconds(), (int) sendBufferSize.toBytes(), socketFactory(),
+            nonBlocking ? (int) queueSize.toBytes() : 0, overflowPolicy, metricRegistry);
         appender.setContext(context);
         appender.setName("tcp-socket-appender");
         appender.setImmediateFlush(immediateFlush);
@@ -3,11 +3,19 @@ package io.dropwizard.logging;
 import ch.qos.logback.classic.LoggerContext;
 import ch.qos.logback.core.OutputStreamAppender;
 import ch.qos.logback.core.spi.DeferredProcessingAware;
+import com.codahale.metrics.MetricRegistry;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import io.dropwizard.logging.socket.DropwizardUdpSocketAppender;
+import io.dropwizard.util.DataSize;
+import io.dropwizard.util.Duration;
+import io.dropwizard.validation.MaxDataSize;
+import io.dropwizard.validation.MinDataSize;
+import io.dropwizard.validation.MinDuration;
 import io.dropwizard.validation.PortRange;
 import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import java.util.concurrent.TimeUnit;
 
 /**
  * An {@link AppenderFactory} implementation which provides an appender that writes events to an UDP socket.
@@ -29,7 +37,28 @@ import javax.validation.constraints.NotEmpty;
  * <td>{@code 514}</td>
  * <td>The port on which the UDP server is listening.</td>
  * </tr>
+ * <tr>
+ * <td>{@code flushInterval}</td>
+ * <td>{@code 0ms}</td>
+ * <td>How often pending log events are sent. If set to zero, every event is sent immediately in a datagram of its
+ * own; otherwise, events are packed into datagrams of at most {@code maxDatagramSize} bytes.</td>
+ * </tr>
+ * <tr>
+ * <td>{@code maxDatagramSize}</td>
+ * <td>1472 bytes</td>
+ * <td>The maximum size of a datagram holding several events. The default fits in a single Ethernet frame.
+ * An event which doesn't fit in a datagram on its own is sent in a datagram of its own.</td>
+ * </tr>
+ * <tr>
+ * <td>{@code resolveInterval}</td>
+ * <td>{@code 30s}</td>
+ * <td>How often the hostname of the UDP server is resolved again, in the background. If set to zero, it's only
+ * resolved once, when the appender starts.</td>
+ * </tr>
  * </table>
+ * <p/>
+ * The number of datagrams and bytes sent, and the number of dropped events, are recorded as the
+ * {@code sent}, {@code bytes} and {@code dropped} meters of the appender.
  */
 @JsonTypeName("udp")
 public class UdpSocketAppenderFactory<E extends DeferredProcessingAware> extends AbstractOutputStreamAppenderFactory<E> {
@@ -40,6 +69,19 @@ public class UdpSocketAppenderFactory<E extends DeferredProcessingAware> extends
     @PortRange
     private int port = 514;
 
+    @NotNull
+    @MinDuration(value = 0, unit = TimeUnit.MILLISECONDS)
+    private Duration flushInterval = Duration.milliseconds(0);
+
+    @NotNull
+    @MinDataSize(1)
+    @MaxDataSize(65507)
+    private DataSize maxDatagramSize = DataSize.bytes(1472);
+
+    @NotNull
+    @MinDuration(value = 0, unit = TimeUnit.MILLISECONDS)
+    private Duration resolveInterval = Duration.seconds(30);
+
     @JsonProperty
     public String getHost() {
         return host;
@@ -60,9 +102,65 @@ public class UdpSocketAppenderFactory<E extends DeferredProcessingAware> extends
         this.port = port;
     }
 
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public Duration getFlushInterval() {
+        return flushInterval;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setFlushInterval(Duration flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public DataSize getMaxDatagramSize() {
+        return maxDatagramSize;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setMaxDatagramSize(DataSize maxDatagramSize) {
+        this.maxDatagramSize = maxDatagramSize;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public Duration getResolveInterval() {
+        return resolveInterval;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @JsonProperty
+    public void setResolveInterval(Duration resolveInterval) {
+        this.resolveInterval = resolveInterval;
+    }
+
     @Override
     protected OutputStreamAppender<E> appender(LoggerContext context) {
-        final DropwizardUdpSocketAppender<E> appender = new DropwizardUdpSocketAppender<>(host, port);
+        // Only used when the appender is built without the registry of the application
+        return appender(context, new MetricRegistry());
+    }
+
+    @Override
+    protected OutputStreamAppender<E> appender(LoggerContext context, MetricRegistry metricRegistry) {
+        final DropwizardUdpSocketAppender<E> appender = new DropwizardUdpSocketAppender<>(host, port,
+            (int) maxDatagramSize.toBytes(), flushInterval.toMilliseconds(), resolveInterval.toMilliseconds(),
+            metricRegistry);
         appender.setContext(context);
         appender.setName("udp-socket-appender");
         return appender;
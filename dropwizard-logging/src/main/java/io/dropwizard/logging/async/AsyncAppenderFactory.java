@@ -14,4 +14,13 @@ public interface AsyncAppenderFactory<E extends DeferredProcessingAware> {
      * @return a new {@link AsyncAppenderBase}
      */
     AsyncAppenderBase<E> build();
+
+    /**
+     * Creates a {@link RingBufferAsyncAppender} of type E, which queues events in a lock-free ring buffer
+     * @return a new {@link RingBufferAsyncAppender}
+     * @since 2.1
+     */
+    default RingBufferAsyncAppender<E> buildRingBuffer() {
+        return new RingBufferAsyncAppender<>();
+    }
 }
@@ -0,0 +1,18 @@
+package io.dropwizard.logging.async;
+
+/**
+ * The implementation of the asynchronous appender which wraps the appenders.
+ *
+ * @since 2.1
+ */
+public enum AsyncAppenderType {
+    /**
+     * Logback's appender, backed by an {@link java.util.concurrent.ArrayBlockingQueue}.
+     */
+    LOGBACK,
+
+    /**
+     * A {@link RingBufferAsyncAppender}, backed by a lock-free ring buffer.
+     */
+    RING_BUFFER
+}
@@ -17,4 +17,14 @@ public class AsyncLoggingEventAppenderFactory implements AsyncAppenderFactory<IL
     public AsyncAppenderBase<ILoggingEvent> build() {
         return new AsyncAppender();
     }
+
+    /**
+     * Creates a {@link RingBufferAsyncAppender} of type {@link ILoggingEvent}
+     * @return the {@link RingBufferAsyncLoggingEventAppender}
+     * @since 2.1
+     */
+    @Override
+    public RingBufferAsyncAppender<ILoggingEvent> buildRingBuffer() {
+        return new RingBufferAsyncLoggingEventAppender();
+    }
 }
@@ -0,0 +1,107 @@
+package io.dropwizard.logging.async;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded, lock-free queue for many producers and a single consumer.
+ * <p>
+ * Every slot of the ring carries a sequence number, which tells producers whether the slot is free for the
+ * position they claimed, and tells the consumer whether the element of the slot has been published. Producers
+ * claim positions with a CAS on the tail; the consumer never contends with them.
+ *
+ * @param <E> the type of the elements
+ */
+class MpscRingBuffer<E> {
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicLongArray sequences;
+    private final AtomicReferenceArray<E> elements;
+    private final AtomicLong tail = new AtomicLong();
+
+    // Only written by the consumer
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * Creates a ring buffer which holds at least {@code minimumCapacity} elements. The actual capacity is the next
+     * power of two.
+     */
+    MpscRingBuffer(int minimumCapacity) {
+        int actualCapacity = 1;
+        while (actualCapacity < minimumCapacity && actualCapacity < MAX_CAPACITY) {
+            actualCapacity <<= 1;
+        }
+        this.capacity = actualCapacity;
+        this.mask = actualCapacity - 1;
+        this.sequences = new AtomicLongArray(actualCapacity);
+        this.elements = new AtomicReferenceArray<>(actualCapacity);
+        for (int i = 0; i < actualCapacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Adds an element to the queue, unless it's full.
+     *
+     * @return whether the element has been added
+     */
+    boolean offer(E element) {
+        long position = tail.get();
+        while (true) {
+            final int index = (int) position & mask;
+            final long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements.lazySet(index, element);
+                    // A full volatile write, so a parked consumer can't miss the element
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+            } else if (difference < 0) {
+                // The slot still holds the element from the previous lap
+                return false;
+            }
+            position = tail.get();
+        }
+    }
+
+    /**
+     * Moves the published elements to the provided array, in order, until it's full. Must only be called by the
+     * consumer.
+     *
+     * @return the number of elements moved
+     */
+    int drainTo(Object[] batch) {
+        long position = head.get();
+        int count = 0;
+        while (count < batch.length) {
+            final int index = (int) position & mask;
+            if (sequences.get(index) != position + 1) {
+                break;
+            }
+            batch[count++] = elements.get(index);
+            elements.lazySet(index, null);
+            sequences.lazySet(index, position + capacity);
+            position++;
+        }
+        head.lazySet(position);
+        return count;
+    }
+
+    boolean isEmpty() {
+        final long position = head.get();
+        return sequences.get((int) position & mask) != position + 1;
+    }
+
+    int size() {
+        final long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+
+    int capacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,220 @@
+package io.dropwizard.logging.async;
+
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.AsyncAppenderBase;
+import ch.qos.logback.core.spi.DeferredProcessingAware;
+import com.codahale.metrics.Meter;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An asynchronous appender which queues events in a lock-free ring buffer instead of an
+ * {@link java.util.concurrent.ArrayBlockingQueue}, so logging threads never contend on a lock.
+ * <p>
+ * The queue size is rounded up to the next power of two. A worker thread drains the queued events in batches and
+ * passes each batch to the attached appender, waiting for new events according to the configured
+ * {@link WaitStrategy} when the queue is empty. Like Logback's {@link AsyncAppenderBase}, discardable events are
+ * dropped when the remaining capacity of the queue falls below the discarding threshold, and logging threads either
+ * wait for room or drop their event when the queue is full, depending on {@code neverBlock}.
+ *
+ * @param <E> the type of log event
+ * @since 2.1
+ */
+public class RingBufferAsyncAppender<E extends DeferredProcessingAware> extends AsyncAppenderBase<E> {
+    private static final int MAX_BATCH_SIZE = 256;
+    private static final int SPIN_TRIES = 100;
+    private static final long SLEEP_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final Meter discarded = new Meter();
+    private WaitStrategy waitStrategy = WaitStrategy.BLOCKING;
+
+    @Nullable
+    private volatile MpscRingBuffer<E> ringBuffer;
+    @Nullable
+    private volatile Thread worker;
+    private volatile boolean running;
+    private volatile boolean workerParked;
+    private int effectiveDiscardingThreshold;
+
+    public WaitStrategy getWaitStrategy() {
+        return waitStrategy;
+    }
+
+    public void setWaitStrategy(WaitStrategy waitStrategy) {
+        this.waitStrategy = waitStrategy;
+    }
+
+    /**
+     * Returns the meter of the events which were discarded, either because the queue was filling up and they were
+     * discardable, or because the queue was full and {@code neverBlock} is set.
+     */
+    public Meter getDiscarded() {
+        return discarded;
+    }
+
+    @Override
+    protected void preprocess(E event) {
+        event.prepareForDeferredProcessing();
+    }
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+        if (!iteratorForAppenders().hasNext()) {
+            addError("No attached appenders found.");
+            return;
+        }
+        if (getQueueSize() < 1) {
+            addError("Invalid queue size [" + getQueueSize() + "]");
+            return;
+        }
+
+        final MpscRingBuffer<E> buffer = new MpscRingBuffer<>(getQueueSize());
+        effectiveDiscardingThreshold = getDiscardingThreshold() < 0 ? buffer.capacity() / 5 : getDiscardingThreshold();
+        ringBuffer = buffer;
+        running = true;
+
+        final Thread thread = new Thread(() -> drain(buffer), "RingBufferAsyncAppender-Worker-" + getName());
+        thread.setDaemon(true);
+        worker = thread;
+        thread.start();
+        started = true;
+        addInfo("Setting discardingThreshold to " + effectiveDiscardingThreshold);
+    }
+
+    @Override
+    public void stop() {
+        final Thread thread = worker;
+        if (!isStarted() || thread == null) {
+            return;
+        }
+        started = false;
+        running = false;
+        LockSupport.unpark(thread);
+
+        try {
+            thread.join(getMaxFlushTime());
+            if (thread.isAlive()) {
+                addWarn("Max queue flush timeout (" + getMaxFlushTime() + " ms) exceeded. Approximately " +
+                    getNumberOfElementsInQueue() + " queued events were possibly discarded.");
+                thread.interrupt();
+            } else {
+                addInfo("Queue flush finished successfully within timeout.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            addError("Failed to join worker thread. " + getNumberOfElementsInQueue() +
+                " queued events may be discarded.", e);
+        }
+        detachAndStopAllAppenders();
+    }
+
+    @Override
+    protected void append(E event) {
+        final MpscRingBuffer<E> buffer = requireNonNull(ringBuffer);
+        if (buffer.capacity() - buffer.size() < effectiveDiscardingThreshold && isDiscardable(event)) {
+            discarded.mark();
+            return;
+        }
+
+        preprocess(event);
+        int tries = 0;
+        while (!buffer.offer(event)) {
+            if (isNeverBlock() || !running) {
+                discarded.mark();
+                return;
+            }
+            if (tries++ < SPIN_TRIES) {
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(SLEEP_NANOS);
+            }
+        }
+
+        final Thread thread = worker;
+        if (workerParked && thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    @Override
+    public int getNumberOfElementsInQueue() {
+        final MpscRingBuffer<E> buffer = ringBuffer;
+        return buffer == null ? 0 : buffer.size();
+    }
+
+    @Override
+    public int getRemainingCapacity() {
+        final MpscRingBuffer<E> buffer = ringBuffer;
+        return buffer == null ? getQueueSize() : buffer.capacity() - buffer.size();
+    }
+
+    private void drain(MpscRingBuffer<E> buffer) {
+        final Object[] batch = new Object[MAX_BATCH_SIZE];
+        int idleTries = 0;
+        while (running) {
+            final int count = buffer.drainTo(batch);
+            if (count > 0) {
+                dispatch(batch, count);
+                idleTries = 0;
+            } else {
+                waitForEvents(buffer, idleTries);
+                idleTries = Math.min(idleTries + 1, SPIN_TRIES);
+            }
+        }
+
+        // Flush what's left, until stop() runs out of patience
+        int count;
+        while (!Thread.currentThread().isInterrupted() && (count = buffer.drainTo(batch)) > 0) {
+            dispatch(batch, count);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void dispatch(Object[] batch, int count) {
+        final Iterator<Appender<E>> appenders = iteratorForAppenders();
+        while (appenders.hasNext()) {
+            final Appender<E> appender = appenders.next();
+            for (int i = 0; i < count; i++) {
+                appender.doAppend((E) batch[i]);
+            }
+        }
+        Arrays.fill(batch, 0, count, null);
+    }
+
+    private void waitForEvents(MpscRingBuffer<E> buffer, int idleTries) {
+        switch (waitStrategy) {
+            case BUSY_SPIN:
+                break;
+            case YIELDING:
+                Thread.yield();
+                break;
+            case SLEEPING:
+                if (idleTries < SPIN_TRIES) {
+                    Thread.yield();
+                } else {
+                    LockSupport.parkNanos(SLEEP_NANOS);
+                }
+                break;
+            case BLOCKING:
+            default:
+                workerParked = true;
+                // Check again after announcing the worker is about to park, so a logging thread which queued an
+                // event in between either sees the flag and unparks the worker, or the event is seen here
+                if (running && buffer.isEmpty()) {
+                    LockSupport.parkNanos(this, MAX_PARK_NANOS);
+                }
+                workerParked = false;
+                break;
+        }
+    }
+}
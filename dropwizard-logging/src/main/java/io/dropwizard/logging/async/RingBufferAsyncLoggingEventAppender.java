@@ -0,0 +1,36 @@
+package io.dropwizard.logging.async;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+/**
+ * A {@link RingBufferAsyncAppender} for {@link ILoggingEvent}, which behaves like Logback's
+ * {@link ch.qos.logback.classic.AsyncAppender}: events of level {@code INFO} and below are discardable, and caller
+ * data is only extracted when {@code includeCallerData} is set.
+ *
+ * @since 2.1
+ */
+public class RingBufferAsyncLoggingEventAppender extends RingBufferAsyncAppender<ILoggingEvent> {
+    private boolean includeCallerData = false;
+
+    public boolean isIncludeCallerData() {
+        return includeCallerData;
+    }
+
+    public void setIncludeCallerData(boolean includeCallerData) {
+        this.includeCallerData = includeCallerData;
+    }
+
+    @Override
+    protected boolean isDiscardable(ILoggingEvent event) {
+        return event.getLevel().toInt() <= Level.INFO_INT;
+    }
+
+    @Override
+    protected void preprocess(ILoggingEvent event) {
+        event.prepareForDeferredProcessing();
+        if (includeCallerData) {
+            event.getCallerData();
+        }
+    }
+}
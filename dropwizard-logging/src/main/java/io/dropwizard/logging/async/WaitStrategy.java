@@ -0,0 +1,30 @@
+package io.dropwizard.logging.async;
+
+/**
+ * How the worker of a {@link RingBufferAsyncAppender} waits for new events when its queue is empty.
+ *
+ * @since 2.1
+ */
+public enum WaitStrategy {
+    /**
+     * Park the worker until an event is queued. Doesn't use any CPU while idle, but waking the worker up costs
+     * the logging thread a system call.
+     */
+    BLOCKING,
+
+    /**
+     * Yield for a while, then sleep for short periods of time. Logging threads never have to wake the worker up,
+     * at the cost of a slightly higher latency.
+     */
+    SLEEPING,
+
+    /**
+     * Keep yielding to other threads. Lower latency, but keeps a core busy when other threads are idle.
+     */
+    YIELDING,
+
+    /**
+     * Keep polling the queue. Lowest latency, but always keeps a core busy.
+     */
+    BUSY_SPIN
+}
@@ -0,0 +1,120 @@
+package io.dropwizard.logging.socket;
+
+import com.codahale.metrics.Meter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.UnresolvedAddressException;
+
+/**
+ * An output stream which sends the log events written to it as UDP datagrams through a non-blocking
+ * {@link DatagramChannel}.
+ * <p>
+ * Every {@link #write(byte[], int, int)} is expected to carry exactly one encoded event. If batching is enabled,
+ * events are packed into datagrams of at most {@code maxDatagramSize} bytes, which are sent when they are full or
+ * when the stream is flushed; otherwise, or if an event doesn't fit in a datagram on its own, every event is sent
+ * in a datagram of its own. The target address is resolved when the stream is created, and again on every
+ * {@link #resolve()}, which does blocking name lookups and so must not be called from the logging threads.
+ * <p>
+ * Sending a datagram never fails the appender: datagrams which can't be sent, because the socket buffer is full or
+ * the target can't be resolved, are dropped and counted.
+ */
+class DatagramChannelOutputStream extends OutputStream {
+    private final String host;
+    private final int port;
+    private final DatagramChannel channel;
+    private final ByteBuffer datagram;
+    private final boolean batching;
+    private final Meter sent;
+    private final Meter dropped;
+    private final Meter bytes;
+
+    private volatile InetSocketAddress target;
+    private int pendingEvents;
+
+    DatagramChannelOutputStream(String host, int port, int maxDatagramSize, boolean batching,
+                                Meter sent, Meter dropped, Meter bytes) throws IOException {
+        this.host = host;
+        this.port = port;
+        this.datagram = ByteBuffer.allocateDirect(maxDatagramSize);
+        this.batching = batching;
+        this.sent = sent;
+        this.dropped = dropped;
+        this.bytes = bytes;
+        this.channel = DatagramChannel.open();
+        this.channel.configureBlocking(false);
+        this.target = new InetSocketAddress(host, port);
+    }
+
+    @Override
+    public void write(int b) {
+        throw new UnsupportedOperationException("Datagram doesn't work at byte level");
+    }
+
+    @Override
+    public synchronized void write(byte[] b, int off, int len) {
+        if (len > datagram.remaining()) {
+            flush();
+        }
+        if (len > datagram.capacity()) {
+            send(ByteBuffer.wrap(b, off, len), 1);
+        } else {
+            datagram.put(b, off, len);
+            pendingEvents++;
+            if (!batching) {
+                flush();
+            }
+        }
+    }
+
+    /**
+     * Sends the pending events, if any, in a single datagram.
+     */
+    @Override
+    public synchronized void flush() {
+        if (pendingEvents == 0) {
+            return;
+        }
+        datagram.flip();
+        send(datagram, pendingEvents);
+        datagram.clear();
+        pendingEvents = 0;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Resolves the hostname of the target again.
+     */
+    void resolve() {
+        final InetSocketAddress resolved = new InetSocketAddress(host, port);
+        // Keep sending to the last known address if the name can't be resolved anymore
+        if (!resolved.isUnresolved() || target.isUnresolved()) {
+            target = resolved;
+        }
+    }
+
+    private void send(ByteBuffer buffer, int events) {
+        try {
+            final int sentBytes = channel.send(buffer, target);
+            if (sentBytes == 0) {
+                dropped.mark(events);
+            } else {
+                sent.mark();
+                bytes.mark(sentBytes);
+            }
+        } catch (IOException | UnresolvedAddressException e) {
+            dropped.mark(events);
+        }
+    }
+}
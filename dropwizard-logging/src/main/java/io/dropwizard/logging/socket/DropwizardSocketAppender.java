@@ -1,14 +1,23 @@
 package io.dropwizard.logging.socket;
 
 import ch.qos.logback.core.OutputStreamAppender;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
 import io.dropwizard.logging.ResilientSocketOutputStream;
 import ch.qos.logback.core.spi.DeferredProcessingAware;
 
 import javax.net.SocketFactory;
 import java.io.OutputStream;
 
+import static com.codahale.metrics.MetricRegistry.name;
+
 /**
  * Sends log events to a TCP server, a connection to which is represented as {@link ResilientSocketOutputStream}.
+ * <p>
+ * If a queue size is set, events are instead queued in a bounded, off-heap buffer and sent by a dedicated thread,
+ * so a slow or unreachable server never blocks the logging threads unless the {@link OverflowPolicy} says so.
+ * The number of queued bytes, dropped events and reconnections are then recorded in the provided
+ * {@link MetricRegistry}.
  */
 public class DropwizardSocketAppender<E extends DeferredProcessingAware> extends OutputStreamAppender<E> {
 
@@ -17,19 +26,44 @@ public class DropwizardSocketAppender<E extends DeferredProcessingAware> extends
     private final int connectionTimeoutMs;
     private final int sendBufferSize;
     private final SocketFactory socketFactory;
+    private final int queueSize;
+    private final OverflowPolicy overflowPolicy;
+    private final MetricRegistry metricRegistry;
 
     public DropwizardSocketAppender(String host, int port, int connectionTimeoutMs, int sendBufferSize,
                                     SocketFactory socketFactory) {
+        this(host, port, connectionTimeoutMs, sendBufferSize, socketFactory, 0, OverflowPolicy.DROP,
+            new MetricRegistry());
+    }
+
+    /**
+     * @param host                the hostname of the TCP server
+     * @param port                the port on which the TCP server is listening
+     * @param connectionTimeoutMs the timeout for establishing a new TCP connection
+     * @param sendBufferSize      the size of the send buffer of the socket stream in bytes
+     * @param socketFactory       the factory for customizing the client socket
+     * @param queueSize           the size, in bytes, of the queue of events waiting to be sent by a dedicated
+     *                            thread, or {@code 0} to write the events directly to the socket
+     * @param overflowPolicy      what to do with an event when the queue is full
+     * @param metricRegistry      the registry in which the queue's metrics are recorded
+     * @since 2.1
+     */
+    public DropwizardSocketAppender(String host, int port, int connectionTimeoutMs, int sendBufferSize,
+                                    SocketFactory socketFactory, int queueSize, OverflowPolicy overflowPolicy,
+                                    MetricRegistry metricRegistry) {
         this.host = host;
         this.port = port;
         this.connectionTimeoutMs = connectionTimeoutMs;
         this.sendBufferSize = sendBufferSize;
         this.socketFactory = socketFactory;
+        this.queueSize = queueSize;
+        this.overflowPolicy = overflowPolicy;
+        this.metricRegistry = metricRegistry;
     }
 
     @Override
     public void start() {
-        setOutputStream(socketOutputStream());
+        setOutputStream(queueSize > 0 ? nonBlockingSocketOutputStream() : socketOutputStream());
         super.start();
     }
 
@@ -39,5 +73,18 @@ public class DropwizardSocketAppender<E extends DeferredProcessingAware> extends
         outputStream.setContext(context);
         return outputStream;
     }
-}
 
+    private OutputStream nonBlockingSocketOutputStream() {
+        final String prefix = name(DropwizardSocketAppender.class, host + ':' + port);
+        final NonBlockingSocketOutputStream outputStream = new NonBlockingSocketOutputStream(host, port,
+            connectionTimeoutMs, queueSize, overflowPolicy, socketFactory,
+            metricRegistry.meter(name(prefix, "dropped")),
+            metricRegistry.meter(name(prefix, "reconnects")));
+        // Replace the gauge of a previous appender to the same server, whose queue is gone
+        final String queueSizeName = name(prefix, "queue-size");
+        metricRegistry.remove(queueSizeName);
+        metricRegistry.register(queueSizeName, (Gauge<Integer>) outputStream::getQueueSize);
+        outputStream.start();
+        return outputStream;
+    }
+}
@@ -2,56 +2,131 @@ package io.dropwizard.logging.socket;
 
 import ch.qos.logback.core.OutputStreamAppender;
 import ch.qos.logback.core.spi.DeferredProcessingAware;
+import com.codahale.metrics.MetricRegistry;
 
+import javax.annotation.Nullable;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.net.DatagramPacket;
-import java.net.DatagramSocket;
-import java.net.InetAddress;
-import java.net.SocketException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static com.codahale.metrics.MetricRegistry.name;
 
 /**
  * Sends log events to a UDP server, a connection to which is represented as a stream.
+ * <p>
+ * The events are sent through a single {@link java.nio.channels.DatagramChannel}. If a flush interval is set,
+ * events are packed into datagrams of at most {@code maxDatagramSize} bytes, which are sent when they are full
+ * or at the end of every flush interval; otherwise, every event is sent in a datagram of its own. The hostname of
+ * the server is resolved again at every resolve interval, by the scheduler of the Logback context rather than by the
+ * logging threads.
+ * The number of datagrams and bytes sent, and the number of events dropped, are recorded in the provided
+ * {@link MetricRegistry}.
  */
 public class DropwizardUdpSocketAppender<E extends DeferredProcessingAware> extends OutputStreamAppender<E> {
 
+    private static final int DEFAULT_MAX_DATAGRAM_SIZE = 1472;
+    private static final long DEFAULT_RESOLVE_INTERVAL_MS = 30_000;
+
     private final String host;
     private final int port;
+    private final int maxDatagramSize;
+    private final long flushIntervalMs;
+    private final long resolveIntervalMs;
+    private final MetricRegistry metricRegistry;
+
+    @Nullable
+    private ScheduledFuture<?> flushTask;
+
+    @Nullable
+    private ScheduledFuture<?> resolveTask;
 
     public DropwizardUdpSocketAppender(String host, int port) {
+        this(host, port, DEFAULT_MAX_DATAGRAM_SIZE, 0, DEFAULT_RESOLVE_INTERVAL_MS, new MetricRegistry());
+    }
+
+    /**
+     * @param host              the hostname of the UDP server
+     * @param port              the port on which the UDP server is listening
+     * @param maxDatagramSize   the maximum size, in bytes, of a datagram holding several events
+     * @param flushIntervalMs   how often pending events are sent, or {@code 0} to send every event immediately
+     * @param resolveIntervalMs how often the hostname is resolved again, or {@code 0} to resolve it only once
+     * @param metricRegistry    the registry in which the appender's metrics are recorded
+     * @since 2.1
+     */
+    public DropwizardUdpSocketAppender(String host, int port, int maxDatagramSize, long flushIntervalMs,
+                                       long resolveIntervalMs, MetricRegistry metricRegistry) {
         this.host = host;
         this.port = port;
+        this.maxDatagramSize = maxDatagramSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.resolveIntervalMs = resolveIntervalMs;
+        this.metricRegistry = metricRegistry;
     }
 
     @Override
     public void start() {
-        setOutputStream(datagramSocketOutputStream(host, port));
+        final OutputStream outputStream = datagramSocketOutputStream(host, port);
+        setOutputStream(outputStream);
+        if (flushIntervalMs > 0) {
+            setImmediateFlush(false);
+            final ScheduledFuture<?> task = getContext().getScheduledExecutorService().scheduleAtFixedRate(
+                () -> flush(outputStream), flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+            getContext().addScheduledFuture(task);
+            flushTask = task;
+        }
+        if (resolveIntervalMs > 0 && outputStream instanceof DatagramChannelOutputStream) {
+            final ScheduledFuture<?> task = getContext().getScheduledExecutorService().scheduleWithFixedDelay(
+                ((DatagramChannelOutputStream) outputStream)::resolve, resolveIntervalMs, resolveIntervalMs,
+                TimeUnit.MILLISECONDS);
+            getContext().addScheduledFuture(task);
+            resolveTask = task;
+        }
         super.start();
     }
 
+    @Override
+    public void stop() {
+        if (flushTask != null) {
+            flushTask.cancel(false);
+            flushTask = null;
+        }
+        if (resolveTask != null) {
+            resolveTask.cancel(false);
+            resolveTask = null;
+        }
+        super.stop();
+    }
+
     protected OutputStream datagramSocketOutputStream(String host, int port) {
+        final String prefix = name(DropwizardUdpSocketAppender.class, host + ':' + port);
         try {
-            return new OutputStream() {
-                private final DatagramSocket datagramSocket = new DatagramSocket();
-
-                @Override
-                public void write(int b) throws IOException {
-                    throw new UnsupportedOperationException("Datagram doesn't work at byte level");
-                }
-
-                @Override
-                public void write(byte[] b, int off, int len) throws IOException {
-                    // Important not to cache InetAddress and let the JVM/OS to handle DNS caching.
-                    datagramSocket.send(new DatagramPacket(b, off, len, InetAddress.getByName(host), port));
-                }
-
-                @Override
-                public void close() throws IOException {
-                    datagramSocket.close();
-                }
-            };
-        } catch (SocketException e) {
+            return new DatagramChannelOutputStream(host, port, maxDatagramSize, flushIntervalMs > 0,
+                metricRegistry.meter(name(prefix, "sent")),
+                metricRegistry.meter(name(prefix, "dropped")),
+                metricRegistry.meter(name(prefix, "bytes")));
+        } catch (IOException e) {
             throw new IllegalStateException("Unable to create a datagram socket", e);
         }
     }
+
+    private void flush(OutputStream outputStream) {
+        try {
+            outputStream.flush();
+        } catch (IOException e) {
+            addError("Unable to flush pending log events", e);
+        }
+    }
+
+    public int getMaxDatagramSize() {
+        return maxDatagramSize;
+    }
+
+    public long getFlushIntervalMs() {
+        return flushIntervalMs;
+    }
+
+    public long getResolveIntervalMs() {
+        return resolveIntervalMs;
+    }
 }
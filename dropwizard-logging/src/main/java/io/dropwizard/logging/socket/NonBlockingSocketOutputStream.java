@@ -0,0 +1,308 @@
+package io.dropwizard.logging.socket;
+
+import com.codahale.metrics.Meter;
+
+import javax.annotation.Nullable;
+import javax.net.SocketFactory;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An output stream which queues log events in a bounded, off-heap ring buffer, and sends them to a TCP server from
+ * a dedicated thread, so writing an event never waits on the network.
+ * <p>
+ * Every {@link #write(byte[], int, int)} is expected to carry exactly one encoded event. When there isn't enough
+ * room left in the queue for an event, it is either dropped or the writing thread waits, depending on the
+ * {@link OverflowPolicy}. The sending thread writes everything that is queued at once, with a gathering write when
+ * the queued bytes wrap around the end of the ring buffer, and reconnects with an exponential backoff when the
+ * connection fails.
+ */
+class NonBlockingSocketOutputStream extends OutputStream {
+    private static final long MIN_RECONNECTION_DELAY_MS = 100;
+    private static final long MAX_RECONNECTION_DELAY_MS = 10_000;
+    private static final long CLOSE_TIMEOUT_MS = 1_000;
+    private static final int STREAM_CHUNK_SIZE = 8192;
+
+    private final String host;
+    private final int port;
+    private final int connectionTimeoutMs;
+    private final SocketFactory socketFactory;
+    private final OverflowPolicy overflowPolicy;
+    private final Meter dropped;
+    private final Meter reconnects;
+    private final Thread sender;
+
+    private final ByteBuffer ring;
+    private final ByteBuffer writeView;
+    private final ByteBuffer[] readViews;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+
+    // Guarded by lock
+    private int readIndex;
+    private int size;
+    private boolean closed;
+
+    // Only accessed by the sending thread
+    @Nullable
+    private Socket socket;
+    @Nullable
+    private SocketChannel channel;
+    @Nullable
+    private byte[] chunk;
+
+    NonBlockingSocketOutputStream(String host, int port, int connectionTimeoutMs, int queueSize,
+                                  OverflowPolicy overflowPolicy, SocketFactory socketFactory,
+                                  Meter dropped, Meter reconnects) {
+        this.host = host;
+        this.port = port;
+        this.connectionTimeoutMs = connectionTimeoutMs;
+        this.socketFactory = socketFactory;
+        this.overflowPolicy = overflowPolicy;
+        this.dropped = dropped;
+        this.reconnects = reconnects;
+        this.ring = ByteBuffer.allocateDirect(queueSize);
+        this.writeView = ring.duplicate();
+        this.readViews = new ByteBuffer[]{ring.duplicate(), ring.duplicate()};
+        this.sender = new Thread(this::send, "tcp-socket-appender[" + host + ":" + port + "]");
+        this.sender.setDaemon(true);
+    }
+
+    void start() {
+        sender.start();
+    }
+
+    /**
+     * Returns the number of bytes waiting to be sent.
+     */
+    int getQueueSize() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void write(int b) {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        if (len > ring.capacity()) {
+            dropped.mark();
+            return;
+        }
+
+        lock.lock();
+        try {
+            while (!closed && ring.capacity() - size < len) {
+                if (overflowPolicy == OverflowPolicy.DROP) {
+                    dropped.mark();
+                    return;
+                }
+                notFull.await();
+            }
+            if (closed) {
+                dropped.mark();
+                return;
+            }
+
+            final int writeIndex = (readIndex + size) % ring.capacity();
+            final int head = Math.min(len, ring.capacity() - writeIndex);
+            writeView.limit(ring.capacity());
+            writeView.position(writeIndex);
+            writeView.put(b, off, head);
+            if (head < len) {
+                writeView.position(0);
+                writeView.put(b, off + head, len - head);
+            }
+            size += len;
+            notEmpty.signal();
+        } catch (InterruptedException e) {
+            dropped.mark();
+            Thread.currentThread().interrupt();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Does nothing, as queued events are sent as soon as possible.
+     */
+    @Override
+    public void flush() {
+        // Nothing to do
+    }
+
+    /**
+     * Stops accepting events, and waits for a short while for the queued events to be sent.
+     */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            closed = true;
+            notEmpty.signal();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            sender.join(CLOSE_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Give up on the events which couldn't be sent in time
+        sender.interrupt();
+    }
+
+    private void send() {
+        long reconnectionDelayMs = MIN_RECONNECTION_DELAY_MS;
+        boolean failed = false;
+        while (true) {
+            final int start;
+            final int length;
+            lock.lock();
+            try {
+                while (size == 0 && !closed) {
+                    notEmpty.await();
+                }
+                if (size == 0) {
+                    break;
+                }
+                start = readIndex;
+                length = size;
+            } catch (InterruptedException e) {
+                break;
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                if (failed) {
+                    reconnects.mark();
+                }
+                final int written = write(start, length);
+                release(written);
+                failed = false;
+                reconnectionDelayMs = MIN_RECONNECTION_DELAY_MS;
+            } catch (IOException e) {
+                disconnect();
+                failed = true;
+                try {
+                    TimeUnit.MILLISECONDS.sleep(reconnectionDelayMs);
+                } catch (InterruptedException ie) {
+                    break;
+                }
+                reconnectionDelayMs = Math.min(reconnectionDelayMs * 2, MAX_RECONNECTION_DELAY_MS);
+            }
+        }
+        disconnect();
+    }
+
+    private void release(int written) {
+        lock.lock();
+        try {
+            readIndex = (readIndex + written) % ring.capacity();
+            size -= written;
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int write(int start, int length) throws IOException {
+        final int head = Math.min(length, ring.capacity() - start);
+        final ByteBuffer first = readViews[0];
+        first.limit(start + head);
+        first.position(start);
+        final ByteBuffer second = readViews[1];
+        second.limit(length - head);
+        second.position(0);
+
+        if (channel == null && socket == null) {
+            connect();
+        }
+        final SocketChannel currentChannel = channel;
+        if (currentChannel != null) {
+            // A blocking channel writes everything it's given
+            return (int) currentChannel.write(readViews, 0, head < length ? 2 : 1);
+        }
+        final OutputStream outputStream = requireNonNull(socket).getOutputStream();
+        copy(first, outputStream);
+        copy(second, outputStream);
+        outputStream.flush();
+        return length;
+    }
+
+    private void copy(ByteBuffer buffer, OutputStream outputStream) throws IOException {
+        byte[] bytes = chunk;
+        if (bytes == null) {
+            bytes = new byte[STREAM_CHUNK_SIZE];
+            chunk = bytes;
+        }
+        while (buffer.hasRemaining()) {
+            final int length = Math.min(bytes.length, buffer.remaining());
+            buffer.get(bytes, 0, length);
+            outputStream.write(bytes, 0, length);
+        }
+    }
+
+    private void connect() throws IOException {
+        // Important not to cache `InetAddress` in case the host moved to a new IP address.
+        final InetSocketAddress address = new InetSocketAddress(host, port);
+        if (socketFactory == SocketFactory.getDefault()) {
+            // Plain TCP connections are opened as channels, so they can send both parts of the queue at once
+            final SocketChannel newChannel = SocketChannel.open();
+            try {
+                newChannel.socket().setKeepAlive(true);
+                newChannel.socket().connect(address, connectionTimeoutMs);
+            } catch (IOException e) {
+                newChannel.close();
+                throw e;
+            }
+            channel = newChannel;
+        } else {
+            final Socket newSocket = socketFactory.createSocket();
+            try {
+                newSocket.setKeepAlive(true);
+                newSocket.connect(address, connectionTimeoutMs);
+            } catch (IOException e) {
+                newSocket.close();
+                throw e;
+            }
+            socket = newSocket;
+        }
+    }
+
+    private void disconnect() {
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+            if (socket != null) {
+                socket.close();
+            }
+        } catch (IOException e) {
+            // Ignored, the connection is reopened anyway
+        } finally {
+            channel = null;
+            socket = null;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package io.dropwizard.logging.socket;
+
+/**
+ * What to do with a log event when the queue of events waiting to be sent to a log server is full.
+ *
+ * @since 2.1
+ */
+public enum OverflowPolicy {
+    /**
+     * Discard the event, so the logging thread is never delayed by a slow or unreachable server.
+     */
+    DROP,
+
+    /**
+     * Wait until there is room in the queue for the event.
+     */
+    BLOCK
+}
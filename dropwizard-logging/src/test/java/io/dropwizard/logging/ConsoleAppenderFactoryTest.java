@@ -5,8 +5,13 @@ import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.Appender;
+import com.codahale.metrics.MetricRegistry;
 import io.dropwizard.jackson.DiscoverableSubtypeResolver;
+import io.dropwizard.logging.async.AsyncAppenderType;
 import io.dropwizard.logging.async.AsyncLoggingEventAppenderFactory;
+import io.dropwizard.logging.async.RingBufferAsyncAppender;
+import io.dropwizard.logging.async.RingBufferAsyncLoggingEventAppender;
+import io.dropwizard.logging.async.WaitStrategy;
 import io.dropwizard.logging.filter.NullLevelFilterFactory;
 import io.dropwizard.logging.layout.DropwizardLayoutFactory;
 import org.junit.jupiter.api.Test;
@@ -80,5 +85,71 @@ class ConsoleAppenderFactoryTest {
 
         assertThat(asyncAppender.isNeverBlock()).isFalse();
     }
-    
+
+    @Test
+    void buildsRingBufferAppender() {
+        final ConsoleAppenderFactory<ILoggingEvent> consoleAppenderFactory = new ConsoleAppenderFactory<>();
+        consoleAppenderFactory.setAsyncAppenderType(AsyncAppenderType.RING_BUFFER);
+        consoleAppenderFactory.setWaitStrategy(WaitStrategy.SLEEPING);
+        consoleAppenderFactory.setIncludeCallerData(true);
+        consoleAppenderFactory.setNeverBlock(true);
+        final MetricRegistry metricRegistry = new MetricRegistry();
+
+        final Appender<ILoggingEvent> appender = consoleAppenderFactory.build(new LoggerContext(), "test",
+            new DropwizardLayoutFactory(), new NullLevelFilterFactory<>(), new AsyncLoggingEventAppenderFactory(),
+            metricRegistry);
+        try {
+            assertThat(appender).isInstanceOfSatisfying(RingBufferAsyncLoggingEventAppender.class, asyncAppender -> {
+                assertThat(asyncAppender.isStarted()).isTrue();
+                assertThat(asyncAppender.getName()).isEqualTo("async-console-appender");
+                assertThat(asyncAppender.getWaitStrategy()).isEqualTo(WaitStrategy.SLEEPING);
+                assertThat(asyncAppender.isIncludeCallerData()).isTrue();
+                assertThat(asyncAppender.isNeverBlock()).isTrue();
+            });
+            assertThat(metricRegistry.getNames()).contains(
+                MetricRegistry.name(RingBufferAsyncAppender.class, "async-console-appender", "queue-size"),
+                MetricRegistry.name(RingBufferAsyncAppender.class, "async-console-appender", "discarded"));
+        } finally {
+            appender.stop();
+        }
+    }
+
+    @Test
+    void keepsTheMetricsOfRunningRingBufferAppendersOfTheSameType() {
+        final ConsoleAppenderFactory<ILoggingEvent> consoleAppenderFactory = new ConsoleAppenderFactory<>();
+        consoleAppenderFactory.setAsyncAppenderType(AsyncAppenderType.RING_BUFFER);
+        final MetricRegistry metricRegistry = new MetricRegistry();
+        final String queueSize = MetricRegistry.name(RingBufferAsyncAppender.class, "async-console-appender",
+            "queue-size");
+        final String secondQueueSize = MetricRegistry.name(RingBufferAsyncAppender.class, "async-console-appender-1",
+            "queue-size");
+
+        final Appender<ILoggingEvent> first = build(consoleAppenderFactory, metricRegistry);
+        final Appender<ILoggingEvent> second = build(consoleAppenderFactory, metricRegistry);
+        try {
+            assertThat(metricRegistry.getNames()).contains(queueSize, secondQueueSize,
+                MetricRegistry.name(RingBufferAsyncAppender.class, "async-console-appender-1", "discarded"));
+            final Object firstQueueSize = metricRegistry.getGauges().get(queueSize);
+
+            // The logging is reconfigured
+            first.stop();
+            final Appender<ILoggingEvent> replacement = build(consoleAppenderFactory, metricRegistry);
+            try {
+                assertThat(metricRegistry.getGauges().get(queueSize)).isNotSameAs(firstQueueSize);
+                assertThat(metricRegistry.getNames()).doesNotContain(
+                    MetricRegistry.name(RingBufferAsyncAppender.class, "async-console-appender-2", "queue-size"));
+            } finally {
+                replacement.stop();
+            }
+        } finally {
+            first.stop();
+            second.stop();
+        }
+    }
+
+    private static Appender<ILoggingEvent> build(ConsoleAppenderFactory<ILoggingEvent> consoleAppenderFactory,
+                                                 MetricRegistry metricRegistry) {
+        return consoleAppenderFactory.build(new LoggerContext(), "test", new DropwizardLayoutFactory(),
+            new NullLevelFilterFactory<>(), new AsyncLoggingEventAppenderFactory(), metricRegistry);
+    }
 }
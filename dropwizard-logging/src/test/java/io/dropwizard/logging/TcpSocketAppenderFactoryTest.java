@@ -6,6 +6,8 @@ import io.dropwizard.configuration.ResourceConfigurationSourceProvider;
 import io.dropwizard.configuration.SubstitutingSourceProvider;
 import io.dropwizard.configuration.YamlConfigurationFactory;
 import io.dropwizard.jackson.Jackson;
+import io.dropwizard.logging.socket.DropwizardSocketAppender;
+import io.dropwizard.logging.socket.OverflowPolicy;
 import io.dropwizard.util.DataSize;
 import io.dropwizard.util.Duration;
 import io.dropwizard.validation.BaseValidator;
@@ -98,4 +100,33 @@ class TcpSocketAppenderFactoryTest {
         tcpServer.getLatch().await(5, TimeUnit.SECONDS);
         assertThat(tcpServer.getLatch().getCount()).isZero();
     }
+
+    @Test
+    void testNonBlockingTcpLogging() throws Exception {
+        DefaultLoggingFactory loggingFactory = yamlConfigurationFactory.build(new SubstitutingSourceProvider(
+            new ResourceConfigurationSourceProvider(),
+                new StringSubstitutor(Collections.singletonMap("tcp.server.port", tcpServer.getPort()))),
+            "yaml/logging-tcp-non-blocking.yml");
+        assertThat(loggingFactory.getAppenders())
+            .singleElement()
+            .isInstanceOfSatisfying(TcpSocketAppenderFactory.class, factory -> {
+                assertThat(factory.isNonBlocking()).isTrue();
+                assertThat(factory.getQueueSize()).isEqualTo(DataSize.kibibytes(64));
+                assertThat(factory.getOverflowPolicy()).isEqualTo(OverflowPolicy.BLOCK);
+            });
+        MetricRegistry metricRegistry = new MetricRegistry();
+        loggingFactory.configure(metricRegistry, "tcp-test");
+
+        Logger logger = LoggerFactory.getLogger("com.example.app");
+        for (int i = 0; i < tcpServer.getMessageCount(); i++) {
+            logger.info("Application log {}", i);
+        }
+
+        tcpServer.getLatch().await(5, TimeUnit.SECONDS);
+        assertThat(tcpServer.getLatch().getCount()).isZero();
+        String prefix = MetricRegistry.name(DropwizardSocketAppender.class, "localhost:" + tcpServer.getPort());
+        assertThat(metricRegistry.getGauges()).containsKey(MetricRegistry.name(prefix, "queue-size"));
+        assertThat(metricRegistry.meter(MetricRegistry.name(prefix, "dropped")).getCount()).isZero();
+        loggingFactory.reset();
+    }
 }
@@ -0,0 +1,144 @@
+package io.dropwizard.logging.async;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RingBufferAsyncAppenderTest {
+    private static final int THREADS = 4;
+    private static final int EVENTS_PER_THREAD = 2_000;
+
+    private final LoggerContext context = new LoggerContext();
+
+    @Test
+    void deliversAllEventsInOrderWithEveryWaitStrategy() throws Exception {
+        for (WaitStrategy waitStrategy : WaitStrategy.values()) {
+            final ListAppender<ILoggingEvent> delegate = listAppender();
+            final RingBufferAsyncLoggingEventAppender appender = asyncAppender(delegate, 64);
+            appender.setWaitStrategy(waitStrategy);
+            appender.setDiscardingThreshold(0);
+            appender.start();
+
+            final List<Thread> threads = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                final String threadName = "producer-" + i;
+                final Thread thread = new Thread(() -> {
+                    for (int j = 0; j < EVENTS_PER_THREAD; j++) {
+                        appender.doAppend(event(Level.INFO, threadName, Integer.toString(j)));
+                    }
+                });
+                threads.add(thread);
+                thread.start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            appender.stop();
+
+            assertThat(delegate.list).as(waitStrategy.toString()).hasSize(THREADS * EVENTS_PER_THREAD);
+            assertThat(appender.getDiscarded().getCount()).isZero();
+
+            // Events of a given thread keep their order
+            final Map<String, Integer> lastEvents = new HashMap<>();
+            for (ILoggingEvent event : delegate.list) {
+                final int number = Integer.parseInt(event.getMessage());
+                assertThat(lastEvents.getOrDefault(event.getThreadName(), -1)).isEqualTo(number - 1);
+                lastEvents.put(event.getThreadName(), number);
+            }
+        }
+    }
+
+    @Test
+    void discardsEventsWhenFullAndNeverBlocking() throws Exception {
+        final BlockingAppender delegate = new BlockingAppender();
+        delegate.setContext(context);
+        delegate.start();
+        final RingBufferAsyncLoggingEventAppender appender = asyncAppender(delegate, 4);
+        appender.setDiscardingThreshold(0);
+        appender.setNeverBlock(true);
+        appender.start();
+
+        for (int i = 0; i < 20; i++) {
+            appender.doAppend(event(Level.ERROR, "main", Integer.toString(i)));
+        }
+        assertThat(appender.getDiscarded().getCount()).isPositive();
+
+        delegate.release.countDown();
+        appender.stop();
+        assertThat(delegate.received.get() + appender.getDiscarded().getCount()).isEqualTo(20);
+    }
+
+    @Test
+    void discardsInfoEventsBelowTheDiscardingThreshold() throws Exception {
+        final BlockingAppender delegate = new BlockingAppender();
+        delegate.setContext(context);
+        delegate.start();
+        final RingBufferAsyncLoggingEventAppender appender = asyncAppender(delegate, 8);
+        // Higher than the capacity, so INFO events are always discarded
+        appender.setDiscardingThreshold(9);
+        appender.start();
+
+        appender.doAppend(event(Level.INFO, "main", "info"));
+        appender.doAppend(event(Level.WARN, "main", "warn"));
+        assertThat(appender.getDiscarded().getCount()).isEqualTo(1);
+
+        delegate.release.countDown();
+        appender.stop();
+        assertThat(delegate.received.get()).isEqualTo(1);
+    }
+
+    private ListAppender<ILoggingEvent> listAppender() {
+        final ListAppender<ILoggingEvent> delegate = new ListAppender<>();
+        delegate.setContext(context);
+        delegate.start();
+        return delegate;
+    }
+
+    private RingBufferAsyncLoggingEventAppender asyncAppender(AppenderBase<ILoggingEvent> delegate, int queueSize) {
+        final RingBufferAsyncLoggingEventAppender appender = new RingBufferAsyncLoggingEventAppender();
+        appender.setContext(context);
+        appender.setName("async-test");
+        appender.setQueueSize(queueSize);
+        appender.addAppender(delegate);
+        return appender;
+    }
+
+    private ILoggingEvent event(Level level, String threadName, String message) {
+        final LoggingEvent event = new LoggingEvent();
+        event.setLoggerName("test");
+        event.setLevel(level);
+        event.setThreadName(threadName);
+        event.setMessage(message);
+        event.setLoggerContextRemoteView(context.getLoggerContextRemoteView());
+        return event;
+    }
+
+    private static class BlockingAppender extends AppenderBase<ILoggingEvent> {
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final AtomicInteger received = new AtomicInteger();
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            received.incrementAndGet();
+        }
+    }
+}
@@ -1,17 +1,19 @@
 package io.dropwizard.logging.socket;
 
+import ch.qos.logback.classic.LoggerContext;
 import ch.qos.logback.classic.spi.ILoggingEvent;
-import ch.qos.logback.core.Context;
 import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.encoder.EchoEncoder;
+import com.codahale.metrics.MetricRegistry;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.Mockito;
 
 import java.io.IOException;
 import java.net.DatagramPacket;
 import java.net.DatagramSocket;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
@@ -19,6 +21,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 class DropwizardUdpSocketAppenderTest {
 
+    private final LoggerContext loggerContext = new LoggerContext();
     private OutputStreamAppender<ILoggingEvent> udpStreamAppender;
 
     private DatagramSocket datagramSocket;
@@ -44,7 +47,7 @@ class DropwizardUdpSocketAppenderTest {
         });
         thread.start();
         udpStreamAppender = new DropwizardUdpSocketAppender<>("localhost", datagramSocket.getLocalPort());
-        udpStreamAppender.setContext(Mockito.mock(Context.class));
+        udpStreamAppender.setContext(loggerContext);
         udpStreamAppender.start();
     }
 
@@ -53,6 +56,7 @@ class DropwizardUdpSocketAppenderTest {
         datagramSocket.close();
         thread.interrupt();
         udpStreamAppender.stop();
+        loggerContext.stop();
     }
 
     @Test
@@ -62,4 +66,48 @@ class DropwizardUdpSocketAppenderTest {
         countDownLatch.await(5, TimeUnit.SECONDS);
         assertThat(countDownLatch.getCount()).isZero();
     }
+
+    @Test
+    void testResolvesTheHostnameInTheBackground() {
+        final LoggerContext context = new LoggerContext();
+        final DropwizardUdpSocketAppender<ILoggingEvent> resolvingAppender = new DropwizardUdpSocketAppender<>(
+            "localhost", datagramSocket.getLocalPort(), 64, 0, 30_000, new MetricRegistry());
+        resolvingAppender.setContext(context);
+        resolvingAppender.setEncoder(new EchoEncoder<>());
+        resolvingAppender.start();
+        try {
+            assertThat(context.getScheduledFutures()).hasSize(1);
+            resolvingAppender.stop();
+            assertThat(context.getScheduledFutures()).allMatch(Future::isCancelled);
+        } finally {
+            resolvingAppender.stop();
+            context.stop();
+        }
+    }
+
+    @Test
+    void testPacksMessagesIntoDatagrams() throws Exception {
+        final MetricRegistry metricRegistry = new MetricRegistry();
+        final LoggerContext context = new LoggerContext();
+        final DropwizardUdpSocketAppender<ILoggingEvent> batchingAppender = new DropwizardUdpSocketAppender<>(
+            "localhost", datagramSocket.getLocalPort(), 64, 60_000, 30_000, metricRegistry);
+        batchingAppender.setContext(context);
+        batchingAppender.setEncoder(new EchoEncoder<>());
+        batchingAppender.start();
+        try {
+            batchingAppender.getOutputStream().write("Test ".getBytes(UTF_8));
+            batchingAppender.getOutputStream().write("message".getBytes(UTF_8));
+            batchingAppender.getOutputStream().flush();
+            assertThat(countDownLatch.await(5, TimeUnit.SECONDS)).isTrue();
+
+            final String prefix = MetricRegistry.name(DropwizardUdpSocketAppender.class,
+                "localhost:" + datagramSocket.getLocalPort());
+            assertThat(metricRegistry.meter(MetricRegistry.name(prefix, "sent")).getCount()).isOne();
+            assertThat(metricRegistry.meter(MetricRegistry.name(prefix, "bytes")).getCount()).isEqualTo(12);
+            assertThat(metricRegistry.meter(MetricRegistry.name(prefix, "dropped")).getCount()).isZero();
+        } finally {
+            batchingAppender.stop();
+            context.stop();
+        }
+    }
 }
@@ -3,6 +3,7 @@ package io.dropwizard.request.logging;
 import ch.qos.logback.access.spi.IAccessEvent;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
+import com.codahale.metrics.MetricRegistry;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeName;
@@ -17,6 +18,7 @@ import io.dropwizard.request.logging.layout.LogbackAccessRequestLayoutFactory;
 import org.eclipse.jetty.server.RequestLog;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import java.util.Collections;
@@ -65,6 +67,15 @@ public class LogbackAccessRequestLogFactory implements RequestLogFactory<Request
 
     @Override
     public RequestLog build(String name) {
+        return buildRequestLog(name, null);
+    }
+
+    @Override
+    public RequestLog build(String name, MetricRegistry metricRegistry) {
+        return buildRequestLog(name, metricRegistry);
+    }
+
+    private RequestLog buildRequestLog(String name, @Nullable MetricRegistry metricRegistry) {
         final Logger logger = (Logger) LoggerFactory.getLogger("http.request");
         logger.setAdditive(false);
 
@@ -77,7 +88,9 @@ public class LogbackAccessRequestLogFactory implements RequestLogFactory<Request
         final LayoutFactory<IAccessEvent> layoutFactory = new LogbackAccessRequestLayoutFactory();
 
         for (AppenderFactory<IAccessEvent> output : appenders) {
-            requestLog.addAppender(output.build(context, name, layoutFactory, levelFilterFactory, asyncAppenderFactory));
+            requestLog.addAppender(metricRegistry == null
+                ? output.build(context, name, layoutFactory, levelFilterFactory, asyncAppenderFactory)
+                : output.build(context, name, layoutFactory, levelFilterFactory, asyncAppenderFactory, metricRegistry));
         }
 
         return requestLog;
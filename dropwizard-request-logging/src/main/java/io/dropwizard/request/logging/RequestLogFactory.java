@@ -1,5 +1,6 @@
 package io.dropwizard.request.logging;
 
+import com.codahale.metrics.MetricRegistry;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import io.dropwizard.jackson.Discoverable;
 import org.eclipse.jetty.server.RequestLog;
@@ -15,4 +16,16 @@ public interface RequestLogFactory<T extends RequestLog> extends Discoverable {
     boolean isEnabled();
 
     T build(String name);
+
+    /**
+     * Builds the request log, whose appenders record their metrics in the given registry.
+     *
+     * @param name           the name of the application
+     * @param metricRegistry the registry of the application
+     * @return the request log
+     * @since 2.1
+     */
+    default T build(String name, MetricRegistry metricRegistry) {
+        return build(name);
+    }
 }
@@ -19,6 +19,7 @@ public class LogbackAccessRequestLayout extends PatternLayout {
         // Replace the buggy default converter which don't work async appenders
         defaultConverterMap.put("requestParameter", SafeRequestParameterConverter.class.getName());
         defaultConverterMap.put("reqParameter", SafeRequestParameterConverter.class.getName());
+        defaultConverterMap.put("requestId", RequestIdConverter.class.getName());
     }
 
     public LogbackAccessRequestLayout(Context context, TimeZone timeZone) {
@@ -0,0 +1,20 @@
+package io.dropwizard.request.logging.layout;
+
+import ch.qos.logback.access.pattern.AccessConverter;
+import ch.qos.logback.access.spi.IAccessEvent;
+
+import static io.dropwizard.util.RequestIdGenerator.REQUEST_ID_HEADER;
+
+/**
+ * Outputs the ID of the request, as returned to the client in the "X-Request-Id" response header, or
+ * {@code -} if the request has none. Available as {@code %requestId} in request log patterns.
+ *
+ * @since 2.1
+ */
+public class RequestIdConverter extends AccessConverter {
+    @Override
+    public String convert(IAccessEvent accessEvent) {
+        final String requestId = accessEvent.getResponseHeader(REQUEST_ID_HEADER);
+        return requestId == null ? IAccessEvent.NA : requestId;
+    }
+}
@@ -7,6 +7,7 @@ import ch.qos.logback.core.Context;
 import ch.qos.logback.core.CoreConstants;
 import ch.qos.logback.core.pattern.PatternLayoutBase;
 import ch.qos.logback.core.spi.AppenderAttachableImpl;
+import com.codahale.metrics.MetricRegistry;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeName;
@@ -22,6 +23,7 @@ import org.eclipse.jetty.server.CustomRequestLog;
 import org.eclipse.jetty.server.RequestLog;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import java.util.Collections;
@@ -110,6 +112,15 @@ public class LogbackClassicRequestLogFactory implements RequestLogFactory<Reques
 
     @Override
     public RequestLog build(String name) {
+        return buildRequestLog(name, null);
+    }
+
+    @Override
+    public RequestLog build(String name, MetricRegistry metricRegistry) {
+        return buildRequestLog(name, metricRegistry);
+    }
+
+    private RequestLog buildRequestLog(String name, @Nullable MetricRegistry metricRegistry) {
         final Logger logger = (Logger) LoggerFactory.getLogger("http.request");
         logger.setAdditive(false);
 
@@ -119,7 +130,9 @@ public class LogbackClassicRequestLogFactory implements RequestLogFactory<Reques
         final LayoutFactory<ILoggingEvent> layoutFactory = (c, tz) -> new RequestLogLayout(c);
         final AppenderAttachableImpl<ILoggingEvent> attachable = new AppenderAttachableImpl<>();
         for (AppenderFactory<ILoggingEvent> appender : appenders) {
-            attachable.addAppender(appender.build(context, name, layoutFactory, levelFilterFactory, asyncAppenderFactory));
+            attachable.addAppender(metricRegistry == null
+                ? appender.build(context, name, layoutFactory, levelFilterFactory, asyncAppenderFactory)
+                : appender.build(context, name, layoutFactory, levelFilterFactory, asyncAppenderFactory, metricRegistry));
         }
 
         return new CustomRequestLog(new DropwizardSlf4jRequestLogWriter(attachable), ClassicLogFormat.pattern(timeZone));
@@ -0,0 +1,35 @@
+package io.dropwizard.request.logging.layout;
+
+import ch.qos.logback.access.spi.AccessEvent;
+import ch.qos.logback.access.spi.ServerAdapter;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestIdConverterTest {
+
+    private final RequestIdConverter requestIdConverter = new RequestIdConverter();
+    private final ServerAdapter serverAdapter = Mockito.mock(ServerAdapter.class);
+    private final AccessEvent accessEvent = new AccessEvent(Mockito.mock(HttpServletRequest.class),
+        Mockito.mock(HttpServletResponse.class), serverAdapter);
+
+    @Test
+    void outputsTheRequestIdResponseHeader() {
+        Mockito.when(serverAdapter.buildResponseHeaderMap())
+            .thenReturn(Collections.singletonMap("X-Request-Id", "request-id"));
+
+        assertThat(requestIdConverter.convert(accessEvent)).isEqualTo("request-id");
+    }
+
+    @Test
+    void outputsADashWithoutRequestId() {
+        Mockito.when(serverAdapter.buildResponseHeaderMap()).thenReturn(Collections.emptyMap());
+
+        assertThat(requestIdConverter.convert(accessEvent)).isEqualTo("-");
+    }
+}
@@ -0,0 +1,73 @@
+package io.dropwizard.servlets;
+
+import io.dropwizard.util.RequestIdFormat;
+import io.dropwizard.util.RequestIdGenerator;
+import org.slf4j.MDC;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+import static io.dropwizard.util.RequestIdGenerator.REQUEST_ID_HEADER;
+import static io.dropwizard.util.RequestIdGenerator.REQUEST_ID_MDC_KEY;
+
+/**
+ * A servlet filter which assigns an ID to each request, unless the client already sent one in the
+ * {@code X-Request-Id} header.
+ * <p>
+ * For the duration of the request, the ID is stored in the SLF4J MDC under the {@code requestId} key and as
+ * the {@link #REQUEST_ID_ATTRIBUTE} request attribute. It is also sent back in the {@code X-Request-Id}
+ * response header, which makes it available to the request log.
+ *
+ * @since 2.1
+ */
+public class RequestIdFilter implements Filter {
+    /**
+     * The name of the request attribute holding the ID of the request.
+     */
+    public static final String REQUEST_ID_ATTRIBUTE = RequestIdFilter.class.getName() + ".requestId";
+
+    // Longer IDs sent by clients are replaced, to keep them from flooding logs and downstream headers
+    private static final int MAX_CLIENT_ID_LENGTH = 128;
+
+    private final RequestIdGenerator generator;
+
+    public RequestIdFilter() {
+        this(RequestIdFormat.UUID);
+    }
+
+    public RequestIdFilter(RequestIdGenerator generator) {
+        this.generator = generator;
+    }
+
+    @Override
+    public void init(FilterConfig filterConfig) throws ServletException { /* unused */ }
+
+    @Override
+    public void destroy() { /* unused */ }
+
+    @Override
+    public void doFilter(ServletRequest request,
+                         ServletResponse response,
+                         FilterChain chain) throws IOException, ServletException {
+        final String header = ((HttpServletRequest) request).getHeader(REQUEST_ID_HEADER);
+        final String id = header == null || header.isEmpty() || header.length() > MAX_CLIENT_ID_LENGTH
+                ? generator.generate()
+                : header;
+
+        request.setAttribute(REQUEST_ID_ATTRIBUTE, id);
+        ((HttpServletResponse) response).setHeader(REQUEST_ID_HEADER, id);
+        MDC.put(REQUEST_ID_MDC_KEY, id);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            MDC.remove(REQUEST_ID_MDC_KEY);
+        }
+    }
+}
@@ -1,9 +1,13 @@
 package io.dropwizard.servlets;
 
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
 import io.dropwizard.util.Duration;
+import io.dropwizard.util.RequestAttributes;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import javax.servlet.Filter;
 import javax.servlet.FilterChain;
 import javax.servlet.FilterConfig;
@@ -12,19 +16,44 @@ import javax.servlet.ServletRequest;
 import javax.servlet.ServletResponse;
 import javax.servlet.http.HttpServletRequest;
 import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Supplier;
 
+import static com.codahale.metrics.MetricRegistry.name;
 import static io.dropwizard.servlets.Servlets.getFullUrl;
 import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
 
 /**
  * A servlet filter which logs the methods and URIs of requests which take longer than a given
  * duration of time to complete.
+ * <p>
+ * If it is given a {@link MetricRegistry}, the filter also records the latency of every request in a
+ * {@link Timer} per route, which makes percentiles available through the admin metrics endpoint. The route
+ * of a request is read from the {@link RequestAttributes#ROUTE} request attribute, which is set by
+ * {@code io.dropwizard.jersey.filter.RouteTemplateFilter} to the matched resource template, so that requests
+ * for {@code /users/1} and {@code /users/2} are grouped under {@code GET /users/{id}}. Requests without a
+ * route are grouped under {@code unmatched}, to keep raw URLs from creating unbounded numbers of metrics.
+ * <p>
+ * Given a percentile, the filter only logs requests which are slower than both the threshold and the
+ * latency of that percentile for their route, so that routes which are always slow don't flood the logs.
  */
 @SuppressWarnings("UnusedDeclaration")
 public class SlowRequestFilter implements Filter {
+    private static final String UNMATCHED_ROUTE = "unmatched";
+    private static final long PERCENTILE_REFRESH_INTERVAL = SECONDS.toNanos(1);
+
     private final long threshold;
 
+    @Nullable
+    private final MetricRegistry metricRegistry;
+
+    private final double adaptivePercentile;
+    private final ConcurrentMap<String, RouteLatency> routes = new ConcurrentHashMap<>();
+
     private Supplier<Long> currentTimeProvider = System::nanoTime;
     private Logger logger = LoggerFactory.getLogger(SlowRequestFilter.class);
 
@@ -41,7 +70,39 @@ public class SlowRequestFilter implements Filter {
      * @param threshold    the threshold for considering a request slow
      */
     public SlowRequestFilter(Duration threshold) {
+        this(threshold, null, 0);
+    }
+
+    /**
+     * Creates a filter which records the latency of requests per route, and logs requests which take longer
+     * than the given duration.
+     *
+     * @param threshold      the threshold for considering a request slow
+     * @param metricRegistry the registry in which the latencies are recorded
+     * @since 2.1
+     */
+    public SlowRequestFilter(Duration threshold, MetricRegistry metricRegistry) {
+        this(threshold, metricRegistry, 0);
+    }
+
+    /**
+     * Creates a filter which records the latency of requests per route, and logs requests which take longer
+     * than both the given duration and the given percentile of the latencies of their route.
+     *
+     * @param threshold          the threshold for considering a request slow
+     * @param metricRegistry     the registry in which the latencies are recorded, or {@code null} to only log
+     *                           slow requests
+     * @param adaptivePercentile the percentile (between 0 and 1, such as {@code 0.99}) of the latencies of a route
+     *                           above which requests are considered slow, or {@code 0} to only use the threshold
+     * @since 2.1
+     */
+    public SlowRequestFilter(Duration threshold, @Nullable MetricRegistry metricRegistry, double adaptivePercentile) {
+        if (adaptivePercentile < 0 || adaptivePercentile > 1) {
+            throw new IllegalArgumentException(adaptivePercentile + " is not a valid percentile");
+        }
         this.threshold = threshold.toNanoseconds();
+        this.metricRegistry = metricRegistry;
+        this.adaptivePercentile = metricRegistry == null ? 0 : adaptivePercentile;
     }
 
     void setCurrentTimeProvider(Supplier<Long> currentTimeProvider) {
@@ -67,13 +128,70 @@ public class SlowRequestFilter implements Filter {
         try {
             chain.doFilter(request, response);
         } finally {
-            final long elapsedNS = currentTimeProvider.get() - startTime;
-            final long elapsedMS = NANOSECONDS.toMillis(elapsedNS);
-            if (elapsedNS >= threshold) {
+            final long endTime = currentTimeProvider.get();
+            final long elapsedNS = endTime - startTime;
+            boolean slow = elapsedNS >= threshold;
+            if (metricRegistry != null) {
+                final RouteLatency route = getRouteLatency(metricRegistry, req);
+                route.update(elapsedNS);
+                if (slow && adaptivePercentile > 0) {
+                    slow = elapsedNS > route.getPercentile(endTime);
+                }
+            }
+            if (slow) {
                 logger.warn("Slow request: {} {} ({}ms)",
                             req.getMethod(),
-                            getFullUrl(req), elapsedMS);
+                            getFullUrl(req), NANOSECONDS.toMillis(elapsedNS));
+            }
+        }
+    }
+
+    private RouteLatency getRouteLatency(MetricRegistry metricRegistry, HttpServletRequest req) {
+        final Object attribute = req.getAttribute(RequestAttributes.ROUTE);
+        final String route = attribute == null ? UNMATCHED_ROUTE : req.getMethod() + ' ' + attribute;
+        final RouteLatency latency = routes.get(route);
+        if (latency != null) {
+            return latency;
+        }
+        return routes.computeIfAbsent(route,
+            r -> new RouteLatency(metricRegistry.timer(name(SlowRequestFilter.class, "requests", r))));
+    }
+
+    /**
+     * Returns the latency timers of the routes seen so far, keyed by route.
+     *
+     * @return the latency timers of the routes
+     * @since 2.1
+     */
+    public Map<String, Timer> getRouteTimers() {
+        final Map<String, Timer> timers = new TreeMap<>();
+        routes.forEach((route, latency) -> timers.put(route, latency.timer));
+        return timers;
+    }
+
+    private class RouteLatency {
+        private final Timer timer;
+
+        // Computing a percentile needs a snapshot of the whole reservoir, so it is done at most once per interval
+        private volatile long percentile;
+        private volatile long nextRefresh;
+        private volatile boolean computed;
+
+        private RouteLatency(Timer timer) {
+            this.timer = timer;
+        }
+
+        private void update(long elapsedNS) {
+            timer.update(elapsedNS, NANOSECONDS);
+        }
+
+        private long getPercentile(long now) {
+            if (!computed || now - nextRefresh >= 0) {
+                computed = true;
+                nextRefresh = now + PERCENTILE_REFRESH_INTERVAL;
+                percentile = (long) timer.getSnapshot().getValue(adaptivePercentile);
             }
+            return percentile;
         }
     }
 }
@@ -0,0 +1,85 @@
+package io.dropwizard.servlets.assets;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.caffeine.MetricsStatsCounter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.dropwizard.util.Duration;
+
+import javax.annotation.Nullable;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * A bounded cache of loaded static assets, used by {@link AssetServlet} to avoid reading (and optionally
+ * compressing) the same resource on every request.
+ * <p>
+ * The cache is bounded by the number of bytes held by the cached assets, including their precompressed
+ * variants, and records its statistics in a {@link MetricRegistry}.
+ *
+ * @since 2.1
+ */
+public class AssetCache {
+    private final Cache<String, Optional<CachedAsset>> cache;
+    private final boolean precompress;
+    private final int minimumCompressSize;
+
+    /**
+     * Creates a new asset cache.
+     *
+     * @param metricRegistry      the registry in which the cache statistics are recorded
+     * @param name                the name under which the cache statistics are recorded
+     * @param maximumSize         the maximum number of bytes held by the cache
+     * @param expireAfterWrite    how long an asset is kept after it has been loaded, or {@code null} to keep it
+     *                            until it is evicted by size
+     * @param precompress         whether gzip-encoded variants of the assets should be built and cached
+     * @param minimumCompressSize the minimum size, in bytes, of assets for which a gzip-encoded variant is built
+     */
+    public AssetCache(MetricRegistry metricRegistry,
+                      String name,
+                      long maximumSize,
+                      @Nullable Duration expireAfterWrite,
+                      boolean precompress,
+                      int minimumCompressSize) {
+        final Caffeine<String, Optional<CachedAsset>> builder = Caffeine.newBuilder()
+                .maximumWeight(maximumSize)
+                .weigher((String key, Optional<CachedAsset> asset) -> asset.map(CachedAsset::getWeight).orElse(0))
+                .recordStats(() -> new MetricsStatsCounter(metricRegistry, name));
+        if (expireAfterWrite != null) {
+            builder.expireAfterWrite(expireAfterWrite.toNanoseconds(), TimeUnit.NANOSECONDS);
+        }
+        this.cache = builder.build();
+        this.precompress = precompress;
+        this.minimumCompressSize = minimumCompressSize;
+    }
+
+    @Nullable
+    CachedAsset get(String key, Function<String, CachedAsset> loader) {
+        return cache.get(key, k -> Optional.ofNullable(loader.apply(k)).map(this::compress)).orElse(null);
+    }
+
+    private CachedAsset compress(CachedAsset asset) {
+        return precompress && asset.getLength() >= minimumCompressSize ? asset.withGzipVariant() : asset;
+    }
+
+    /**
+     * Discards all cached assets.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Returns the approximate number of cached assets.
+     *
+     * @return the approximate number of cached assets
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    public boolean isPrecompress() {
+        return precompress;
+    }
+}
@@ -2,6 +2,7 @@ package io.dropwizard.servlets.assets;
 
 import io.dropwizard.util.ByteStreams;
 import io.dropwizard.util.Resources;
+import org.eclipse.jetty.server.HttpOutput;
 
 import javax.annotation.Nullable;
 import javax.servlet.ServletException;
@@ -11,17 +12,31 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Enumeration;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
-import java.util.zip.CRC32;
+
+import static java.util.Objects.requireNonNull;
 
 public class AssetServlet extends HttpServlet {
     private static final long serialVersionUID = 6393345594784987908L;
@@ -35,39 +50,18 @@ public class AssetServlet extends HttpServlet {
     private static final String CONTENT_RANGE = "Content-Range";
     private static final String ETAG = "ETag";
     private static final String LAST_MODIFIED = "Last-Modified";
+    private static final String ACCEPT_ENCODING = "Accept-Encoding";
+    private static final String CONTENT_ENCODING = "Content-Encoding";
+    private static final String VARY = "Vary";
 
-    private static class CachedAsset {
-        private final byte[] resource;
-        private final String eTag;
-        private final long lastModifiedTime;
-
-        private CachedAsset(byte[] resource, long lastModifiedTime) {
-            this.resource = resource;
-            this.eTag = '"' + hash(resource) + '"';
-            this.lastModifiedTime = lastModifiedTime;
-        }
-
-        private static String hash(byte[] resource) {
-            final CRC32 crc32 = new CRC32();
-            crc32.update(resource);
-            return Long.toHexString(crc32.getValue());
-        }
-
-        public byte[] getResource() {
-            return resource;
-        }
-
-        public String getETag() {
-            return eTag;
-        }
-
-        public long getLastModifiedTime() {
-            return lastModifiedTime;
-        }
-    }
+    // Size of the intermediate buffer used to copy direct buffers into non-Jetty output streams
+    private static final int COPY_BUFFER_SIZE = 8192;
 
     private static final String DEFAULT_MEDIA_TYPE = "text/html";
 
+    // Jetty is optional: without it, content is written through the plain servlet output stream
+    private static final boolean JETTY_OUTPUT_AVAILABLE = isClassAvailable("org.eclipse.jetty.server.HttpOutput");
+
     private final String resourcePath;
     private final String uriPath;
 
@@ -79,6 +73,15 @@ public class AssetServlet extends HttpServlet {
     @Nullable
     private final Charset defaultCharset;
 
+    private final boolean useMappedBuffers;
+
+    @Nullable
+    private final transient AssetCache cache;
+
+    // The versions of the served files, by URL, so that a file is only hashed and mapped again once it has changed
+    @Nullable
+    private transient volatile ConcurrentMap<String, FileVersion> fileVersions;
+
     /**
      * Creates a new {@code AssetServlet} that serves static assets loaded from {@code resourceURL}
      * (typically a file: or jar: URL). The assets are served at URIs rooted at {@code uriPath}. For
@@ -125,6 +128,72 @@ public class AssetServlet extends HttpServlet {
                         @Nullable String indexFile,
                         @Nullable String defaultMediaType,
                         @Nullable Charset defaultCharset) {
+        this(resourcePath, uriPath, indexFile, defaultMediaType, defaultCharset, false);
+    }
+
+    /**
+     * Creates a new {@code AssetServlet} that serves static assets loaded from {@code resourceURL}
+     * (typically a file: or jar: URL). The assets are served at URIs rooted at {@code uriPath}. For
+     * example, given a {@code resourceURL} of {@code "file:/data/assets"} and a {@code uriPath} of
+     * {@code "/js"}, an {@code AssetServlet} would serve the contents of {@code
+     * /data/assets/example.js} in response to a request for {@code /js/example.js}. If a directory
+     * is requested and {@code indexFile} is defined, then {@code AssetServlet} will attempt to
+     * serve a file with that name in that directory. If a directory is requested and {@code
+     * indexFile} is null, it will serve a 404.
+     * <p>
+     * If {@code useMappedBuffers} is {@code true}, assets backed by a file: URL are memory-mapped instead
+     * of being read onto the heap, and are handed to Jetty as read-only buffers, so that neither full
+     * responses nor byte ranges are copied into intermediate arrays. Each file is mapped once, and mapped
+     * again only once it has changed.
+     *
+     * @param resourcePath     the base URL from which assets are loaded
+     * @param uriPath          the URI path fragment in which all requests are rooted
+     * @param indexFile        the filename to use when directories are requested, or null to serve no
+     *                         indexes
+     * @param defaultMediaType the default media type
+     * @param defaultCharset   the default character set
+     * @param useMappedBuffers whether file: assets should be memory-mapped
+     * @since 2.1
+     */
+    public AssetServlet(String resourcePath,
+                        String uriPath,
+                        @Nullable String indexFile,
+                        @Nullable String defaultMediaType,
+                        @Nullable Charset defaultCharset,
+                        boolean useMappedBuffers) {
+        this(resourcePath, uriPath, indexFile, defaultMediaType, defaultCharset, useMappedBuffers, null);
+    }
+
+    /**
+     * Creates a new {@code AssetServlet} that serves static assets loaded from {@code resourceURL}
+     * (typically a file: or jar: URL). The assets are served at URIs rooted at {@code uriPath}. For
+     * example, given a {@code resourceURL} of {@code "file:/data/assets"} and a {@code uriPath} of
+     * {@code "/js"}, an {@code AssetServlet} would serve the contents of {@code
+     * /data/assets/example.js} in response to a request for {@code /js/example.js}. If a directory
+     * is requested and {@code indexFile} is defined, then {@code AssetServlet} will attempt to
+     * serve a file with that name in that directory. If a directory is requested and {@code
+     * indexFile} is null, it will serve a 404.
+     * <p>
+     * If {@code cache} is not {@code null}, loaded assets are kept in it between requests, and any
+     * gzip-encoded variants it holds are served to clients which accept them.
+     *
+     * @param resourcePath     the base URL from which assets are loaded
+     * @param uriPath          the URI path fragment in which all requests are rooted
+     * @param indexFile        the filename to use when directories are requested, or null to serve no
+     *                         indexes
+     * @param defaultMediaType the default media type
+     * @param defaultCharset   the default character set
+     * @param useMappedBuffers whether file: assets should be memory-mapped
+     * @param cache            the cache of loaded assets, or null to load assets on every request
+     * @since 2.1
+     */
+    public AssetServlet(String resourcePath,
+                        String uriPath,
+                        @Nullable String indexFile,
+                        @Nullable String defaultMediaType,
+                        @Nullable Charset defaultCharset,
+                        boolean useMappedBuffers,
+                        @Nullable AssetCache cache) {
         final String trimmedPath = trimSlashes(resourcePath);
         this.resourcePath = trimmedPath.isEmpty() ? trimmedPath : trimmedPath + '/';
         final String trimmedUri = trimTrailingSlashes(uriPath);
@@ -132,6 +201,8 @@ public class AssetServlet extends HttpServlet {
         this.indexFile = indexFile;
         this.defaultMediaType = defaultMediaType == null ? DEFAULT_MEDIA_TYPE : defaultMediaType;
         this.defaultCharset = defaultCharset;
+        this.useMappedBuffers = useMappedBuffers;
+        this.cache = cache;
     }
 
     private static String trimSlashes(String s) {
@@ -181,6 +252,21 @@ public class AssetServlet extends HttpServlet {
         return defaultCharset;
     }
 
+    /**
+     * @since 2.1
+     */
+    public boolean isUseMappedBuffers() {
+        return useMappedBuffers;
+    }
+
+    /**
+     * @since 2.1
+     */
+    @Nullable
+    public AssetCache getCache() {
+        return cache;
+    }
+
     @Override
     protected void doGet(HttpServletRequest req,
                          HttpServletResponse resp) throws ServletException, IOException {
@@ -195,14 +281,21 @@ public class AssetServlet extends HttpServlet {
                 return;
             }
 
-            if (isCachedClientSide(req, cachedAsset)) {
+            final String rangeHeader = req.getHeader(RANGE);
+
+            // Byte ranges always refer to the identity encoding of the asset
+            final boolean gzipped = rangeHeader == null && cachedAsset.hasGzipVariant() && acceptsGzip(req);
+            final String eTag = gzipped ? requireNonNull(cachedAsset.getGzippedETag()) : cachedAsset.getETag();
+            if (cachedAsset.hasGzipVariant()) {
+                resp.addHeader(VARY, ACCEPT_ENCODING);
+            }
+
+            if (isCachedClientSide(req, eTag, cachedAsset.getLastModifiedTime())) {
                 resp.sendError(HttpServletResponse.SC_NOT_MODIFIED);
                 return;
             }
 
-            final String rangeHeader = req.getHeader(RANGE);
-
-            final int resourceLength = cachedAsset.getResource().length;
+            final int resourceLength = cachedAsset.getLength();
             List<ByteRange> ranges = Collections.emptyList();
 
             boolean usingRanges = false;
@@ -231,7 +324,10 @@ public class AssetServlet extends HttpServlet {
             }
 
             resp.setDateHeader(LAST_MODIFIED, cachedAsset.getLastModifiedTime());
-            resp.setHeader(ETAG, cachedAsset.getETag());
+            resp.setHeader(ETAG, eTag);
+            if (gzipped) {
+                resp.setHeader(CONTENT_ENCODING, "gzip");
+            }
 
             final String requestUri = req.getRequestURI();
             final String mediaType = Optional.ofNullable(req.getServletContext().getMimeType(
@@ -246,14 +342,22 @@ public class AssetServlet extends HttpServlet {
                 resp.setCharacterEncoding(defaultCharset.toString());
             }
 
+            // Announce the length up front, so that Jetty doesn't have to aggregate buffers to determine it
+            final ByteBuffer content = gzipped ? cachedAsset.getGzipped() : cachedAsset.getResource();
+            resp.setContentLengthLong(usingRanges
+                    ? ranges.stream().mapToLong(range -> range.getEnd() - range.getStart() + 1L).sum()
+                    : content.remaining());
+
             try (ServletOutputStream output = resp.getOutputStream()) {
                 if (usingRanges) {
                     for (ByteRange range : ranges) {
-                        output.write(cachedAsset.getResource(), range.getStart(),
-                                range.getEnd() - range.getStart() + 1);
+                        write(output, cachedAsset.getResource(range.getStart(),
+                                range.getEnd() - range.getStart() + 1));
                     }
+                } else if (JETTY_OUTPUT_AVAILABLE && JettyOutput.isJettyOutput(output)) {
+                    JettyOutput.sendContent(output, content);
                 } else {
-                    output.write(cachedAsset.getResource());
+                    write(output, content);
                 }
             }
         } catch (RuntimeException | URISyntaxException ignored) {
@@ -263,6 +367,27 @@ public class AssetServlet extends HttpServlet {
 
     @Nullable
     private CachedAsset loadAsset(String key) throws URISyntaxException, IOException {
+        if (cache == null) {
+            return readAsset(key);
+        }
+
+        try {
+            return cache.get(key, k -> {
+                try {
+                    return readAsset(k);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } catch (URISyntaxException e) {
+                    throw new IllegalArgumentException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    @Nullable
+    private CachedAsset readAsset(String key) throws URISyntaxException, IOException {
         if (!key.startsWith(uriPath)) {
             throw new IllegalArgumentException("Cache key must start with " + uriPath);
         }
@@ -288,27 +413,165 @@ public class AssetServlet extends HttpServlet {
 
         // zero out the millis since the date we get back from If-Modified-Since will not have them
         lastModified = (lastModified / 1000) * 1000;
-        return new CachedAsset(readResource(requestedResourceURL), lastModified);
+        if ("file".equals(requestedResourceURL.getProtocol())) {
+            return readFileAsset(requestedResourceURL, lastModified);
+        }
+        final ByteBuffer resource = readResourceBuffer(requestedResourceURL);
+        return new CachedAsset(resource, CachedAsset.computeETag(resource), lastModified);
+    }
+
+    /**
+     * Reads a file, reusing its ETag and its mapping as long as the file has the same key, the same precise
+     * modification time and the same size.
+     */
+    private CachedAsset readFileAsset(URL requestedResourceURL, long lastModified)
+            throws URISyntaxException, IOException {
+        final Path path = Paths.get(requestedResourceURL.toURI());
+        final BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        final Object fileKey = attributes.fileKey();
+        final long lastModifiedNanos = attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS);
+        final long size = attributes.size();
+
+        final ConcurrentMap<String, FileVersion> versions = getFileVersions();
+        final String key = requestedResourceURL.toString();
+        final FileVersion version = versions.get(key);
+        if (version != null && version.isVersionOf(fileKey, lastModifiedNanos, size)) {
+            final ByteBuffer mapped = version.mapped;
+            if (mapped != null) {
+                return new CachedAsset(mapped.duplicate(), version.eTag, lastModified);
+            }
+            return new CachedAsset(readResourceBuffer(requestedResourceURL), version.eTag, lastModified);
+        }
+
+        final ByteBuffer resource = readResourceBuffer(requestedResourceURL);
+        // Heap content isn't kept, only mappings are, which don't take up heap and are released with the version
+        final FileVersion newVersion = new FileVersion(fileKey, lastModifiedNanos, size,
+                CachedAsset.computeETag(resource), resource.hasArray() ? null : resource);
+        versions.put(key, newVersion);
+        return new CachedAsset(resource, newVersion.eTag, lastModified);
+    }
+
+    private ConcurrentMap<String, FileVersion> getFileVersions() {
+        // The versions are transient, so they're created again after the servlet is deserialized
+        ConcurrentMap<String, FileVersion> versions = fileVersions;
+        if (versions == null) {
+            synchronized (this) {
+                versions = fileVersions;
+                if (versions == null) {
+                    versions = new ConcurrentHashMap<>();
+                    fileVersions = versions;
+                }
+            }
+        }
+        return versions;
+    }
+
+    private static void write(ServletOutputStream output, ByteBuffer content) throws IOException {
+        if (JETTY_OUTPUT_AVAILABLE && JettyOutput.isJettyOutput(output)) {
+            JettyOutput.write(output, content);
+        } else if (content.hasArray()) {
+            output.write(content.array(), content.arrayOffset() + content.position(), content.remaining());
+        } else {
+            final byte[] buffer = new byte[Math.min(content.remaining(), COPY_BUFFER_SIZE)];
+            while (content.hasRemaining()) {
+                final int length = Math.min(buffer.length, content.remaining());
+                content.get(buffer, 0, length);
+                output.write(buffer, 0, length);
+            }
+        }
     }
 
     protected URL getResourceUrl(String absoluteRequestedResourcePath) {
         return Resources.getResource(absoluteRequestedResourcePath);
     }
 
+    /**
+     * Loads the content of the requested resource. If memory-mapped buffers are enabled and the resource is
+     * backed by a file, the file is mapped read-only; otherwise the content is read with
+     * {@link #readResource(URL)}.
+     *
+     * @param requestedResourceURL the URL of the resource
+     * @return the content of the resource
+     * @since 2.1
+     */
+    protected ByteBuffer readResourceBuffer(URL requestedResourceURL) throws IOException, URISyntaxException {
+        if (useMappedBuffers && "file".equals(requestedResourceURL.getProtocol())) {
+            try (FileChannel channel = FileChannel.open(Paths.get(requestedResourceURL.toURI()),
+                    StandardOpenOption.READ)) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+        }
+        return ByteBuffer.wrap(readResource(requestedResourceURL));
+    }
+
     protected byte[] readResource(URL requestedResourceURL) throws IOException {
         try (InputStream inputStream = requestedResourceURL.openStream()) {
             return ByteStreams.toByteArray(inputStream);
         }
     }
 
-    private boolean isCachedClientSide(HttpServletRequest req, CachedAsset cachedAsset) {
+    private boolean isCachedClientSide(HttpServletRequest req, String eTag, long lastModifiedTime) {
         // https://developer.mozilla.org/en-US/docs/Web/HTTP/Headers/If-Modified-Since
         // Indicates that with the presense of If-None-Match If-Modified-Since should be ignored.
         String ifNoneMatchHeader = req.getHeader(IF_NONE_MATCH);
         if (ifNoneMatchHeader != null) {
-            return cachedAsset.getETag().equals(ifNoneMatchHeader);
+            return matchesETag(ifNoneMatchHeader, eTag);
         } else {
-            return req.getDateHeader(IF_MODIFIED_SINCE) >= cachedAsset.getLastModifiedTime();
+            return req.getDateHeader(IF_MODIFIED_SINCE) >= lastModifiedTime;
+        }
+    }
+
+    private static boolean matchesETag(String ifNoneMatchHeader, String eTag) {
+        // If-None-Match uses the weak comparison, and may list several ETags
+        for (String candidate : ifNoneMatchHeader.split(",", -1)) {
+            final String trimmed = candidate.trim();
+            if ("*".equals(trimmed) || eTag.equals(trimmed.startsWith("W/") ? trimmed.substring(2) : trimmed)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest req) {
+        // An explicit gzip coding takes precedence over the wildcard, and a quality of zero means "not acceptable"
+        double gzipQuality = -1;
+        double anyQuality = -1;
+        final Enumeration<String> headers = req.getHeaders(ACCEPT_ENCODING);
+        while (headers != null && headers.hasMoreElements()) {
+            for (String coding : headers.nextElement().split(",", -1)) {
+                final String[] parts = coding.trim().split(";", -1);
+                final String name = parts[0].trim();
+                if ("gzip".equalsIgnoreCase(name) || "x-gzip".equalsIgnoreCase(name)) {
+                    gzipQuality = Math.max(gzipQuality, getQuality(parts));
+                } else if ("*".equals(name)) {
+                    anyQuality = Math.max(anyQuality, getQuality(parts));
+                }
+            }
+        }
+        return gzipQuality >= 0 ? gzipQuality > 0 : anyQuality > 0;
+    }
+
+    private static double getQuality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            final String[] parameter = parts[i].trim().split("=", -1);
+            if (parameter.length == 2 && "q".equalsIgnoreCase(parameter[0].trim())) {
+                try {
+                    return Double.parseDouble(parameter[1].trim());
+                } catch (NumberFormatException e) {
+                    // An invalid quality doesn't make the coding acceptable
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    private static boolean isClassAvailable(String className) {
+        try {
+            Class.forName(className, false, AssetServlet.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
         }
     }
 
@@ -340,4 +603,53 @@ public class AssetServlet extends HttpServlet {
             return Collections.emptyList();
         }
     }
+
+    /**
+     * The ETag and, if mapped, the content of a served file, which are valid as long as its key, its precise
+     * modification time and its size don't change.
+     */
+    private static final class FileVersion {
+        @Nullable
+        private final Object fileKey;
+        private final long lastModifiedNanos;
+        private final long size;
+        private final String eTag;
+        @Nullable
+        private final ByteBuffer mapped;
+
+        private FileVersion(@Nullable Object fileKey, long lastModifiedNanos, long size, String eTag,
+                            @Nullable ByteBuffer mapped) {
+            this.fileKey = fileKey;
+            this.lastModifiedNanos = lastModifiedNanos;
+            this.size = size;
+            this.eTag = eTag;
+            this.mapped = mapped;
+        }
+
+        private boolean isVersionOf(@Nullable Object fileKey, long lastModifiedNanos, long size) {
+            return Objects.equals(this.fileKey, fileKey) && this.lastModifiedNanos == lastModifiedNanos
+                    && this.size == size;
+        }
+    }
+
+    /**
+     * Hands buffers to Jetty's output without copying them. Kept apart from the servlet, so that the servlet can be
+     * loaded when Jetty isn't available.
+     */
+    private static final class JettyOutput {
+        private JettyOutput() {
+        }
+
+        private static boolean isJettyOutput(ServletOutputStream output) {
+            return output instanceof HttpOutput;
+        }
+
+        private static void sendContent(ServletOutputStream output, ByteBuffer content) throws IOException {
+            ((HttpOutput) output).sendContent(content);
+        }
+
+        private static void write(ServletOutputStream output, ByteBuffer content) throws IOException {
+            ((HttpOutput) output).write(content);
+        }
+    }
 }
@@ -0,0 +1,129 @@
+package io.dropwizard.servlets.assets;
+
+import javax.annotation.Nullable;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The content of a static asset, along with its validators and an optional gzip-encoded variant.
+ */
+class CachedAsset {
+    private final ByteBuffer resource;
+    private final String eTag;
+    private final long lastModifiedTime;
+
+    @Nullable
+    private final ByteBuffer gzipped;
+
+    @Nullable
+    private final String gzippedETag;
+
+    CachedAsset(ByteBuffer resource, String eTag, long lastModifiedTime) {
+        this(resource, eTag, lastModifiedTime, null);
+    }
+
+    private CachedAsset(ByteBuffer resource, String eTag, long lastModifiedTime, @Nullable ByteBuffer gzipped) {
+        this.resource = resource;
+        this.eTag = eTag;
+        this.lastModifiedTime = lastModifiedTime;
+        this.gzipped = gzipped;
+        // Jetty's GzipHandler strips its own "--gzip" suffix from the If-None-Match header of requests before they
+        // reach the servlet, so the variant uses a suffix which it leaves alone
+        this.gzippedETag = gzipped == null ? null : eTag.substring(0, eTag.length() - 1) + "-gz\"";
+    }
+
+    /**
+     * Computes the ETag of the content of an asset.
+     */
+    static String computeETag(ByteBuffer resource) {
+        final CRC32 crc32 = new CRC32();
+        crc32.update(resource.duplicate());
+        return '"' + Long.toHexString(crc32.getValue()) + '"';
+    }
+
+    /**
+     * Returns a copy of this asset which also carries a gzip-encoded variant of its content. If compressing the
+     * asset doesn't make it smaller, the asset is returned as it is.
+     */
+    CachedAsset withGzipVariant() {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(getLength() / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes);
+             WritableByteChannel channel = Channels.newChannel(gzip)) {
+            final ByteBuffer content = getResource();
+            while (content.hasRemaining()) {
+                channel.write(content);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        if (bytes.size() >= getLength()) {
+            return this;
+        }
+        return new CachedAsset(resource, eTag, lastModifiedTime, ByteBuffer.wrap(bytes.toByteArray()));
+    }
+
+    /**
+     * Returns a view of the whole asset. The view shares its content with the cached asset, but has its own
+     * position and limit, so it can be consumed independently.
+     */
+    ByteBuffer getResource() {
+        return resource.duplicate();
+    }
+
+    /**
+     * Returns a view of {@code length} bytes of the asset, starting at {@code offset}.
+     */
+    ByteBuffer getResource(int offset, int length) {
+        final ByteBuffer slice = resource.duplicate();
+        slice.position(offset);
+        slice.limit(offset + length);
+        return slice.slice();
+    }
+
+    int getLength() {
+        return resource.remaining();
+    }
+
+    String getETag() {
+        return eTag;
+    }
+
+    long getLastModifiedTime() {
+        return lastModifiedTime;
+    }
+
+    boolean hasGzipVariant() {
+        return gzipped != null;
+    }
+
+    /**
+     * Returns a view of the gzip-encoded variant of the asset.
+     *
+     * @throws IllegalStateException if the asset has no gzip-encoded variant
+     */
+    ByteBuffer getGzipped() {
+        if (gzipped == null) {
+            throw new IllegalStateException("Asset has no gzip variant");
+        }
+        return gzipped.duplicate();
+    }
+
+    @Nullable
+    String getGzippedETag() {
+        return gzippedETag;
+    }
+
+    /**
+     * Returns the number of bytes held by the asset and its variants.
+     */
+    int getWeight() {
+        return getLength() + (gzipped == null ? 0 : gzipped.remaining());
+    }
+}
@@ -0,0 +1,62 @@
+package io.dropwizard.servlets;
+
+import io.dropwizard.util.RequestIdFormat;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import javax.servlet.FilterChain;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.matches;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RequestIdFilterTest {
+
+    private HttpServletRequest request = mock(HttpServletRequest.class);
+
+    private HttpServletResponse response = mock(HttpServletResponse.class);
+
+    private FilterChain chain = mock(FilterChain.class);
+
+    @Test
+    void generatesRequestIdAndExposesItInTheMdc() throws Exception {
+        doAnswer(invocationOnMock -> {
+            assertThat(UUID.fromString(MDC.get("requestId"))).isNotNull();
+            return null;
+        }).when(chain).doFilter(request, response);
+
+        new RequestIdFilter().doFilter(request, response, chain);
+
+        verify(chain).doFilter(request, response);
+        verify(response).setHeader(eq("X-Request-Id"), matches("[0-9a-f-]{36}"));
+        assertThat(MDC.get("requestId")).isNull();
+    }
+
+    @Test
+    void keepsTheRequestIdSentByTheClient() throws Exception {
+        when(request.getHeader("X-Request-Id")).thenReturn("client-id");
+        doAnswer(invocationOnMock -> {
+            assertThat(MDC.get("requestId")).isEqualTo("client-id");
+            return null;
+        }).when(chain).doFilter(request, response);
+
+        new RequestIdFilter().doFilter(request, response, chain);
+
+        verify(request).setAttribute(RequestIdFilter.REQUEST_ID_ATTRIBUTE, "client-id");
+        verify(response).setHeader("X-Request-Id", "client-id");
+    }
+
+    @Test
+    void usesTheGivenGenerator() throws Exception {
+        new RequestIdFilter(RequestIdFormat.ULID).doFilter(request, response, chain);
+
+        verify(response).setHeader(eq("X-Request-Id"), matches("[0-9A-Z]{26}"));
+    }
+}
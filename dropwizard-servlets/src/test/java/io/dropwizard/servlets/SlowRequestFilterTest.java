@@ -1,6 +1,8 @@
 package io.dropwizard.servlets;
 
+import com.codahale.metrics.MetricRegistry;
 import io.dropwizard.util.Duration;
+import io.dropwizard.util.RequestAttributes;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,7 +12,9 @@ import javax.servlet.FilterChain;
 import javax.servlet.FilterConfig;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.atomic.AtomicLong;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -66,4 +70,41 @@ class SlowRequestFilterTest {
         verify(logger, never()).warn("Slow request: {} {} ({}ms)", "GET", "/some/path", 499L);
     }
 
+    @Test
+    void recordsLatenciesPerRoute() throws Exception {
+        final MetricRegistry metricRegistry = new MetricRegistry();
+        slowRequestFilter = new SlowRequestFilter(Duration.milliseconds(500), metricRegistry);
+        slowRequestFilter.setLogger(logger);
+        slowRequestFilter.setCurrentTimeProvider(() -> 1510330244000000L);
+        when(request.getAttribute(RequestAttributes.ROUTE)).thenReturn("/some/{id}");
+
+        slowRequestFilter.doFilter(request, response, chain);
+        when(request.getAttribute(RequestAttributes.ROUTE)).thenReturn(null);
+        slowRequestFilter.doFilter(request, response, chain);
+
+        assertThat(metricRegistry.timer("io.dropwizard.servlets.SlowRequestFilter.requests.GET /some/{id}").getCount())
+            .isEqualTo(1);
+        assertThat(metricRegistry.timer("io.dropwizard.servlets.SlowRequestFilter.requests.unmatched").getCount())
+            .isEqualTo(1);
+        assertThat(slowRequestFilter.getRouteTimers()).containsOnlyKeys("GET /some/{id}", "unmatched");
+    }
+
+    @Test
+    void onlyLogsRequestsAboveTheAdaptivePercentile() throws Exception {
+        slowRequestFilter = new SlowRequestFilter(Duration.milliseconds(500), new MetricRegistry(), 0.5);
+        slowRequestFilter.setLogger(logger);
+        final AtomicLong time = new AtomicLong();
+        slowRequestFilter.setCurrentTimeProvider(time::get);
+
+        // Every request of the route takes 2 seconds, so none of them stands out
+        doAnswer(invocationOnMock -> time.addAndGet(2_000_000_000L)).when(chain).doFilter(request, response);
+        slowRequestFilter.doFilter(request, response, chain);
+        slowRequestFilter.doFilter(request, response, chain);
+        verify(logger, never()).warn("Slow request: {} {} ({}ms)", "GET", "/some/path", 2000L);
+
+        // A request much slower than the others of the route is logged
+        doAnswer(invocationOnMock -> time.addAndGet(9_000_000_000L)).when(chain).doFilter(request, response);
+        slowRequestFilter.doFilter(request, response, chain);
+        verify(logger).warn("Slow request: {} {} ({}ms)", "GET", "/some/path", 9000L);
+    }
 }
@@ -1,18 +1,30 @@
 package io.dropwizard.servlets.assets;
 
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.util.ByteStreams;
 import org.eclipse.jetty.http.HttpHeader;
 import org.eclipse.jetty.http.HttpTester;
 import org.eclipse.jetty.http.HttpVersion;
 import org.eclipse.jetty.http.MimeTypes;
+import org.eclipse.jetty.server.handler.gzip.GzipHandler;
 import org.eclipse.jetty.servlet.ServletTester;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import javax.annotation.Nullable;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URISyntaxException;
+import java.net.URL;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -20,7 +32,11 @@ import java.util.Set;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
 
+import static java.util.Objects.requireNonNull;
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class AssetServletTest {
@@ -29,6 +45,9 @@ public class AssetServletTest {
     private static final String NOCHARSET_SERVLET = "/nocharset_servlet/";
     private static final String NOMEDIATYPE_SERVLET = "/nomediatype_servlet/";
     private static final String MEDIATYPE_SERVLET = "/mediatype_servlet/";
+    private static final String MAPPED_SERVLET = "/mapped_servlet/";
+    private static final String CACHED_SERVLET = "/cached_servlet/";
+    private static final String FILE_SERVLET = "/file_servlet/";
     private static final String ROOT_SERVLET = "/";
     private static final String RESOURCE_PATH = "/assets";
 
@@ -82,6 +101,55 @@ public class AssetServletTest {
         }
     }
 
+    public static class MappedAssetServlet extends AssetServlet {
+        private static final long serialVersionUID = 1L;
+
+        public MappedAssetServlet() {
+            super(RESOURCE_PATH, MAPPED_SERVLET, null, null, StandardCharsets.UTF_8, true);
+        }
+    }
+
+    public static class CachedAssetServlet extends AssetServlet {
+        private static final long serialVersionUID = 1L;
+
+        public CachedAssetServlet() {
+            super(RESOURCE_PATH, CACHED_SERVLET, null, null, StandardCharsets.UTF_8, false,
+                    new AssetCache(new MetricRegistry(), "assets", 1024 * 1024, null, true, 0));
+        }
+    }
+
+    // Serves the files of a temporary directory, which the tests can change
+    public static class FileAssetServlet extends AssetServlet {
+        private static final long serialVersionUID = 1L;
+
+        public FileAssetServlet() {
+            super(RESOURCE_PATH, FILE_SERVLET, null, null, StandardCharsets.UTF_8, true);
+        }
+
+        @Override
+        protected URL getResourceUrl(String absoluteRequestedResourcePath) {
+            final String fileName = absoluteRequestedResourcePath.substring(
+                    absoluteRequestedResourcePath.lastIndexOf('/') + 1);
+            try {
+                return requireNonNull(fileDirectory).resolve(fileName).toUri().toURL();
+            } catch (MalformedURLException e) {
+                throw new IllegalArgumentException(e);
+            }
+        }
+
+        @Override
+        protected ByteBuffer readResourceBuffer(URL requestedResourceURL) throws IOException, URISyntaxException {
+            FILE_READS.incrementAndGet();
+            return super.readResourceBuffer(requestedResourceURL);
+        }
+    }
+
+    private static final AtomicInteger FILE_READS = new AtomicInteger();
+
+    @TempDir
+    @Nullable
+    static Path fileDirectory;
+
     private static final ServletTester SERVLET_TESTER = new ServletTester();
     private final HttpTester.Request request = HttpTester.newRequest();
     @Nullable
@@ -94,6 +162,9 @@ public class AssetServletTest {
         SERVLET_TESTER.addServlet(NoCharsetAssetServlet.class, NOCHARSET_SERVLET + '*');
         SERVLET_TESTER.addServlet(NoDefaultMediaTypeAssetServlet.class, NOMEDIATYPE_SERVLET + '*');
         SERVLET_TESTER.addServlet(DefaultMediaTypeAssetServlet.class, MEDIATYPE_SERVLET + '*');
+        SERVLET_TESTER.addServlet(MappedAssetServlet.class, MAPPED_SERVLET + '*');
+        SERVLET_TESTER.addServlet(CachedAssetServlet.class, CACHED_SERVLET + '*');
+        SERVLET_TESTER.addServlet(FileAssetServlet.class, FILE_SERVLET + '*');
         SERVLET_TESTER.addServlet(RootAssetServlet.class, ROOT_SERVLET + '*');
         SERVLET_TESTER.start();
 
@@ -290,6 +361,148 @@ public class AssetServletTest {
                 "bytes 0-10/11");
     }
 
+    @Test
+    void servesMappedFiles() throws Exception {
+        request.setURI(MAPPED_SERVLET + "example.txt");
+        response = HttpTester.parseResponse(SERVLET_TESTER.getResponses(request.generate()));
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContent()).isEqualTo("HELLO THERE");
+        assertThat(response.get(HttpHeader.CONTENT_LENGTH)).isEqualTo("11");
+
+        request.setHeader(HttpHeader.RANGE.asString(), "bytes=0-0,4-8");
+        response = HttpTester.parseResponse(SERVLET_TESTER.getResponses(request.generate()));
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContent()).isEqualTo("HO THE");
+        assertThat(response.get(HttpHeader.CONTENT_RANGE)).isEqualTo("bytes 0-0,4-8/11");
+        assertThat(response.get(HttpHeader.CONTENT_LENGTH)).isEqualTo("6");
+    }
+
+    @Test
+    void mapsUnchangedFilesOnce() throws Exception {
+        final Path file = requireNonNull(fileDirectory).resolve("unchanged.txt");
+        Files.write(file, "HELLO".getBytes(StandardCharsets.UTF_8));
+        request.setURI(FILE_SERVLET + "unchanged.txt");
+        final int reads = FILE_READS.get();
+
+        response = HttpTester.parseResponse(SERVLET_TESTER.getResponses(request.generate()));
+        assertThat(response.getStatus()).isEqualTo(200);
+        final String eTag = response.get(HttpHeader.ETAG);
+
+        response = HttpTester.parseResponse(SERVLET_TESTER.getResponses(request.generate()));
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContent()).isEqualTo("HELLO");
+        assertThat(response.get(HttpHeader.ETAG)).isEqualTo(eTag);
+        assertThat(FILE_READS.get()).isEqualTo(reads + 1);
+    }
+
+    @Test
+    void assignsNewETagsToFilesRewrittenWithinTheSameSecond() throws Exception {
+        final Path file = requireNonNull(fileDirectory).resolve("rewritten.txt");
+        final long modified = TimeUnit.SECONDS.toNanos(1_600_000_000L);
+        Files.write(file, "AAAA".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, FileTime.from(modified, TimeUnit.NANOSECONDS));
+        request.setURI(FILE_SERVLET + "rewritten.txt");
+
+        response = HttpTester.parseResponse(SERVLET_TESTER.getResponses(request.generate()));
+        assertThat(response.getContent()).isEqualTo("AAAA");
+        final String eTag = response.get(HttpHeader.ETAG);
+        final String lastModified = response.get(HttpHeader.LAST_MODIFIED);
+
+        // Same second, same length: only the precise modification time tells the versions apart
+        Files.write(file, "BBBB".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, FileTime.from(modified + TimeUnit.MILLISECONDS.toNanos(500),
+                TimeUnit.NANOSECONDS));
+
+        request.setHeader(HttpHeader.IF_NONE_MATCH.asString(), eTag);
+        response = HttpTester.parseResponse(SERVLET_TESTER.getResponses(request.generate()));
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContent()).isEqualTo("BBBB");
+        assertThat(response.get(HttpHeader.LAST_MODIFIED)).isEqualTo(lastModified);
+        assertThat(response.get(HttpHeader.ETAG)).isNotEqualTo(eTag);
+    }
+
+    @Test
+    void servesPrecompressedVariantsOfCachedFiles() throws Exception {
+        request.setURI(CACHED_SERVLET + "compressible.txt");
+        response = HttpTester.parseResponse(SERVLET_TESTER.getResponses(request.generate()));
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.get(HttpHeader.CONTENT_ENCODING)).isNull();
+        assertThat(response.get(HttpHeader.VARY)).isEqualTo("Accept-Encoding");
+        final String identityETag = response.get(HttpHeader.ETAG);
+
+        request.setHeader(HttpHeader.ACCEPT_ENCODING.asString(), "deflate, gzip;q=0.8");
+        response = HttpTester.parseResponse(SERVLET_TESTER.getResponses(request.generate()));
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.get(HttpHeader.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(response.get(HttpHeader.ETAG)).isNotEqualTo(identityETag).endsWith("-gz\"");
+        final byte[] compressed = response.getContentBytes();
+        assertThat(compressed).isNotNull();
+        try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertThat(new String(ByteStreams.toByteArray(input), StandardCharsets.UTF_8))
+                    .startsWith("HELLO THERE HELLO THERE");
+        }
+
+        request.setHeader(HttpHeader.IF_NONE_MATCH.asString(), response.get(HttpHeader.ETAG));
+        response = HttpTester.parseResponse(SERVLET_TESTER.getResponses(request.generate()));
+        assertThat(response.getStatus()).isEqualTo(304);
+
+        request.setHeader(HttpHeader.ACCEPT_ENCODING.asString(), "gzip;q=0");
+        request.setHeader(HttpHeader.IF_NONE_MATCH.asString(), identityETag);
+        response = HttpTester.parseResponse(SERVLET_TESTER.getResponses(request.generate()));
+        assertThat(response.getStatus()).isEqualTo(304);
+    }
+
+    @Test
+    void doesNotServePrecompressedVariantsToClientsRefusingGzip() throws Exception {
+        request.setURI(CACHED_SERVLET + "compressible.txt");
+        request.setHeader(HttpHeader.ACCEPT_ENCODING.asString(), "*;q=1, gzip;q=0");
+        response = HttpTester.parseResponse(SERVLET_TESTER.getResponses(request.generate()));
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.get(HttpHeader.CONTENT_ENCODING)).isNull();
+
+        request.setHeader(HttpHeader.ACCEPT_ENCODING.asString(), "gzip; level=1; q=0.0");
+        response = HttpTester.parseResponse(SERVLET_TESTER.getResponses(request.generate()));
+        assertThat(response.get(HttpHeader.CONTENT_ENCODING)).isNull();
+
+        request.setHeader(HttpHeader.ACCEPT_ENCODING.asString(), "identity;q=0.5, *");
+        response = HttpTester.parseResponse(SERVLET_TESTER.getResponses(request.generate()));
+        assertThat(response.get(HttpHeader.CONTENT_ENCODING)).isEqualTo("gzip");
+    }
+
+    @Test
+    void supportsIfNoneMatchRequestsForPrecompressedVariantsBehindGzipHandler() throws Exception {
+        final ServletTester gzipTester = new ServletTester();
+        gzipTester.getContext().setGzipHandler(new GzipHandler());
+        gzipTester.addServlet(CachedAssetServlet.class, CACHED_SERVLET + '*');
+        gzipTester.start();
+        try {
+            request.setURI(CACHED_SERVLET + "compressible.txt");
+            request.setHeader(HttpHeader.ACCEPT_ENCODING.asString(), "gzip");
+            response = HttpTester.parseResponse(gzipTester.getResponses(request.generate()));
+            assertThat(response.getStatus()).isEqualTo(200);
+            assertThat(response.get(HttpHeader.CONTENT_ENCODING)).isEqualTo("gzip");
+            final String eTag = response.get(HttpHeader.ETAG);
+            assertThat(eTag).isNotNull();
+
+            request.setHeader(HttpHeader.IF_NONE_MATCH.asString(), eTag);
+            response = HttpTester.parseResponse(gzipTester.getResponses(request.generate()));
+            assertThat(response.getStatus()).isEqualTo(304);
+        } finally {
+            gzipTester.stop();
+        }
+    }
+
+    @Test
+    void servesIdentityEncodingForByteRangesOfCachedFiles() throws Exception {
+        request.setURI(CACHED_SERVLET + "compressible.txt");
+        request.setHeader(HttpHeader.ACCEPT_ENCODING.asString(), "gzip");
+        request.setHeader(HttpHeader.RANGE.asString(), "bytes=0-4");
+        response = HttpTester.parseResponse(SERVLET_TESTER.getResponses(request.generate()));
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.get(HttpHeader.CONTENT_ENCODING)).isNull();
+        assertThat(response.getContent()).isEqualTo("HELLO");
+    }
+
     @Test
     void supportsCentralByteRange() throws Exception {
         request.setURI(ROOT_SERVLET + "assets/example.txt");
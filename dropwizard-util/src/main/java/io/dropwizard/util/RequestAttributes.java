@@ -0,0 +1,18 @@
+package io.dropwizard.util;
+
+/**
+ * The names of the request attributes Dropwizard modules share with each other.
+ *
+ * @since 2.1
+ */
+public final class RequestAttributes {
+    /**
+     * The route of a request: the template of the resource which matched it, such as {@code /users/{id}}. It's set by
+     * {@code io.dropwizard.jersey.filter.RouteTemplateFilter}, and read by servlet filters such as
+     * {@code io.dropwizard.servlets.SlowRequestFilter} to group requests by route instead of by raw URL.
+     */
+    public static final String ROUTE = "io.dropwizard.route";
+
+    private RequestAttributes() {
+    }
+}
@@ -0,0 +1,108 @@
+package io.dropwizard.util;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The standard formats of request IDs.
+ *
+ * @since 2.1
+ */
+public enum RequestIdFormat implements RequestIdGenerator {
+    /**
+     * A random (version 4) UUID, such as {@code e286b503-aa36-43fe-8312-95ee8773e348}.
+     */
+    UUID(36) {
+        @Override
+        public void generate(char[] buffer, int offset) {
+            final ThreadLocalRandom rnd = ThreadLocalRandom.current();
+            long mostSig = rnd.nextLong();
+            long leastSig = rnd.nextLong();
+
+            // Identify this as a version 4 UUID, that is one based on a random value.
+            mostSig &= 0xffffffffffff0fffL;
+            mostSig |= 0x0000000000004000L;
+
+            // Set the variant identifier as specified for version 4 UUID values.  The two
+            // high order bits of the lower word are required to be one and zero, respectively.
+            leastSig &= 0x3fffffffffffffffL;
+            leastSig |= 0x8000000000000000L;
+
+            int pos = offset;
+            pos = hex(buffer, pos, mostSig >>> 32, 8);
+            buffer[pos++] = '-';
+            pos = hex(buffer, pos, mostSig >>> 16, 4);
+            buffer[pos++] = '-';
+            pos = hex(buffer, pos, mostSig, 4);
+            buffer[pos++] = '-';
+            pos = hex(buffer, pos, leastSig >>> 48, 4);
+            buffer[pos++] = '-';
+            hex(buffer, pos, leastSig, 12);
+        }
+    },
+
+    /**
+     * A <a href="https://github.com/ulid/spec">ULID</a>: a 48-bit millisecond timestamp followed by 80 random bits,
+     * encoded in Crockford's base32, such as {@code 01ARZ3NDEKTSV4RRFFQ69G5FAV}. IDs generated in different
+     * milliseconds sort in the order in which they were generated.
+     */
+    ULID(26) {
+        @Override
+        public void generate(char[] buffer, int offset) {
+            final long time = System.currentTimeMillis();
+            final ThreadLocalRandom rnd = ThreadLocalRandom.current();
+            final long high = rnd.nextLong() & 0xffffL;
+            final long low = rnd.nextLong();
+
+            for (int i = 0; i < 10; i++) {
+                buffer[offset + i] = BASE32[(int) (time >>> (45 - 5 * i)) & 0x1f];
+            }
+            for (int i = 0; i < 16; i++) {
+                final int shift = 75 - 5 * i;
+                final long bits;
+                if (shift >= 64) {
+                    bits = high >>> (shift - 64);
+                } else if (shift > 59) {
+                    bits = (high << (64 - shift)) | (low >>> shift);
+                } else {
+                    bits = low >>> shift;
+                }
+                buffer[offset + 10 + i] = BASE32[(int) bits & 0x1f];
+            }
+        }
+    };
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final char[] BASE32 = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[36]);
+
+    private final int length;
+
+    RequestIdFormat(int length) {
+        this.length = length;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Returns a new identifier, encoded into a buffer reused by the calling thread.
+     *
+     * @return a new identifier
+     */
+    @Override
+    public String generate() {
+        final char[] buffer = BUFFER.get();
+        generate(buffer, 0);
+        return new String(buffer, 0, length);
+    }
+
+    private static int hex(char[] buffer, int offset, long value, int digits) {
+        for (int i = digits - 1; i >= 0; i--) {
+            buffer[offset + i] = HEX[(int) value & 0xf];
+            value >>>= 4;
+        }
+        return offset + digits;
+    }
+}
@@ -0,0 +1,49 @@
+package io.dropwizard.util;
+
+/**
+ * Generates identifiers for requests, so that a request can be followed across logs and services.
+ * <p>
+ * Generators encode identifiers straight into a caller-supplied buffer, so callers which reuse a buffer
+ * only pay for the {@link String} they eventually need.
+ *
+ * @see RequestIdFormat
+ * @since 2.1
+ */
+public interface RequestIdGenerator {
+    /**
+     * The name of the HTTP header carrying the request ID.
+     */
+    String REQUEST_ID_HEADER = "X-Request-Id";
+
+    /**
+     * The key under which the ID of the current request is stored in the logging MDC.
+     */
+    String REQUEST_ID_MDC_KEY = "requestId";
+
+    /**
+     * Returns the number of characters of the identifiers produced by this generator.
+     *
+     * @return the length of generated identifiers
+     */
+    int length();
+
+    /**
+     * Writes a new identifier into {@code buffer}, starting at {@code offset}.
+     *
+     * @param buffer the buffer into which the identifier is written; it must have room for {@link #length()}
+     *               characters after {@code offset}
+     * @param offset the index of the first character to write
+     */
+    void generate(char[] buffer, int offset);
+
+    /**
+     * Returns a new identifier.
+     *
+     * @return a new identifier
+     */
+    default String generate() {
+        final char[] buffer = new char[length()];
+        generate(buffer, 0);
+        return new String(buffer);
+    }
+}
@@ -0,0 +1,45 @@
+package io.dropwizard.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestIdFormatTest {
+    @Test
+    void generatesRandomUuids() {
+        final String id = RequestIdFormat.UUID.generate();
+
+        assertThat(id).hasSize(RequestIdFormat.UUID.length());
+        final UUID uuid = UUID.fromString(id);
+        assertThat(uuid.version()).isEqualTo(4);
+        assertThat(uuid.variant()).isEqualTo(2);
+        assertThat(uuid.toString()).isEqualTo(id);
+        assertThat(RequestIdFormat.UUID.generate()).isNotEqualTo(id);
+    }
+
+    @Test
+    void generatesUlids() {
+        final long before = System.currentTimeMillis();
+        final String id = RequestIdFormat.ULID.generate();
+
+        assertThat(id).hasSize(RequestIdFormat.ULID.length()).matches("[0-9A-HJKMNP-TV-Z]{26}");
+        long time = 0;
+        for (char c : id.substring(0, 10).toCharArray()) {
+            time = (time << 5) | "0123456789ABCDEFGHJKMNPQRSTVWXYZ".indexOf(c);
+        }
+        assertThat(time).isBetween(before, System.currentTimeMillis());
+        assertThat(RequestIdFormat.ULID.generate()).isNotEqualTo(id);
+    }
+
+    @Test
+    void generatesIntoTheGivenBuffer() {
+        final char[] buffer = new char[40];
+        RequestIdFormat.UUID.generate(buffer, 2);
+
+        assertThat(buffer[0]).isEqualTo('\0');
+        assertThat(UUID.fromString(new String(buffer, 2, 36))).isNotNull();
+        assertThat(buffer[38]).isEqualTo('\0');
+    }
+}